@@ -15,6 +15,7 @@ public class CorsConfig implements WebMvcConfigurer {
         "http://localhost:8080"
       )
       .allowedMethods("GET","POST","PUT","DELETE","OPTIONS")
-      .allowedHeaders("*");
+      .allowedHeaders("*")
+      .exposedHeaders("X-Snapshot-Age-Seconds");
   }
 }
@@ -0,0 +1,38 @@
+package run_lion.reroute.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 스트림(SSE) 갱신/전송 + 라이브 경로 세션 주기 재평가(재검색 포함)용 스레드 풀
+ *
+ * - TAGO 조회와 SSE 전송은 기다리는 시간이 대부분이라 코어 수와 관계없이 realtime.executor.threads개
+ * - 스케줄러 스레드(spring.task.scheduling, 4개 공용)는 작업만 넘기고 바로 다음 정류소로 넘어감
+ * - 대기열이 가득 차면 거절 (호출한 스케줄러 스레드가 직접 실행하지 않음 → 다음 주기에 다시 시도)
+ */
+@Configuration
+public class RealtimeExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService realtimeExecutor(
+            @Value("${realtime.executor.threads:8}") int threads,
+            @Value("${realtime.executor.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "realtime-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
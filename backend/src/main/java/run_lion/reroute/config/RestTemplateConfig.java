@@ -1,14 +1,40 @@
 package run_lion.reroute.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * 외부 HTTP 호출 설정
+ *
+ * - HttpClient 하나를 공유 → 같은 호스트(data.go.kr) 연결을 keep-alive로 재사용 (요청마다 TLS 연결 X)
+ * - 연결 제한 시간은 공통, 응답 제한 시간은 TagoTransport가 호출 종류별로 지정
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient tagoHttpClient(@Value("${api.tago.http.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * 공용 HttpClient 기반 RestTemplate (TAGO 외 호출용, 응답 제한 시간 기본값)
+     */
+    @Bean
+    public RestTemplate restTemplate(HttpClient tagoHttpClient,
+                                     @Value("${api.tago.http.read-timeout-ms:5000}") long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(tagoHttpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(factory);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package run_lion.reroute.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 경로 탐색 일괄 작업용 스레드 풀
+ *
+ * - routingExecutor: TAGO를 기다리지 않는 탐색(행렬, 시간표 기준 배치 검색)
+ *   탐색은 CPU 작업이라 기본 스레드 수 = 코어 수 (routing.executor.threads로 변경)
+ * - batchExecutor: 실시간 배치 검색 (정류장 도착정보 조회를 기다리는 시간이 대부분)
+ *   코어 수와 관계없이 routing.batch-executor.threads개, 배치가 행렬 요청의 스레드를 차지하지 않도록 분리
+ * - 대기열이 가득 차면 호출한 요청 스레드가 직접 실행 → 요청이 몰려도 작업이 무한정 쌓이지 않음
+ */
+@Configuration
+public class RoutingExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService routingExecutor(
+            @Value("${routing.executor.threads:0}") int threads,
+            @Value("${routing.executor.queue-capacity:1000}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return newPool("routing-", size, queueCapacity);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(
+            @Value("${routing.batch-executor.threads:32}") int threads,
+            @Value("${routing.batch-executor.queue-capacity:1000}") int queueCapacity) {
+        return newPool("routing-batch-", threads, queueCapacity);
+    }
+
+    private static ExecutorService newPool(String namePrefix, int size, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
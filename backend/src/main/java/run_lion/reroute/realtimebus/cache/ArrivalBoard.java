@@ -0,0 +1,73 @@
+/**
+ * File: ArrivalBoard.java
+ * Description:
+ *  - 정류소별 최신 도착 정보 스냅샷 보관소
+ *  - 갱신은 스냅샷 통째로 교체 (읽는 쪽은 락 없이 O(1) 조회)
+ *  - ArrivalPoller(주기 갱신)와 RealtimeBusArrivalService(요청 시 갱신)가 publish
+ *  - 정류소 수 상한(realtime.board.max-stations): 새 정류소가 들어올 때 가득 차 있으면 가장 오래 조회된 것부터 제거
+ *    (노선망에 있는 정류소만 들어오지만 노선망을 아직 못 읽은 동안에도 무한정 늘지 않도록)
+ */
+
+package run_lion.reroute.realtimebus.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ArrivalBoard {
+
+    /** 기본 최대 정류소 수 */
+    public static final int DEFAULT_MAX_STATIONS = 2000;
+
+    /** stationId → 최신 스냅샷 */
+    private final Map<String, ArrivalSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** 보관할 최대 정류소 수 */
+    @Value("${realtime.board.max-stations:" + DEFAULT_MAX_STATIONS + "}")
+    private int maxStations = DEFAULT_MAX_STATIONS;
+
+    /**
+     * 정류소 최신 스냅샷 조회 (없으면 null)
+     */
+    public ArrivalSnapshot get(String stationId) {
+        return snapshots.get(stationId);
+    }
+
+    /**
+     * 스냅샷 교체
+     */
+    public void publish(ArrivalSnapshot snapshot) {
+        if (snapshots.put(snapshot.getStationId(), snapshot) == null && snapshots.size() > maxStations) {
+            evictOldest(snapshot.getStationId());
+        }
+    }
+
+    /**
+     * 가장 오래 전에 조회된 스냅샷 1개 제거 (방금 넣은 정류소 제외, 상한을 넘었을 때만 호출)
+     */
+    private void evictOldest(String keep) {
+        snapshots.values().stream()
+                .filter(snapshot -> !snapshot.getStationId().equals(keep))
+                .min(Comparator.comparing(ArrivalSnapshot::getFetchedAt))
+                .ifPresent(oldest -> snapshots.remove(oldest.getStationId(), oldest));
+    }
+
+    /**
+     * cutoff 이전에 조회된 스냅샷 제거 (한동안 요청 없는 정류소 정리)
+     */
+    public void evictFetchedBefore(Instant cutoff) {
+        snapshots.values().removeIf(snapshot -> snapshot.getFetchedAt().isBefore(cutoff));
+    }
+
+    /**
+     * 보관 중인 정류소 수
+     */
+    public int size() {
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * File: ArrivalSnapshot.java
+ * Description:
+ *  - 정류소 1곳의 도착 정보 스냅샷 (불변)
+ *  - 조회 시각(fetchedAt)과 다음 갱신 시각(refreshAfter)을 함께 보관
+ *  - 갱신 주기는 가장 빨리 오는 버스 기준으로 결정 (곧 오는 버스가 있으면 짧게)
+ */
+
+package run_lion.reroute.realtimebus.cache;
+
+import lombok.Getter;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public final class ArrivalSnapshot {
+
+    /** 3분 이내 도착 버스가 있을 때 갱신 주기 */
+    private static final Duration IMMINENT_INTERVAL = Duration.ofSeconds(15);
+
+    /** 10분 이내 도착 버스가 있을 때 갱신 주기 */
+    private static final Duration NEAR_INTERVAL = Duration.ofSeconds(30);
+
+    /** 그 외(도착 예정 없음 포함) 갱신 주기 */
+    private static final Duration IDLE_INTERVAL = Duration.ofSeconds(60);
+
+    /** 정류소 ID */
+    private final String stationId;
+
+    /** 도착 예정 버스 목록 (불변) */
+    private final List<RealtimeArrivalDto> arrivals;
+
+    /** TAGO 조회 시각 */
+    private final Instant fetchedAt;
+
+    /** 이 시각 이후 요청은 다시 조회 */
+    private final Instant refreshAfter;
+
+    private ArrivalSnapshot(String stationId, List<RealtimeArrivalDto> arrivals, Instant fetchedAt) {
+        this.stationId = stationId;
+        this.arrivals = List.copyOf(arrivals);
+        this.fetchedAt = fetchedAt;
+        this.refreshAfter = fetchedAt.plus(intervalFor(this.arrivals));
+    }
+
+    public static ArrivalSnapshot of(String stationId, List<RealtimeArrivalDto> arrivals, Instant fetchedAt) {
+        return new ArrivalSnapshot(stationId, arrivals, fetchedAt);
+    }
+
+    /**
+     * 스냅샷 나이(초)
+     */
+    public long ageSeconds(Instant now) {
+        return Math.max(0, Duration.between(fetchedAt, now).getSeconds());
+    }
+
+    /**
+     * now 기준 도착 예정 목록
+     * - arrTimeMin은 조회 시각 기준(초 → 분 올림)이므로 스냅샷 나이만큼 빼고 다시 분 단위 올림
+     * - 나이를 빼서 음수가 되는 버스는 이미 지나갔으므로 제외
+     */
+    public List<RealtimeArrivalDto> arrivalsAt(Instant now) {
+        long age = ageSeconds(now);
+        if (age == 0) return arrivals;
+
+        List<RealtimeArrivalDto> result = new ArrayList<>(arrivals.size());
+        for (RealtimeArrivalDto dto : arrivals) {
+            long remaining = dto.getArrTimeMin() * 60L - age;
+            if (remaining < 0) continue;
+            result.add(new RealtimeArrivalDto(dto.getBusId(), dto.getBusNo(),
+                    (int) ((remaining + 59) / 60), dto.getPrevStationCount()));
+        }
+        return result;
+    }
+
+    /**
+     * 다시 조회해야 하는지 여부
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(refreshAfter);
+    }
+
+    /**
+     * 가장 빨리 오는 버스 기준 갱신 주기
+     */
+    private static Duration intervalFor(List<RealtimeArrivalDto> arrivals) {
+        int soonest = Integer.MAX_VALUE;
+        for (RealtimeArrivalDto dto : arrivals) {
+            soonest = Math.min(soonest, dto.getArrTimeMin());
+        }
+
+        if (soonest <= 3) return IMMINENT_INTERVAL;
+        if (soonest <= 10) return NEAR_INTERVAL;
+        return IDLE_INTERVAL;
+    }
+}
@@ -2,38 +2,25 @@
  * File: TagoBusGpsClient.java
  * Description:
  *  - TAGO 특정정류소 접근 버스 GPS 조회 API 호출 클라이언트
+ *  - 실제 호출은 TagoGateway가 담당 (동시 동일 요청은 1번만 호출)
+ *  - 응답은 TagoResponseDecoder가 BusGpsDto 리스트로 바로 변환 (items="" 등 변형 포함)
  */
 
 package run_lion.reroute.realtimebus.client;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-import run_lion.reroute.realtimebus.dto.TagoBusGpsResponse;
+import run_lion.reroute.realtimebus.dto.BusGpsDto;
+
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class TagoBusGpsClient {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${api.tago.key}")
-    private String serviceKey;
-
-    @Value("${api.tago.cityCode}")
-    private String cityCode;
-
-    public TagoBusGpsResponse getGpsInfo(String routeId, String nodeId) {
-
-        String url =
-                "http://apis.data.go.kr/1613000/BusLcInfoInqireService/getRouteAcctoSpcifySttnAccesBusLcInfo?" +
-                        "serviceKey=" + serviceKey +
-                        "&cityCode=" + cityCode +
-                        "&routeId=" + routeId +
-                        "&nodeId=" + nodeId +
-                        "&numOfRows=50&pageNo=1&_type=json";
+    private final TagoGateway tagoGateway;
 
-        return restTemplate.getForObject(url, TagoBusGpsResponse.class);
+    public List<BusGpsDto> getGpsInfo(String routeId, String nodeId) {
+        return tagoGateway.getBusGps(routeId, nodeId);
     }
-}
\ No newline at end of file
+}
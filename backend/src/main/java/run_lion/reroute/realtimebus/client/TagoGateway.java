@@ -0,0 +1,222 @@
+/**
+ * File: TagoGateway.java
+ * Description:
+ *  - TAGO(data.go.kr) 공공 API 호출 단일 창구
+ *  - 도착정보 / 노선 경유정류소 / 접근 버스 GPS 조회를 TagoTransport 하나로 처리
+ *    (연결 재사용, 호출 종류별 제한 시간, 동시 호출 수 제한, 느린 응답 hedging)
+ *  - 도착정보 / 접근 버스 GPS 응답은 TagoResponseDecoder로 한 번에 DTO 리스트로 변환
+ *  - 같은 요청(nodeId/routeId)이 동시에 여러 개 들어오면 실제 호출은 1번만 하고
+ *    대기 중인 모든 요청에 같은 결과를 돌려줌 (single-flight)
+ */
+
+package run_lion.reroute.realtimebus.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import run_lion.reroute.realtimebus.dto.BusGpsDto;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+import run_lion.reroute.realtimebus.dto.RouteStationResponse;
+import run_lion.reroute.realtimebus.dto.TagoStatsDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagoGateway {
+
+    /** 정류소별 도착예정정보 */
+    private static final String ARRIVAL_URL =
+            "https://apis.data.go.kr/1613000/ArvlInfoInqireService/getSttnAcctoArvlPrearngeInfoList";
+
+    /** 노선별 경유정류소 목록 */
+    private static final String ROUTE_STATION_URL =
+            "https://apis.data.go.kr/1613000/BusRouteInfoInqireService/getRouteAcctoThrghSttnList";
+
+    /** 노선별 특정정류소 접근 버스 위치 */
+    private static final String BUS_GPS_URL =
+            "https://apis.data.go.kr/1613000/BusLcInfoInqireService/getRouteAcctoSpcifySttnAccesBusLcInfo";
+
+    /** URL 문자열 → URI (RestTemplate 기본값과 같은 인코딩 → 인증키 처리 방식 유지) */
+    private static final DefaultUriBuilderFactory URI_FACTORY = new DefaultUriBuilderFactory();
+
+    static {
+        URI_FACTORY.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.URI_COMPONENT);
+    }
+
+    /** HTTP 전송 (빈 주입) */
+    private final TagoTransport transport;
+
+    /** 응답 JSON 변환 (Spring 공용 ObjectMapper) */
+    private final ObjectMapper objectMapper;
+
+    /** 도착정보 / GPS 응답 스트리밍 변환 */
+    private final TagoResponseDecoder decoder;
+
+    /** TAGO 인증키 */
+    @Value("${api.tago.key}")
+    private String serviceKey;
+
+    /** 도시코드 */
+    @Value("${api.tago.cityCode}")
+    private String cityCode;
+
+    /** 요청 키 → 진행 중인 호출 */
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /** 실제 외부 호출 수 / 진행 중 호출에 합류한 요청 수 */
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    /**
+     * 정류소 기준 도착 예정 버스 조회
+     * @param nodeId 정류소 ID(nodeId)
+     * @return 도착 예정 버스 목록 (없으면 빈 리스트)
+     */
+    public List<RealtimeArrivalDto> getArrivals(String nodeId) {
+        String url = UriComponentsBuilder
+                .fromUriString(ARRIVAL_URL)
+                .queryParam("serviceKey", serviceKey)   // API 키
+                .queryParam("cityCode", cityCode)       // 도시 코드
+                .queryParam("nodeId", nodeId)           // 정류소 ID
+                .queryParam("numOfRows", 50)            // 조회 개수
+                .queryParam("pageNo", 1)                // 페이지 번호
+                .queryParam("_type", "json")            // JSON 응답
+                .toUriString();
+
+        return singleFlight("arrival:" + nodeId,
+                () -> fetch(TagoTransport.Operation.ARRIVAL, url, decoder::decodeArrivals));
+    }
+
+    /**
+     * 노선 ID 기준 경유 정류소 목록 조회
+     * @param routeId 노선ID(routeId)
+     * @return RouteStationResponse TAGO 노선별 정류소 목록 응답
+     */
+    public RouteStationResponse getRouteStations(String routeId) {
+        String url = UriComponentsBuilder
+                .fromUriString(ROUTE_STATION_URL)
+                .queryParam("serviceKey", serviceKey)
+                .queryParam("cityCode", cityCode)
+                .queryParam("routeId", routeId)
+                .queryParam("numOfRows", 300)           // 충분한 개수 확보
+                .queryParam("pageNo", 1)
+                .queryParam("_type", "json")
+                .toUriString();
+
+        return singleFlight("route:" + routeId,
+                () -> fetch(TagoTransport.Operation.ROUTE_STATIONS, url,
+                        body -> objectMapper.readValue(body, RouteStationResponse.class)));
+    }
+
+    /**
+     * 특정 정류소에 접근 중인 노선 버스 GPS 조회
+     * @param routeId 노선 ID
+     * @param nodeId 정류소 ID
+     * @return 접근 중인 버스 위치 목록 (없으면 빈 리스트)
+     */
+    public List<BusGpsDto> getBusGps(String routeId, String nodeId) {
+        String url = UriComponentsBuilder
+                .fromUriString(BUS_GPS_URL)
+                .queryParam("serviceKey", serviceKey)
+                .queryParam("cityCode", cityCode)
+                .queryParam("routeId", routeId)
+                .queryParam("nodeId", nodeId)
+                .queryParam("numOfRows", 50)
+                .queryParam("pageNo", 1)
+                .queryParam("_type", "json")
+                .toUriString();
+
+        return singleFlight("gps:" + routeId + ":" + nodeId,
+                () -> fetch(TagoTransport.Operation.BUS_GPS, url, decoder::decodeBusGps));
+    }
+
+    /** 지금까지의 실제 외부 호출 수 */
+    public long getUpstreamCalls() {
+        return upstreamCalls.get();
+    }
+
+    /** 진행 중 호출에 합류해 외부 호출을 생략한 요청 수 */
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    /**
+     * 호출 현황 (single-flight + 호출 종류별 지연 시간)
+     */
+    public TagoStatsDto getStats() {
+        return new TagoStatsDto(upstreamCalls.get(), coalescedCalls.get(), transport.stats());
+    }
+
+    /**
+     * 호출 + JSON 변환 (변환 실패도 RestClientException → 호출부의 기존 fallback 그대로 동작)
+     */
+    private <T> T fetch(TagoTransport.Operation operation, String url, BodyDecoder<T> decoder) {
+        URI uri = URI_FACTORY.expand(url);
+        byte[] body = transport.get(operation, uri);
+        try {
+            return decoder.decode(body);
+        } catch (IOException ex) {
+            throw new RestClientException("TAGO " + operation + " response decode failed", ex);
+        }
+    }
+
+    /**
+     * 같은 key의 호출이 진행 중이면 그 결과를 기다리고, 없으면 직접 호출
+     * - 결과는 호출이 끝나는 즉시 inFlight에서 제거 (캐시가 아님)
+     * - 실패도 대기 중인 모든 요청에 같은 예외로 전달 (Error 포함 → 대기 요청이 영원히 묶이지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    <T> T singleFlight(String key, Supplier<T> call) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return (T) await(existing);
+        }
+
+        try {
+            upstreamCalls.incrementAndGet();
+            log.debug("[TAGO Request] {}", key);
+
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+
+    /** 응답 본문 → 결과 */
+    private interface BodyDecoder<T> {
+        T decode(byte[] body) throws IOException;
+    }
+}
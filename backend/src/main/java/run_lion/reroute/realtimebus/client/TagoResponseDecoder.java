@@ -0,0 +1,147 @@
+/**
+ * File: TagoResponseDecoder.java
+ * Description:
+ *  - TAGO 도착정보 / 접근 버스 GPS 응답(JSON)을 스트리밍으로 한 번만 읽어 바로 DTO 리스트로 변환
+ *    (응답 전체를 DTO 트리로 만들고 다시 복사하지 않음)
+ *  - response → body → items → item 경로만 따라가고 나머지 필드는 건너뜀, item을 다 읽으면 바로 종료
+ *  - TAGO의 items 변형을 그 자리에서 처리: "" / null → 빈 리스트, item 1개 → 객체, 여러 개 → 배열
+ *  - 숫자/문자 혼용 필드(routeno, arrtime 등)는 어느 쪽으로 와도 같은 값으로 읽음
+ */
+
+package run_lion.reroute.realtimebus.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.realtimebus.dto.BusGpsDto;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TagoResponseDecoder {
+
+    /** item 1건을 읽는 함수 (호출 시 parser는 item의 START_OBJECT) */
+    private interface ItemReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public TagoResponseDecoder(ObjectMapper objectMapper) {
+        this(objectMapper.getFactory());
+    }
+
+    public TagoResponseDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * 도착정보 응답 → RealtimeArrivalDto 리스트 (도착 예정 초 → 분, 올림)
+     */
+    public List<RealtimeArrivalDto> decodeArrivals(byte[] body) throws IOException {
+        return decodeItems(body, this::readArrival);
+    }
+
+    /**
+     * 접근 버스 GPS 응답 → BusGpsDto 리스트
+     */
+    public List<BusGpsDto> decodeBusGps(byte[] body) throws IOException {
+        return decodeItems(body, this::readBusGps);
+    }
+
+    private <T> List<T> decodeItems(byte[] body, ItemReader<T> reader) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT
+                    || !enterField(parser, "response")
+                    || !enterField(parser, "body")
+                    || !enterField(parser, "items")
+                    || !enterField(parser, "item")) {   // items가 "" / null이면 여기서 끝
+                return List.of();
+            }
+
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                return List.of(reader.read(parser));
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return List.of();
+            }
+
+            List<T> result = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_OBJECT) {
+                    result.add(reader.read(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            // single-flight로 여러 요청이 같은 리스트를 받으므로 불변 (ArrivalSnapshot은 그대로 보관)
+            return List.copyOf(result);
+        }
+    }
+
+    /**
+     * 현재 객체에서 name 필드의 값으로 이동
+     * @return 현재 토큰이 객체가 아니거나 필드가 없으면 false
+     */
+    private boolean enterField(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) return false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) return true;
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private RealtimeArrivalDto readArrival(JsonParser parser) throws IOException {
+        String routeId = null;
+        String routeNo = null;
+        int arrivalSeconds = 0;
+        int prevStationCount = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "routeid" -> routeId = parser.getValueAsString();
+                case "routeno" -> routeNo = parser.getValueAsString();
+                case "arrtime" -> arrivalSeconds = parser.getValueAsInt();
+                case "arrprevstationcnt" -> prevStationCount = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+        return new RealtimeArrivalDto(routeId, routeNo, (arrivalSeconds + 59) / 60, prevStationCount);
+    }
+
+    private BusGpsDto readBusGps(JsonParser parser) throws IOException {
+        String routeNo = null;
+        double latitude = 0;
+        double longitude = 0;
+        String stationName = null;
+        String routeType = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "routenm" -> routeNo = parser.getValueAsString();
+                case "gpslati" -> latitude = parser.getValueAsDouble();
+                case "gpslong" -> longitude = parser.getValueAsDouble();
+                case "nodenm" -> stationName = parser.getValueAsString();
+                case "routetp" -> routeType = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new BusGpsDto(routeNo, latitude, longitude, stationName, routeType);
+    }
+}
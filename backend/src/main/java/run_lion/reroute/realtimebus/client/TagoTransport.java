@@ -0,0 +1,358 @@
+/**
+ * File: TagoTransport.java
+ * Description:
+ *  - TAGO(data.go.kr) HTTP 호출 전송 계층 (TagoGateway 전용)
+ *  - 공용 HttpClient(keep-alive 연결 재사용) 하나로 호출, 동시 호출 수는 세마포어로 제한
+ *    (자리가 안 나면 acquire-timeout 뒤 실패 → 느린 TAGO 때문에 Tomcat 스레드가 무한정 묶이지 않음)
+ *    - 자리는 HttpClient 호출이 실제로 끝날 때 반환 (취소는 결과만 버리고, 호출은 자체 제한 시간 안에 끝남)
+ *  - 호출 종류(Operation)별 응답 제한 시간, 넘으면 ResourceAccessException (RestTemplate과 같은 예외)
+ *  - 응답이 그 종류의 최근 p95보다 늦으면 같은 요청을 한 번 더 보내 먼저 온 응답 사용 (hedging)
+ *  - 종류별 최근 WINDOW_SIZE건 지연 시간으로 p50/p95/p99 집계
+ *    - 실패/제한 시간 초과도 걸린 시간(최대 제한 시간)으로 기록 → TAGO가 느려지면 p95도 같이 올라감
+ *    - 지연 시간은 항상 첫 요청 기준 (hedge가 먼저 와도 첫 요청은 끝까지 받아 기록)
+ *    - hedging 대기 시간(p95)은 HEDGE_REFRESH_SAMPLES건마다 다시 계산해 두고 호출마다 정렬하지 않음
+ */
+
+package run_lion.reroute.realtimebus.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import run_lion.reroute.realtimebus.dto.TagoStatsDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class TagoTransport {
+
+    /** TAGO 호출 종류 */
+    public enum Operation {
+        ARRIVAL, ROUTE_STATIONS, BUS_GPS
+    }
+
+    /** 백분위 계산에 쓰는 최근 호출 수 */
+    private static final int WINDOW_SIZE = 1024;
+
+    /** 이보다 적게 쌓였으면 p95를 믿지 않고 hedging 안 함 */
+    private static final int MIN_SAMPLES_FOR_HEDGE = 20;
+
+    /** p95가 아주 작아도 최소 이만큼은 기다린 뒤 hedging */
+    private static final long MIN_HEDGE_DELAY_MS = 50;
+
+    /** hedging 대기 시간(p95)을 다시 계산하는 기록 간격 */
+    private static final int HEDGE_REFRESH_SAMPLES = 32;
+
+    /** HTTP 호출 1건 (기본은 공용 HttpClient.sendAsync, 테스트에서 교체) */
+    interface Sender {
+        CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request);
+    }
+
+    private final Sender sender;
+    private final LongSupplier nanoClock;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final boolean hedging;
+
+    private final Map<Operation, Duration> timeouts = new EnumMap<>(Operation.class);
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    @Autowired
+    public TagoTransport(HttpClient tagoHttpClient,
+                         @Value("${api.tago.http.max-concurrent:16}") int maxConcurrent,
+                         @Value("${api.tago.http.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+                         @Value("${api.tago.http.hedge:true}") boolean hedging,
+                         @Value("${api.tago.http.timeout-ms.arrival:3000}") long arrivalTimeoutMs,
+                         @Value("${api.tago.http.timeout-ms.route-stations:10000}") long routeStationsTimeoutMs,
+                         @Value("${api.tago.http.timeout-ms.bus-gps:3000}") long busGpsTimeoutMs) {
+        this(request -> tagoHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()), System::nanoTime,
+                maxConcurrent, acquireTimeoutMs, hedging, arrivalTimeoutMs, routeStationsTimeoutMs, busGpsTimeoutMs);
+    }
+
+    /**
+     * @param sender    HTTP 호출 (테스트에서 직접 완료시키는 future로 교체)
+     * @param nanoClock 지연 시간/제한 시간 계산용 (테스트에서 교체)
+     */
+    TagoTransport(Sender sender, LongSupplier nanoClock, int maxConcurrent, long acquireTimeoutMs, boolean hedging,
+                  long arrivalTimeoutMs, long routeStationsTimeoutMs, long busGpsTimeoutMs) {
+        this.sender = sender;
+        this.nanoClock = nanoClock;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.hedging = hedging;
+
+        timeouts.put(Operation.ARRIVAL, Duration.ofMillis(arrivalTimeoutMs));
+        timeouts.put(Operation.ROUTE_STATIONS, Duration.ofMillis(routeStationsTimeoutMs));
+        timeouts.put(Operation.BUS_GPS, Duration.ofMillis(busGpsTimeoutMs));
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * GET 요청 → 응답 본문
+     * @throws ResourceAccessException 제한 시간 초과, 연결 실패, 동시 호출 한도 초과
+     * @throws RestClientException 2xx가 아닌 응답
+     */
+    public byte[] get(Operation operation, URI uri) {
+        Duration timeout = timeouts.get(operation);
+        Stats stat = stats.get(operation);
+        stat.calls.increment();
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        long start = nanoClock.getAsLong();
+        try {
+            HttpResponse<byte[]> response = exchange(operation, request, stat, start + timeout.toNanos());
+            if (response.statusCode() / 100 != 2) {
+                throw new RestClientException("TAGO " + operation + " HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (RuntimeException ex) {
+            stat.errors.increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * 호출 1회 (+ 필요하면 hedging 1회)
+     */
+    private HttpResponse<byte[]> exchange(Operation operation, HttpRequest request, Stats stat, long deadline) {
+        acquire(operation, stat);
+        long start = nanoClock.getAsLong();
+        long timeoutMs = timeouts.get(operation).toMillis();
+        // 성공/실패/시간 초과와 관계없이 첫 요청이 끝난 시간 기록 (제한 시간을 넘으면 제한 시간)
+        CompletableFuture<HttpResponse<byte[]>> primary = send(request, () ->
+                stat.record(Math.min(timeoutMs, (nanoClock.getAsLong() - start) / 1_000_000)));
+
+        long hedgeAfterMs = hedging ? stat.hedgeDelayMs() : -1;
+        if (hedgeAfterMs < 0) {
+            return await(operation, primary, deadline);
+        }
+
+        try {
+            return primary.get(hedgeAfterMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // p95보다 늦음 → 아래에서 hedging
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new ResourceAccessException("TAGO " + operation + " interrupted");
+        } catch (ExecutionException e) {
+            throw translate(operation, e.getCause());
+        }
+
+        // 자리가 없으면 hedging 없이 원래 요청만 기다림 (hedging이 한도를 넘기지 않도록)
+        if (!permits.tryAcquire()) {
+            return await(operation, primary, deadline);
+        }
+        stat.hedges.increment();
+        log.debug("[TAGO] {} slower than p95 ({}ms), hedging", operation, hedgeAfterMs);
+        CompletableFuture<HttpResponse<byte[]>> hedge = send(request, () -> { });
+        return await(operation, firstSuccess(primary, hedge, stat), deadline);
+    }
+
+    private void acquire(Operation operation, Stats stat) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                stat.rejected.increment();
+                throw new ResourceAccessException(
+                        "TAGO " + operation + " rejected: " + maxConcurrent + " calls already in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("TAGO " + operation + " interrupted");
+        }
+    }
+
+    /**
+     * 비동기 전송 → 결과 사본
+     * - HttpClient future를 취소하면 교환이 아직 진행 중이어도 바로 완료되므로, 호출자에게는 사본만 넘김
+     *   (사본을 취소해도 교환은 HttpRequest 제한 시간 안에 스스로 끝남)
+     * - onFinished 실행과 세마포어 반환은 교환이 실제로 끝날 때
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, Runnable onFinished) {
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = sender.send(request);
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        exchange.whenComplete((response, ex) -> {
+            try {
+                onFinished.run();
+            } finally {
+                permits.release();
+            }
+        });
+        return exchange.copy();
+    }
+
+    /**
+     * 둘 중 먼저 성공한 응답 (둘 다 실패하면 나중 실패)
+     * - 첫 요청이 이기면 hedge 결과는 버림
+     * - hedge가 이기면 첫 요청 결과를 버리지 않음 (지연 시간 기록용, 요청 자체의 제한 시간 안에 끝남)
+     * - 제한 시간이 지나 결과가 취소되면 둘 다 버림
+     * (버려도 교환 자체는 끝날 때까지 자리를 차지함, send 참고)
+     */
+    private CompletableFuture<HttpResponse<byte[]>> firstSuccess(CompletableFuture<HttpResponse<byte[]>> primary,
+                                                                 CompletableFuture<HttpResponse<byte[]>> hedge,
+                                                                 Stats stat) {
+        CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        primary.whenComplete((response, ex) -> {
+            if (ex == null) first.complete(response);
+            else if (failures.incrementAndGet() == 2) first.completeExceptionally(ex);
+        });
+        hedge.whenComplete((response, ex) -> {
+            if (ex == null) {
+                if (first.complete(response)) stat.hedgeWins.increment();
+            } else if (failures.incrementAndGet() == 2) {
+                first.completeExceptionally(ex);
+            }
+        });
+
+        first.whenComplete((response, ex) -> {
+            hedge.cancel(true);
+            if (ex != null) primary.cancel(true);
+        });
+        return first;
+    }
+
+    private HttpResponse<byte[]> await(Operation operation, CompletableFuture<HttpResponse<byte[]>> future,
+                                       long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - nanoClock.getAsLong()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResourceAccessException("TAGO " + operation + " timed out after "
+                    + timeouts.get(operation).toMillis() + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ResourceAccessException("TAGO " + operation + " interrupted");
+        } catch (ExecutionException e) {
+            throw translate(operation, e.getCause());
+        }
+    }
+
+    private RuntimeException translate(Operation operation, Throwable cause) {
+        if (cause instanceof HttpTimeoutException timeout) {
+            return new ResourceAccessException("TAGO " + operation + " timed out after "
+                    + timeouts.get(operation).toMillis() + "ms", timeout);
+        }
+        if (cause instanceof IOException io) {
+            return new ResourceAccessException("TAGO " + operation + " I/O error: " + io.getMessage(), io);
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new RestClientException("TAGO " + operation + " failed", cause);
+    }
+
+    /**
+     * 호출 종류별 통계 (지연 시간 ms, 실패/시간 초과 포함, 첫 요청 기준)
+     */
+    public List<TagoStatsDto.OperationStats> stats() {
+        List<TagoStatsDto.OperationStats> result = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Stats stat = stats.get(operation);
+            long[] sorted = stat.sortedWindow();
+            result.add(new TagoStatsDto.OperationStats(
+                    operation.name(),
+                    stat.calls.sum(),
+                    stat.errors.sum(),
+                    stat.rejected.sum(),
+                    stat.hedges.sum(),
+                    stat.hedgeWins.sum(),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99)));
+        }
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+
+        // 최근 지연 시간 (원형 버퍼)
+        private final long[] window = new long[WINDOW_SIZE];
+        private int next;
+        private int count;
+        private int sinceRefresh;
+
+        // 마지막으로 계산한 hedging 대기 시간 (-1 = hedging 안 함), 호출마다 락 없이 읽음
+        private volatile long hedgeDelayMs = -1;
+
+        private synchronized void record(long millis) {
+            window[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+
+            // 표본이 막 충분해졌거나 HEDGE_REFRESH_SAMPLES건 쌓일 때마다 p95 다시 계산
+            if (++sinceRefresh >= HEDGE_REFRESH_SAMPLES || count == MIN_SAMPLES_FOR_HEDGE) {
+                sinceRefresh = 0;
+                hedgeDelayMs = computeHedgeDelayMs();
+            }
+        }
+
+        private synchronized long[] sortedWindow() {
+            long[] copy = Arrays.copyOf(window, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        /**
+         * hedging 대기 시간 = 최근 p95 (표본이 적으면 -1 = hedging 안 함, 마지막으로 계산한 값)
+         */
+        private long hedgeDelayMs() {
+            return hedgeDelayMs;
+        }
+
+        private long computeHedgeDelayMs() {
+            long[] sorted = sortedWindow();
+            if (sorted.length < MIN_SAMPLES_FOR_HEDGE) return -1;
+            return Math.max(MIN_HEDGE_DELAY_MS, percentile(sorted, 0.95));
+        }
+    }
+}
@@ -4,8 +4,10 @@ package run_lion.reroute.realtimebus.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import run_lion.reroute.realtimebus.dto.LocalArrivalDto;
+import run_lion.reroute.realtimebus.dto.TimetableStatusDto;
 import run_lion.reroute.realtimebus.service.LocalBusArrivalService;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -22,4 +24,10 @@ public class LocalBusArrivalController {
     ) {
         return localBusArrivalService.getArrivals(stationId, limit);
     }
+
+    // 시간표 재적재 (관리자용) - 실패하면 기존 시간표 유지
+    @PostMapping("/reload")
+    public TimetableStatusDto reload() throws IOException {
+        return localBusArrivalService.reload();
+    }
 }
@@ -4,15 +4,25 @@
  *  - 실시간 버스 도착 정보 조회 API 컨트롤러
  *  - 정류소 ID(stationId) 기준으로 도착 예정 버스 목록 반환
  *  - /api/realtime/arrival/{stationId} 엔드포인트 제공
+ *  - 스냅샷 나이(초)는 X-Snapshot-Age-Seconds 헤더로 전달
+ *  - /api/realtime/arrival/{stationId}/stream: 같은 정보를 SSE로 구독 (바뀐 버스만 전송, 폴링 대체)
+ *  - 노선망에 없는 정류소 ID는 404 (TAGO 조회/보드 등록 없음)
  */
 
 package run_lion.reroute.realtimebus.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
 import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+import run_lion.reroute.realtimebus.service.ArrivalStreamService;
 import run_lion.reroute.realtimebus.service.RealtimeBusArrivalService;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -20,16 +30,47 @@ import java.util.List;
 @RequestMapping("/api/realtime/arrival")
 public class RealtimeBusArrivalController {
 
+    /** 스냅샷 나이 응답 헤더 */
+    public static final String SNAPSHOT_AGE_HEADER = "X-Snapshot-Age-Seconds";
+
     /** 실시간 도착 정보 서비스 */
     private final RealtimeBusArrivalService arrivalService;
 
+    /** 도착 정보 실시간 구독 */
+    private final ArrivalStreamService streamService;
+
     /**
      * 특정 정류소의 실시간 도착 정보 반환
      * @param stationId 정류소 ID(nodeId)
-     * @return RealtimeArrivalDto 리스트
+     * @return RealtimeArrivalDto 리스트 (+ 스냅샷 나이 헤더, 없는 정류소면 404)
      */
     @GetMapping("/{stationId}")
-    public List<RealtimeArrivalDto> getArrival(@PathVariable String stationId) {
-        return arrivalService.getRealtimeArrival(stationId);
+    public ResponseEntity<List<RealtimeArrivalDto>> getArrival(@PathVariable String stationId) {
+        if (!arrivalService.isKnownStation(stationId)) {
+            return ResponseEntity.notFound().build();
+        }
+        ArrivalSnapshot snapshot = arrivalService.getRealtimeArrival(stationId);
+
+        return ResponseEntity.ok()
+                .header(SNAPSHOT_AGE_HEADER, String.valueOf(snapshot.ageSeconds(Instant.now())))
+                .body(snapshot.getArrivals());
+    }
+
+    /**
+     * 특정 정류소의 도착 정보 구독 (Server-Sent Events)
+     * - snapshot 이벤트(전체 목록) 1번 → 이후 바뀔 때마다 changes 이벤트(바뀐 버스 + 사라진 노선 ID)
+     * @param stationId 정류소 ID(nodeId)
+     * @return SSE 스트림 (없는 정류소면 404, 구독 수 한도 초과 시 503)
+     */
+    @GetMapping(value = "/{stationId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamArrival(@PathVariable String stationId) {
+        if (!arrivalService.isKnownStation(stationId)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = streamService.subscribe(stationId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+/**
+ * File: TagoStatsController.java
+ * Description:
+ *  - TAGO 호출 현황 조회 API (운영 모니터링용)
+ *  - /api/realtime/tago/stats 엔드포인트 제공
+ */
+
+package run_lion.reroute.realtimebus.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import run_lion.reroute.realtimebus.client.TagoGateway;
+import run_lion.reroute.realtimebus.dto.TagoStatsDto;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/realtime/tago")
+public class TagoStatsController {
+
+    private final TagoGateway tagoGateway;
+
+    /**
+     * single-flight 합류 수 + 호출 종류별 p50/p95/p99, hedging, 실패/거절 수
+     */
+    @GetMapping("/stats")
+    public TagoStatsDto getStats() {
+        return tagoGateway.getStats();
+    }
+}
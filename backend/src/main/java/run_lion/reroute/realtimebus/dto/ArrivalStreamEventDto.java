@@ -0,0 +1,31 @@
+/**
+ * File: ArrivalStreamEventDto.java
+ * Description:
+ *  - 정류소 도착 정보 SSE 이벤트 본문 (/api/realtime/arrival/{stationId}/stream)
+ *  - snapshot 이벤트: arrivals = 전체 목록 (구독 직후, 또는 노선 ID가 겹쳐 변경분을 만들 수 없을 때)
+ *  - changes 이벤트: arrivals = 새로 생기거나 값이 바뀐 버스, removed = 사라진 버스의 노선 ID
+ */
+
+package run_lion.reroute.realtimebus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ArrivalStreamEventDto {
+
+    /** 정류소 ID */
+    private String stationId;
+
+    /** 스냅샷 나이(초) */
+    private long ageSeconds;
+
+    /** 전체 목록(snapshot) 또는 바뀐 항목(changes) */
+    private List<RealtimeArrivalDto> arrivals;
+
+    /** 사라진 버스의 노선 ID (changes에만) */
+    private List<String> removed;
+}
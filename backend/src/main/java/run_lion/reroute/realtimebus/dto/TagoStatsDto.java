@@ -0,0 +1,48 @@
+/**
+ * File: TagoStatsDto.java
+ * Description:
+ *  - TAGO 호출 현황 (single-flight 합류 수 + 호출 종류별 지연 시간/hedging 통계)
+ */
+
+package run_lion.reroute.realtimebus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TagoStatsDto {
+
+    /** 실제 외부 호출 수 (TagoGateway) */
+    private long upstreamCalls;
+
+    /** 진행 중 호출에 합류해 외부 호출을 생략한 요청 수 */
+    private long coalescedCalls;
+
+    /** 호출 종류별 통계 */
+    private List<OperationStats> operations;
+
+    @Data
+    @AllArgsConstructor
+    public static class OperationStats {
+
+        /** ARRIVAL / ROUTE_STATIONS / BUS_GPS */
+        private String operation;
+
+        /** 전체 호출 / 실패 / 동시 호출 한도로 거절된 수 */
+        private long calls;
+        private long errors;
+        private long rejected;
+
+        /** p95보다 늦어 한 번 더 보낸 수 / 그중 두 번째가 먼저 온 수 */
+        private long hedges;
+        private long hedgeWins;
+
+        /** 최근 호출 지연 시간(ms, 실패/시간 초과 포함, hedging해도 첫 요청 기준) */
+        private long p50Ms;
+        private long p95Ms;
+        private long p99Ms;
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * File: TimetableStatusDto.java
+ * Description:
+ *  - 현재 적용 중인 시간표 스냅샷 정보 (재적재 API 응답)
+ */
+
+package run_lion.reroute.realtimebus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class TimetableStatusDto {
+
+    /** 적재 출처 (binary / xlsx) */
+    private String source;
+
+    /** 시간표가 있는 정류소 수 */
+    private int stationCount;
+
+    /** 전체 출발 횟수 */
+    private int departureCount;
+
+    /** 적재 완료 시각 */
+    private Instant loadedAt;
+}
@@ -0,0 +1,153 @@
+/**
+ * File: ArrivalPoller.java
+ * Description:
+ *  - 자주 조회되는 정류소(hot set)의 도착 정보를 백그라운드에서 미리 갱신
+ *  - hot set = StationIds 고정 정류소 + 설정(realtime.poller.hot-stations) + 요청 빈도로 학습한 정류소
+ *  - 정류소별 갱신 주기는 스냅샷의 refreshAfter(가장 빨리 오는 버스 기준)를 따름
+ *  - 요청 수는 학습 구간마다 최대 realtime.poller.max-tracked개 정류소만 셈 (넘으면 새 정류소는 무시)
+ */
+
+package run_lion.reroute.realtimebus.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.realtimebus.cache.ArrivalBoard;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
+import run_lion.reroute.realtimebus.client.TagoArrivalClient;
+import run_lion.reroute.realtimebus.constant.StationIds;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArrivalPoller {
+
+    /** 항상 갱신하는 정류소 (학교/충주역 양방향/터미널) */
+    private static final Set<String> FIXED_HOT_STATIONS = Set.of(
+            StationIds.KNUT,
+            StationIds.STATION_TO_KNUT,
+            StationIds.STATION_TO_TERMINAL,
+            StationIds.TERMINAL
+    );
+
+    /** 이 시간 동안 아무도 안 본 스냅샷은 정리 */
+    private static final Duration EVICT_AFTER = Duration.ofMinutes(30);
+
+    private final TagoArrivalClient tagoArrivalClient;
+    private final ArrivalBoard arrivalBoard;
+
+    /** 추가로 항상 갱신할 정류소 (쉼표 구분) */
+    @Value("${realtime.poller.hot-stations:}")
+    private String[] configuredStations;
+
+    /** 학습 구간 동안 이 횟수 이상 요청된 정류소를 hot set에 포함 */
+    @Value("${realtime.poller.learn-threshold:30}")
+    private int learnThreshold;
+
+    /** 학습으로 추가할 수 있는 최대 정류소 수 */
+    @Value("${realtime.poller.max-learned:20}")
+    private int maxLearned;
+
+    /** 학습 구간 동안 요청 수를 세는 최대 정류소 수 */
+    @Value("${realtime.poller.max-tracked:2000}")
+    private int maxTracked = 2000;
+
+    /** 현재 학습 구간의 정류소별 요청 수 */
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    /** 직전 학습 구간에서 뽑힌 정류소 */
+    private volatile Set<String> learnedStations = Set.of();
+
+    /**
+     * 정류소 요청 1회 기록 (학습용)
+     */
+    public void recordRequest(String stationId) {
+        LongAdder count = requestCounts.get(stationId);
+        if (count == null) {
+            if (requestCounts.size() >= maxTracked) return;
+            count = requestCounts.computeIfAbsent(stationId, id -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * 항상 갱신하는 고정 정류소인지
+     */
+    public static boolean isFixedStation(String stationId) {
+        return FIXED_HOT_STATIONS.contains(stationId);
+    }
+
+    /**
+     * 현재 hot set
+     */
+    public Set<String> hotStations() {
+        Set<String> hot = new LinkedHashSet<>(FIXED_HOT_STATIONS);
+        for (String id : configuredStations) {
+            if (!id.isBlank()) hot.add(id.trim());
+        }
+        hot.addAll(learnedStations);
+        return hot;
+    }
+
+    /**
+     * 정류소 1곳을 TAGO에서 다시 조회해 보드에 반영
+     */
+    public ArrivalSnapshot refresh(String stationId) {
+        ArrivalSnapshot snapshot = ArrivalSnapshot.of(
+                stationId, tagoArrivalClient.getArrivals(stationId), Instant.now());
+        arrivalBoard.publish(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * hot set 중 갱신 시각이 지난 정류소만 다시 조회
+     * - 실패 시 이전 스냅샷을 유지하고 다음 tick에 재시도
+     */
+    @Scheduled(fixedDelayString = "${realtime.poller.tick-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+
+        for (String stationId : hotStations()) {
+            ArrivalSnapshot current = arrivalBoard.get(stationId);
+            if (current != null && !current.isExpired(now)) continue;
+
+            try {
+                refresh(stationId);
+            } catch (RuntimeException ex) {
+                log.warn("[ArrivalPoller] {} 갱신 실패: {}", stationId, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 요청 빈도로 hot set 재학습 (학습 구간마다 카운터 초기화)
+     */
+    @Scheduled(fixedDelayString = "${realtime.poller.learn-window-ms:300000}",
+            initialDelayString = "${realtime.poller.learn-window-ms:300000}")
+    public void relearn() {
+        Set<String> learned = new LinkedHashSet<>();
+        requestCounts.entrySet().stream()
+                .filter(e -> e.getValue().sum() >= learnThreshold)
+                .filter(e -> !FIXED_HOT_STATIONS.contains(e.getKey()))
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(maxLearned)
+                .forEach(e -> learned.add(e.getKey()));
+
+        requestCounts.clear();
+        learnedStations = Set.copyOf(learned);
+        arrivalBoard.evictFetchedBefore(Instant.now().minus(EVICT_AFTER));
+
+        log.info("[ArrivalPoller] 학습 정류소 {}개 {}, 보드 {}개",
+                learned.size(), learned, arrivalBoard.size());
+    }
+}
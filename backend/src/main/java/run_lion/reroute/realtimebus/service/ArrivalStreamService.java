@@ -0,0 +1,271 @@
+/**
+ * File: ArrivalStreamService.java
+ * Description:
+ *  - 정류소 도착 정보 실시간 구독(SSE) 관리
+ *  - 정류소마다 채널 1개: 구독자가 몇 명이든 TAGO 조회는 스냅샷 갱신 주기(15~60초)마다 1번
+ *    (ArrivalBoard 스냅샷을 같이 쓰므로 hot set 폴링/일반 조회와도 호출을 공유)
+ *  - 새 스냅샷이 나오면 이전에 보낸 목록과 비교해 바뀐 버스만 전송, 바뀐 게 없으면 전송 안 함
+ *  - 마지막 구독자가 나가면 채널 삭제 → 그 정류소는 더 이상 갱신하지 않음
+ *  - 연결마다 스레드를 두지 않음 (SseEmitter 비동기 응답)
+ *  - 스케줄러 스레드는 갱신/전송할 정류소를 골라 realtimeExecutor에 넘기기만 함
+ *    (느린 TAGO 조회나 막힌 연결 하나가 다른 정류소/다른 스케줄 작업을 막지 않음)
+ *  - 정류소마다 진행 중인 작업은 최대 1개 → 같은 정류소 조회가 쌓이지 않고 이벤트 순서도 유지
+ */
+
+package run_lion.reroute.realtimebus.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import run_lion.reroute.realtimebus.cache.ArrivalBoard;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
+import run_lion.reroute.realtimebus.dto.ArrivalStreamEventDto;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class ArrivalStreamService {
+
+    /** 전체 목록 이벤트 이름 */
+    public static final String SNAPSHOT_EVENT = "snapshot";
+
+    /** 변경분 이벤트 이름 */
+    public static final String CHANGES_EVENT = "changes";
+
+    private final ArrivalBoard arrivalBoard;
+    private final ArrivalPoller arrivalPoller;
+    private final RealtimeBusArrivalService arrivalService;
+    private final ExecutorService realtimeExecutor;
+
+    /** 노드 전체 최대 구독 수 (넘으면 구독 거절) */
+    @Value("${realtime.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    /** 연결 유지 최대 시간 (끝나면 브라우저 EventSource가 자동 재연결) */
+    @Value("${realtime.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /** stationId → 채널 */
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /** 현재 구독 수 */
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public ArrivalStreamService(ArrivalBoard arrivalBoard, ArrivalPoller arrivalPoller,
+                                RealtimeBusArrivalService arrivalService,
+                                @Qualifier("realtimeExecutor") ExecutorService realtimeExecutor) {
+        this.arrivalBoard = arrivalBoard;
+        this.arrivalPoller = arrivalPoller;
+        this.arrivalService = arrivalService;
+        this.realtimeExecutor = realtimeExecutor;
+    }
+
+    /**
+     * 정류소 구독
+     * - 현재 스냅샷(없으면 TAGO 조회)을 snapshot 이벤트로 먼저 전송
+     * @return 구독 수 한도를 넘으면 null
+     */
+    public SseEmitter subscribe(String stationId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Channel joined = channels.compute(stationId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.emitters.add(emitter);
+            return target;
+        });
+
+        Runnable unsubscribe = () -> unsubscribe(stationId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+
+        try {
+            ArrivalSnapshot snapshot = arrivalService.getRealtimeArrival(stationId);
+            send(emitter, SNAPSHOT_EVENT, new ArrivalStreamEventDto(
+                    stationId, snapshot.ageSeconds(Instant.now()), snapshot.getArrivals(), null));
+            // 새 채널이면 이 스냅샷을 기준으로 다음 변경분 계산 (같은 목록을 changes로 다시 보내지 않음)
+            if (joined.lastSnapshot == null) joined.lastSnapshot = snapshot;
+        } catch (RuntimeException ex) {
+            // 첫 조회 실패 → 다음 갱신 때 changes로 받음
+            log.warn("[ArrivalStream] {} 첫 조회 실패: {}", stationId, ex.getMessage());
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(String stationId, SseEmitter emitter) {
+        channels.computeIfPresent(stationId, (id, channel) -> {
+            if (channel.emitters.remove(emitter)) {
+                subscribers.decrementAndGet();
+            }
+            return channel.emitters.isEmpty() ? null : channel;   // 마지막 구독자 → 채널 삭제
+        });
+    }
+
+    /**
+     * 구독 중인 정류소 중 갱신 시각이 지났거나 새 스냅샷이 있는 곳만 골라 realtimeExecutor에 넘김
+     * - 실제 조회/비교/전송은 update에서 (정류소마다 비동기, 이 스레드는 기다리지 않음)
+     * - 이전 작업이 아직 끝나지 않은 정류소는 이번 tick 건너뜀
+     */
+    @Scheduled(fixedDelayString = "${realtime.stream.tick-ms:1000}")
+    public void broadcast() {
+        Instant now = Instant.now();
+
+        channels.forEach((stationId, channel) -> {
+            ArrivalSnapshot current = arrivalBoard.get(stationId);
+            boolean expired = current == null || current.isExpired(now);
+            if (!expired && current == channel.lastSnapshot) return;
+
+            submit(stationId, channel, () -> update(stationId, channel, expired));
+        });
+    }
+
+    /**
+     * 정류소 1곳 갱신 + 변경분 전송 (realtimeExecutor 스레드)
+     * - 갱신 실패 시 보드의 이전 스냅샷 기준으로 비교, 다음 tick에 재시도
+     */
+    private void update(String stationId, Channel channel, boolean refresh) {
+        ArrivalSnapshot snapshot = null;
+        if (refresh) {
+            try {
+                snapshot = arrivalPoller.refresh(stationId);
+            } catch (RuntimeException ex) {
+                log.warn("[ArrivalStream] {} 갱신 실패: {}", stationId, ex.getMessage());
+            }
+        }
+        if (snapshot == null) snapshot = arrivalBoard.get(stationId);
+        if (snapshot == null || snapshot == channel.lastSnapshot) return;
+
+        ArrivalStreamEventDto event = channel.changesTo(stationId, snapshot, Instant.now());
+        if (event != null) {
+            String name = event.getRemoved() == null ? SNAPSHOT_EVENT : CHANGES_EVENT;
+            for (SseEmitter emitter : channel.emitters) {
+                send(emitter, name, event);
+            }
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 이벤트 전송 (끊긴 연결은 여기서 정리됨)
+     * - 전송은 정류소마다 realtimeExecutor에서 (진행 중인 갱신/전송이 있는 정류소는 이번 주기 생략)
+     */
+    @Scheduled(fixedDelayString = "${realtime.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        channels.forEach((stationId, channel) -> submit(stationId, channel, () -> {
+            for (SseEmitter emitter : channel.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException ex) {
+                    emitter.completeWithError(ex);
+                }
+            }
+        }));
+    }
+
+    /**
+     * 정류소 작업을 realtimeExecutor에 넘김 (이미 진행 중이거나 대기열이 가득 차면 다음 주기에)
+     */
+    private void submit(String stationId, Channel channel, Runnable task) {
+        if (!channel.busy.compareAndSet(false, true)) return;
+        try {
+            realtimeExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    channel.busy.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            channel.busy.set(false);
+            log.warn("[ArrivalStream] {} 작업 대기열 가득 참, 다음 주기에 재시도", stationId);
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, ArrivalStreamEventDto event) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(event));
+        } catch (IOException | IllegalStateException ex) {
+            // 연결 끊김 → onError/onCompletion에서 구독 해제
+            emitter.completeWithError(ex);
+        }
+    }
+
+    /** 현재 구독 수 */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /** 구독 중인 정류소 수 */
+    public int getStationCount() {
+        return channels.size();
+    }
+
+    private static final class Channel {
+
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        /** realtimeExecutor에서 이 정류소 작업(갱신/전송)이 진행 중인지 */
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        /** 마지막으로 처리한 스냅샷 (같은 스냅샷이면 비교 생략) */
+        private volatile ArrivalSnapshot lastSnapshot;
+
+        /**
+         * 마지막 스냅샷 → 새 스냅샷 변경분 (바뀐 게 없으면 null)
+         * - 노선 ID가 겹치면(같은 노선 버스 2대 등) 항목을 특정할 수 없으므로 전체 목록(removed = null)
+         */
+        private ArrivalStreamEventDto changesTo(String stationId, ArrivalSnapshot snapshot, Instant now) {
+            ArrivalSnapshot previous = lastSnapshot;
+            lastSnapshot = snapshot;
+            long age = snapshot.ageSeconds(now);
+
+            List<RealtimeArrivalDto> arrivals = snapshot.getArrivals();
+            Map<String, RealtimeArrivalDto> before = previous != null ? byBusId(previous.getArrivals()) : Map.of();
+            Map<String, RealtimeArrivalDto> after = byBusId(arrivals);
+            if (before == null || after == null) {
+                return new ArrivalStreamEventDto(stationId, age, arrivals, null);
+            }
+
+            List<RealtimeArrivalDto> changed = new ArrayList<>();
+            for (RealtimeArrivalDto arrival : arrivals) {
+                if (!Objects.equals(before.get(arrival.getBusId()), arrival)) changed.add(arrival);
+            }
+            List<String> removed = new ArrayList<>();
+            for (String busId : before.keySet()) {
+                if (!after.containsKey(busId)) removed.add(busId);
+            }
+
+            if (changed.isEmpty() && removed.isEmpty()) return null;
+            return new ArrivalStreamEventDto(stationId, age, changed, removed);
+        }
+
+        /** 노선 ID → 도착 정보 (노선 ID가 겹치면 null) */
+        private static Map<String, RealtimeArrivalDto> byBusId(List<RealtimeArrivalDto> arrivals) {
+            Map<String, RealtimeArrivalDto> map = new HashMap<>();
+            for (RealtimeArrivalDto arrival : arrivals) {
+                if (map.put(arrival.getBusId(), arrival) != null) return null;
+            }
+            return map;
+        }
+    }
+}
@@ -4,298 +4,187 @@ package run_lion.reroute.realtimebus.service;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import run_lion.reroute.realtimebus.constant.StationIds;
 import run_lion.reroute.realtimebus.dto.LocalArrivalDto;
+import run_lion.reroute.realtimebus.dto.TimetableStatusDto;
+import run_lion.reroute.realtimebus.timetable.StationTimetable;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.realtimebus.timetable.TimetableBinaryCodec;
+import run_lion.reroute.realtimebus.timetable.TimetableXlsxParser;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.time.*;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LocalBusArrivalService {
 
-    // stationId -> (routeNo -> times)
-    private final Map<String, Map<String, List<LocalTime>>> timetable = new ConcurrentHashMap<>();
+    // backend/src/main/resources/chungju_bus_timetable.xlsx
+    private static final String TIMETABLE_XLSX = "chungju_bus_timetable.xlsx";
 
-    private static final Pattern ROUTE_NO_PATTERN = Pattern.compile("\\d{2,4}(-\\d)?"); // 112-1 같은거
+    // 현재 시간표 스냅샷 (재적재 시 새로 만든 뒤 통째로 교체 - 읽는 쪽은 락 없음)
+    private final AtomicReference<Snapshot> snapshot =
+        new AtomicReference<>(new Snapshot(Timetable.empty(), "none", Instant.EPOCH));
 
-    @PostConstruct
-    public void load() {
-        // resources 경로
-        // backend/src/main/resources/data/chungju_bus_timetable.xlsx
-        String path = "data/chungju_bus_timetable.xlsx";
-        timetable.clear();
-
-        try (InputStream is = new ClassPathResource(path).getInputStream();
-             Workbook wb = WorkbookFactory.create(is)) {
-
-            Sheet sh = wb.getSheetAt(0);
-            FormulaEvaluator eval = wb.getCreationHelper().createFormulaEvaluator();
-
-            Integer routeNoCol = null;                 // 0-based
-            Map<Integer, String> colToStationId = new HashMap<>(); // 0-based col -> stationId
-            String currentRouteNo = null;
-
-            for (int r = 0; r <= sh.getLastRowNum(); r++) {
-                Row row = sh.getRow(r);
-                if (row == null) continue;
+    // 엑셀을 미리 변환해 둔 바이너리 시간표 (없거나 오래되면 엑셀 파싱 후 다시 생성)
+    @Value("${timetable.cache-path:${java.io.tmpdir}/reroute/chungju_bus_timetable.bin}")
+    private String cachePath;
 
-                List<String> rowTexts = readRowAsStrings(row, eval);
+    // 외부 엑셀 파일 경로 (지정하면 classpath 대신 이 파일을 읽고, 변경 시 자동 재적재)
+    @Value("${timetable.xlsx-path:}")
+    private String xlsxPath;
 
-                if (isHeaderRow(rowTexts, r)) {
-                    // 헤더 갱신
-                    routeNoCol = findColIndexContains(rowTexts, "노선번호");
-                    colToStationId = buildStationColumnMap(rowTexts);
-
-                    // 999 블록(맨 위)은 "노선번호"라는 글자가 없어서 예외 처리: A열이 노선번호
-                    if (r == 0 && routeNoCol == null) routeNoCol = 0;
-
-                    currentRouteNo = null;
-                    continue;
-                }
-
-                if (colToStationId.isEmpty()) continue;
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (Exception ex) {
+            log.error("[LocalBusArrivalService] failed to load timetable: {}", ex.getMessage(), ex);
+        }
+    }
 
-                // routeNo 갱신 (섹션마다 노선번호 컬럼이 다름)
-                if (routeNoCol != null) {
-                    String routeCell = safeGet(rowTexts, routeNoCol);
-                    String parsed = parseRouteNo(routeCell);
-                    if (parsed != null) currentRouteNo = parsed;
+    /**
+     * 시간표 재적재
+     * - 새 시간표를 다 만든 뒤에만 교체 (실패하면 기존 시간표 유지)
+     * - 동시에 여러 번 호출돼도 한 번에 하나씩
+     */
+    public synchronized TimetableStatusDto reload() throws IOException {
+        long start = System.nanoTime();
+        Path file = getXlsxFile();
+
+        // jar 안 리소스는 수정 시각을 믿을 수 없어서 내용 해시로 캐시 유효성 판단
+        byte[] sourceHash;
+        try (InputStream is = openXlsx(file)) {
+            sourceHash = TimetableBinaryCodec.sourceHash(is, TimetableXlsxParser.PARSER_VERSION);
+        }
+        Path cache = Path.of(cachePath);
+
+        String source = "binary";
+        Timetable loaded = readCache(cache, sourceHash);
+        if (loaded == null) {
+            source = "xlsx";
+            if (file != null) {
+                loaded = TimetableXlsxParser.parse(file);
+            } else {
+                try (InputStream is = openXlsx(null)) {
+                    loaded = TimetableXlsxParser.parse(is);
                 }
+            }
+            writeCache(cache, loaded, sourceHash);
+        }
 
-                if (currentRouteNo == null) continue;
-
-                // 타겟 정류장 컬럼(터미널/충주역/교통대)만 파싱
-                for (Map.Entry<Integer, String> e : colToStationId.entrySet()) {
-                    int c = e.getKey();
-                    String stationId = e.getValue();
+        Snapshot next = new Snapshot(loaded, source, Instant.now());
+        snapshot.set(next);
 
-                    Cell cell = row.getCell(c);
-                    Optional<LocalTime> t = parseTimeCell(cell, eval);
-                    if (t.isEmpty()) continue;
+        log.info("[LocalBusArrivalService] loaded timetable from {} in {} ms stations={}, departures={}",
+            source, (System.nanoTime() - start) / 1_000_000, loaded.stationIds(), loaded.departureCount());
 
-                    timetable
-                        .computeIfAbsent(stationId, k -> new ConcurrentHashMap<>())
-                        .computeIfAbsent(currentRouteNo, k -> Collections.synchronizedList(new ArrayList<>()))
-                        .add(t.get());
-                }
-            }
+        return next.toStatus();
+    }
 
-            // 정렬 + 중복 제거
-            for (Map<String, List<LocalTime>> byRoute : timetable.values()) {
-                for (Map.Entry<String, List<LocalTime>> e : byRoute.entrySet()) {
-                    List<LocalTime> sorted = e.getValue().stream()
-                        .distinct()
-                        .sorted()
-                        .collect(Collectors.toList());
-                    e.setValue(Collections.synchronizedList(sorted));
-                }
-            }
+    /**
+     * 현재 시간표 (재적재되면 다른 인스턴스로 바뀜)
+     */
+    public Timetable getTimetable() {
+        return snapshot.get().timetable;
+    }
 
-            log.info("[LocalBusArrivalService] loaded timetable stations={}, file={}",
-                timetable.keySet(), path);
+    /**
+     * 현재 시간표 정보
+     */
+    public TimetableStatusDto getStatus() {
+        return snapshot.get().toStatus();
+    }
 
-        } catch (Exception ex) {
-            log.error("[LocalBusArrivalService] failed to load excel: {}", ex.getMessage(), ex);
-            timetable.clear();
-        }
+    /**
+     * 외부 엑셀 파일 (classpath 리소스를 쓰면 null)
+     */
+    public Path getXlsxFile() {
+        return xlsxPath == null || xlsxPath.isBlank() ? null : Path.of(xlsxPath);
     }
 
     /**
      * 시간표 기반 도착예정(초 단위) 반환
      * - 오늘 시간이 지나있으면 "내일"로 롤오버
      * - prev_station_count는 -1 (시간표는 몇 정류장 전 정보 없음)
+     * - 노선별 정렬 배열에서 이진 탐색 + 노선 간 병합 (StationTimetable.nextArrivals)
      */
     public List<LocalArrivalDto> getArrivals(String stationId, int limit) {
-        Map<String, List<LocalTime>> byRoute = timetable.getOrDefault(stationId, Map.of());
-        if (byRoute.isEmpty()) return List.of();
-
-        LocalDateTime now = LocalDateTime.now();
-        List<LocalArrivalDto> out = new ArrayList<>();
-
-        for (Map.Entry<String, List<LocalTime>> entry : byRoute.entrySet()) {
-            String routeNo = entry.getKey();
-            List<LocalTime> times = entry.getValue();
-
-            List<LocalDateTime> nextTimes = times.stream()
-                .map(t -> LocalDateTime.of(now.toLocalDate(), t))
-                .map(dt -> dt.isBefore(now) ? dt.plusDays(1) : dt)
-                .sorted()
-                .limit(limit)
-                .toList();
-
-            for (LocalDateTime dt : nextTimes) {
-                long sec = Duration.between(now, dt).getSeconds();
-                if (sec < 0) continue;
-
-                out.add(new LocalArrivalDto(
-                    null,
-                    routeNo,
-                    (int) sec,
-                    -1
-                ));
-            }
-        }
+        StationTimetable stationTimetable = snapshot.get().timetable.station(stationId);
+        if (stationTimetable == null) return List.of();
 
-        return out.stream()
-            .sorted(Comparator.comparingInt(LocalArrivalDto::getArr_time))
-            .limit(limit)
-            .collect(Collectors.toList());
+        return stationTimetable.nextArrivals(LocalTime.now().toSecondOfDay(), limit);
     }
 
     // ---------------- helpers ----------------
 
-    private boolean isHeaderRow(List<String> rowTexts, int rowIndex) {
-        // 일반 섹션 헤더: "노선번호" 포함
-        boolean hasRouteNoHeader = rowTexts.stream().anyMatch(s -> s.contains("노선번호"));
-
-        // 999 섹션 헤더(맨 첫 줄): 터미널/교통대 키워드가 있음
-        boolean looks999Header = rowIndex == 0 &&
-            rowTexts.stream().anyMatch(s -> s.contains("터미널")) &&
-            rowTexts.stream().anyMatch(s -> s.contains("교통대"));
-
-        // 교통대 셔틀 같은 섹션도 헤더 감지 (노선번호 없을 수 있음)
-        boolean looksShuttleHeader =
-            rowTexts.stream().anyMatch(s -> s.contains("교통대")) &&
-            rowTexts.stream().anyMatch(s -> s.contains("터미널")) &&
-            rowTexts.stream().filter(s -> !s.isBlank()).count() >= 3;
-
-        return hasRouteNoHeader || looks999Header || looksShuttleHeader;
-    }
-
-    private Map<Integer, String> buildStationColumnMap(List<String> header) {
-        Map<Integer, String> map = new HashMap<>();
-
-        int chungjuSeen = 0;
-        for (int c = 0; c < header.size(); c++) {
-            String h = header.get(c);
-            if (h == null) continue;
-
-            // 터미널
-            if (h.contains("터미널")) {
-                map.put(c, StationIds.TERMINAL);
-                continue;
-            }
-
-            // 충주역(방향 2개일 수 있음)
-            if (h.contains("충주역")) {
-                chungjuSeen++;
-                if (chungjuSeen == 1) map.put(c, StationIds.STATION_TO_KNUT);
-                else map.put(c, StationIds.STATION_TO_TERMINAL);
-                continue;
-            }
-
-            // 교통대(도착/출발 포함)
-            if (h.contains("교통대")) {
-                map.put(c, StationIds.KNUT);
-            }
-        }
-
-        return map;
-    }
-
-    private Integer findColIndexContains(List<String> rowTexts, String token) {
-        for (int i = 0; i < rowTexts.size(); i++) {
-            if (rowTexts.get(i).contains(token)) return i;
-        }
-        return null;
+    private InputStream openXlsx(Path file) throws IOException {
+        return file != null ? Files.newInputStream(file) : new ClassPathResource(TIMETABLE_XLSX).getInputStream();
     }
 
-    private List<String> readRowAsStrings(Row row, FormulaEvaluator eval) {
-        int last = Math.max(row.getLastCellNum(), 0);
-        List<String> out = new ArrayList<>(last);
-        for (int c = 0; c < last; c++) {
-            out.add(getCellString(row.getCell(c), eval));
+    /**
+     * 바이너리 캐시 읽기 (없음/오래됨/깨짐 → null)
+     */
+    private Timetable readCache(Path cache, byte[] sourceHash) {
+        if (!Files.isRegularFile(cache)) return null;
+
+        try (InputStream in = Files.newInputStream(cache)) {
+            Timetable loaded = TimetableBinaryCodec.read(in, sourceHash);
+            if (loaded == null) log.info("[LocalBusArrivalService] timetable cache is stale: {}", cache);
+            return loaded;
+        } catch (IOException ex) {
+            log.warn("[LocalBusArrivalService] unreadable timetable cache {}: {}", cache, ex.getMessage());
+            return null;
         }
-        return out;
-    }
-
-    private String getCellString(Cell cell, FormulaEvaluator eval) {
-        if (cell == null) return "";
-
-        CellType type = cell.getCellType();
-        if (type == CellType.FORMULA) type = eval.evaluateFormulaCell(cell);
-
-        return switch (type) {
-            case STRING -> safe(cell.getStringCellValue());
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    yield cell.getLocalDateTimeCellValue().toLocalTime().toString();
-                }
-                double v = cell.getNumericCellValue();
-                // 노선번호 같은 정수
-                if (Math.floor(v) == v) yield String.valueOf((int) v);
-                yield String.valueOf(v);
-            }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            default -> "";
-        };
     }
 
-    private Optional<LocalTime> parseTimeCell(Cell cell, FormulaEvaluator eval) {
-        if (cell == null) return Optional.empty();
-
-        CellType type = cell.getCellType();
-        if (type == CellType.FORMULA) type = eval.evaluateFormulaCell(cell);
-
+    /**
+     * 바이너리 캐시 쓰기 (임시 파일에 쓴 뒤 교체, 실패해도 서비스는 계속)
+     */
+    private void writeCache(Path cache, Timetable loaded, byte[] sourceHash) {
         try {
-            if (type == CellType.NUMERIC) {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return Optional.of(cell.getLocalDateTimeCellValue().toLocalTime().withSecond(0));
-                }
-                // 엑셀 시간이 숫자(분수)로 들어온 경우도 방어
-                double v = cell.getNumericCellValue();
-                if (v > 0 && v < 1) {
-                    Date d = DateUtil.getJavaDate(v);
-                    Instant ins = d.toInstant();
-                    return Optional.of(ins.atZone(ZoneId.systemDefault()).toLocalTime().withSecond(0));
-                }
-                return Optional.empty();
-            }
-
-            if (type == CellType.STRING) {
-                String raw = safe(cell.getStringCellValue());
-                if (raw.isBlank()) return Optional.empty();
-                if (raw.contains("직행")) return Optional.empty();
+            Path dir = cache.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
 
-                // "8:10/8:15" → "8:10"
-                if (raw.contains("/")) raw = raw.split("/")[0].trim();
-
-                // "08:17:00" or "8:10"
-                if (raw.matches("\\d{1,2}:\\d{2}:\\d{2}")) return Optional.of(LocalTime.parse(raw).withSecond(0));
-                if (raw.matches("\\d{1,2}:\\d{2}")) return Optional.of(LocalTime.parse(raw + ":00").withSecond(0));
-
-                return Optional.empty();
+            Path tmp = Files.createTempFile(dir, "timetable", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                TimetableBinaryCodec.write(loaded, sourceHash, out);
             }
-        } catch (Exception ignored) {
-            return Optional.empty();
-        }
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 
-        return Optional.empty();
-    }
-
-    private String parseRouteNo(String s) {
-        if (s == null) return null;
-        String t = s.trim();
-        if (t.isBlank()) return null;
-        if (ROUTE_NO_PATTERN.matcher(t).matches()) return t;
-        return null;
+            log.info("[LocalBusArrivalService] wrote timetable cache {}", cache);
+        } catch (IOException ex) {
+            log.warn("[LocalBusArrivalService] failed to write timetable cache {}: {}", cache, ex.getMessage());
+        }
     }
 
-    private String safe(String s) {
-        return s == null ? "" : s.trim();
-    }
+    /**
+     * 적재된 시간표 + 출처/시각 (한 번에 교체되는 단위)
+     */
+    private static final class Snapshot {
+        private final Timetable timetable;
+        private final String source;
+        private final Instant loadedAt;
+
+        Snapshot(Timetable timetable, String source, Instant loadedAt) {
+            this.timetable = timetable;
+            this.source = source;
+            this.loadedAt = loadedAt;
+        }
 
-    private String safeGet(List<String> list, int idx) {
-        if (idx < 0 || idx >= list.size()) return "";
-        return list.get(idx);
+        TimetableStatusDto toStatus() {
+            return new TimetableStatusDto(source, timetable.stationIds().size(), timetable.departureCount(), loadedAt);
+        }
     }
 }
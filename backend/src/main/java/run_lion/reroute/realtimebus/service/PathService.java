@@ -11,8 +11,8 @@ package run_lion.reroute.realtimebus.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import run_lion.reroute.realtimebus.client.ArrivalClient;
-import run_lion.reroute.realtimebus.dto.ArrivalResponse;
 import run_lion.reroute.realtimebus.dto.PathResult;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,23 +37,15 @@ public class PathService {
     public List<PathResult> findPath(String from, String to) {
 
         // 출발 정류소 기준 실시간 도착 정보 조회
-        ArrivalResponse arrival = arrivalClient.getArrivalList(from);
+        List<RealtimeArrivalDto> arrivals = arrivalClient.getArrivalList(from);
 
         List<PathResult> results = new ArrayList<>();
 
-        // NULL 방어
-        if (arrival.getResponse() == null ||
-                arrival.getResponse().getBody() == null ||
-                arrival.getResponse().getBody().getItems() == null ||
-                arrival.getResponse().getBody().getItems().getItem() == null) {
-            return results;
-        }
-
-        // 도착 정보 item 반복 처리
-        for (ArrivalResponse.Item item : arrival.getResponse().getBody().getItems().getItem()) {
+        // 도착 정보 반복 처리
+        for (RealtimeArrivalDto arrival : arrivals) {
 
-            String routeId = item.getRouteid();   // 노선 ID
-            String routeNo = item.getRouteno();   // 노선 번호(String 형태)
+            String routeId = arrival.getBusId();   // 노선 ID
+            String routeNo = arrival.getBusNo();   // 노선 번호(String 형태)
             if (routeId == null || routeNo == null) continue;
 
             // 노선 전체 경유 정류장 순서 맵
@@ -70,11 +62,11 @@ public class PathService {
             // BUS가 from 이후 → to 이전 방향에 있어야 경로로 인정
             if (fromSeq <= nowSeq && nowSeq < toSeq) {
 
-                // 남은 시간(초 → 분)
-                int arrTimeMin = (item.getArrtime() + 59) / 60;
+                // 남은 시간(분, 초 → 분 올림은 디코딩 시 처리)
+                int arrTimeMin = arrival.getArrTimeMin();
 
                 // 남은 정류장 수
-                int prevStationCount = item.getArrprevstationcnt();
+                int prevStationCount = arrival.getPrevStationCount();
 
                 // PathResult DTO 생성
                 results.add(PathResult.builder()
@@ -2,31 +2,78 @@
  * File: RealtimeBusArrivalService.java
  * Description:
  *  - 실시간 버스 도착 정보 조회 서비스
- *  - TagoArrivalClient를 호출하여 nodeId 기준 도착 예정 버스 목록 반환
+ *  - ArrivalBoard의 스냅샷이 유효하면 그대로 반환 (TAGO 호출 없음)
+ *  - 스냅샷이 없거나 갱신 시각이 지났으면 TAGO를 다시 조회해 보드에 반영
+ *  - 노선망(TransitGraph)에 없는 정류소는 컨트롤러에서 404 (요청 수 기록/보드 등록 안 함)
  */
 
 package run_lion.reroute.realtimebus.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import run_lion.reroute.realtimebus.client.TagoArrivalClient;
-import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+import run_lion.reroute.realtimebus.cache.ArrivalBoard;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
 
-import java.util.List;
+import java.time.Instant;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RealtimeBusArrivalService {
 
-    /** TAGO 실시간 도착정보 조회 클라이언트 */
-    private final TagoArrivalClient tagoArrivalClient;
+    /** 정류소별 도착 정보 스냅샷 */
+    private final ArrivalBoard arrivalBoard;
+
+    /** hot set 주기 갱신 + 요청 시 갱신 */
+    private final ArrivalPoller arrivalPoller;
+
+    /** 정류소 존재 확인용 노선망 스냅샷 */
+    private final TransitGraphProvider graphProvider;
+
+    /**
+     * 조회할 수 있는 정류소인지 (노선망에 있거나 고정 정류소)
+     * - 노선망을 아직 못 읽었으면(정류소 0개) 확인할 수 없으므로 허용 (보드/요청 수 상한이 막아줌)
+     */
+    public boolean isKnownStation(String nodeId) {
+        if (ArrivalPoller.isFixedStation(nodeId)) return true;
+        TransitGraph graph = graphProvider.current();
+        return graph.stationCount() == 0 || graph.stationIndexOf(nodeId) >= 0;
+    }
 
     /**
      * 특정 정류소의 실시간 도착 정보 조회
+     * - 갱신 실패 시 이전 스냅샷이 있으면 그대로 반환 (나이는 스냅샷에 기록됨)
      * @param nodeId 정류소 ID
-     * @return RealtimeArrivalDto 리스트
+     * @return ArrivalSnapshot 도착 정보 + 조회 시각
      */
-    public List<RealtimeArrivalDto> getRealtimeArrival(String nodeId) {
-        return tagoArrivalClient.getArrivals(nodeId);
+    public ArrivalSnapshot getRealtimeArrival(String nodeId) {
+        return getRealtimeArrival(nodeId, null);
+    }
+
+    /**
+     * @param onUpstreamCall 이 호출이 직접 TAGO를 조회할 때 실행 (null 가능)
+     *                       - 다른 요청/poller가 갱신한 스냅샷을 받은 경우는 실행하지 않음
+     */
+    public ArrivalSnapshot getRealtimeArrival(String nodeId, Runnable onUpstreamCall) {
+        if (isKnownStation(nodeId)) {
+            arrivalPoller.recordRequest(nodeId);
+        }
+
+        ArrivalSnapshot snapshot = arrivalBoard.get(nodeId);
+        if (snapshot != null && !snapshot.isExpired(Instant.now())) {
+            return snapshot;
+        }
+
+        try {
+            if (onUpstreamCall != null) onUpstreamCall.run();
+            return arrivalPoller.refresh(nodeId);
+        } catch (RuntimeException ex) {
+            if (snapshot == null) throw ex;
+            log.warn("[RealtimeArrival] {} 갱신 실패, 이전 스냅샷 사용: {}", nodeId, ex.getMessage());
+            return snapshot;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+/**
+ * File: TimetableFileWatcher.java
+ * Description:
+ *  - timetable.xlsx-path로 지정한 시간표 엑셀이 바뀌면 LocalBusArrivalService.reload() 호출
+ *  - 엑셀 저장 시 이벤트가 여러 번 오므로 잠깐 기다렸다가 한 번만 재적재
+ *  - classpath 리소스를 쓰는 경우(경로 미지정)에는 동작하지 않음 (재적재 API만 사용)
+ */
+
+package run_lion.reroute.realtimebus.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimetableFileWatcher {
+
+    /** 연속 저장 이벤트를 하나로 묶는 대기 시간 */
+    private static final long DEBOUNCE_MS = 500;
+
+    private final LocalBusArrivalService localBusArrivalService;
+
+    private WatchService watchService;
+
+    @PostConstruct
+    public void start() {
+        Path file = localBusArrivalService.getXlsxFile();
+        if (file == null) return;
+
+        Path dir = file.toAbsolutePath().getParent();
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            log.warn("[TimetableFileWatcher] cannot watch {}: {}", dir, ex.getMessage());
+            return;
+        }
+
+        Thread thread = new Thread(() -> watch(file.getFileName()), "timetable-watcher");
+        thread.setDaemon(true);
+        thread.start();
+
+        log.info("[TimetableFileWatcher] watching {}", file.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+
+    private void watch(Path fileName) {
+        try {
+            while (true) {
+                if (!changed(watchService.take(), fileName)) continue;
+
+                // 저장 중 이어서 들어오는 이벤트는 버리고 한 번만 재적재
+                Thread.sleep(DEBOUNCE_MS);
+                for (WatchKey key; (key = watchService.poll()) != null; ) {
+                    key.pollEvents();
+                    key.reset();
+                }
+
+                try {
+                    localBusArrivalService.reload();
+                } catch (Exception ex) {
+                    log.warn("[TimetableFileWatcher] reload failed, keeping current timetable: {}", ex.getMessage());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // 종료
+        }
+    }
+
+    private boolean changed(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) changed = true;
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * File: StationTimetable.java
+ * Description:
+ *  - 정류소 1곳의 노선별 시간표 (불변)
+ *  - 노선마다 출발 시각을 자정 기준 분(minute-of-day) 오름차순 int[]로 보관
+ *  - 다음 N개 도착: 노선별 이진 탐색으로 시작 위치를 찾고, 노선 간 k-way 병합
+ *    (오늘 남은 시각을 다 쓰면 같은 배열을 처음부터 다시 읽어 "내일"로 롤오버)
+ */
+
+package run_lion.reroute.realtimebus.timetable;
+
+import run_lion.reroute.realtimebus.dto.LocalArrivalDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class StationTimetable {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int SECONDS_PER_DAY = MINUTES_PER_DAY * 60;
+
+    /** 노선번호 (이름순) */
+    private final String[] routeNos;
+
+    /** routeNos[r]의 출발 시각(분), 오름차순 + 중복 없음 */
+    private final int[][] departures;
+
+    private StationTimetable(String[] routeNos, int[][] departures) {
+        this.routeNos = routeNos;
+        this.departures = departures;
+    }
+
+    /**
+     * 노선번호 → 출발 시각(분) 배열로 생성 (정렬/중복 제거는 여기서 처리)
+     */
+    public static StationTimetable of(Map<String, int[]> minutesByRoute) {
+        Map<String, int[]> sortedRoutes = new TreeMap<>(minutesByRoute);
+        String[] routeNos = new String[sortedRoutes.size()];
+        int[][] departures = new int[sortedRoutes.size()][];
+
+        int r = 0;
+        for (Map.Entry<String, int[]> e : sortedRoutes.entrySet()) {
+            routeNos[r] = e.getKey();
+            departures[r] = Arrays.stream(e.getValue())
+                    .filter(m -> m >= 0 && m < MINUTES_PER_DAY)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            r++;
+        }
+        return new StationTimetable(routeNos, departures);
+    }
+
+    public int routeCount() {
+        return routeNos.length;
+    }
+
+    public String routeNo(int r) {
+        return routeNos[r];
+    }
+
+    /**
+     * 노선 출발 시각 배열 (복사본)
+     */
+    public int[] departures(int r) {
+        return departures[r].clone();
+    }
+
+    /**
+     * 전체 출발 횟수 (모든 노선 합)
+     */
+    public int departureCount() {
+        int total = 0;
+        for (int[] d : departures) total += d.length;
+        return total;
+    }
+
+    /**
+     * nowSecondOfDay 이후 도착 예정 limit개 (가까운 순)
+     * - 이미 지난 시각은 내일 같은 시각으로 계산
+     * - 결과 리스트와 노선별 커서(int[노선 수]) 외에는 할당 없음
+     *
+     * @param nowSecondOfDay 현재 시각 (자정 기준 초)
+     * @param limit 최대 개수
+     * @return 도착까지 남은 초 기준 오름차순 목록 (prev_station_count = -1)
+     */
+    public List<LocalArrivalDto> nextArrivals(int nowSecondOfDay, int limit) {
+        int total = departureCount();
+        if (limit <= 0 || total == 0) return List.of();
+
+        // 출발 시각(초) >= 현재(초)가 되는 첫 분
+        int firstMinute = (nowSecondOfDay + 59) / 60;
+
+        // cursor[r]: 다음에 볼 위치 (length 이상이면 내일 시간표로 넘어간 것)
+        int k = routeNos.length;
+        int[] cursor = new int[k];
+        for (int r = 0; r < k; r++) {
+            cursor[r] = lowerBound(departures[r], firstMinute);
+        }
+
+        List<LocalArrivalDto> out = new ArrayList<>(Math.min(limit, total));
+        while (out.size() < limit) {
+            int best = -1;
+            int bestSeconds = Integer.MAX_VALUE;
+
+            for (int r = 0; r < k; r++) {
+                int seconds = secondsAt(r, cursor[r], firstMinute, nowSecondOfDay);
+                if (seconds < bestSeconds) {
+                    bestSeconds = seconds;
+                    best = r;
+                }
+            }
+
+            if (best < 0) break;
+
+            out.add(new LocalArrivalDto(null, routeNos[best], bestSeconds, -1));
+            cursor[best]++;
+        }
+
+        return out;
+    }
+
+    /**
+     * cursor 위치의 도착까지 남은 초 (소진이면 MAX_VALUE)
+     * - cursor < length: 오늘
+     * - length 이상: 내일 (오늘 시작 위치 전까지만, 그 뒤는 이미 오늘로 반환됨)
+     */
+    private int secondsAt(int r, int cursor, int firstMinute, int nowSecondOfDay) {
+        int[] d = departures[r];
+        if (cursor < d.length) {
+            return d[cursor] * 60 - nowSecondOfDay;
+        }
+
+        int wrapped = cursor - d.length;
+        if (wrapped >= d.length || d[wrapped] >= firstMinute) return Integer.MAX_VALUE;
+        return d[wrapped] * 60 + SECONDS_PER_DAY - nowSecondOfDay;
+    }
+
+    /**
+     * value 이상인 첫 위치 (없으면 length)
+     */
+    private static int lowerBound(int[] sorted, int value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * File: Timetable.java
+ * Description:
+ *  - 전체 시간표 (정류소 ID → StationTimetable, 불변)
+ *  - 엑셀 파싱(TimetableXlsxParser) 또는 바이너리 캐시(TimetableBinaryCodec)로 생성
+ */
+
+package run_lion.reroute.realtimebus.timetable;
+
+import java.util.Map;
+import java.util.Set;
+
+public final class Timetable {
+
+    private static final Timetable EMPTY = new Timetable(Map.of());
+
+    /** stationId → 노선별 출발 시각 */
+    private final Map<String, StationTimetable> stations;
+
+    private Timetable(Map<String, StationTimetable> stations) {
+        this.stations = stations;
+    }
+
+    public static Timetable of(Map<String, StationTimetable> stations) {
+        return new Timetable(Map.copyOf(stations));
+    }
+
+    public static Timetable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 정류소 시간표 (없으면 null)
+     */
+    public StationTimetable station(String stationId) {
+        return stations.get(stationId);
+    }
+
+    public Set<String> stationIds() {
+        return stations.keySet();
+    }
+
+    public Map<String, StationTimetable> stations() {
+        return stations;
+    }
+
+    /**
+     * 전체 출발 횟수 (모든 정류소/노선 합)
+     */
+    public int departureCount() {
+        int total = 0;
+        for (StationTimetable st : stations.values()) total += st.departureCount();
+        return total;
+    }
+}
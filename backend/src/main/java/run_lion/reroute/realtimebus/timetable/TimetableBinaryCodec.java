@@ -0,0 +1,128 @@
+/**
+ * File: TimetableBinaryCodec.java
+ * Description:
+ *  - Timetable ↔ 바이너리 캐시 파일 변환
+ *  - 서버 시작 시 엑셀(POI) 파싱 대신 이 파일을 읽어 수 ms 안에 시간표 적재
+ *  - 헤더의 포맷 버전 / 원본 해시가 맞지 않으면 "오래된 캐시"로 보고 null 반환
+ *
+ * 포맷 (DataOutputStream, big-endian)
+ *   int    MAGIC ('RRTT')
+ *   ushort FORMAT_VERSION
+ *   ubyte  해시 길이 + byte[] 해시 (엑셀 내용 + 파서 버전의 SHA-256)
+ *   int    정류소 수
+ *     UTF    stationId
+ *     ushort 노선 수
+ *       UTF    routeNo
+ *       ushort 출발 횟수
+ *       ushort[] 출발 시각 (자정 기준 분, 오름차순)
+ */
+
+package run_lion.reroute.realtimebus.timetable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TimetableBinaryCodec {
+
+    private static final int MAGIC = 0x52525454;
+
+    /** 포맷이 바뀌면 올림 */
+    public static final int FORMAT_VERSION = 1;
+
+    private TimetableBinaryCodec() {
+    }
+
+    /**
+     * 캐시 유효성 검사용 원본 해시 (엑셀 내용 + 파서 버전)
+     */
+    public static byte[] sourceHash(byte[] source, int parserVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source);
+            digest.update(ByteBuffer.allocate(4).putInt(parserVersion).array());
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * 캐시 유효성 검사용 원본 해시 (스트림으로 계산 - 파일 전체를 메모리에 올리지 않음)
+     */
+    public static byte[] sourceHash(InputStream source, int parserVersion) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            for (int n; (n = source.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, n);
+            }
+            digest.update(ByteBuffer.allocate(4).putInt(parserVersion).array());
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static void write(Timetable timetable, byte[] sourceHash, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        data.writeByte(sourceHash.length);
+        data.write(sourceHash);
+
+        data.writeInt(timetable.stations().size());
+        for (Map.Entry<String, StationTimetable> station : timetable.stations().entrySet()) {
+            StationTimetable st = station.getValue();
+            data.writeUTF(station.getKey());
+            data.writeShort(st.routeCount());
+
+            for (int r = 0; r < st.routeCount(); r++) {
+                int[] minutes = st.departures(r);
+                data.writeUTF(st.routeNo(r));
+                data.writeShort(minutes.length);
+                for (int m : minutes) data.writeShort(m);
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * @return 시간표, 포맷 버전이나 원본 해시가 다르면 null
+     * @throws IOException 파일이 잘렸거나 깨진 경우
+     */
+    public static Timetable read(InputStream in, byte[] expectedHash) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+
+        if (data.readInt() != MAGIC) return null;
+        if (data.readUnsignedShort() != FORMAT_VERSION) return null;
+
+        byte[] hash = new byte[data.readUnsignedByte()];
+        data.readFully(hash);
+        if (!Arrays.equals(hash, expectedHash)) return null;
+
+        int stationCount = data.readInt();
+        Map<String, StationTimetable> stations = new HashMap<>();
+        for (int s = 0; s < stationCount; s++) {
+            String stationId = data.readUTF();
+            int routeCount = data.readUnsignedShort();
+
+            Map<String, int[]> minutesByRoute = new HashMap<>();
+            for (int r = 0; r < routeCount; r++) {
+                String routeNo = data.readUTF();
+                int[] minutes = new int[data.readUnsignedShort()];
+                for (int i = 0; i < minutes.length; i++) minutes[i] = data.readUnsignedShort();
+                minutesByRoute.put(routeNo, minutes);
+            }
+            stations.put(stationId, StationTimetable.of(minutesByRoute));
+        }
+
+        return Timetable.of(stations);
+    }
+}
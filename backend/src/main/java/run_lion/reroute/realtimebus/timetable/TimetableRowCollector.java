@@ -0,0 +1,217 @@
+/**
+ * File: TimetableRowCollector.java
+ * Description:
+ *  - 시간표 시트를 행 단위(셀 문자열 목록)로 받아 노선번호별 출발 시각을 모으는 상태 기계
+ *  - 헤더 행(isHeaderRow)을 만나면 노선번호 열 / 대상 정류장 열(buildStationColumnMap)을 갱신하고
+ *    이후 데이터 행의 시각을 현재 노선번호로 누적
+ *  - 행을 보관하지 않으므로 메모리는 시트 크기가 아닌 결과(출발 시각 수)에만 비례
+ */
+
+package run_lion.reroute.realtimebus.timetable;
+
+import run_lion.reroute.realtimebus.constant.StationIds;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class TimetableRowCollector {
+
+    private static final Pattern ROUTE_NO_PATTERN = Pattern.compile("\\d{2,4}(-\\d)?"); // 112-1 같은거
+
+    // "8:10", "08:17:00"
+    private static final Pattern TIME_PATTERN = Pattern.compile("(\\d{1,2}):(\\d{2})(?::\\d{2})?");
+
+    private Integer routeNoCol = null;                         // 0-based
+    private Map<Integer, String> colToStationId = new HashMap<>(); // 0-based col -> stationId
+    private String currentRouteNo = null;
+
+    // stationId -> (routeNo -> 출발 시각(분))
+    private final Map<String, Map<String, MinuteBuffer>> raw = new HashMap<>();
+
+    /**
+     * 행 1개 처리
+     * @param rowIndex 0-based 행 번호
+     * @param rowTexts 셀 문자열 (빈 셀은 "", 호출 후 재사용 가능)
+     */
+    void row(int rowIndex, List<String> rowTexts) {
+        if (isHeaderRow(rowTexts, rowIndex)) {
+            // 헤더 갱신
+            routeNoCol = findColIndexContains(rowTexts, "노선번호");
+            colToStationId = buildStationColumnMap(rowTexts);
+
+            // 999 블록(맨 위)은 "노선번호"라는 글자가 없어서 예외 처리: A열이 노선번호
+            if (rowIndex == 0 && routeNoCol == null) routeNoCol = 0;
+
+            currentRouteNo = null;
+            return;
+        }
+
+        if (colToStationId.isEmpty()) return;
+
+        // routeNo 갱신 (섹션마다 노선번호 컬럼이 다름)
+        if (routeNoCol != null) {
+            String parsed = parseRouteNo(safeGet(rowTexts, routeNoCol));
+            if (parsed != null) currentRouteNo = parsed;
+        }
+
+        if (currentRouteNo == null) return;
+
+        // 타겟 정류장 컬럼(터미널/충주역/교통대)만 파싱
+        for (Map.Entry<Integer, String> e : colToStationId.entrySet()) {
+            int minute = parseMinuteOfDay(safeGet(rowTexts, e.getKey()));
+            if (minute < 0) continue;
+
+            raw
+                .computeIfAbsent(e.getValue(), k -> new HashMap<>())
+                .computeIfAbsent(currentRouteNo, k -> new MinuteBuffer())
+                .add(minute);
+        }
+    }
+
+    /**
+     * 모은 시각으로 시간표 생성 (정렬 + 중복 제거는 StationTimetable에서)
+     */
+    Timetable build() {
+        Map<String, StationTimetable> stations = new HashMap<>();
+        for (Map.Entry<String, Map<String, MinuteBuffer>> station : raw.entrySet()) {
+            Map<String, int[]> minutesByRoute = new HashMap<>();
+            station.getValue().forEach((routeNo, buffer) -> minutesByRoute.put(routeNo, buffer.toArray()));
+            stations.put(station.getKey(), StationTimetable.of(minutesByRoute));
+        }
+        return Timetable.of(stations);
+    }
+
+    // ---------------- helpers ----------------
+
+    static boolean isHeaderRow(List<String> rowTexts, int rowIndex) {
+        // 일반 섹션 헤더: "노선번호" 포함
+        boolean hasRouteNoHeader = rowTexts.stream().anyMatch(s -> s.contains("노선번호"));
+
+        // 999 섹션 헤더(맨 첫 줄): 터미널/교통대 키워드가 있음
+        boolean looks999Header = rowIndex == 0 &&
+            rowTexts.stream().anyMatch(s -> s.contains("터미널")) &&
+            rowTexts.stream().anyMatch(s -> s.contains("교통대"));
+
+        // 교통대 셔틀 같은 섹션도 헤더 감지 (노선번호 없을 수 있음)
+        boolean looksShuttleHeader =
+            rowTexts.stream().anyMatch(s -> s.contains("교통대")) &&
+            rowTexts.stream().anyMatch(s -> s.contains("터미널")) &&
+            rowTexts.stream().filter(s -> !s.isBlank()).count() >= 3;
+
+        return hasRouteNoHeader || looks999Header || looksShuttleHeader;
+    }
+
+    static Map<Integer, String> buildStationColumnMap(List<String> header) {
+        Map<Integer, String> map = new HashMap<>();
+
+        int chungjuSeen = 0;
+        for (int c = 0; c < header.size(); c++) {
+            String h = header.get(c);
+            if (h == null) continue;
+
+            // 터미널
+            if (h.contains("터미널")) {
+                map.put(c, StationIds.TERMINAL);
+                continue;
+            }
+
+            // 충주역(방향 2개일 수 있음)
+            if (h.contains("충주역")) {
+                chungjuSeen++;
+                if (chungjuSeen == 1) map.put(c, StationIds.STATION_TO_KNUT);
+                else map.put(c, StationIds.STATION_TO_TERMINAL);
+                continue;
+            }
+
+            // 교통대(도착/출발 포함)
+            if (h.contains("교통대")) {
+                map.put(c, StationIds.KNUT);
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * 셀 문자열 → 자정 기준 분 (시각이 아니면 -1)
+     * - "8:10/8:15" → 앞 시각
+     * - "08:17:00", "8:10"
+     * - 서식 없이 숫자(하루의 분수)로 저장된 시각 "0.345..."
+     */
+    static int parseMinuteOfDay(String text) {
+        String raw = safe(text);
+        if (raw.isBlank()) return -1;
+        if (raw.contains("직행")) return -1;
+
+        if (raw.contains("/")) raw = raw.split("/")[0].trim();
+
+        Matcher m = TIME_PATTERN.matcher(raw);
+        if (m.matches()) {
+            int hour = Integer.parseInt(m.group(1));
+            int minute = Integer.parseInt(m.group(2));
+            if (hour >= 24 || minute >= 60) return -1;
+            return hour * 60 + minute;
+        }
+
+        try {
+            double v = Double.parseDouble(raw);
+            if (v > 0 && v < 1) return fractionToMinuteOfDay(v);
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * 엑셀 시각(하루의 분수) → 자정 기준 분 (초 단위 반올림 후 초는 버림)
+     */
+    static int fractionToMinuteOfDay(double dayFraction) {
+        long seconds = Math.round((dayFraction - Math.floor(dayFraction)) * StationTimetable.SECONDS_PER_DAY);
+        return (int) (seconds / 60) % StationTimetable.MINUTES_PER_DAY;
+    }
+
+    private static Integer findColIndexContains(List<String> rowTexts, String token) {
+        for (int i = 0; i < rowTexts.size(); i++) {
+            if (rowTexts.get(i).contains(token)) return i;
+        }
+        return null;
+    }
+
+    private static String parseRouteNo(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        if (t.isBlank()) return null;
+        if (ROUTE_NO_PATTERN.matcher(t).matches()) return t;
+        return null;
+    }
+
+    private static String safe(String s) {
+        return s == null ? "" : s.trim();
+    }
+
+    private static String safeGet(List<String> list, int idx) {
+        if (idx < 0 || idx >= list.size()) return "";
+        return list.get(idx);
+    }
+
+    /**
+     * 박싱 없이 int를 모으는 가변 배열
+     */
+    private static final class MinuteBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
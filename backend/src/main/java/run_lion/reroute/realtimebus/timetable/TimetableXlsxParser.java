@@ -0,0 +1,135 @@
+/**
+ * File: TimetableXlsxParser.java
+ * Description:
+ *  - 시간표 엑셀(chungju_bus_timetable.xlsx) → Timetable 변환
+ *  - XSSF 이벤트(SAX) 모델로 시트 XML을 스트리밍하며 한 행씩 TimetableRowCollector에 전달
+ *    (Workbook/Row/Cell 객체를 만들지 않아 메모리가 시트 크기와 무관)
+ *  - 시각 서식 셀은 TimeOfDayFormatter가 "H:mm" 문자열로 통일
+ */
+
+package run_lion.reroute.realtimebus.timetable;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public final class TimetableXlsxParser {
+
+    /** 파싱 규칙이 바뀌면 올림 (이전 규칙으로 만든 바이너리 캐시를 무효화) */
+    public static final int PARSER_VERSION = 2;
+
+    private TimetableXlsxParser() {
+    }
+
+    /**
+     * 엑셀 첫 시트를 읽어 정류소별 시간표 생성 (스트림 - zip 엔트리는 메모리에 적재됨)
+     */
+    public static Timetable parse(InputStream is) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(is)) {
+            return parse(pkg);
+        } catch (OpenXML4JException ex) {
+            throw new IOException("invalid xlsx: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 엑셀 파일 직접 읽기 (zip 엔트리도 필요할 때만 읽음 - 큰 시간표용)
+     */
+    public static Timetable parse(Path xlsx) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(xlsx.toFile(), PackageAccess.READ)) {
+            return parse(pkg);
+        } catch (OpenXML4JException ex) {
+            throw new IOException("invalid xlsx: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static Timetable parse(OPCPackage pkg) throws IOException, OpenXML4JException {
+        XSSFReader reader = new XSSFReader(pkg);
+        StylesTable styles = reader.getStylesTable();
+        TimetableRowCollector collector = new TimetableRowCollector();
+
+        try {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) return Timetable.empty();
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader xml = XMLHelper.newXMLReader();
+                xml.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new RowHandler(collector), new TimeOfDayFormatter(), false));
+                xml.parse(new InputSource(sheet));
+            }
+        } catch (SAXException | ParserConfigurationException ex) {
+            throw new IOException("cannot parse sheet: " + ex.getMessage(), ex);
+        }
+
+        return collector.build();
+    }
+
+    /**
+     * SAX 셀 이벤트 → 행 단위 문자열 목록 (행마다 같은 리스트 재사용)
+     */
+    private static final class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final TimetableRowCollector collector;
+        private final List<String> rowTexts = new ArrayList<>();
+
+        RowHandler(TimetableRowCollector collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowTexts.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = new CellReference(cellReference).getCol();
+            while (rowTexts.size() < col) rowTexts.add("");
+            rowTexts.add(formattedValue == null ? "" : formattedValue.trim());
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            collector.row(rowNum, rowTexts);
+        }
+    }
+
+    /**
+     * 날짜/시각 서식 숫자 셀을 "H:mm"으로 출력 (엑셀 서식 문자열과 무관하게 같은 형태)
+     * - 정수(노선번호 등)는 기본 DataFormatter 그대로
+     */
+    private static final class TimeOfDayFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                int minute = TimetableRowCollector.fractionToMinuteOfDay(value);
+                return (minute / 60) + ":" + String.format("%02d", minute % 60);
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+}
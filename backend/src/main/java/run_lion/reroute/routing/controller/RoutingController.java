@@ -1,16 +1,47 @@
 package run_lion.reroute.routing.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import run_lion.reroute.routing.dto.CacheStatsResponse;
+import run_lion.reroute.routing.dto.GraphStatusResponse;
+import run_lion.reroute.routing.dto.IsochroneResponse;
+import run_lion.reroute.routing.dto.MatrixRequest;
+import run_lion.reroute.routing.dto.MatrixResponse;
+import run_lion.reroute.routing.dto.PrecomputedRoutesResponse;
+import run_lion.reroute.routing.dto.RouteBatchRequest;
 import run_lion.reroute.routing.dto.RouteCandidate;
+import run_lion.reroute.routing.dto.RouteOptionsResponse;
 import run_lion.reroute.routing.dto.RouteResponse;
 import run_lion.reroute.routing.dto.RouteSearchRequest;
+import run_lion.reroute.routing.dto.RouteSessionResponse;
 import run_lion.reroute.routing.dto.RoutingRequest;
 import run_lion.reroute.routing.dto.RoutingResponse;
+import run_lion.reroute.routing.dto.SessionPositionRequest;
 import run_lion.reroute.routing.dto.StopCandidate;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+import run_lion.reroute.routing.service.IsochroneService;
+import run_lion.reroute.routing.service.LatestDepartureCache;
+import run_lion.reroute.routing.service.PopularRouteStore;
+import run_lion.reroute.routing.service.RouteBatchService;
+import run_lion.reroute.routing.service.RouteResultCache;
+import run_lion.reroute.routing.service.RouteSessionService;
 import run_lion.reroute.routing.service.RoutingAlgorithm;
 import run_lion.reroute.routing.service.RoutingService;
+import run_lion.reroute.routing.service.TravelTimeMatrixService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -21,6 +52,18 @@ import java.util.List;
  * - GET  /api/routing/route : 정류장 ID 기반 경로 탐색 (A 파트 후보)
  * - GET  /api/routing/stations/nearby : 근처 정류장 조회
  * - POST /api/routing/search : 최적 경로 계산 (B 파트 최종)
+ * - POST /api/routing/search/options : 출발 시간대 경로 선택지 (시간표 기준)
+ * - POST /api/routing/search/batch : 최적 경로 일괄 계산 (NDJSON 스트리밍)
+ * - POST /api/routing/sessions : 라이브 경로 세션 시작 (위치/ETA 변화에 따라 경로 갱신)
+ * - POST /api/routing/sessions/{sessionId}/position : 세션 위치 갱신
+ * - GET  /api/routing/sessions/{sessionId} : 세션 상태
+ * - GET  /api/routing/sessions/{sessionId}/stream : 세션 구독 (SSE)
+ * - DELETE /api/routing/sessions/{sessionId} : 세션 종료
+ * - GET  /api/routing/isochrone : N분 안에 갈 수 있는 정류장 (시간표 기준)
+ * - POST /api/routing/matrix : 다대다 소요 시간 행렬 (시간표 기준)
+ * - GET  /api/routing/cache/stats : 경로 탐색 캐시 적중/실패 통계
+ * - GET  /api/routing/precomputed : 미리 계산한 인기 경로 적중률/신선도
+ * - POST /api/routing/graph/refresh : 노선망 메모리 스냅샷 재생성
  */
 @RestController
 @RequestMapping("/api/routing")
@@ -28,11 +71,33 @@ public class RoutingController {
 
     private final RoutingService routingService;
     private final RoutingAlgorithm routingAlgorithm;
+    private final TransitGraphProvider graphProvider;
+    private final IsochroneService isochroneService;
+    private final TravelTimeMatrixService matrixService;
+    private final RouteBatchService routeBatchService;
+    private final RouteSessionService routeSessionService;
+    private final RouteResultCache routeResultCache;
+    private final LatestDepartureCache latestDepartureCache;
+    private final PopularRouteStore popularRouteStore;
+    private final ObjectMapper objectMapper;
 
     // 생성자 주입
-    public RoutingController(RoutingService routingService, RoutingAlgorithm routingAlgorithm) {
+    public RoutingController(RoutingService routingService, RoutingAlgorithm routingAlgorithm,
+                             TransitGraphProvider graphProvider, IsochroneService isochroneService,
+                             TravelTimeMatrixService matrixService, RouteBatchService routeBatchService,
+                             RouteSessionService routeSessionService, RouteResultCache routeResultCache, LatestDepartureCache latestDepartureCache,
+                             PopularRouteStore popularRouteStore, ObjectMapper objectMapper) {
         this.routingService = routingService;
         this.routingAlgorithm = routingAlgorithm;
+        this.graphProvider = graphProvider;
+        this.isochroneService = isochroneService;
+        this.matrixService = matrixService;
+        this.routeBatchService = routeBatchService;
+        this.routeSessionService = routeSessionService;
+        this.routeResultCache = routeResultCache;
+        this.latestDepartureCache = latestDepartureCache;
+        this.popularRouteStore = popularRouteStore;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -78,10 +143,231 @@ public class RoutingController {
      * 최적 경로 계산 (B 파트 최종)
      *
      * POST /api/routing/search
-     * Body: { originLat, originLng, destLat, destLng }
+     * Body: { originLat, originLng, destLat, destLng, maxTransfers(선택), departureTime("HH:mm", 선택), arriveBy("HH:mm", 선택) }
      */
     @PostMapping("/search")
     public ResponseEntity<RouteResponse> search(@RequestBody RouteSearchRequest request) {
         return ResponseEntity.ok(routingAlgorithm.computeBestRoute(request));
     }
+
+    /**
+     * 출발 시간대 경로 선택지
+     *
+     * POST /api/routing/search/options
+     * Body: { originLat, originLng, destLat, destLng, departureTime("HH:mm", 선택), windowMinutes(선택, 기본 60) }
+     * - 시간대 안에 출발하는 여정 중 더 늦게 떠나 더 빨리 도착하는 여정이 없는 것만, 출발 시각순
+     */
+    @PostMapping("/search/options")
+    public ResponseEntity<RouteOptionsResponse> searchOptions(@RequestBody RouteSearchRequest request) {
+        return ResponseEntity.ok(routingAlgorithm.computeRouteOptions(request));
+    }
+
+    /**
+     * 최적 경로 일괄 계산
+     *
+     * POST /api/routing/search/batch
+     * Body: { requests: [ /search와 같은 요청, ... ] } (1 ~ 500개)
+     * - 응답은 NDJSON: 검색이 끝나는 순서대로 한 줄씩 { index, route } 또는 { index, error }
+     */
+    @PostMapping(value = "/search/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchBatch(@RequestBody RouteBatchRequest request) {
+        List<RouteSearchRequest> requests = request.getRequests();
+        if (requests == null || requests.isEmpty() || requests.size() > RouteBatchService.MAX_REQUESTS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> routeBatchService.search(requests, item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 라이브 경로 세션 시작
+     *
+     * POST /api/routing/sessions
+     * Body: /search와 같은 요청 (지금 출발 실시간 검색, departureTime/arriveBy는 무시)
+     * - 버스 경로가 없으면 세션 없이 status=NO_TRANSIT + 검색 결과
+     * - 세션 수 한도 초과 시 503
+     */
+    @PostMapping("/sessions")
+    public ResponseEntity<RouteSessionResponse> startSession(@RequestBody RouteSearchRequest request) {
+        RouteSessionResponse response = routeSessionService.start(request);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 세션 위치 갱신 → 다음 버스 구간만 재평가, 늦어지거나 탈 수 없게 되면 더 나은 경로로 교체
+     *
+     * POST /api/routing/sessions/{sessionId}/position
+     * Body: { lat, lng }
+     */
+    @PostMapping("/sessions/{sessionId}/position")
+    public ResponseEntity<RouteSessionResponse> updateSessionPosition(@PathVariable String sessionId,
+                                                                      @RequestBody SessionPositionRequest request) {
+        RouteSessionResponse response = routeSessionService.updatePosition(sessionId, request.getLat(), request.getLng());
+        return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 세션 상태
+     *
+     * GET /api/routing/sessions/{sessionId}
+     */
+    @GetMapping("/sessions/{sessionId}")
+    public ResponseEntity<RouteSessionResponse> getSession(@PathVariable String sessionId) {
+        RouteSessionResponse response = routeSessionService.get(sessionId);
+        return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 세션 구독 (Server-Sent Events)
+     *
+     * GET /api/routing/sessions/{sessionId}/stream
+     * - update 이벤트: 현재 상태 1번 → 남은 시간/가능 여부가 바뀔 때마다
+     * - reroute 이벤트: 경로를 교체했을 때 (route가 새 경로, reason에 교체 이유)
+     */
+    @GetMapping(value = "/sessions/{sessionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSession(@PathVariable String sessionId) {
+        SseEmitter emitter = routeSessionService.subscribe(sessionId);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 세션 종료
+     *
+     * DELETE /api/routing/sessions/{sessionId}
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<Void> closeSession(@PathVariable String sessionId) {
+        return routeSessionService.close(sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 등시선: 좌표에서 N분 안에 도착할 수 있는 정류장
+     *
+     * GET /api/routing/isochrone?lat={위도}&lon={경도}&minutes={최대 소요 시간(분)}&departureTime={HH:mm}
+     * - departureTime이 없으면 지금 출발, minutes는 최대 120분
+     */
+    @GetMapping("/isochrone")
+    public ResponseEntity<IsochroneResponse> isochrone(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false, defaultValue = "20") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departureTime) {
+        return ResponseEntity.ok(isochroneService.reachableStations(lat, lon, minutes, departureTime));
+    }
+
+    /**
+     * 다대다 소요 시간 행렬
+     *
+     * POST /api/routing/matrix
+     * Body: { origins: [{lat, lng}], destinations: [{lat, lng}], departureTime("HH:mm", 선택) }
+     * - 출발/도착 각각 1 ~ 200개, 못 가는 칸은 -1
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<MatrixResponse> matrix(@RequestBody MatrixRequest request) {
+        if (!validPoints(request.getOrigins()) || !validPoints(request.getDestinations())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(matrixService.compute(request));
+    }
+
+    private boolean validPoints(List<MatrixRequest.Point> points) {
+        return points != null && !points.isEmpty() && points.size() <= TravelTimeMatrixService.MAX_POINTS;
+    }
+
+    /**
+     * 경로 탐색 캐시 통계
+     *
+     * GET /api/routing/cache/stats
+     * - routeResult: /search 실시간 결과 캐시 (1분 버킷, ETA 신선도에 맞춘 15~60초 수명, 동시 요청 합치기 포함)
+     * - latestDeparture: arriveBy 역방향 트리 캐시, isochrone: 등시선 캐시
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> cacheStats() {
+        return ResponseEntity.ok(CacheStatsResponse.builder()
+                .routeResult(CacheStatsResponse.CacheStats.builder()
+                        .hits(routeResultCache.getHits())
+                        .misses(routeResultCache.getMisses())
+                        .size(routeResultCache.size())
+                        .expirations(routeResultCache.getExpirations())
+                        .evictions(routeResultCache.getEvictions())
+                        .coalesced(routeResultCache.getCoalesced())
+                        .coalesceTimeouts(routeResultCache.getCoalesceTimeouts())
+                        .staleServed(routeResultCache.getStaleServed())
+                        .fallbacks(routeResultCache.getFallbacks())
+                        .build())
+                .latestDeparture(CacheStatsResponse.CacheStats.builder()
+                        .hits(latestDepartureCache.getHits())
+                        .misses(latestDepartureCache.getMisses())
+                        .build())
+                .isochrone(CacheStatsResponse.CacheStats.builder()
+                        .hits(isochroneService.getHits())
+                        .misses(isochroneService.getMisses())
+                        .build())
+                .build());
+    }
+
+    /**
+     * 미리 계산한 인기 경로 현황
+     *
+     * GET /api/routing/precomputed
+     * - hitRatio: 실시간 검색 중 미리 계산한 결과로 바로 응답한 비율
+     * - pairs: 대상 쌍별 출처, 소요 시간, 계산 후 지난 시간(초), 유효 여부 (오래된 순)
+     */
+    @GetMapping("/precomputed")
+    public ResponseEntity<PrecomputedRoutesResponse> precomputedRoutes() {
+        Instant now = Instant.now();
+        List<PrecomputedRoutesResponse.PairStatus> pairs = popularRouteStore.snapshot().stream()
+                .sorted(Comparator.comparing(PopularRouteStore.Precomputed::getComputedAt))
+                .map(p -> PrecomputedRoutesResponse.PairStatus.builder()
+                        .departureStationId(p.getDepartureStationId())
+                        .arrivalStationId(p.getArrivalStationId())
+                        .source(p.getSource())
+                        .totalTime(p.getRoute().getResponse().getTotalTime())
+                        .ageSeconds(Duration.between(p.getComputedAt(), now).getSeconds())
+                        .fresh(p.isFresh(now))
+                        .build())
+                .toList();
+
+        long hits = popularRouteStore.getHits();
+        long misses = popularRouteStore.getMisses();
+        return ResponseEntity.ok(PrecomputedRoutesResponse.builder()
+                .hits(hits)
+                .misses(misses)
+                .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .pairs(pairs)
+                .build());
+    }
+
+    /**
+     * 노선망 메모리 스냅샷 재생성
+     *
+     * POST /api/routing/graph/refresh
+     * - DB의 station/route/route_station을 다시 읽어 스냅샷을 통째로 교체
+     */
+    @PostMapping("/graph/refresh")
+    public ResponseEntity<GraphStatusResponse> refreshGraph() {
+        TransitGraph graph = graphProvider.refresh();
+        return ResponseEntity.ok(GraphStatusResponse.builder()
+                .stationCount(graph.stationCount())
+                .routeCount(graph.routeCount())
+                .routeStationCount(graph.routeStationCount())
+                .builtAt(graph.getBuiltAt())
+                .build());
+    }
 }
@@ -0,0 +1,53 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 경로 탐색 캐시 통계 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    // 실시간 최적 경로 결과 캐시 (/search)
+    private CacheStats routeResult;
+
+    // 도착 시각 지정 역방향 트리 캐시 (/search arriveBy)
+    private CacheStats latestDeparture;
+
+    // 등시선 캐시 (/isochrone)
+    private CacheStats isochrone;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheStats {
+        private long hits;
+        private long misses;
+
+        // 현재 보관 중인 항목 수 (집계하는 캐시만)
+        private Integer size;
+
+        // 수명이 지나 버린 항목 수 (TTL이 있는 캐시만)
+        private Long expirations;
+
+        // 용량 초과로 밀려난 항목 수 (집계하는 캐시만)
+        private Long evictions;
+
+        // 같은 검색을 계산 중인 요청의 결과를 받아 간 요청 수 (동시 요청 합치기, misses에 포함)
+        private Long coalesced;
+
+        // 계산 중인 요청을 기다리다 시간이 지난 요청 수
+        private Long coalesceTimeouts;
+
+        // 시간이 지나 같은 정류장 쌍의 지난 결과(수명 지남, 3분 이내)로 응답한 요청 수
+        private Long staleServed;
+
+        // 시간이 지나 지난 결과도 없어서 시간표 기준 경로로 응답한 요청 수
+        private Long fallbacks;
+    }
+}
@@ -0,0 +1,28 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// 노선망 스냅샷 상태 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphStatusResponse {
+
+    // 정류장 수
+    private int stationCount;
+
+    // 노선 수
+    private int routeCount;
+
+    // 노선-정류장 관계 수
+    private int routeStationCount;
+
+    // 스냅샷 생성 시각
+    private Instant builtAt;
+}
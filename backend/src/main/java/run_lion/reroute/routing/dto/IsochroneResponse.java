@@ -0,0 +1,42 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 등시선(N분 안에 갈 수 있는 정류장) 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneResponse {
+
+    // 출발 시각 "HH:mm"
+    private String departureTime;
+
+    // 최대 소요 시간(분)
+    private int maxMinutes;
+
+    // 도달 가능한 정류장 (소요 시간 오름차순)
+    private List<ReachableStation> stations;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReachableStation {
+        private String stationId;
+        private String stationName;
+        private double lat;
+        private double lng;
+
+        // 가장 빠른 도착 시각 "HH:mm"
+        private String arrivalTime;
+
+        // 출발 시각부터 도착까지(분)
+        private int travelMinutes;
+    }
+}
@@ -0,0 +1,37 @@
+package run_lion.reroute.routing.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+// 다대다 소요 시간 행렬 요청 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrixRequest {
+
+    // 출발 지점 목록 (행)
+    private List<Point> origins;
+
+    // 도착 지점 목록 (열)
+    private List<Point> destinations;
+
+    // 출발 시각 "HH:mm" (null이면 지금 출발, 시간표 기준)
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureTime;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private double lat;
+        private double lng;
+    }
+}
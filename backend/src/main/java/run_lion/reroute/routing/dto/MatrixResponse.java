@@ -0,0 +1,23 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 다대다 소요 시간 행렬 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrixResponse {
+
+    // 출발 시각 "HH:mm"
+    private String departureTime;
+
+    // minutes[i][j] = origins[i] → destinations[j] 소요 시간(분), 최대 시간 안에 못 가면 -1
+    private int[][] minutes;
+
+    // 계산 시간(ms)
+    private long tookMs;
+}
@@ -0,0 +1,47 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 미리 계산한 인기 경로 현황 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedRoutesResponse {
+
+    // 실시간 검색 중 미리 계산한 결과로 바로 응답한 수 / 아닌 수
+    private long hits;
+    private long misses;
+
+    // hits / (hits + misses), 검색이 없으면 0
+    private double hitRatio;
+
+    // 미리 계산 대상 쌍별 상태
+    private List<PairStatus> pairs;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PairStatus {
+        private String departureStationId;
+        private String arrivalStationId;
+
+        // fixed(StationIds) / configured(설정) / learned(요청 빈도)
+        private String source;
+
+        // 미리 계산한 총 소요 시간(분, 정류장 기준)
+        private int totalTime;
+
+        // 계산한 지 지난 시간(초) - 오래됐는데 fresh가 false면 계산이 실패하고 있는 것
+        private long ageSeconds;
+
+        // 지금 검색에 쓰이는지 (유효 기간 안)
+        private boolean fresh;
+    }
+}
@@ -0,0 +1,23 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 경로 일괄 검색 결과 한 줄 (NDJSON) - 끝난 순서대로 보내므로 index로 요청과 맞춤
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchItem {
+
+    // requests 안의 위치 (0부터)
+    private int index;
+
+    // 검색 결과 (실패하면 null)
+    private RouteResponse route;
+
+    // 실패 사유 (성공하면 null)
+    private String error;
+}
@@ -0,0 +1,19 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 경로 일괄 검색 요청 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchRequest {
+
+    // 검색 요청 목록 (/search와 같은 형식)
+    private List<RouteSearchRequest> requests;
+}
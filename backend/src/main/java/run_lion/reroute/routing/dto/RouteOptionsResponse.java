@@ -0,0 +1,25 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 출발 시간대 경로 선택지 응답 DTO
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteOptionsResponse {
+
+    // 출발 시간대 시작 "HH:mm"
+    private String windowStart;
+
+    // 출발 시간대 끝 "HH:mm"
+    private String windowEnd;
+
+    // 서로 지배되지 않는 선택지 (출발 시각 → 총 소요 시간 오름차순, 각 항목의 departureTime 채워짐)
+    private List<RouteResponse> options;
+}
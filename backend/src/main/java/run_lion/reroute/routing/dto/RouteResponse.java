@@ -9,7 +9,7 @@ import java.util.List;
 
 //최종 경로 응답 DTO
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class RouteResponse {
@@ -23,9 +23,15 @@ public class RouteResponse {
     // 도착 예정 시간
     private String eta;
 
+    // 출발 시각 "HH:mm" (시간표 기반 검색일 때만, 실시간 검색은 null)
+    private String departureTime;
+
     // 출발 마커 정보
     private OriginMarkerResponse originMarker;
 
+    // 이번 검색에서 발생한 TAGO 도착정보 호출 수
+    private Integer upstreamCalls;
+
     @Getter
     @Builder
     @NoArgsConstructor
@@ -1,10 +1,13 @@
 package run_lion.reroute.routing.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalTime;
+
 
 // 프론트에서 보내주는 경로 탐색 요청 DTO
 
@@ -20,4 +23,18 @@ public class RouteSearchRequest {
     private double destLat;
     private double destLng;
 
+    // 최대 환승 횟수 (null이면 서버 기본값, 0이면 직행만)
+    private Integer maxTransfers;
+
+    // 출발 시각 "HH:mm" (지정하면 실시간 대신 시간표 회차로 탐색, null이면 지금 출발)
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime departureTime;
+
+    // 도착 마감 시각 "HH:mm" (지정하면 시간표 역방향 탐색으로 가장 늦게 출발하는 여정, departureTime보다 우선)
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime arriveBy;
+
+    // 출발 시간대 길이(분) - /search/options 전용 (null이면 60분, departureTime 또는 지금부터)
+    private Integer windowMinutes;
+
 }
@@ -0,0 +1,41 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 라이브 경로 세션 상태 (생성/위치 갱신 응답, SSE update/reroute 이벤트 본문)
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSessionResponse {
+
+    // 세션 ID (버스 경로가 없어 세션을 만들지 않았으면 null)
+    private String sessionId;
+
+    // ON_TRACK / DELAYED / INFEASIBLE / REROUTED / ARRIVED / NO_TRANSIT
+    private String status;
+
+    // 지금 따라가는 경로 (경로를 바꾸기 전까지 검색 당시 그대로)
+    private RouteResponse route;
+
+    // 지금 위치 기준 남은 소요 시간(분), 불가능하면 -1
+    private int remainingMinutes;
+
+    // 도착 예정 시각 "HH:mm 도착 예정"
+    private String eta;
+
+    // 계획보다 늦어진 시간(분, 음수면 더 빠름)
+    private int lateMinutes;
+
+    // 진행 중인 구간 (route.steps 중 버스/환승 구간 기준 0부터)
+    private int currentLeg;
+
+    // 현재 구간 버스에 탑승 중인지
+    private boolean boarded;
+
+    // 상태 사유 (불가능/경로 교체 이유)
+    private String reason;
+}
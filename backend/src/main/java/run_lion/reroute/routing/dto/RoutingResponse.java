@@ -11,6 +11,8 @@ public class RoutingResponse {
 
     private StopCandidate departureStop;    // 출발 정류장 (도보로 이동)
     private StopCandidate arrivalStop;      // 도착 정류장 (도보로 이동)
+    private List<StopCandidate> departureStops; // 출발 후보 정류장 (가까운 순, 첫 번째 = departureStop)
+    private List<StopCandidate> arrivalStops;   // 도착 후보 정류장 (가까운 순, 첫 번째 = arrivalStop)
     private List<RouteCandidate> routes;    // 이용 가능한 버스 노선 목록
     private int totalWalkTime;              // 총 도보 시간 (분)
     private String message;                 // 추가 안내 메시지
@@ -36,6 +38,22 @@ public class RoutingResponse {
         this.arrivalStop = arrivalStop;
     }
 
+    public List<StopCandidate> getDepartureStops() {
+        return departureStops;
+    }
+
+    public void setDepartureStops(List<StopCandidate> departureStops) {
+        this.departureStops = departureStops;
+    }
+
+    public List<StopCandidate> getArrivalStops() {
+        return arrivalStops;
+    }
+
+    public void setArrivalStops(List<StopCandidate> arrivalStops) {
+        this.arrivalStops = arrivalStops;
+    }
+
     public List<RouteCandidate> getRoutes() {
         return routes;
     }
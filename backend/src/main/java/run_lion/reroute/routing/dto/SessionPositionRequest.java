@@ -0,0 +1,15 @@
+package run_lion.reroute.routing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 라이브 경로 세션 위치 갱신 요청 (사용자 현재 GPS 좌표)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPositionRequest {
+
+    private double lat;
+    private double lng;
+}
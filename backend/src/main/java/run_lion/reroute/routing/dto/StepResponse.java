@@ -50,4 +50,10 @@ public class StepResponse {
      * 대기 시간(분)
      */
     private Integer waitTime;
+
+    /**
+     * 이 단계를 시작하는 시각 "HH:mm"
+     * (bus면 대기 후 실제 승차 시각, 시간표 기반 검색일 때만)
+     */
+    private String departureTime;
 }
@@ -0,0 +1,401 @@
+package run_lion.reroute.routing.engine;
+
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 시간표 기반 Connection Scan(CSA) 최단 도착 탐색 엔진
+ *
+ * 출발 시각 이후의 연결을 시각 순서대로 한 번만 훑으면서
+ * - 연결의 출발 정류장에 그 시각까지 도착 가능하거나 이미 그 회차에 타고 있으면 탑승
+ * - 도착 정류장의 최단 도착 시각을 갱신하고, 환승 도보(footpath)로 인접 정류장까지 확장
+ * - 연결 출발 시각이 목적지 최단 도착 시각을 넘으면 종료
+ * - 도보는 탑승(또는 출발지) 뒤에 한 번만 이어지므로 정류장 라벨을 탑승/도보로 나눠서
+ *   먼저 걸어서 도착한 라벨이 그보다 늦은 하차 라벨의 도보 확장을 막지 않도록 함
+ *
+ * RaptorEngine과 달리 실제 회차 시각을 쓰므로 실시간 ETA가 없는 미래 시각 질의에도 답할 수 있음
+ *
+ * 도착 시각 지정(latestDepartures)은 같은 방식을 거꾸로 적용
+ * - 마감 시각 이전에 도착하는 연결을 도착 시각 역순으로 훑으면서 정류장별 "가장 늦은 출발 시각"을 갱신
+ * - 출발지와 무관한 결과(LatestDepartureTree)라서 목적지 정류장/마감 시각 단위로 캐시 가능
+ *
+ * 인스턴스는 그래프/연결 배열 참조만 가지며 탐색 상태는 호출마다 새로 만들어 스레드 안전
+ */
+public final class ConnectionScanEngine {
+
+    private static final int UNREACHED = RaptorEngine.UNREACHED;
+
+    private static final int PARENT_SOURCE = 1;
+    private static final int PARENT_BUS = 2;
+    private static final int PARENT_WALK = 3;
+
+    private final TransitGraph graph;
+    private final ConnectionTable connections;
+
+    public ConnectionScanEngine(TransitGraph graph, ConnectionTable connections) {
+        this.graph = graph;
+        this.connections = connections;
+    }
+
+    /**
+     * 다중 출발/다중 도착 정류장 최단 도착 여정
+     *
+     * @param sources 출발 후보 정류장 인덱스
+     * @param accessMinutes 출발지 → 각 출발 정류장 도보 시간 (sources와 같은 위치)
+     * @param targets 도착 후보 정류장 인덱스
+     * @param egressMinutes 각 도착 정류장 → 목적지 도보 시간 (targets와 같은 위치)
+     * @param departMinute 출발 시각 (자정 기준 분)
+     * @return 목적지에 가장 빨리 도착하는 여정 (시간은 departMinute 기준 분), 없으면 null
+     */
+    public Journey earliestArrival(int[] sources, int[] accessMinutes,
+                                   int[] targets, int[] egressMinutes, int departMinute) {
+        int n = graph.stationCount();
+        if (n == 0 || sources.length == 0 || targets.length == 0) return null;
+
+        ForwardLabels labels = new ForwardLabels(n);
+
+        int[] egressAt = new int[n];
+        Arrays.fill(egressAt, -1);
+        for (int i = 0; i < targets.length; i++) {
+            int t = targets[i];
+            if (egressAt[t] < 0 || egressMinutes[i] < egressAt[t]) egressAt[t] = egressMinutes[i];
+        }
+
+        int[] best = {UNREACHED, -1};   // {목적지 도착 시각, 하차 정류장}
+        for (int i = 0; i < sources.length; i++) {
+            int s = sources[i];
+            int time = departMinute + accessMinutes[i];
+            if (time < labels.rideTime[s]) {
+                labels.rideTime[s] = time;
+                labels.rideKind[s] = PARENT_SOURCE;
+                labels.rideExtra[s] = accessMinutes[i];
+                reachTarget(s, time, egressAt, best);
+            }
+        }
+        for (int s : sources) {
+            relaxFootpaths(s, labels, egressAt, best);
+        }
+
+        int[] boardedAt = new int[connections.tripCount()];
+        Arrays.fill(boardedAt, -1);
+
+        for (int c = connections.firstConnectionAtOrAfter(departMinute); c < connections.connectionCount(); c++) {
+            int dep = connections.depTime(c);
+            if (dep >= best[0]) break;
+
+            int trip = connections.trip(c);
+            if (boardedAt[trip] < 0) {
+                if (labels.earliest(connections.depStation(c)) > dep) continue;
+                boardedAt[trip] = c;
+            }
+
+            int to = connections.arrStation(c);
+            int arr = connections.arrTime(c);
+            if (arr < labels.rideTime[to]) {
+                labels.rideTime[to] = arr;
+                labels.rideKind[to] = PARENT_BUS;
+                labels.rideBoard[to] = boardedAt[trip];
+                labels.rideExtra[to] = c;
+                reachTarget(to, arr, egressAt, best);
+                relaxFootpaths(to, labels, egressAt, best);
+            }
+        }
+
+        if (best[1] < 0) return null;
+        return reconstruct(best[1], egressAt[best[1]], best[0] - departMinute, departMinute, labels);
+    }
+
+    /**
+     * 한 출발지 → 모든 정류장 최단 도착 시각 (등시선용, 스캔 한 번)
+     *
+     * @param sources 출발 정류장 인덱스
+     * @param accessMinutes 출발지 → 각 출발 정류장 도보 시간 (sources와 같은 위치)
+     * @param departMinute 출발 시각 (자정 기준 분)
+     * @param maxMinutes 출발 후 이 시간 안에 도착하는 정류장까지만 계산
+     * @return 정류장별 도착 시각 (자정 기준 분, maxMinutes 안에 못 가면 UNREACHED)
+     */
+    public int[] earliestArrivals(int[] sources, int[] accessMinutes, int departMinute, int maxMinutes) {
+        int n = graph.stationCount();
+        int limit = departMinute + maxMinutes;
+        ForwardLabels labels = new ForwardLabels(n);
+
+        // 목적지 없음 → 도착 판정은 항상 건너뜀
+        int[] egressAt = new int[n];
+        Arrays.fill(egressAt, -1);
+        int[] best = {UNREACHED, -1};
+
+        for (int i = 0; i < sources.length; i++) {
+            int s = sources[i];
+            int time = departMinute + accessMinutes[i];
+            if (time < labels.rideTime[s]) {
+                labels.rideTime[s] = time;
+                labels.rideKind[s] = PARENT_SOURCE;
+                labels.rideExtra[s] = accessMinutes[i];
+            }
+        }
+        for (int s : sources) {
+            relaxFootpaths(s, labels, egressAt, best);
+        }
+
+        int[] boarded = new int[connections.tripCount()];
+        for (int c = connections.firstConnectionAtOrAfter(departMinute); c < connections.connectionCount(); c++) {
+            int dep = connections.depTime(c);
+            if (dep >= limit) break;
+
+            int trip = connections.trip(c);
+            if (boarded[trip] == 0) {
+                if (labels.earliest(connections.depStation(c)) > dep) continue;
+                boarded[trip] = 1;
+            }
+
+            int to = connections.arrStation(c);
+            int arr = connections.arrTime(c);
+            if (arr < labels.rideTime[to]) {
+                labels.rideTime[to] = arr;
+                labels.rideKind[to] = PARENT_BUS;
+                relaxFootpaths(to, labels, egressAt, best);
+            }
+        }
+
+        int[] arrivals = new int[n];
+        for (int s = 0; s < n; s++) {
+            int time = labels.earliest(s);
+            arrivals[s] = time <= limit ? time : UNREACHED;
+        }
+        return arrivals;
+    }
+
+    private void reachTarget(int station, int time, int[] egressAt, int[] best) {
+        if (egressAt[station] < 0) return;
+        int total = time + egressAt[station];
+        if (total < best[0]) {
+            best[0] = total;
+            best[1] = station;
+        }
+    }
+
+    /**
+     * 탑승 라벨에서만 도보 확장 (도보 → 도보로 이어지지 않음)
+     */
+    private void relaxFootpaths(int from, ForwardLabels labels, int[] egressAt, int[] best) {
+        int[] stops = graph.footpathStops(from);
+        int[] minutes = graph.footpathMinutes(from);
+        for (int i = 0; i < stops.length; i++) {
+            int to = stops[i];
+            int time = labels.rideTime[from] + minutes[i];
+            if (time < labels.walkTime[to]) {
+                labels.walkTime[to] = time;
+                labels.walkFrom[to] = from;
+                labels.walkMinutes[to] = minutes[i];
+                reachTarget(to, time, egressAt, best);
+            }
+        }
+    }
+
+    /**
+     * 도착 시각 지정 역방향 탐색 (모든 정류장 대상)
+     *
+     * @param targets 도착 정류장 인덱스
+     * @param egressMinutes 각 도착 정류장 → 목적지 도보 시간 (targets와 같은 위치)
+     * @param deadline 목적지 도착 마감 시각 (자정 기준 분)
+     * @return 정류장별 가장 늦은 출발 시각 트리
+     */
+    public LatestDepartureTree latestDepartures(int[] targets, int[] egressMinutes, int deadline) {
+        int n = graph.stationCount();
+        int[] rideLatest = new int[n];
+        int[] rideKind = new int[n];
+        int[] rideBoard = new int[n];
+        int[] rideExtra = new int[n];
+        int[] walkLatest = new int[n];
+        int[] walkTo = new int[n];
+        int[] walkMinutes = new int[n];
+        Arrays.fill(rideLatest, -UNREACHED);
+        Arrays.fill(walkLatest, -UNREACHED);
+        Arrays.fill(walkTo, -1);
+
+        for (int i = 0; i < targets.length; i++) {
+            int t = targets[i];
+            int time = deadline - egressMinutes[i];
+            if (time > rideLatest[t]) {
+                rideLatest[t] = time;
+                rideKind[t] = LatestDepartureTree.KIND_TARGET;
+                rideExtra[t] = egressMinutes[i];
+            }
+        }
+        for (int t : targets) {
+            relaxFootpathsBackward(t, rideLatest, walkLatest, walkTo, walkMinutes);
+        }
+
+        int[] alightAt = new int[connections.tripCount()];
+        Arrays.fill(alightAt, -1);
+
+        for (int rank = connections.lastArrivalAtOrBefore(deadline); rank >= 0; rank--) {
+            int c = connections.connectionByArrival(rank);
+            int trip = connections.trip(c);
+            if (alightAt[trip] < 0) {
+                int to = connections.arrStation(c);
+                if (connections.arrTime(c) > Math.max(rideLatest[to], walkLatest[to])) continue;
+                alightAt[trip] = c;
+            }
+
+            int from = connections.depStation(c);
+            int dep = connections.depTime(c);
+            if (dep > rideLatest[from]) {
+                rideLatest[from] = dep;
+                rideKind[from] = LatestDepartureTree.KIND_BUS;
+                rideBoard[from] = c;
+                rideExtra[from] = alightAt[trip];
+                relaxFootpathsBackward(from, rideLatest, walkLatest, walkTo, walkMinutes);
+            }
+        }
+
+        return new LatestDepartureTree(deadline, rideLatest, rideKind, rideBoard, rideExtra,
+                walkLatest, walkTo, walkMinutes);
+    }
+
+    /**
+     * 역방향 트리에서 출발 정류장 → 목적지 여정 복원
+     *
+     * @param tree latestDepartures 결과
+     * @param source 출발 정류장
+     * @param accessMinutes 출발지 → 출발 정류장 도보 시간
+     * @return 출발지를 (tree.latestAt(source) - accessMinutes)에 떠나는 여정 (도달 불가면 null)
+     */
+    public Journey journeyFrom(LatestDepartureTree tree, int source, int accessMinutes) {
+        if (!tree.isReached(source)) return null;
+
+        int departMinute = tree.latestAt(source) - accessMinutes;
+        int time = tree.latestAt(source);
+        int station = source;
+        boolean walk = tree.kind(source) == LatestDepartureTree.KIND_WALK;
+        List<JourneyLeg> legs = new ArrayList<>();
+
+        while (walk || tree.rideKind(station) == LatestDepartureTree.KIND_BUS) {
+            if (walk) {
+                int to = tree.walkTo(station);
+                legs.add(JourneyLeg.walk(station, to, tree.walkMinutes(station)));
+                time += tree.walkMinutes(station);
+                station = to;
+                walk = false;
+            } else {
+                int board = tree.rideBoard(station);
+                int alight = tree.rideExtra(station);
+                int trip = connections.trip(board);
+                int wait = connections.depTime(board) - time;
+                int ride = connections.arrTime(alight) - connections.depTime(board);
+                legs.add(JourneyLeg.bus(station, connections.arrStation(alight), connections.tripRoute(trip),
+                        wait, ride, connections.stopCount(board, alight)));
+                time = connections.arrTime(alight);
+                station = connections.arrStation(alight);
+                walk = tree.kind(station) == LatestDepartureTree.KIND_WALK;
+            }
+        }
+
+        int egressMinutes = tree.rideExtra(station);
+        return new Journey(source, accessMinutes, station, egressMinutes, legs,
+                time + egressMinutes - departMinute);
+    }
+
+    /**
+     * 탑승 라벨에서만 도보 확장 (정방향과 같이 도보 → 도보로 이어지지 않음)
+     */
+    private void relaxFootpathsBackward(int to, int[] rideLatest, int[] walkLatest, int[] walkTo, int[] walkMinutes) {
+        int[] stops = graph.footpathStops(to);
+        int[] minutes = graph.footpathMinutes(to);
+        for (int i = 0; i < stops.length; i++) {
+            int from = stops[i];
+            int time = rideLatest[to] - minutes[i];
+            if (time > walkLatest[from]) {
+                walkLatest[from] = time;
+                walkTo[from] = to;
+                walkMinutes[from] = minutes[i];
+            }
+        }
+    }
+
+    /**
+     * 하차 정류장에서 출발 정류장까지 부모를 따라가며 구간 복원 (대기 시간은 앞에서부터 다시 계산)
+     */
+    private Journey reconstruct(int egressStation, int egressMinutes, int arrivalMinutes, int departMinute,
+                                ForwardLabels labels) {
+        List<int[]> steps = new ArrayList<>();   // {kind, from, to[, minutes]}
+        int station = egressStation;
+        boolean walk = labels.arrivedOnFoot(station);
+        while (walk || labels.rideKind[station] != PARENT_SOURCE) {
+            if (walk) {
+                int from = labels.walkFrom[station];
+                steps.add(new int[]{PARENT_WALK, from, station, labels.walkMinutes[station]});
+                station = from;
+                walk = false;
+            } else {
+                int board = labels.rideBoard[station];
+                steps.add(new int[]{PARENT_BUS, board, labels.rideExtra[station]});
+                station = connections.depStation(board);
+                walk = labels.arrivedOnFoot(station);
+            }
+        }
+        Collections.reverse(steps);
+
+        int accessStation = station;
+        int accessMinutes = labels.rideExtra[accessStation];
+        int time = departMinute + accessMinutes;
+        List<JourneyLeg> legs = new ArrayList<>(steps.size());
+        for (int[] step : steps) {
+            if (step[0] == PARENT_BUS) {
+                int board = step[1];
+                int alight = step[2];
+                int trip = connections.trip(board);
+                int route = connections.tripRoute(trip);
+                int wait = connections.depTime(board) - time;
+                int ride = connections.arrTime(alight) - connections.depTime(board);
+                legs.add(JourneyLeg.bus(connections.depStation(board), connections.arrStation(alight),
+                        route, wait, ride, connections.stopCount(board, alight)));
+                time = connections.arrTime(alight);
+            } else {
+                legs.add(JourneyLeg.walk(step[1], step[2], step[3]));
+                time += step[3];
+            }
+        }
+
+        return new Journey(accessStation, accessMinutes, egressStation, egressMinutes, legs, arrivalMinutes);
+    }
+
+    /**
+     * 정방향 탐색 라벨
+     * - 탑승 라벨: 출발지에서 걸어오거나(SOURCE) 버스에서 내려서 도착
+     * - 도보 라벨: 탑승 라벨이 있는 인접 정류장에서 걸어서 도착
+     */
+    private static final class ForwardLabels {
+        final int[] rideTime;
+        final int[] rideKind;
+        final int[] rideBoard;    // BUS: 탑승 연결 위치
+        final int[] rideExtra;    // BUS: 하차 연결 위치, SOURCE: 출발지 도보 시간
+        final int[] walkTime;
+        final int[] walkFrom;
+        final int[] walkMinutes;
+
+        ForwardLabels(int n) {
+            rideTime = new int[n];
+            rideKind = new int[n];
+            rideBoard = new int[n];
+            rideExtra = new int[n];
+            walkTime = new int[n];
+            walkFrom = new int[n];
+            walkMinutes = new int[n];
+            Arrays.fill(rideTime, UNREACHED);
+            Arrays.fill(walkTime, UNREACHED);
+        }
+
+        int earliest(int station) {
+            return Math.min(rideTime[station], walkTime[station]);
+        }
+
+        boolean arrivedOnFoot(int station) {
+            return walkTime[station] < rideTime[station];
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package run_lion.reroute.routing.engine;
+
+import run_lion.reroute.realtimebus.timetable.StationTimetable;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 시간표 기반 운행 회차 / 연결(connection) 배열 (불변)
+ *
+ * 시간표는 일부 기준 정류장(터미널, 충주역 등)의 노선번호별 출발 시각만 가지고 있으므로
+ * - 노선(route)마다 시간표가 있는 첫 기준 정류장을 찾고, 그 정류장 출발 시각 1개 = 운행 회차(trip) 1개
+ * - 나머지 정류장 시각은 route_station 순서 차이 × 정거장당 분으로 앞뒤로 늘려서 계산
+ * - 연결 1개 = 한 회차가 인접한 두 정류장 사이를 달리는 구간 (출발 시각 오름차순으로 정렬)
+ *
+ * 시간표에는 방향 구분이 없으므로 기준 정류장 다음 정류장(station_order 기준)으로 출발 방향을 정함
+ * - 같은 노선번호의 방향별 노선 중 그 정류장에서 다음 정류장이 가장 많이 겹치는 쪽 = 시간표의 출발 방향
+ *   (동률이면 모두 인정, 기준 정류장이 종점인 노선은 그 정류장에서 출발하지 않으므로 제외)
+ * - 반대 방향 노선은 그 기준 정류장 시각을 쓰지 않음 → 터미널 도착 방향에 출발 시각이 붙는 가짜 회차 방지
+ *
+ * 시각은 모두 자정 기준 분(minute-of-day), 자정을 넘긴 회차는 1440 이상으로 표현
+ */
+public final class ConnectionTable {
+
+    private static final ConnectionTable EMPTY = new ConnectionTable(
+            new int[0], new int[0], new int[0], new int[0], new int[0], new int[0],
+            new int[0], new int[0][], new int[0][], new int[0][]);
+
+    // 연결 배열 (출발 시각 오름차순)
+    private final int[] depStation;
+    private final int[] arrStation;
+    private final int[] depTime;
+    private final int[] arrTime;
+    private final int[] trip;
+
+    // 도착 시각 오름차순 연결 위치 (역방향 탐색용)
+    private final int[] byArrival;
+
+    // 회차 → 노선 인덱스
+    private final int[] tripRoute;
+
+    // 노선별 기준 정류장 출발 시각 (오름차순, 없으면 빈 배열) / 정류장 위치별 기준 대비 시각 차이(분)
+    private final int[][] routeStartTimes;
+    private final int[][] routeOffsets;
+
+    // 노선별 정류장 인덱스 (TransitGraph.routeStops와 같은 배열)
+    private final int[][] routeStops;
+
+    private ConnectionTable(int[] depStation, int[] arrStation, int[] depTime, int[] arrTime, int[] trip,
+                            int[] byArrival,
+                            int[] tripRoute, int[][] routeStartTimes, int[][] routeOffsets, int[][] routeStops) {
+        this.depStation = depStation;
+        this.arrStation = arrStation;
+        this.depTime = depTime;
+        this.arrTime = arrTime;
+        this.trip = trip;
+        this.byArrival = byArrival;
+        this.tripRoute = tripRoute;
+        this.routeStartTimes = routeStartTimes;
+        this.routeOffsets = routeOffsets;
+        this.routeStops = routeStops;
+    }
+
+    public static ConnectionTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 노선망 + 시간표로 연결 배열 생성
+     *
+     * @param graph 노선망 스냅샷
+     * @param timetable 정류장별 노선번호 시간표
+     * @param minutesPerStop 정거장당 이동 시간(분)
+     */
+    public static ConnectionTable build(TransitGraph graph, Timetable timetable, int minutesPerStop) {
+        int routeCount = graph.routeCount();
+        int[][] routeStartTimes = new int[routeCount][];
+        int[][] routeOffsets = new int[routeCount][];
+        int[][] routeStops = new int[routeCount][];
+
+        List<Integer> tripRoutes = new ArrayList<>();
+        int connectionCount = 0;
+        Map<String, Set<Integer>> departing = departingDirections(graph, timetable);
+
+        for (int r = 0; r < routeCount; r++) {
+            int[] stops = graph.routeStops(r);
+            int[] orders = graph.routeStopOrders(r);
+            routeStops[r] = stops;
+            routeStartTimes[r] = new int[0];
+            routeOffsets[r] = new int[stops.length];
+
+            // 시간표가 있고 시간표의 출발 방향으로 떠나는 첫 기준 정류장
+            int anchor = -1;
+            int[] starts = null;
+            for (int i = 0; i + 1 < stops.length && anchor < 0; i++) {
+                int[] departures = departuresAt(graph, timetable, stops[i], graph.routeName(r));
+                if (departures == null) continue;
+                Set<Integer> next = departing.get(directionKey(graph.routeName(r), stops[i]));
+                if (next != null && next.contains(stops[i + 1])) {
+                    anchor = i;
+                    starts = departures;
+                }
+            }
+            if (anchor < 0) continue;
+
+            for (int i = 0; i < stops.length; i++) {
+                routeOffsets[r][i] = (orders[i] - orders[anchor]) * minutesPerStop;
+            }
+            routeStartTimes[r] = starts;
+
+            for (int ignored : starts) {
+                tripRoutes.add(r);
+            }
+            connectionCount += starts.length * Math.max(0, stops.length - 1);
+        }
+
+        int[] depStation = new int[connectionCount];
+        int[] arrStation = new int[connectionCount];
+        int[] depTime = new int[connectionCount];
+        int[] arrTime = new int[connectionCount];
+        int[] trip = new int[connectionCount];
+        int[] tripRoute = new int[tripRoutes.size()];
+
+        int c = 0;
+        int t = 0;
+        for (int r = 0; r < routeCount; r++) {
+            int[] stops = routeStops[r];
+            int[] offsets = routeOffsets[r];
+            for (int start : routeStartTimes[r]) {
+                tripRoute[t] = r;
+                for (int i = 0; i + 1 < stops.length; i++) {
+                    depStation[c] = stops[i];
+                    arrStation[c] = stops[i + 1];
+                    depTime[c] = start + offsets[i];
+                    arrTime[c] = start + offsets[i + 1];
+                    trip[c] = t;
+                    c++;
+                }
+                t++;
+            }
+        }
+
+        // 출발 시각 오름차순 정렬 (같은 시각이면 회차/구간 순서 유지)
+        int[] order = sortedOrder(depTime);
+        int[] sortedArrTime = permute(arrTime, order);
+
+        return new ConnectionTable(
+                permute(depStation, order), permute(arrStation, order),
+                permute(depTime, order), sortedArrTime, permute(trip, order),
+                sortedOrder(sortedArrTime),
+                tripRoute, routeStartTimes, routeOffsets, routeStops
+        );
+    }
+
+    /**
+     * times 오름차순 위치 배열 (상위 32비트 = 시각, 하위 = 원래 위치로 묶어 정렬 → 같은 시각이면 원래 순서 유지)
+     */
+    private static int[] sortedOrder(int[] times) {
+        long[] keys = new long[times.length];
+        for (int i = 0; i < times.length; i++) {
+            keys[i] = ((long) times[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[times.length];
+        for (int i = 0; i < times.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * (노선번호, 기준 정류장) → 시간표 출발 방향의 다음 정류장 집합
+     * - 그 노선번호의 모든 노선에서 기준 정류장 다음 정류장을 세어 가장 많은 것(동률이면 모두)
+     * - 종점으로 지나는 경우는 세지 않음
+     */
+    private static Map<String, Set<Integer>> departingDirections(TransitGraph graph, Timetable timetable) {
+        Map<String, Map<Integer, Integer>> counts = new HashMap<>();
+        for (int r = 0; r < graph.routeCount(); r++) {
+            int[] stops = graph.routeStops(r);
+            for (int i = 0; i + 1 < stops.length; i++) {
+                if (departuresAt(graph, timetable, stops[i], graph.routeName(r)) == null) continue;
+                counts.computeIfAbsent(directionKey(graph.routeName(r), stops[i]), k -> new HashMap<>())
+                        .merge(stops[i + 1], 1, Integer::sum);
+            }
+        }
+
+        Map<String, Set<Integer>> departing = new HashMap<>(counts.size() * 2);
+        for (Map.Entry<String, Map<Integer, Integer>> entry : counts.entrySet()) {
+            int max = 0;
+            for (int count : entry.getValue().values()) max = Math.max(max, count);
+            Set<Integer> next = new HashSet<>();
+            for (Map.Entry<Integer, Integer> stop : entry.getValue().entrySet()) {
+                if (stop.getValue() == max) next.add(stop.getKey());
+            }
+            departing.put(entry.getKey(), next);
+        }
+        return departing;
+    }
+
+    private static String directionKey(String routeNo, int station) {
+        return routeNo + '|' + station;
+    }
+
+    /**
+     * 정류장의 노선번호 출발 시각 (시간표가 없거나 비어 있으면 null)
+     */
+    private static int[] departuresAt(TransitGraph graph, Timetable timetable, int station, String routeNo) {
+        StationTimetable st = timetable.station(graph.stationId(station));
+        if (st == null) return null;
+        int[] departures = departuresOf(st, routeNo);
+        return departures != null && departures.length > 0 ? departures : null;
+    }
+
+    private static int[] departuresOf(StationTimetable st, String routeNo) {
+        for (int i = 0; i < st.routeCount(); i++) {
+            if (st.routeNo(i).equals(routeNo)) return st.departures(i);
+        }
+        return null;
+    }
+
+    private static int[] permute(int[] values, int[] order) {
+        int[] sorted = new int[values.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = values[order[i]];
+        }
+        return sorted;
+    }
+
+    // ---------------- 조회 ----------------
+
+    public int connectionCount() {
+        return depTime.length;
+    }
+
+    public int tripCount() {
+        return tripRoute.length;
+    }
+
+    /**
+     * 출발 시각이 minute 이상인 첫 연결 위치
+     */
+    public int firstConnectionAtOrAfter(int minute) {
+        int lo = 0;
+        int hi = depTime.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (depTime[mid] < minute) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * 도착 시각이 minute 이하인 마지막 연결의 도착순 위치 (없으면 -1)
+     */
+    public int lastArrivalAtOrBefore(int minute) {
+        int lo = 0;
+        int hi = byArrival.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arrTime[byArrival[mid]] <= minute) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo - 1;
+    }
+
+    /**
+     * 도착순 rank번째 연결 위치
+     */
+    public int connectionByArrival(int rank) {
+        return byArrival[rank];
+    }
+
+    public int depStation(int connection) {
+        return depStation[connection];
+    }
+
+    public int arrStation(int connection) {
+        return arrStation[connection];
+    }
+
+    public int depTime(int connection) {
+        return depTime[connection];
+    }
+
+    public int arrTime(int connection) {
+        return arrTime[connection];
+    }
+
+    public int trip(int connection) {
+        return trip[connection];
+    }
+
+    public int tripRoute(int trip) {
+        return tripRoute[trip];
+    }
+
+    /**
+     * 같은 회차에서 탑승 ~ 하차 연결 수 (= 이동 정거장 수)
+     */
+    public int stopCount(int board, int alight) {
+        int count = 0;
+        for (int c = Math.min(board, alight); c <= Math.max(board, alight); c++) {
+            if (trip[c] == trip[board]) count++;
+        }
+        return count;
+    }
+
+    /**
+     * 노선에 시간표 회차가 있는지
+     */
+    public boolean hasSchedule(int route) {
+        return route >= 0 && route < routeStartTimes.length && routeStartTimes[route].length > 0;
+    }
+
+    /**
+     * 정류장에서 minute 이후 이 노선의 다음 출발까지 대기(분)
+     * - 시간표 회차가 없거나 정류장을 지나지 않거나 오늘 남은 회차가 없으면 -1
+     * - 같은 정류장을 두 번 지나는 노선이면 더 빨리 오는 쪽
+     */
+    public int scheduledWait(int route, int station, int minute) {
+        if (!hasSchedule(route)) return -1;
+
+        int[] stops = routeStops[route];
+        int best = -1;
+        for (int i = 0; i < stops.length; i++) {
+            if (stops[i] != station) continue;
+            int wait = scheduledWaitAt(route, i, minute);
+            if (wait >= 0 && (best < 0 || wait < best)) best = wait;
+        }
+        return best;
+    }
+
+    /**
+     * 노선의 position번째 정류장에서 minute 이후 다음 출발까지 대기(분), 없으면 -1
+     */
+    public int scheduledWaitAt(int route, int position, int minute) {
+        if (!hasSchedule(route)) return -1;
+
+        int[] starts = routeStartTimes[route];
+        int offset = routeOffsets[route][position];
+        int pos = Arrays.binarySearch(starts, minute - offset);
+        if (pos < 0) pos = -pos - 1;
+        return pos < starts.length ? starts[pos] + offset - minute : -1;
+    }
+}
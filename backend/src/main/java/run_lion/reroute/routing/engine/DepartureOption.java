@@ -0,0 +1,35 @@
+package run_lion.reroute.routing.engine;
+
+/**
+ * 출발 시간대 탐색 결과 1건: 출발지 출발 시각 + 그 시각에 떠나는 여정
+ *
+ * 여정 시간은 departMinute 기준 분 (arrivalMinutes = 총 소요 시간)
+ */
+public final class DepartureOption {
+
+    private final int departMinute;
+    private final Journey journey;
+
+    public DepartureOption(int departMinute, Journey journey) {
+        this.departMinute = departMinute;
+        this.journey = journey;
+    }
+
+    /**
+     * 출발지 출발 시각 (자정 기준 분)
+     */
+    public int getDepartMinute() {
+        return departMinute;
+    }
+
+    /**
+     * 목적지 도착 시각 (자정 기준 분)
+     */
+    public int getArrivalMinute() {
+        return departMinute + journey.getArrivalMinutes();
+    }
+
+    public Journey getJourney() {
+        return journey;
+    }
+}
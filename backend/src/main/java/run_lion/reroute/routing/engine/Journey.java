@@ -0,0 +1,72 @@
+package run_lion.reroute.routing.engine;
+
+import java.util.List;
+
+/**
+ * 탐색 엔진이 돌려주는 여정 1건
+ *
+ * 출발지 → (도보) → 첫 승차 정류장 → 구간들 → 마지막 하차 정류장 → (도보) → 목적지
+ * 시간은 모두 "검색 기준 시각으로부터 몇 분 후"로 표현
+ */
+public final class Journey {
+
+    private final int accessStation;      // 첫 승차 정류장
+    private final int accessMinutes;      // 출발지 → 첫 정류장 도보
+    private final int egressStation;      // 마지막 하차 정류장
+    private final int egressMinutes;      // 마지막 정류장 → 목적지 도보
+    private final List<JourneyLeg> legs;  // 순서대로
+    private final int arrivalMinutes;     // 목적지 도착 시각 (총 소요 시간)
+
+    public Journey(int accessStation, int accessMinutes,
+                   int egressStation, int egressMinutes,
+                   List<JourneyLeg> legs, int arrivalMinutes) {
+        this.accessStation = accessStation;
+        this.accessMinutes = accessMinutes;
+        this.egressStation = egressStation;
+        this.egressMinutes = egressMinutes;
+        this.legs = List.copyOf(legs);
+        this.arrivalMinutes = arrivalMinutes;
+    }
+
+    public int getAccessStation() {
+        return accessStation;
+    }
+
+    public int getAccessMinutes() {
+        return accessMinutes;
+    }
+
+    public int getEgressStation() {
+        return egressStation;
+    }
+
+    public int getEgressMinutes() {
+        return egressMinutes;
+    }
+
+    public List<JourneyLeg> getLegs() {
+        return legs;
+    }
+
+    public int getArrivalMinutes() {
+        return arrivalMinutes;
+    }
+
+    /**
+     * 버스 탑승 횟수
+     */
+    public int getBusLegCount() {
+        int count = 0;
+        for (JourneyLeg leg : legs) {
+            if (leg.isBus()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * 환승 횟수 (탑승 횟수 - 1)
+     */
+    public int getTransfers() {
+        return Math.max(0, getBusLegCount() - 1);
+    }
+}
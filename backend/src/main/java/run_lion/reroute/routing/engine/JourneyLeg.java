@@ -0,0 +1,72 @@
+package run_lion.reroute.routing.engine;
+
+/**
+ * 여정의 한 구간 (버스 탑승 1회 또는 정류장 간 환승 도보 1회)
+ *
+ * 정류장/노선은 TransitGraph의 int 인덱스로 표현
+ * (출발지 → 첫 정류장, 마지막 정류장 → 목적지 도보는 Journey가 따로 가짐)
+ */
+public final class JourneyLeg {
+
+    public enum Type { BUS, WALK }
+
+    private final Type type;
+    private final int fromStation;
+    private final int toStation;
+    private final int route;          // BUS일 때 노선 인덱스, WALK이면 -1
+    private final int waitMinutes;    // BUS일 때 승차 대기 시간
+    private final int rideMinutes;    // BUS: 탑승 시간, WALK: 도보 시간
+    private final int stopCount;      // BUS일 때 이동 정거장 수
+
+    private JourneyLeg(Type type, int fromStation, int toStation, int route,
+                       int waitMinutes, int rideMinutes, int stopCount) {
+        this.type = type;
+        this.fromStation = fromStation;
+        this.toStation = toStation;
+        this.route = route;
+        this.waitMinutes = waitMinutes;
+        this.rideMinutes = rideMinutes;
+        this.stopCount = stopCount;
+    }
+
+    public static JourneyLeg bus(int fromStation, int toStation, int route,
+                                 int waitMinutes, int rideMinutes, int stopCount) {
+        return new JourneyLeg(Type.BUS, fromStation, toStation, route, waitMinutes, rideMinutes, stopCount);
+    }
+
+    public static JourneyLeg walk(int fromStation, int toStation, int walkMinutes) {
+        return new JourneyLeg(Type.WALK, fromStation, toStation, -1, 0, walkMinutes, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isBus() {
+        return type == Type.BUS;
+    }
+
+    public int getFromStation() {
+        return fromStation;
+    }
+
+    public int getToStation() {
+        return toStation;
+    }
+
+    public int getRoute() {
+        return route;
+    }
+
+    public int getWaitMinutes() {
+        return waitMinutes;
+    }
+
+    public int getRideMinutes() {
+        return rideMinutes;
+    }
+
+    public int getStopCount() {
+        return stopCount;
+    }
+}
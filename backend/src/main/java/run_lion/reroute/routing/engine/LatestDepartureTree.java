@@ -0,0 +1,96 @@
+package run_lion.reroute.routing.engine;
+
+/**
+ * 역방향(도착 시각 지정) 탐색 결과 (불변)
+ *
+ * 정류장마다 "늦어도 몇 시에 여기 있으면 마감 시각까지 목적지 정류장에 도착하는지"와
+ * 그 시각을 만든 다음 구간(버스 승하차 연결 또는 환승 도보)을 보관
+ * 한 번 만들면 출발지가 어디든 재사용 가능 (출발 정류장 → 목적지 방향으로 부모를 따라감)
+ *
+ * 정방향 탐색과 같이 도보는 연속으로 이어지지 않으므로 라벨을 두 벌로 나눠 보관
+ * - 탑승 라벨: 이 정류장에서 바로 버스를 타거나 목적지로 걸어가는 경우
+ * - 도보 라벨: 인접 정류장까지 걸어간 뒤 그 정류장의 탑승 라벨을 따르는 경우
+ */
+public final class LatestDepartureTree {
+
+    static final int KIND_NONE = 0;
+    static final int KIND_TARGET = 1;
+    static final int KIND_BUS = 2;
+    static final int KIND_WALK = 3;
+
+    private final int deadline;
+
+    private final int[] rideLatest;
+    private final int[] rideKind;
+    private final int[] rideBoard;    // BUS: 승차 연결 위치
+    private final int[] rideExtra;    // BUS: 하차 연결 위치, TARGET: 목적지까지 도보 시간
+
+    private final int[] walkLatest;
+    private final int[] walkTo;       // 걸어갈 인접 정류장 (-1이면 없음)
+    private final int[] walkMinutes;
+
+    LatestDepartureTree(int deadline, int[] rideLatest, int[] rideKind, int[] rideBoard, int[] rideExtra,
+                        int[] walkLatest, int[] walkTo, int[] walkMinutes) {
+        this.deadline = deadline;
+        this.rideLatest = rideLatest;
+        this.rideKind = rideKind;
+        this.rideBoard = rideBoard;
+        this.rideExtra = rideExtra;
+        this.walkLatest = walkLatest;
+        this.walkTo = walkTo;
+        this.walkMinutes = walkMinutes;
+    }
+
+    /**
+     * 탐색 기준 마감 시각 (자정 기준 분)
+     */
+    public int getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * 이 정류장에서 마감 시각까지 목적지에 갈 수 있는지
+     */
+    public boolean isReached(int station) {
+        return rideKind[station] != KIND_NONE || walkTo[station] >= 0;
+    }
+
+    /**
+     * 정류장에 있어야 하는 가장 늦은 시각 (자정 기준 분, isReached가 false면 의미 없음)
+     */
+    public int latestAt(int station) {
+        return Math.max(rideLatest[station], walkLatest[station]);
+    }
+
+    /**
+     * latestAt을 만든 다음 구간 종류 (도보 라벨이 더 늦으면 KIND_WALK)
+     */
+    int kind(int station) {
+        if (walkTo[station] >= 0 && walkLatest[station] > rideLatest[station]) return KIND_WALK;
+        return rideKind[station];
+    }
+
+    int rideLatest(int station) {
+        return rideLatest[station];
+    }
+
+    int rideKind(int station) {
+        return rideKind[station];
+    }
+
+    int rideBoard(int station) {
+        return rideBoard[station];
+    }
+
+    int rideExtra(int station) {
+        return rideExtra[station];
+    }
+
+    int walkTo(int station) {
+        return walkTo[station];
+    }
+
+    int walkMinutes(int station) {
+        return walkMinutes[station];
+    }
+}
@@ -0,0 +1,340 @@
+package run_lion.reroute.routing.engine;
+
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 출발 시간대(profile) Connection Scan 엔진
+ *
+ * "fromMinute ~ toMinute 사이에 출발하는 여정 중 서로 지배되지 않는 것 전부"를 한 번의 스캔으로 계산
+ * - 연결을 출발 시각 역순으로 훑으면서 정류장마다 (탑승 시각, 목적지 도착 시각) 파레토 목록(profile)을 쌓음
+ * - 연결 c의 목적지 도착 = min(하차 후 목적지로 걷기, 하차 정류장/인접 정류장 profile로 환승, 같은 회차 계속 탑승)
+ * - 목록은 탑승 시각 내림차순 + 도착 시각 내림차순 → "time 이후 탑승 시 최단 도착"은 이분 탐색 한 번
+ *
+ * 탐색 범위: toMinute에 출발하는 정방향 최단 도착(ConnectionScanEngine) 이후에 도착하는 여정은
+ * 그보다 일찍 떠나므로 모두 지배됨 → 그 시각 이전에 출발하는 연결만 훑음
+ *
+ * 도보 규칙은 ConnectionScanEngine과 같음 (출발지/하차 뒤 환승 도보 한 번, 도보끼리 연속 불가)
+ * 인스턴스는 그래프/연결 배열 참조만 가지며 탐색 상태는 호출마다 새로 만들어 스레드 안전
+ */
+public final class ProfileScanEngine {
+
+    private static final int UNREACHED = RaptorEngine.UNREACHED;
+
+    private final TransitGraph graph;
+    private final ConnectionTable connections;
+
+    public ProfileScanEngine(TransitGraph graph, ConnectionTable connections) {
+        this.graph = graph;
+        this.connections = connections;
+    }
+
+    /**
+     * 출발 시간대 파레토 여정 목록
+     *
+     * @param sources 출발 후보 정류장 인덱스
+     * @param accessMinutes 출발지 → 각 출발 정류장 도보 시간 (sources와 같은 위치)
+     * @param targets 도착 후보 정류장 인덱스
+     * @param egressMinutes 각 도착 정류장 → 목적지 도보 시간 (targets와 같은 위치)
+     * @param fromMinute 출발 시간대 시작 (자정 기준 분, 포함)
+     * @param toMinute 출발 시간대 끝 (자정 기준 분, 포함)
+     * @return 출발 시각 오름차순 (뒤로 갈수록 늦게 떠나고 늦게 도착), 버스를 타는 여정만
+     */
+    public List<DepartureOption> departureWindow(int[] sources, int[] accessMinutes,
+                                                 int[] targets, int[] egressMinutes,
+                                                 int fromMinute, int toMinute) {
+        int n = graph.stationCount();
+        if (n == 0 || sources.length == 0 || targets.length == 0 || toMinute < fromMinute) return List.of();
+
+        // 탐색 상한: 시간대 끝에 출발했을 때의 도착 시각
+        Journey last = new ConnectionScanEngine(graph, connections)
+                .earliestArrival(sources, accessMinutes, targets, egressMinutes, toMinute);
+        int horizon = last == null ? UNREACHED : toMinute + last.getArrivalMinutes();
+
+        Egress egress = new Egress(n, targets, egressMinutes);
+        Profiles profiles = new Profiles(n);
+
+        int[] tripArrival = new int[connections.tripCount()];
+        int[] tripExit = new int[connections.tripCount()];
+        Arrays.fill(tripArrival, UNREACHED);
+
+        int first = connections.firstConnectionAtOrAfter(fromMinute);
+        for (int c = connections.firstConnectionAtOrAfter(horizon + 1) - 1; c >= first; c--) {
+            int arr = connections.arrTime(c);
+            if (arr > horizon) continue;
+
+            int trip = connections.trip(c);
+            int alight = Math.min(egress.arrivalFrom(connections.arrStation(c), arr),
+                    transferArrival(profiles, connections.arrStation(c), arr));
+            // 같은 시각이면 더 뒤에서 내리는 쪽 유지 (하차 정류장 profile에 같은 회차가 들어 있으므로
+            // <=로 바꾸면 같은 버스에서 내렸다 다시 타는 구간이 생김)
+            if (alight < tripArrival[trip]) {
+                tripArrival[trip] = alight;
+                tripExit[trip] = c;
+            }
+            if (tripArrival[trip] < UNREACHED) {
+                profiles.add(connections.depStation(c), connections.depTime(c), tripArrival[trip], c, tripExit[trip]);
+            }
+        }
+
+        return originOptions(profiles, egress, sources, accessMinutes, fromMinute, toMinute);
+    }
+
+    /**
+     * 하차 정류장에서 time 이후 환승했을 때 최단 도착 (같은 정류장 탑승 or 인접 정류장으로 걸어가서 탑승)
+     */
+    private int transferArrival(Profiles profiles, int station, int time) {
+        int best = profiles.arrivalAfter(station, time);
+        int[] stops = graph.footpathStops(station);
+        int[] minutes = graph.footpathMinutes(station);
+        for (int i = 0; i < stops.length; i++) {
+            best = Math.min(best, profiles.arrivalAfter(stops[i], time + minutes[i]));
+        }
+        return best;
+    }
+
+    /**
+     * 출발 정류장(및 인접 정류장) profile → 출발지 기준 파레토 여정
+     */
+    private List<DepartureOption> originOptions(Profiles profiles, Egress egress, int[] sources, int[] accessMinutes,
+                                                int fromMinute, int toMinute) {
+        // {출발지 출발 시각, 도착 시각, 출발 정류장, 접근 도보, 탑승 정류장, 환승 도보, profile 위치}
+        List<int[]> candidates = new ArrayList<>();
+        for (int i = 0; i < sources.length; i++) {
+            int s = sources[i];
+            collect(candidates, profiles, s, accessMinutes[i], s, 0, fromMinute, toMinute);
+            int[] stops = graph.footpathStops(s);
+            int[] minutes = graph.footpathMinutes(s);
+            for (int k = 0; k < stops.length; k++) {
+                collect(candidates, profiles, s, accessMinutes[i], stops[k], minutes[k], fromMinute, toMinute);
+            }
+        }
+
+        // 늦게 출발하는 순으로 보면서 도착이 지금까지보다 빨라지는 것만 남김
+        candidates.sort((a, b) -> a[0] != b[0] ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        List<DepartureOption> options = new ArrayList<>();
+        int bestArrival = UNREACHED;
+        for (int[] candidate : candidates) {
+            if (candidate[1] >= bestArrival) continue;
+            bestArrival = candidate[1];
+            options.add(new DepartureOption(candidate[0], reconstruct(profiles, egress, candidate)));
+        }
+        Collections.reverse(options);
+        return options;
+    }
+
+    private void collect(List<int[]> candidates, Profiles profiles, int source, int access, int station, int walk,
+                         int fromMinute, int toMinute) {
+        for (int e = 0; e < profiles.size(station); e++) {
+            int depart = profiles.departure(station, e) - access - walk;
+            if (depart < fromMinute || depart > toMinute) continue;
+            candidates.add(new int[]{depart, profiles.arrival(station, e), source, access, station, walk, e});
+        }
+    }
+
+    /**
+     * profile 항목을 따라 여정 복원 (하차할 때마다 목적지 도보/환승 중 가장 빨리 도착하는 쪽 선택)
+     */
+    private Journey reconstruct(Profiles profiles, Egress egress, int[] candidate) {
+        int departMinute = candidate[0];
+        int source = candidate[2];
+        int access = candidate[3];
+        int station = candidate[4];
+        int entry = candidate[6];
+
+        List<JourneyLeg> legs = new ArrayList<>();
+        int time = departMinute + access;
+        if (candidate[5] > 0) {
+            legs.add(JourneyLeg.walk(source, station, candidate[5]));
+            time += candidate[5];
+        }
+
+        while (true) {
+            int board = profiles.board(station, entry);
+            int alight = profiles.alight(station, entry);
+            int trip = connections.trip(board);
+            legs.add(JourneyLeg.bus(station, connections.arrStation(alight), connections.tripRoute(trip),
+                    connections.depTime(board) - time, connections.arrTime(alight) - connections.depTime(board),
+                    connections.stopCount(board, alight)));
+            time = connections.arrTime(alight);
+            station = connections.arrStation(alight);
+
+            // 목적지로 걷기 vs 같은 정류장 환승 vs 인접 정류장으로 걸어가서 환승 (같으면 앞쪽 우선)
+            int best = egress.arrivalFrom(station, time);
+            int nextStation = -1;
+            int nextWalk = 0;
+            if (profiles.arrivalAfter(station, time) < best) {
+                best = profiles.arrivalAfter(station, time);
+                nextStation = station;
+            }
+            int[] stops = graph.footpathStops(station);
+            int[] minutes = graph.footpathMinutes(station);
+            for (int i = 0; i < stops.length; i++) {
+                int arrival = profiles.arrivalAfter(stops[i], time + minutes[i]);
+                if (arrival < best) {
+                    best = arrival;
+                    nextStation = stops[i];
+                    nextWalk = minutes[i];
+                }
+            }
+
+            if (nextStation < 0) break;
+            if (nextWalk > 0) {
+                legs.add(JourneyLeg.walk(station, nextStation, nextWalk));
+                time += nextWalk;
+            }
+            station = nextStation;
+            entry = profiles.entryAfter(station, time);
+        }
+
+        int target = egress.target(station);
+        if (target != station) {
+            legs.add(JourneyLeg.walk(station, target, egress.footMinutes(station)));
+            time += egress.footMinutes(station);
+        }
+        int egressMinutes = egress.minutesAt(target);
+        return new Journey(source, access, target, egressMinutes, legs, time + egressMinutes - departMinute);
+    }
+
+    /**
+     * 하차 정류장 → 목적지 도보 (도착 정류장이면 바로, 아니면 인접 도착 정류장까지 한 번 걸어서)
+     */
+    private final class Egress {
+        private final int[] egressAt;     // 도착 정류장의 목적지 도보 (-1이면 도착 정류장 아님)
+        private final int[] total;        // 정류장 → 목적지 도보 합 (UNREACHED면 불가)
+        private final int[] target;       // 걸어갈 도착 정류장
+        private final int[] foot;         // 도착 정류장까지 환승 도보
+
+        Egress(int n, int[] targets, int[] egressMinutes) {
+            egressAt = new int[n];
+            total = new int[n];
+            target = new int[n];
+            foot = new int[n];
+            Arrays.fill(egressAt, -1);
+            Arrays.fill(total, UNREACHED);
+
+            for (int i = 0; i < targets.length; i++) {
+                int t = targets[i];
+                if (egressAt[t] < 0 || egressMinutes[i] < egressAt[t]) egressAt[t] = egressMinutes[i];
+            }
+            for (int t = 0; t < n; t++) {
+                if (egressAt[t] < 0) continue;
+                if (egressAt[t] < total[t]) {
+                    total[t] = egressAt[t];
+                    target[t] = t;
+                    foot[t] = 0;
+                }
+                int[] stops = graph.footpathStops(t);
+                int[] minutes = graph.footpathMinutes(t);
+                for (int i = 0; i < stops.length; i++) {
+                    int z = stops[i];
+                    if (minutes[i] + egressAt[t] < total[z]) {
+                        total[z] = minutes[i] + egressAt[t];
+                        target[z] = t;
+                        foot[z] = minutes[i];
+                    }
+                }
+            }
+        }
+
+        int arrivalFrom(int station, int time) {
+            return total[station] == UNREACHED ? UNREACHED : time + total[station];
+        }
+
+        int target(int station) {
+            return target[station];
+        }
+
+        int footMinutes(int station) {
+            return foot[station];
+        }
+
+        int minutesAt(int targetStation) {
+            return egressAt[targetStation];
+        }
+    }
+
+    /**
+     * 정류장별 (탑승 시각, 목적지 도착 시각, 탑승 연결, 하차 연결) 파레토 목록
+     * 추가 순서 = 탑승 시각 내림차순, 도착 시각은 항상 직전 항목보다 빠른 것만 추가
+     */
+    private static final class Profiles {
+        private static final int FIELDS = 4;
+
+        private final int[][] entries;
+        private final int[] sizes;
+
+        Profiles(int n) {
+            entries = new int[n][];
+            sizes = new int[n];
+        }
+
+        void add(int station, int departure, int arrival, int board, int alight) {
+            int size = sizes[station];
+            int[] list = entries[station];
+            if (size > 0) {
+                int lastBase = (size - 1) * FIELDS;
+                if (list[lastBase + 1] <= arrival) return;
+                if (list[lastBase] == departure) size--;
+            }
+            if (list == null) {
+                list = new int[FIELDS * 4];
+                entries[station] = list;
+            } else if ((size + 1) * FIELDS > list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+                entries[station] = list;
+            }
+            int base = size * FIELDS;
+            list[base] = departure;
+            list[base + 1] = arrival;
+            list[base + 2] = board;
+            list[base + 3] = alight;
+            sizes[station] = size + 1;
+        }
+
+        int size(int station) {
+            return sizes[station];
+        }
+
+        int departure(int station, int entry) {
+            return entries[station][entry * FIELDS];
+        }
+
+        int arrival(int station, int entry) {
+            return entries[station][entry * FIELDS + 1];
+        }
+
+        int board(int station, int entry) {
+            return entries[station][entry * FIELDS + 2];
+        }
+
+        int alight(int station, int entry) {
+            return entries[station][entry * FIELDS + 3];
+        }
+
+        /**
+         * time 이후 탑승하는 항목 중 가장 빨리 도착하는 항목 위치 (= 탑승 시각 >= time인 마지막 항목, 없으면 -1)
+         */
+        int entryAfter(int station, int time) {
+            int[] list = entries[station];
+            int lo = 0;
+            int hi = sizes[station];
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (list[mid * FIELDS] >= time) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo - 1;
+        }
+
+        int arrivalAfter(int station, int time) {
+            if (sizes[station] == 0) return UNREACHED;
+            int entry = entryAfter(station, time);
+            return entry < 0 ? UNREACHED : arrival(station, entry);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package run_lion.reroute.routing.engine;
+
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 라운드 기반(RAPTOR) 환승 경로 탐색 엔진
+ *
+ * 라운드 k = 버스를 k번 탄 상태에서 각 정류장에 도착 가능한 가장 빠른 시각
+ * - 라운드마다 직전 라운드에서 개선된 정류장을 지나는 노선만 한 번씩 훑음
+ * - 노선을 훑을 때 "지금 타고 있는 버스"보다 더 빨리 탈 수 있는 정류장이 나오면 갈아탐
+ * - 노선 스캔 후 환승 도보(footpath)로 인접 정류장까지 확장
+ *
+ * 시간표(운행 회차) 데이터가 없으므로 노선은 "대기 후 탑승, 정거장당 일정 시간" 모델로 계산
+ * 대기 시간은 BoardingWait로 호출 측이 결정 (실시간 ETA, 기본 배차 대기 등)
+ *
+ * 모든 상태를 int 배열로 관리하므로 정류장 수백 개 규모에서는 1ms 미만으로 끝남
+ * 인스턴스는 그래프 참조만 가지며 탐색 상태는 호출마다 새로 만들어 스레드 안전
+ */
+public final class RaptorEngine {
+
+    /** 도달 불가 표시 (덧셈 오버플로 방지를 위해 MAX_VALUE의 절반) */
+    public static final int UNREACHED = Integer.MAX_VALUE / 2;
+
+    private static final int PARENT_NONE = 0;
+    private static final int PARENT_SOURCE = 1;
+    private static final int PARENT_BUS = 2;
+    private static final int PARENT_WALK = 3;
+
+    /**
+     * 승차 대기 시간 정책
+     */
+    @FunctionalInterface
+    public interface BoardingWait {
+        /**
+         * @param round 몇 번째 탑승인지 (1 = 첫 탑승)
+         * @param station 승차 정류장 인덱스
+         * @param route 노선 인덱스
+         * @param arrivalMinutes 정류장 도착 시각 (검색 기준 분)
+         * @return 대기 시간(분), 탈 수 없으면 음수
+         */
+        int waitMinutes(int round, int station, int route, int arrivalMinutes);
+    }
+
+    private final TransitGraph graph;
+    private final int minutesPerStop;
+
+    public RaptorEngine(TransitGraph graph, int minutesPerStop) {
+        this.graph = graph;
+        this.minutesPerStop = minutesPerStop;
+    }
+
+    /**
+     * 다중 출발/다중 도착 정류장 탐색
+     *
+     * @param sources 출발 후보 정류장 인덱스
+     * @param accessMinutes 출발지 → 각 출발 정류장 도보 시간 (sources와 같은 위치)
+     * @param targets 도착 후보 정류장 인덱스
+     * @param egressMinutes 각 도착 정류장 → 목적지 도보 시간 (targets와 같은 위치)
+     * @param maxTransfers 최대 환승 횟수 (0 = 직행만)
+     * @param boardingWait 승차 대기 시간 정책
+     * @return 환승 횟수가 늘수록 더 빨리 도착하는 여정 목록 (환승 적은 순, 없으면 빈 목록)
+     */
+    public List<Journey> search(int[] sources, int[] accessMinutes,
+                                int[] targets, int[] egressMinutes,
+                                int maxTransfers, BoardingWait boardingWait) {
+        int n = graph.stationCount();
+        int maxRounds = Math.max(0, maxTransfers) + 1;
+        if (n == 0 || sources.length == 0 || targets.length == 0) {
+            return Collections.emptyList();
+        }
+
+        int size = (maxRounds + 1) * n;
+        int[] tau = new int[size];
+        int[] parentKind = new int[size];
+        int[] parentFrom = new int[size];
+        int[] parentRoute = new int[size];
+        int[] parentWait = new int[size];
+        int[] parentRide = new int[size];
+        Arrays.fill(tau, UNREACHED);
+
+        int[] best = new int[n];
+        Arrays.fill(best, UNREACHED);
+
+        int[] access = new int[n];
+        Arrays.fill(access, UNREACHED);
+        int[] egress = new int[n];
+        Arrays.fill(egress, UNREACHED);
+
+        boolean[] marked = new boolean[n];
+        boolean[] nextMarked = new boolean[n];
+
+        // 라운드 0: 출발 정류장까지 도보
+        for (int i = 0; i < sources.length; i++) {
+            int s = sources[i];
+            if (s < 0 || s >= n) continue;
+            int t = Math.max(0, accessMinutes[i]);
+            if (t < tau[s]) {
+                tau[s] = t;
+                best[s] = t;
+                access[s] = t;
+                parentKind[s] = PARENT_SOURCE;
+                marked[s] = true;
+            }
+        }
+        for (int i = 0; i < targets.length; i++) {
+            int t = targets[i];
+            if (t < 0 || t >= n) continue;
+            egress[t] = Math.min(egress[t], Math.max(0, egressMinutes[i]));
+        }
+
+        int routeCount = graph.routeCount();
+        boolean[] routeQueued = new boolean[routeCount];
+        int[] routeQueue = new int[routeCount];
+        int[] improvedByRoute = new int[n];
+
+        int bestTarget = UNREACHED;
+        List<Journey> journeys = new ArrayList<>();
+
+        for (int k = 1; k <= maxRounds; k++) {
+            int prev = (k - 1) * n;
+            int base = k * n;
+
+            // 1. 직전 라운드에서 개선된 정류장을 지나는 노선 수집
+            int queued = 0;
+            for (int s = 0; s < n; s++) {
+                if (!marked[s]) continue;
+                for (int r : graph.routesAt(s)) {
+                    if (!routeQueued[r]) {
+                        routeQueued[r] = true;
+                        routeQueue[queued++] = r;
+                    }
+                }
+            }
+            if (queued == 0) break;
+
+            Arrays.fill(nextMarked, false);
+            int improvedCount = 0;
+
+            // 2. 노선 스캔
+            for (int q = 0; q < queued; q++) {
+                int r = routeQueue[q];
+                routeQueued[r] = false;
+
+                int[] stops = graph.routeStops(r);
+                int boardPos = -1;
+                int boardStation = -1;
+                int boardTime = UNREACHED;
+                int boardWait = 0;
+
+                for (int i = 0; i < stops.length; i++) {
+                    int s = stops[i];
+
+                    // 2-1. 타고 있는 버스에서 내리는 경우
+                    if (boardPos >= 0) {
+                        int arrival = boardTime + (i - boardPos) * minutesPerStop;
+                        if (arrival < best[s] && arrival < bestTarget) {
+                            int idx = base + s;
+                            tau[idx] = arrival;
+                            best[s] = arrival;
+                            parentKind[idx] = PARENT_BUS;
+                            parentFrom[idx] = boardStation;
+                            parentRoute[idx] = r;
+                            parentWait[idx] = boardWait;
+                            parentRide[idx] = i - boardPos;
+                            if (!nextMarked[s]) {
+                                nextMarked[s] = true;
+                                improvedByRoute[improvedCount++] = s;
+                            }
+                        }
+                    }
+
+                    // 2-2. 이 정류장에서 더 빨리 탈 수 있으면 갈아탐
+                    int reached = tau[prev + s];
+                    if (reached >= UNREACHED) continue;
+
+                    int wait = boardingWait.waitMinutes(k, s, r, reached);
+                    if (wait < 0) continue;
+
+                    int candidate = reached + wait;
+                    int current = boardPos >= 0 ? boardTime + (i - boardPos) * minutesPerStop : UNREACHED;
+                    if (candidate < current) {
+                        boardPos = i;
+                        boardStation = s;
+                        boardTime = candidate;
+                        boardWait = wait;
+                    }
+                }
+            }
+
+            // 3. 환승 도보 확장 (버스로 개선된 정류장에서만 1회)
+            for (int j = 0; j < improvedCount; j++) {
+                int s = improvedByRoute[j];
+                int from = tau[base + s];
+                int[] walkStops = graph.footpathStops(s);
+                int[] walkMinutes = graph.footpathMinutes(s);
+
+                for (int w = 0; w < walkStops.length; w++) {
+                    int target = walkStops[w];
+                    int arrival = from + walkMinutes[w];
+                    if (arrival < best[target] && arrival < bestTarget) {
+                        int idx = base + target;
+                        tau[idx] = arrival;
+                        best[target] = arrival;
+                        parentKind[idx] = PARENT_WALK;
+                        parentFrom[idx] = s;
+                        parentRide[idx] = walkMinutes[w];
+                        nextMarked[target] = true;
+                    }
+                }
+            }
+
+            // 4. 이번 라운드에서 목적지 도착 시각이 개선됐는지 확인
+            int bestStop = -1;
+            for (int i = 0; i < targets.length; i++) {
+                int t = targets[i];
+                if (t < 0 || t >= n || tau[base + t] >= UNREACHED) continue;
+                int total = tau[base + t] + egress[t];
+                if (total < bestTarget) {
+                    bestTarget = total;
+                    bestStop = t;
+                }
+            }
+            if (bestStop >= 0) {
+                journeys.add(reconstruct(k, bestStop, n, tau, parentKind, parentFrom, parentRoute,
+                        parentWait, parentRide, access, egress[bestStop]));
+            }
+
+            boolean[] swap = marked;
+            marked = nextMarked;
+            nextMarked = swap;
+        }
+
+        return journeys;
+    }
+
+    private Journey reconstruct(int round, int target, int n,
+                                int[] tau, int[] parentKind, int[] parentFrom, int[] parentRoute,
+                                int[] parentWait, int[] parentRide, int[] access, int egressMinutes) {
+        List<JourneyLeg> legs = new ArrayList<>();
+        int station = target;
+        int k = round;
+
+        while (k >= 0) {
+            int idx = k * n + station;
+            int kind = parentKind[idx];
+
+            if (kind == PARENT_WALK) {
+                legs.add(JourneyLeg.walk(parentFrom[idx], station, parentRide[idx]));
+                station = parentFrom[idx];
+            } else if (kind == PARENT_BUS) {
+                int stops = parentRide[idx];
+                legs.add(JourneyLeg.bus(parentFrom[idx], station, parentRoute[idx],
+                        parentWait[idx], stops * minutesPerStop, stops));
+                station = parentFrom[idx];
+                k--;
+            } else {
+                break;
+            }
+        }
+
+        Collections.reverse(legs);
+        int arrival = tau[round * n + target] + egressMinutes;
+        return new Journey(station, access[station], target, egressMinutes, legs, arrival);
+    }
+}
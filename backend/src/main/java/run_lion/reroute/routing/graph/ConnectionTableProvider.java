@@ -0,0 +1,77 @@
+package run_lion.reroute.routing.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.realtimebus.service.LocalBusArrivalService;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.routing.engine.ConnectionTable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 시간표 연결 배열(ConnectionTable) 보관 컴포넌트
+ *
+ * - 노선망 스냅샷(TransitGraphProvider)과 시간표 스냅샷(LocalBusArrivalService)을 합쳐서 생성
+ * - 둘 중 하나라도 교체되면 다음 current() 호출에서 한 번 다시 만듦 (둘 다 불변이라 참조 비교로 충분)
+ * - 만드는 동안 current()를 부른 다른 요청은 완성될 때까지 기다림
+ *   (이전 배열은 이전 노선망의 정류장 인덱스 기준이라 새 노선망과 함께 쓰면 안 됨)
+ */
+@Slf4j
+@Component
+public class ConnectionTableProvider {
+
+    /** 정거장당 이동 시간(분) - RoutingAlgorithm.AVG_MIN_PER_STOP도 이 값을 씀 */
+    public static final int MINUTES_PER_STOP = 2;
+
+    private final TransitGraphProvider graphProvider;
+    private final LocalBusArrivalService localBusArrivalService;
+
+    private final AtomicReference<Built> current = new AtomicReference<>();
+
+    public ConnectionTableProvider(TransitGraphProvider graphProvider,
+                                   LocalBusArrivalService localBusArrivalService) {
+        this.graphProvider = graphProvider;
+        this.localBusArrivalService = localBusArrivalService;
+    }
+
+    /**
+     * 현재 노선망 + 시간표 기준 연결 배열
+     */
+    public ConnectionTable current() {
+        TransitGraph graph = graphProvider.current();
+        Timetable timetable = localBusArrivalService.getTimetable();
+
+        Built built = current.get();
+        if (built != null && built.graph == graph && built.timetable == timetable) {
+            return built.table;
+        }
+        return rebuild(graph, timetable);
+    }
+
+    private synchronized ConnectionTable rebuild(TransitGraph graph, Timetable timetable) {
+        Built built = current.get();
+        if (built != null && built.graph == graph && built.timetable == timetable) {
+            return built.table;
+        }
+
+        long start = System.nanoTime();
+        ConnectionTable table = ConnectionTable.build(graph, timetable, MINUTES_PER_STOP);
+        current.set(new Built(graph, timetable, table));
+
+        log.info("[ConnectionTableProvider] built trips={}, connections={}, took={}ms",
+                table.tripCount(), table.connectionCount(), (System.nanoTime() - start) / 1_000_000);
+        return table;
+    }
+
+    private static final class Built {
+        private final TransitGraph graph;
+        private final Timetable timetable;
+        private final ConnectionTable table;
+
+        private Built(TransitGraph graph, Timetable timetable, ConnectionTable table) {
+            this.graph = graph;
+            this.timetable = timetable;
+            this.table = table;
+        }
+    }
+}
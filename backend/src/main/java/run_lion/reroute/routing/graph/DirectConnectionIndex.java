@@ -0,0 +1,157 @@
+package run_lion.reroute.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * 정류장 간 직행 연결 인덱스 (불변)
+ *
+ * "A와 B를 이 순서로 지나는 노선"을 DB self-join 없이 답하기 위한 사전 계산 구조
+ * - stationRouteBits : 정류장별 경유 노선 비트셋 (정류장마다 long words개, 평탄화)
+ * - firstPosition[r * stationCount + s] : 노선 r에서 정류장 s가 처음 나오는 위치 (없으면 -1)
+ * - nextPosition[r][i] : 노선 r의 i번째 정류장과 같은 정류장이 다시 나오는 위치 (없으면 -1)
+ *
+ * 질의 = 두 정류장 비트셋 AND + 공통 노선마다 위치 배열 조회
+ * 순환 노선처럼 같은 정류장을 두 번 지나는 경우, 출발 위치 < 도착 위치인 조합 중
+ * 가장 짧게 타는 구간 하나를 고름
+ */
+public final class DirectConnectionIndex {
+
+    private final int stationCount;
+    private final int words;
+    private final long[] stationRouteBits;
+    private final int[] firstPosition;
+    private final int[][] nextPosition;
+
+    /**
+     * 공통 노선 1개의 탑승 구간을 받는 콜백
+     */
+    @FunctionalInterface
+    public interface ConnectionVisitor {
+        /**
+         * @param route 노선 인덱스
+         * @param departurePos 노선 정류장 배열에서 승차 위치
+         * @param arrivalPos 노선 정류장 배열에서 하차 위치 (departurePos보다 큼)
+         */
+        void accept(int route, int departurePos, int arrivalPos);
+    }
+
+    /**
+     * @param stationCount 전체 정류장 수
+     * @param routeStops 노선별 정류장 인덱스 배열 (순서대로)
+     */
+    public DirectConnectionIndex(int stationCount, int[][] routeStops) {
+        this.stationCount = stationCount;
+        this.words = (routeStops.length + 63) >>> 6;
+        this.stationRouteBits = new long[stationCount * words];
+        this.firstPosition = new int[routeStops.length * stationCount];
+        this.nextPosition = new int[routeStops.length][];
+
+        Arrays.fill(firstPosition, -1);
+
+        int[] lastSeen = new int[stationCount];
+        for (int r = 0; r < routeStops.length; r++) {
+            int[] stops = routeStops[r];
+            int[] next = new int[stops.length];
+            Arrays.fill(next, -1);
+            Arrays.fill(lastSeen, -1);
+
+            for (int i = 0; i < stops.length; i++) {
+                int s = stops[i];
+                if (lastSeen[s] < 0) {
+                    firstPosition[r * stationCount + s] = i;
+                    stationRouteBits[s * words + (r >>> 6)] |= 1L << r;
+                } else {
+                    next[lastSeen[s]] = i;
+                }
+                lastSeen[s] = i;
+            }
+            nextPosition[r] = next;
+        }
+    }
+
+    /**
+     * 출발 → 도착 순서로 두 정류장을 지나는 노선마다 visitor 호출 (노선 인덱스 오름차순)
+     *
+     * @return 찾은 노선 수
+     */
+    public int forEachConnection(int departure, int arrival, ConnectionVisitor visitor) {
+        if (departure == arrival) return 0;
+
+        int found = 0;
+        int depBase = departure * words;
+        int arrBase = arrival * words;
+
+        for (int w = 0; w < words; w++) {
+            long common = stationRouteBits[depBase + w] & stationRouteBits[arrBase + w];
+            while (common != 0) {
+                int route = (w << 6) + Long.numberOfTrailingZeros(common);
+                common &= common - 1;
+
+                int[] segment = shortestSegment(route, departure, arrival);
+                if (segment != null) {
+                    visitor.accept(route, segment[0], segment[1]);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 두 정류장이 직행으로 연결되는지 (출발 → 도착 순서)
+     */
+    public boolean connects(int departure, int arrival) {
+        if (departure == arrival) return false;
+
+        int depBase = departure * words;
+        int arrBase = arrival * words;
+        for (int w = 0; w < words; w++) {
+            long common = stationRouteBits[depBase + w] & stationRouteBits[arrBase + w];
+            while (common != 0) {
+                int route = (w << 6) + Long.numberOfTrailingZeros(common);
+                common &= common - 1;
+                if (shortestSegment(route, departure, arrival) != null) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 정류장을 경유하는 노선 수
+     */
+    public int routeCountAt(int station) {
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(stationRouteBits[station * words + w]);
+        }
+        return count;
+    }
+
+    /**
+     * 노선 안에서 출발 위치 < 도착 위치인 가장 짧은 구간 {승차 위치, 하차 위치} (없으면 null)
+     * - 보통은 두 정류장 모두 한 번씩이라 위치 조회 2번으로 끝남
+     * - 같은 정류장이 여러 번 나오면 각 도착 위치마다 그 직전의 마지막 출발 위치를 확인
+     */
+    private int[] shortestSegment(int route, int departure, int arrival) {
+        int[] next = nextPosition[route];
+        int depPos = firstPosition[route * stationCount + departure];
+        int arrPos = firstPosition[route * stationCount + arrival];
+
+        if (next[depPos] < 0 && next[arrPos] < 0) {
+            return depPos < arrPos ? new int[]{depPos, arrPos} : null;
+        }
+
+        int[] best = null;
+        for (int a = arrPos; a >= 0; a = next[a]) {
+            // a 이전의 마지막 출발 위치
+            int boarding = -1;
+            for (int d = depPos; d >= 0 && d < a; d = next[d]) {
+                boarding = d;
+            }
+            if (boarding >= 0 && (best == null || a - boarding < best[1] - best[0])) {
+                best = new int[]{boarding, a};
+            }
+        }
+        return best;
+    }
+}
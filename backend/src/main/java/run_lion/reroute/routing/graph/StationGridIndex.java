@@ -0,0 +1,238 @@
+package run_lion.reroute.routing.graph;
+
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 정류장 좌표 격자(grid) 인덱스 (불변)
+ *
+ * 위경도를 기준 위도에서 평면(미터)으로 근사 투영한 뒤 CELL_METERS 크기 격자에 정류장을 배치
+ * - 반경 검색: 반경을 덮는 격자 칸만 확인 후 Haversine으로 정확한 거리 필터
+ * - k-최근접: 가운데 칸부터 바깥 고리(ring)로 넓혀가며, 다음 고리의 최소 거리가
+ *   현재 k번째 거리보다 멀어지면 종료
+ *
+ * 칸별 정류장 목록은 CSR 형태(cellStart + cellStations) int 배열 2개로 저장
+ */
+public final class StationGridIndex {
+
+    // 격자 한 칸 크기 (미터) - 기본 검색 반경(500m)의 절반 정도
+    private static final double CELL_METERS = 250.0;
+
+    /** 칸 중심에서 모서리까지 거리 (칸 안 어느 좌표든 중심에서 이 거리 이내) */
+    public static final double CELL_HALF_DIAGONAL_METERS = CELL_METERS * Math.sqrt(2) / 2;
+
+    // 위도 1도 ≈ 111.32km
+    private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+    private final double[] lat;
+    private final double[] lon;
+
+    private final double originLat;
+    private final double originLon;
+    private final double metersPerDegLon;
+
+    private final int cols;
+    private final int rows;
+    private final int[] cellStart;     // 길이 cols*rows+1
+    private final int[] cellStations;  // 칸 순서대로 정렬된 정류장 인덱스
+
+    /**
+     * 검색 결과 1건 (정류장 인덱스 + 거리)
+     */
+    public static final class Hit {
+        private final int station;
+        private final double distanceMeters;
+
+        Hit(int station, double distanceMeters) {
+            this.station = station;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public int getStation() {
+            return station;
+        }
+
+        public double getDistanceMeters() {
+            return distanceMeters;
+        }
+    }
+
+    /**
+     * @param lat 정류장 위도 배열 (좌표 없는 정류장은 NaN)
+     * @param lon 정류장 경도 배열
+     */
+    public StationGridIndex(double[] lat, double[] lon) {
+        this.lat = lat;
+        this.lon = lon;
+
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        int valid = 0;
+        for (int s = 0; s < lat.length; s++) {
+            if (!hasCoordinate(s)) continue;
+            minLat = Math.min(minLat, lat[s]);
+            maxLat = Math.max(maxLat, lat[s]);
+            minLon = Math.min(minLon, lon[s]);
+            maxLon = Math.max(maxLon, lon[s]);
+            valid++;
+        }
+
+        if (valid == 0) {
+            minLat = maxLat = minLon = maxLon = 0;
+        }
+
+        this.originLat = minLat;
+        this.originLon = minLon;
+        this.metersPerDegLon = METERS_PER_DEG_LAT * Math.cos(Math.toRadians((minLat + maxLat) / 2));
+        this.cols = (int) ((maxLon - minLon) * metersPerDegLon / CELL_METERS) + 1;
+        this.rows = (int) ((maxLat - minLat) * METERS_PER_DEG_LAT / CELL_METERS) + 1;
+
+        // CSR 구성: 칸별 개수 → 누적 시작 위치 → 채우기
+        int cellCount = cols * rows;
+        int[] counts = new int[cellCount];
+        int[] cellOf = new int[lat.length];
+        for (int s = 0; s < lat.length; s++) {
+            if (!hasCoordinate(s)) {
+                cellOf[s] = -1;
+                continue;
+            }
+            cellOf[s] = cellIndex(colOf(lon[s]), rowOf(lat[s]));
+            counts[cellOf[s]]++;
+        }
+
+        this.cellStart = new int[cellCount + 1];
+        for (int c = 0; c < cellCount; c++) {
+            cellStart[c + 1] = cellStart[c] + counts[c];
+        }
+
+        this.cellStations = new int[cellStart[cellCount]];
+        int[] fill = Arrays.copyOf(cellStart, cellCount);
+        for (int s = 0; s < lat.length; s++) {
+            if (cellOf[s] >= 0) {
+                cellStations[fill[cellOf[s]]++] = s;
+            }
+        }
+    }
+
+    /**
+     * 반경 내 정류장 (가까운 순)
+     */
+    public List<Hit> withinRadius(double queryLat, double queryLon, double radiusMeters) {
+        List<Hit> hits = new ArrayList<>();
+        if (cellStations.length == 0 || radiusMeters < 0) return hits;
+
+        int col0 = clampCol(colOf(queryLon - radiusMeters / metersPerDegLon));
+        int col1 = clampCol(colOf(queryLon + radiusMeters / metersPerDegLon));
+        int row0 = clampRow(rowOf(queryLat - radiusMeters / METERS_PER_DEG_LAT));
+        int row1 = clampRow(rowOf(queryLat + radiusMeters / METERS_PER_DEG_LAT));
+
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                int cell = cellIndex(col, row);
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int s = cellStations[i];
+                    double d = DistanceCalculator.calculateDistance(queryLat, queryLon, lat[s], lon[s]);
+                    if (d <= radiusMeters) {
+                        hits.add(new Hit(s, d));
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceMeters));
+        return hits;
+    }
+
+    /**
+     * 가장 가까운 정류장 k개 (maxRadiusMeters 이내, 가까운 순)
+     */
+    public List<Hit> nearest(double queryLat, double queryLon, int k, double maxRadiusMeters) {
+        List<Hit> hits = new ArrayList<>();
+        if (cellStations.length == 0 || k <= 0) return hits;
+
+        int centerCol = colOf(queryLon);
+        int centerRow = rowOf(queryLat);
+        int maxRing = (int) Math.ceil(maxRadiusMeters / CELL_METERS) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // ring 고리에 속한 칸만 방문 (안쪽은 이미 확인)
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) continue;
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+
+                for (int col = centerCol - ring; col <= centerCol + ring; col += step) {
+                    if (col < 0 || col >= cols) continue;
+                    int cell = cellIndex(col, row);
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int s = cellStations[i];
+                        double d = DistanceCalculator.calculateDistance(queryLat, queryLon, lat[s], lon[s]);
+                        if (d <= maxRadiusMeters) {
+                            hits.add(new Hit(s, d));
+                        }
+                    }
+                }
+            }
+
+            // 다음 고리의 정류장은 최소 ring*CELL_METERS 이상 떨어져 있음
+            if (hits.size() >= k) {
+                hits.sort(Comparator.comparingDouble(Hit::getDistanceMeters));
+                if (hits.get(k - 1).getDistanceMeters() <= ring * CELL_METERS) break;
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceMeters));
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    /**
+     * 좌표가 속한 격자 칸 키 (격자 범위 밖 좌표도 같은 규칙으로 계산, 캐시 키 용도)
+     */
+    public long cellKeyOf(double queryLat, double queryLon) {
+        return ((long) rowOf(queryLat) << 32) | (colOf(queryLon) & 0xffffffffL);
+    }
+
+    /**
+     * 격자 칸 중심 위도
+     */
+    public double cellCenterLat(long cellKey) {
+        int row = (int) (cellKey >> 32);
+        return originLat + (row + 0.5) * CELL_METERS / METERS_PER_DEG_LAT;
+    }
+
+    /**
+     * 격자 칸 중심 경도
+     */
+    public double cellCenterLon(long cellKey) {
+        int col = (int) cellKey;
+        return originLon + (col + 0.5) * CELL_METERS / metersPerDegLon;
+    }
+
+    private boolean hasCoordinate(int s) {
+        return !Double.isNaN(lat[s]) && !Double.isNaN(lon[s]);
+    }
+
+    private int colOf(double longitude) {
+        return (int) Math.floor((longitude - originLon) * metersPerDegLon / CELL_METERS);
+    }
+
+    private int rowOf(double latitude) {
+        return (int) Math.floor((latitude - originLat) * METERS_PER_DEG_LAT / CELL_METERS);
+    }
+
+    private int clampCol(int col) {
+        return Math.max(0, Math.min(cols - 1, col));
+    }
+
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    private int cellIndex(int col, int row) {
+        return row * cols + col;
+    }
+}
@@ -0,0 +1,342 @@
+package run_lion.reroute.routing.graph;
+
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노선망 메모리 스냅샷 (불변)
+ *
+ * station / route / route_station 테이블을 시작 시 한 번 읽어
+ * 정수 인덱스 기반 배열로 컴파일해 둔 구조
+ * - 정류장/노선은 0부터 시작하는 int 인덱스로 관리
+ * - routeStops[r] : 노선 r의 정류장 인덱스 배열 (station_order 오름차순)
+ * - stationRoutes[s] : 정류장 s를 경유하는 노선 인덱스 배열
+ * - footpathStops[s] / footpathMinutes[s] : 정류장 s에서 걸어서 환승 가능한 정류장과 도보 시간(분)
+ * - spatialIndex : 좌표 기반 근처 정류장 검색용 격자 인덱스
+ * - directConnections : 정류장별 경유 노선 비트셋 기반 직행 연결 인덱스
+ *
+ * 생성 후에는 절대 변경되지 않으므로 여러 요청 스레드가 락 없이 공유 가능
+ * 갱신은 TransitGraphProvider가 새 스냅샷을 만들어 통째로 교체하는 방식
+ */
+public final class TransitGraph {
+
+    // 환승 도보 허용 거리 (미터) - 길 건너편 정류장 등
+    public static final int MAX_TRANSFER_WALK_METERS = 300;
+
+    private final String[] stationIds;
+    private final String[] stationNames;
+    private final double[] stationLat;
+    private final double[] stationLon;
+
+    private final String[] routeIds;
+    private final String[] routeNames;
+
+    private final int[][] routeStops;       // 노선별 정류장 인덱스 (순서대로)
+    private final int[][] routeStopOrders;  // 노선별 원본 station_order 값
+    private final int[][] stationRoutes;    // 정류장별 경유 노선 인덱스
+    private final int[][] footpathStops;    // 정류장별 환승 도보 가능 정류장
+    private final int[][] footpathMinutes;  // 위 정류장까지 도보 시간 (분)
+    private final StationGridIndex spatialIndex;
+    private final DirectConnectionIndex directConnections;
+
+    private final Map<String, Integer> stationIndex;
+    private final Map<String, Integer> routeIndex;
+
+    private final int routeStationCount;
+    private final Instant builtAt;
+
+    private TransitGraph(String[] stationIds, String[] stationNames, double[] stationLat, double[] stationLon,
+                         String[] routeIds, String[] routeNames,
+                         int[][] routeStops, int[][] routeStopOrders, int[][] stationRoutes,
+                         int[][] footpathStops, int[][] footpathMinutes, StationGridIndex spatialIndex,
+                         DirectConnectionIndex directConnections,
+                         Map<String, Integer> stationIndex, Map<String, Integer> routeIndex,
+                         int routeStationCount) {
+        this.stationIds = stationIds;
+        this.stationNames = stationNames;
+        this.stationLat = stationLat;
+        this.stationLon = stationLon;
+        this.routeIds = routeIds;
+        this.routeNames = routeNames;
+        this.routeStops = routeStops;
+        this.routeStopOrders = routeStopOrders;
+        this.stationRoutes = stationRoutes;
+        this.footpathStops = footpathStops;
+        this.footpathMinutes = footpathMinutes;
+        this.spatialIndex = spatialIndex;
+        this.directConnections = directConnections;
+        this.stationIndex = stationIndex;
+        this.routeIndex = routeIndex;
+        this.routeStationCount = routeStationCount;
+        this.builtAt = Instant.now();
+    }
+
+    /**
+     * 비어있는 그래프 (DB 로딩 전/실패 시 사용)
+     */
+    public static TransitGraph empty() {
+        return build(List.of(), List.of(), List.of());
+    }
+
+    /**
+     * 엔티티 목록으로 그래프 스냅샷 생성
+     *
+     * - 정류장/노선은 ID 오름차순으로 인덱스 부여 (결과 순서를 항상 동일하게)
+     * - station 테이블에 없는 정류장을 참조하는 route_station 행은 무시
+     * - route_station이 없는 노선도 인덱스는 부여 (정류장 배열은 빈 배열)
+     */
+    public static TransitGraph build(List<Station> stations, List<Route> routes, List<RouteStation> routeStations) {
+        // 1. 정류장 인덱스
+        List<Station> sortedStations = new ArrayList<>(stations);
+        sortedStations.sort(Comparator.comparing(Station::getStationId));
+
+        int stationCount = sortedStations.size();
+        String[] stationIds = new String[stationCount];
+        String[] stationNames = new String[stationCount];
+        double[] stationLat = new double[stationCount];
+        double[] stationLon = new double[stationCount];
+        Map<String, Integer> stationIndex = new HashMap<>(stationCount * 2);
+
+        for (int s = 0; s < stationCount; s++) {
+            Station station = sortedStations.get(s);
+            stationIds[s] = station.getStationId();
+            stationNames[s] = station.getStationName() != null ? station.getStationName() : "";
+            stationLat[s] = station.getLat() != null ? station.getLat() : Double.NaN;
+            stationLon[s] = station.getLon() != null ? station.getLon() : Double.NaN;
+            stationIndex.put(station.getStationId(), s);
+        }
+
+        // 2. 노선 인덱스
+        List<Route> sortedRoutes = new ArrayList<>(routes);
+        sortedRoutes.sort(Comparator.comparing(Route::getRouteId));
+
+        int routeCount = sortedRoutes.size();
+        String[] routeIds = new String[routeCount];
+        String[] routeNames = new String[routeCount];
+        Map<String, Integer> routeIndex = new HashMap<>(routeCount * 2);
+
+        for (int r = 0; r < routeCount; r++) {
+            Route route = sortedRoutes.get(r);
+            routeIds[r] = route.getRouteId();
+            routeNames[r] = route.getRouteName() != null ? route.getRouteName() : "";
+            routeIndex.put(route.getRouteId(), r);
+        }
+
+        // 3. 노선별 정류장 배열 (station_order 오름차순)
+        List<List<RouteStation>> byRoute = new ArrayList<>(routeCount);
+        for (int r = 0; r < routeCount; r++) {
+            byRoute.add(new ArrayList<>());
+        }
+
+        int routeStationCount = 0;
+        for (RouteStation rs : routeStations) {
+            Integer r = routeIndex.get(rs.getRouteId());
+            if (r == null || !stationIndex.containsKey(rs.getStationId()) || rs.getStationOrder() == null) {
+                continue;
+            }
+            byRoute.get(r).add(rs);
+            routeStationCount++;
+        }
+
+        int[][] routeStops = new int[routeCount][];
+        int[][] routeStopOrders = new int[routeCount][];
+        int[] servingCount = new int[stationCount];
+
+        for (int r = 0; r < routeCount; r++) {
+            List<RouteStation> list = byRoute.get(r);
+            list.sort(Comparator.comparingInt(RouteStation::getStationOrder));
+
+            int[] stops = new int[list.size()];
+            int[] orders = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                stops[i] = stationIndex.get(list.get(i).getStationId());
+                orders[i] = list.get(i).getStationOrder();
+            }
+            routeStops[r] = stops;
+            routeStopOrders[r] = orders;
+
+            for (int s : distinct(stops)) {
+                servingCount[s]++;
+            }
+        }
+
+        // 4. 정류장별 경유 노선 배열
+        int[][] stationRoutes = new int[stationCount][];
+        for (int s = 0; s < stationCount; s++) {
+            stationRoutes[s] = new int[servingCount[s]];
+        }
+        int[] fill = new int[stationCount];
+        for (int r = 0; r < routeCount; r++) {
+            for (int s : distinct(routeStops[r])) {
+                stationRoutes[s][fill[s]++] = r;
+            }
+        }
+
+        // 5. 좌표 격자 인덱스 + 환승 도보 연결
+        StationGridIndex spatialIndex = new StationGridIndex(stationLat, stationLon);
+        int[][] footpathStops = new int[stationCount][];
+        int[][] footpathMinutes = new int[stationCount][];
+        buildFootpaths(stationLat, stationLon, spatialIndex, footpathStops, footpathMinutes);
+
+        // 6. 직행 연결 인덱스 (정류장별 노선 비트셋 + 노선별 위치 배열)
+        DirectConnectionIndex directConnections = new DirectConnectionIndex(stationCount, routeStops);
+
+        return new TransitGraph(
+                stationIds, stationNames, stationLat, stationLon,
+                routeIds, routeNames,
+                routeStops, routeStopOrders, stationRoutes,
+                footpathStops, footpathMinutes, spatialIndex, directConnections,
+                Collections.unmodifiableMap(stationIndex),
+                Collections.unmodifiableMap(routeIndex),
+                routeStationCount
+        );
+    }
+
+    private static void buildFootpaths(double[] lat, double[] lon, StationGridIndex spatialIndex,
+                                       int[][] stopsOut, int[][] minutesOut) {
+        for (int a = 0; a < lat.length; a++) {
+            if (Double.isNaN(lat[a]) || Double.isNaN(lon[a])) {
+                stopsOut[a] = new int[0];
+                minutesOut[a] = new int[0];
+                continue;
+            }
+
+            List<StationGridIndex.Hit> hits = spatialIndex.withinRadius(lat[a], lon[a], MAX_TRANSFER_WALK_METERS);
+            int[] stops = new int[hits.size()];
+            int[] minutes = new int[hits.size()];
+            int size = 0;
+            for (StationGridIndex.Hit hit : hits) {
+                if (hit.getStation() == a) continue;
+                stops[size] = hit.getStation();
+                minutes[size] = Math.max(1, DistanceCalculator.calculateWalkTime(hit.getDistanceMeters()));
+                size++;
+            }
+            stopsOut[a] = Arrays.copyOf(stops, size);
+            minutesOut[a] = Arrays.copyOf(minutes, size);
+        }
+    }
+
+    private static int[] distinct(int[] values) {
+        return Arrays.stream(values).distinct().toArray();
+    }
+
+    // ---------------- 조회 ----------------
+
+    /**
+     * 정류장 ID → 인덱스 (없으면 -1)
+     */
+    public int stationIndexOf(String stationId) {
+        if (stationId == null) return -1;
+        Integer idx = stationIndex.get(stationId);
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * 노선 ID → 인덱스 (없으면 -1)
+     */
+    public int routeIndexOf(String routeId) {
+        if (routeId == null) return -1;
+        Integer idx = routeIndex.get(routeId);
+        return idx != null ? idx : -1;
+    }
+
+    public int stationCount() {
+        return stationIds.length;
+    }
+
+    public int routeCount() {
+        return routeIds.length;
+    }
+
+    public int routeStationCount() {
+        return routeStationCount;
+    }
+
+    public String stationId(int station) {
+        return stationIds[station];
+    }
+
+    public String stationName(int station) {
+        return stationNames[station];
+    }
+
+    public double stationLat(int station) {
+        return stationLat[station];
+    }
+
+    public double stationLon(int station) {
+        return stationLon[station];
+    }
+
+    public String routeId(int route) {
+        return routeIds[route];
+    }
+
+    public String routeName(int route) {
+        return routeNames[route];
+    }
+
+    /**
+     * 노선의 정류장 인덱스 배열 (내부 배열 그대로 반환 - 수정 금지)
+     */
+    public int[] routeStops(int route) {
+        return routeStops[route];
+    }
+
+    /**
+     * 노선의 원본 station_order 배열 (routeStops와 같은 위치)
+     */
+    public int[] routeStopOrders(int route) {
+        return routeStopOrders[route];
+    }
+
+    /**
+     * 정류장을 경유하는 노선 인덱스 배열 (내부 배열 그대로 반환 - 수정 금지)
+     */
+    public int[] routesAt(int station) {
+        return stationRoutes[station];
+    }
+
+    /**
+     * 정류장에서 걸어서 환승 가능한 정류장 인덱스 배열
+     */
+    public int[] footpathStops(int station) {
+        return footpathStops[station];
+    }
+
+    /**
+     * footpathStops와 같은 위치의 도보 시간 (분)
+     */
+    public int[] footpathMinutes(int station) {
+        return footpathMinutes[station];
+    }
+
+    /**
+     * 좌표 기반 근처 정류장 검색 인덱스
+     */
+    public StationGridIndex spatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * 두 정류장을 순서대로 지나는 노선 조회 인덱스
+     */
+    public DirectConnectionIndex directConnections() {
+        return directConnections;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+}
@@ -0,0 +1,80 @@
+package run_lion.reroute.routing.graph;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.repository.RouteRepository;
+import run_lion.reroute.routing.repository.RouteStationRepository;
+import run_lion.reroute.routing.repository.StationRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 노선망 스냅샷(TransitGraph) 보관/갱신 컴포넌트
+ *
+ * - 애플리케이션 시작 시 DB 전체를 3번의 쿼리로 읽어 스냅샷 생성
+ * - 요청 처리 중에는 current()로 스냅샷만 참조 (DB 왕복 없음)
+ * - refresh() 호출 시 새 스냅샷을 옆에서 만든 뒤 AtomicReference로 한 번에 교체
+ *   → 읽는 쪽은 항상 완성된 이전 스냅샷 또는 새 스냅샷 중 하나만 보게 됨
+ * - 로딩 실패 시 기존 스냅샷 유지
+ */
+@Slf4j
+@Component
+public class TransitGraphProvider {
+
+    private final StationRepository stationRepository;
+    private final RouteRepository routeRepository;
+    private final RouteStationRepository routeStationRepository;
+
+    private final AtomicReference<TransitGraph> current = new AtomicReference<>(TransitGraph.empty());
+
+    public TransitGraphProvider(StationRepository stationRepository,
+                                RouteRepository routeRepository,
+                                RouteStationRepository routeStationRepository) {
+        this.stationRepository = stationRepository;
+        this.routeRepository = routeRepository;
+        this.routeStationRepository = routeStationRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            refresh();
+        } catch (Exception ex) {
+            log.error("[TransitGraphProvider] failed to build graph at startup: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 현재 스냅샷 조회
+     */
+    public TransitGraph current() {
+        return current.get();
+    }
+
+    /**
+     * DB에서 다시 읽어 스냅샷 교체
+     *
+     * @return 새로 적용된 스냅샷
+     */
+    public synchronized TransitGraph refresh() {
+        long start = System.nanoTime();
+
+        List<Station> stations = stationRepository.findAll();
+        List<Route> routes = routeRepository.findAll();
+        List<RouteStation> routeStations = routeStationRepository.findAll();
+
+        TransitGraph graph = TransitGraph.build(stations, routes, routeStations);
+        current.set(graph);
+
+        log.info("[TransitGraphProvider] graph loaded stations={}, routes={}, routeStations={}, took={}ms",
+                graph.stationCount(), graph.routeCount(), graph.routeStationCount(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        return graph;
+    }
+}
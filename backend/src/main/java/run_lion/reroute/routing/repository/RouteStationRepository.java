@@ -31,6 +31,9 @@ public interface RouteStationRepository extends JpaRepository<RouteStation, Rout
      * 조건:
      * 1. 두 정류장을 모두 지나는 노선
      * 2. 출발 정류장이 도착 정류장보다 먼저 (순서가 작음)
+     *
+     * 경로 탐색에서는 쓰지 않음 - RouteFilter.filterRoutes가 TransitGraph의
+     * DirectConnectionIndex로 같은 질의를 메모리에서 처리 (데이터 점검용으로만 유지)
      */
     @Query("""
         SELECT rs1.routeId FROM RouteStation rs1, RouteStation rs2
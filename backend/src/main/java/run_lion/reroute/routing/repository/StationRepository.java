@@ -35,6 +35,9 @@ public interface StationRepository extends JpaRepository<Station, String> {
      * 특정 좌표 반경 내의 정류장 조회 (커스텀 쿼리)
      * Haversine 공식을 사용하여 거리 계산
      *
+     * 참고: 경로 탐색은 메모리 격자 인덱스(StationGridIndex)를 사용하며,
+     * 이 쿼리는 전체 행을 계산하므로 관리/검증 용도로만 사용
+     *
      * @param lat 중심 위도
      * @param lon 중심 경도
      * @param radiusKm 반경 (km)
@@ -0,0 +1,158 @@
+package run_lion.reroute.routing.service;
+
+import run_lion.reroute.routing.dto.ArrivalInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 검색 1회 동안 유지되는 도착정보 컨텍스트
+ *
+ * 같은 정류장의 도착정보는 검색 중 한 번만 조회하고 모든 후보 노선이 결과를 공유
+ * (정류장에 노선 8개가 서면 TAGO 호출 8번 → 1번)
+ *
+ * ETARawDataProvider.newContext()로 생성하며, 검색이 끝나면 버림 (캐시 아님)
+ *
+ * 조회는 맵 잠금 밖에서 실행 (정류장 → 조회 결과 future를 먼저 등록하고 등록한 스레드만 조회)
+ * - computeIfAbsent 안에서 느린 TAGO 호출을 하면 같은 해시 버킷의 다른 정류장 조회까지 막힘
+ * - 같은 정류장을 동시에 찾는 다른 스레드(배치 검색)는 그 future를 기다림
+ * - 조회가 실패하면 등록을 지워 다음 호출이 다시 조회 (실패는 공유하지 않음)
+ *
+ * 조회 결과는 받은 시각과 함께 보관하고, 꺼낼 때 지난 시간만큼 남은 시간을 줄임
+ * (배치 검색처럼 컨텍스트가 오래 쓰이면 뒤쪽 검색이 처음 받은 ETA로 너무 짧은 대기를 잡지 않도록,
+ *  ArrivalSnapshot.arrivalsAt과 같은 방식: 초 단위로 빼고 분 올림, 이미 지나간 버스는 제외)
+ */
+public final class ArrivalContext {
+
+    private final Function<String, List<ArrivalInfo>> fetcher;
+    private final Map<String, CompletableFuture<Fetched>> arrivalsByStation = new ConcurrentHashMap<>();
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private final IntSupplier upstreamCalls;
+    private final LongSupplier nanoClock;
+
+    /**
+     * fetcher가 매번 외부 호출인 경우 (조회 수 = TAGO 호출 수)
+     */
+    ArrivalContext(Function<String, List<ArrivalInfo>> fetcher) {
+        this(fetcher, null, System::nanoTime);
+    }
+
+    /**
+     * @param upstreamCalls 이 컨텍스트의 조회 때문에 실제로 발생한 TAGO 호출 수
+     */
+    ArrivalContext(Function<String, List<ArrivalInfo>> fetcher, IntSupplier upstreamCalls) {
+        this(fetcher, upstreamCalls, System::nanoTime);
+    }
+
+    /**
+     * @param upstreamCalls null이면 조회 수
+     * @param nanoClock     조회 결과 나이 계산용 (테스트에서 교체)
+     */
+    ArrivalContext(Function<String, List<ArrivalInfo>> fetcher, IntSupplier upstreamCalls, LongSupplier nanoClock) {
+        this.fetcher = fetcher;
+        this.upstreamCalls = upstreamCalls != null ? upstreamCalls : fetchCount::get;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 정류장의 모든 도착 예정 정보 (검색 중 정류장당 최초 1회만 조회, 남은 시간은 지금 기준)
+     */
+    public List<ArrivalInfo> arrivals(String stationId) {
+        CompletableFuture<Fetched> mine = new CompletableFuture<>();
+        CompletableFuture<Fetched> existing = arrivalsByStation.putIfAbsent(stationId, mine);
+        if (existing != null) {
+            return join(existing).at(nanoClock.getAsLong());
+        }
+
+        fetchCount.incrementAndGet();
+        try {
+            List<ArrivalInfo> arrivals = List.copyOf(fetcher.apply(stationId));
+            mine.complete(new Fetched(arrivals, nanoClock.getAsLong()));
+        } catch (Throwable e) {
+            arrivalsByStation.remove(stationId, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        return mine.join().at(nanoClock.getAsLong());
+    }
+
+    private static Fetched join(CompletableFuture<Fetched> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * 정류장에서 특정 노선의 가장 빠른 도착 예정 정보 (없으면 null)
+     */
+    public ArrivalInfo arrivalForRoute(String stationId, String routeId) {
+        ArrivalInfo earliest = null;
+        for (ArrivalInfo info : arrivals(stationId)) {
+            if (!routeId.equals(info.getRouteId())) continue;
+            if (earliest == null || info.getArrivalMinutes() < earliest.getArrivalMinutes()) {
+                earliest = info;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * 이 컨텍스트가 도착정보를 조회한 정류장 수
+     * - 조회는 RealtimeBusArrivalService 스냅샷을 거치므로 실제 TAGO 호출 수와는 다름
+     *   (스냅샷이 유효하면 호출 없음, 실제 호출 수는 getUpstreamCalls)
+     */
+    public int getFetchCount() {
+        return fetchCount.get();
+    }
+
+    /**
+     * 이 컨텍스트의 조회 중 스냅샷이 없거나 지나서 실제로 TAGO를 호출한 수
+     */
+    public int getUpstreamCalls() {
+        return upstreamCalls.getAsInt();
+    }
+
+    /**
+     * 정류장 1곳의 조회 결과 + 받은 시각
+     */
+    private static final class Fetched {
+
+        private final List<ArrivalInfo> arrivals;
+        private final long fetchedNanos;
+
+        private Fetched(List<ArrivalInfo> arrivals, long fetchedNanos) {
+            this.arrivals = arrivals;
+            this.fetchedNanos = fetchedNanos;
+        }
+
+        /**
+         * nowNanos 기준 도착 예정 목록 (받은 뒤 1초도 안 지났으면 그대로)
+         */
+        private List<ArrivalInfo> at(long nowNanos) {
+            long age = TimeUnit.NANOSECONDS.toSeconds(nowNanos - fetchedNanos);
+            if (age <= 0) return arrivals;
+
+            List<ArrivalInfo> result = new ArrayList<>(arrivals.size());
+            for (ArrivalInfo info : arrivals) {
+                long remaining = info.getArrivalMinutes() * 60L - age;
+                if (remaining < 0) continue;
+                result.add(new ArrivalInfo(info.getRouteId(), info.getRouteName(),
+                        (int) ((remaining + 59) / 60), info.getRemainingStops()));
+            }
+            return result;
+        }
+    }
+}
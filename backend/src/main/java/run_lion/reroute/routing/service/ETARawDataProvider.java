@@ -1,29 +1,47 @@
 package run_lion.reroute.routing.service;
 
 import org.springframework.stereotype.Service;
-import run_lion.reroute.realtimebus.client.TagoArrivalClient;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
 import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+import run_lion.reroute.realtimebus.service.RealtimeBusArrivalService;
 import run_lion.reroute.routing.dto.ArrivalInfo;
 
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * ETA(도착예정시간) 데이터 제공 서비스
  *
  * TAGO 실시간 API를 통해 버스 도착 예정 정보를 조회
+ * (RealtimeBusArrivalService의 정류장 스냅샷을 사용 - 유효한 스냅샷이 있으면 TAGO 호출 없음)
  * B 파트(알고리즘)에서 최적 경로 선택 시 활용
  */
 @Service
 public class ETARawDataProvider {
 
-    private final TagoArrivalClient tagoArrivalClient;
+    private final RealtimeBusArrivalService realtimeBusArrivalService;
 
-    public ETARawDataProvider(TagoArrivalClient tagoArrivalClient) {
-        this.tagoArrivalClient = tagoArrivalClient;
+    public ETARawDataProvider(RealtimeBusArrivalService realtimeBusArrivalService) {
+        this.realtimeBusArrivalService = realtimeBusArrivalService;
+    }
+
+    /**
+     * 검색 1회용 도착정보 컨텍스트 생성
+     * - 같은 정류장 조회를 검색 안에서 한 번으로 합침
+     * - 이 컨텍스트의 조회가 직접 TAGO를 부른 수 = 이 검색 때문에 발생한 TAGO 호출 수
+     *   (같은 시각 다른 요청이나 poller가 갱신한 스냅샷을 받은 경우는 세지 않음)
+     *
+     * @return 새 ArrivalContext
+     */
+    public ArrivalContext newContext() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        return new ArrivalContext(stationId -> toArrivalInfo(
+                realtimeBusArrivalService.getRealtimeArrival(stationId, upstreamCalls::incrementAndGet)),
+                upstreamCalls::get);
     }
 
     /**
@@ -33,7 +51,14 @@ public class ETARawDataProvider {
      * @return 도착 예정 버스 목록
      */
     public List<ArrivalInfo> getArrivalInfo(String stationId) {
-        List<RealtimeArrivalDto> arrivals = tagoArrivalClient.getArrivals(stationId);
+        return toArrivalInfo(realtimeBusArrivalService.getRealtimeArrival(stationId));
+    }
+
+    /**
+     * 스냅샷 → 도착 정보 (남은 시간은 스냅샷 나이를 뺀 현재 기준)
+     */
+    private List<ArrivalInfo> toArrivalInfo(ArrivalSnapshot snapshot) {
+        List<RealtimeArrivalDto> arrivals = snapshot.arrivalsAt(Instant.now());
 
         return arrivals.stream()
                 .map(dto -> new ArrivalInfo(
@@ -0,0 +1,173 @@
+package run_lion.reroute.routing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import run_lion.reroute.routing.dto.IsochroneResponse;
+import run_lion.reroute.routing.engine.ConnectionScanEngine;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.engine.RaptorEngine;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
+import run_lion.reroute.routing.graph.StationGridIndex;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 등시선 서비스: 좌표에서 N분 안에 도착할 수 있는 정류장과 가장 빠른 도착 시각
+ *
+ * - 출발지 1km 이내 정류장 전체를 도보 시간(DistanceCalculator)과 함께 출발점으로 두고
+ *   ConnectionScanEngine.earliestArrivals 한 번으로 모든 정류장 도착 시각 계산 (시간표 기준)
+ * - 결과는 (출발 격자 칸 250m, 출발 시각 버킷 5분)마다 MAX_MINUTES까지 한 번만 계산해서 캐시
+ *   - 출발 정류장은 칸 중심 1km 이내, 도보 시간은 칸에서 가장 먼 지점 기준
+ *     (중심까지 거리 + 칸 반대각선 약 177m → 칸 안 어느 좌표에서 걸어도 이보다 짧음)
+ *   - 출발 시각은 버킷 끝으로 올림
+ *   → 실제보다 늦게 출발하고 더 오래 걸은 결과라서 표시된 시각에는 항상 도착 가능
+ *     (대신 칸 중심 근처 출발지는 실제보다 최대 약 3분 늦게 보일 수 있음)
+ * - 연결 배열(노선망/시간표)이 바뀌면 캐시를 비움
+ */
+@Slf4j
+@Service
+public class IsochroneService {
+
+    /** 한 번에 계산/캐시하는 최대 소요 시간(분) */
+    public static final int MAX_MINUTES = 120;
+
+    /** 출발 시각 버킷 크기(분) */
+    public static final int BUCKET_MINUTES = 5;
+
+    // 출발지 주변 출발 정류장 도보 범위 (RoutingService와 같은 1km)
+    private static final int WALK_RADIUS_METERS = 1000;
+
+    private static final int MAX_ENTRIES = 512;
+
+    private final TransitGraphProvider graphProvider;
+    private final ConnectionTableProvider connectionTableProvider;
+
+    private final Map<Long, int[]> arrivalsByCell = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 캐시 내용이 계산된 기준 연결 배열
+    private ConnectionTable cachedFor;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public IsochroneService(TransitGraphProvider graphProvider, ConnectionTableProvider connectionTableProvider) {
+        this.graphProvider = graphProvider;
+        this.connectionTableProvider = connectionTableProvider;
+    }
+
+    /**
+     * @param lat 출발지 위도
+     * @param lon 출발지 경도
+     * @param maxMinutes 최대 소요 시간(분, 1 ~ MAX_MINUTES로 자름)
+     * @param departureTime 출발 시각 (null이면 지금)
+     */
+    public IsochroneResponse reachableStations(double lat, double lon, int maxMinutes, LocalTime departureTime) {
+        LocalTime start = departureTime != null ? departureTime : LocalTime.now();
+        int departMinute = start.getHour() * 60 + start.getMinute();
+        int limit = Math.max(1, Math.min(maxMinutes, MAX_MINUTES));
+
+        TransitGraph graph = graphProvider.current();
+        ConnectionTable table = connectionTableProvider.current();
+        int[] arrivals = arrivals(graph, table, lat, lon, departMinute);
+
+        DateTimeFormatter clock = DateTimeFormatter.ofPattern("HH:mm");
+        List<IsochroneResponse.ReachableStation> stations = new ArrayList<>();
+        for (int s = 0; s < arrivals.length; s++) {
+            int travel = arrivals[s] - departMinute;
+            if (arrivals[s] == RaptorEngine.UNREACHED || travel > limit) continue;
+            stations.add(IsochroneResponse.ReachableStation.builder()
+                    .stationId(graph.stationId(s))
+                    .stationName(graph.stationName(s))
+                    .lat(graph.stationLat(s))
+                    .lng(graph.stationLon(s))
+                    .arrivalTime(LocalTime.MIN.plusMinutes(arrivals[s]).format(clock))
+                    .travelMinutes(travel)
+                    .build());
+        }
+        stations.sort(Comparator.comparingInt(IsochroneResponse.ReachableStation::getTravelMinutes));
+
+        return IsochroneResponse.builder()
+                .departureTime(start.format(clock))
+                .maxMinutes(limit)
+                .stations(stations)
+                .build();
+    }
+
+    /**
+     * (격자 칸, 출발 버킷) 단위 정류장별 도착 시각 (캐시)
+     */
+    private int[] arrivals(TransitGraph graph, ConnectionTable table, double lat, double lon, int departMinute) {
+        long cell = graph.spatialIndex().cellKeyOf(lat, lon);
+        int bucket = Math.floorDiv(departMinute + BUCKET_MINUTES - 1, BUCKET_MINUTES);
+        // 키 = 격자 행 24비트 | 열 24비트 | 버킷 16비트
+        long key = ((cell >>> 32) & 0xffffffL) << 40 | (cell & 0xffffffL) << 16 | bucket;
+
+        synchronized (arrivalsByCell) {
+            if (cachedFor != table) {
+                arrivalsByCell.clear();
+                cachedFor = table;
+            }
+            int[] cached = arrivalsByCell.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // 계산은 락 밖에서 (같은 키가 동시에 들어오면 중복 계산될 수 있으나 결과는 같음)
+        misses.incrementAndGet();
+        int[] arrivals = cellArrivals(graph, table, cell, bucket);
+
+        synchronized (arrivalsByCell) {
+            if (cachedFor == table) {
+                arrivalsByCell.put(key, arrivals);
+            }
+        }
+        log.debug("[IsochroneService] computed cell={} bucket={}", cell, bucket);
+        return arrivals;
+    }
+
+    /**
+     * 격자 칸 1개, 출발 버킷 1개의 정류장별 도착 시각
+     * - 도보 시간은 칸에서 가장 먼 지점 기준 (칸 안 모든 출발지의 상한)
+     */
+    static int[] cellArrivals(TransitGraph graph, ConnectionTable table, long cell, int bucket) {
+        StationGridIndex index = graph.spatialIndex();
+        double centerLat = index.cellCenterLat(cell);
+        double centerLon = index.cellCenterLon(cell);
+        List<StationGridIndex.Hit> hitsNearby = index.withinRadius(centerLat, centerLon, WALK_RADIUS_METERS);
+        int[] sources = new int[hitsNearby.size()];
+        int[] access = new int[hitsNearby.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = hitsNearby.get(i).getStation();
+            access[i] = DistanceCalculator.calculateWalkTime(
+                    hitsNearby.get(i).getDistanceMeters() + StationGridIndex.CELL_HALF_DIAGONAL_METERS);
+        }
+
+        return new ConnectionScanEngine(graph, table)
+                .earliestArrivals(sources, access, bucket * BUCKET_MINUTES, MAX_MINUTES);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,86 @@
+package run_lion.reroute.routing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.routing.engine.ConnectionScanEngine;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.engine.LatestDepartureTree;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도착 시각 지정 역방향 탐색 결과 캐시
+ *
+ * 키 = (도착 정류장, 마감 시각 버킷)
+ * - 역방향 트리는 출발지와 무관하므로 KNUT처럼 자주 찾는 목적지는 같은 버킷 안에서 한 번만 계산
+ * - 마감 시각은 BUCKET_MINUTES 단위로 내림 → 최대 (버킷 - 1)분 일찍 도착하는 쪽으로만 어긋남 (늦지 않음)
+ * - 최근 사용 순으로 MAX_ENTRIES개까지 보관, 연결 배열(시간표/노선망)이 바뀌면 전부 비움
+ */
+@Slf4j
+@Component
+public class LatestDepartureCache {
+
+    /** 마감 시각 버킷 크기(분) */
+    public static final int BUCKET_MINUTES = 5;
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<Long, LatestDepartureTree> trees = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, LatestDepartureTree> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 캐시 내용이 계산된 기준 연결 배열
+    private ConnectionTable cachedFor;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 도착 정류장에 deadline까지 도착하기 위한 정류장별 가장 늦은 출발 트리
+     *
+     * @param deadline 도착 정류장 도착 마감 시각 (자정 기준 분, 버킷 단위로 내림해서 계산)
+     */
+    public LatestDepartureTree get(TransitGraph graph, ConnectionTable table, int targetStation, int deadline) {
+        int bucket = Math.floorDiv(deadline, BUCKET_MINUTES) * BUCKET_MINUTES;
+        long key = ((long) targetStation << 32) | (bucket & 0xffffffffL);
+
+        synchronized (trees) {
+            if (cachedFor != table) {
+                trees.clear();
+                cachedFor = table;
+            }
+            LatestDepartureTree cached = trees.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // 계산은 락 밖에서 (같은 키가 동시에 들어오면 중복 계산될 수 있으나 결과는 같음)
+        misses.incrementAndGet();
+        LatestDepartureTree tree = new ConnectionScanEngine(graph, table)
+                .latestDepartures(new int[]{targetStation}, new int[]{0}, bucket);
+
+        synchronized (trees) {
+            if (cachedFor == table) {
+                trees.put(key, tree);
+            }
+        }
+        log.debug("[LatestDepartureCache] computed station={} deadline={}", graph.stationId(targetStation), bucket);
+        return tree;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,151 @@
+package run_lion.reroute.routing.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.realtimebus.constant.StationIds;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인기 출발/도착 정류장 쌍의 실시간 최적 경로를 미리 계산 (PopularRouteStore에 보관)
+ *
+ * - 대상 = StationIds 4곳 사이의 쌍 + 설정(routing.precompute.pairs) + 요청 빈도로 학습한 상위 N쌍
+ * - 도착 정보 폴링 주기(realtime.poller.tick-ms)마다 결과가 만료된 쌍만 다시 계산
+ *   (ETA는 ArrivalPoller가 갱신한 스냅샷을 쓰므로 인기 정류장은 대부분 TAGO 호출 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularRoutePrecomputer {
+
+    private static final String[] FIXED_STATIONS = {
+            StationIds.KNUT,
+            StationIds.STATION_TO_KNUT,
+            StationIds.STATION_TO_TERMINAL,
+            StationIds.TERMINAL
+    };
+
+    private final RoutingAlgorithm routingAlgorithm;
+    private final PopularRouteStore popularRouteStore;
+
+    /** 추가로 항상 미리 계산할 쌍 ("출발>도착", 쉼표 구분) */
+    @Value("${routing.precompute.pairs:}")
+    private String[] configuredPairs;
+
+    /** 학습 구간 동안 이 횟수 이상 검색된 쌍을 포함 */
+    @Value("${routing.precompute.learn-threshold:10}")
+    private int learnThreshold;
+
+    /** 학습으로 추가할 수 있는 최대 쌍 수 (top-N) */
+    @Value("${routing.precompute.max-learned:20}")
+    private int maxLearned;
+
+    /** 직전 학습 구간에서 뽑힌 쌍 */
+    private volatile List<HotPair> learnedPairs = List.of();
+
+    /**
+     * 현재 미리 계산 대상 (pairKey → 쌍, 먼저 들어간 출처 우선)
+     */
+    private Map<String, HotPair> hotPairs() {
+        Map<String, HotPair> pairs = new LinkedHashMap<>();
+        for (String from : FIXED_STATIONS) {
+            for (String to : FIXED_STATIONS) {
+                if (from.equals(to) || isSameStop(from, to)) continue;
+                add(pairs, new HotPair(from, to, "fixed"));
+            }
+        }
+        for (String pair : configuredPairs) {
+            String[] ids = pair.split(">");
+            if (ids.length != 2 || ids[0].isBlank() || ids[1].isBlank()) continue;
+            add(pairs, new HotPair(ids[0].trim(), ids[1].trim(), "configured"));
+        }
+        for (HotPair pair : learnedPairs) {
+            add(pairs, pair);
+        }
+        return pairs;
+    }
+
+    /**
+     * 만료된 쌍만 다시 계산
+     * - 실패하면 이전 결과를 두고 다음 주기에 재시도 (만료된 결과는 RoutingAlgorithm이 쓰지 않음)
+     */
+    @Scheduled(fixedDelayString = "${realtime.poller.tick-ms:5000}")
+    public void refresh() {
+        Map<String, HotPair> pairs = hotPairs();
+        popularRouteStore.retainOnly(pairs.keySet());
+
+        Instant now = Instant.now();
+        int refreshed = 0;
+        for (HotPair pair : pairs.values()) {
+            if (popularRouteStore.isFresh(pair.from, pair.to, now)) continue;
+
+            try {
+                RouteResultCache.CachedRoute route = routingAlgorithm.precompute(pair.from, pair.to);
+                if (route != null) {
+                    popularRouteStore.put(pair.from, pair.to, pair.source, route);
+                    refreshed++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("[PopularRoutePrecomputer] {} → {} 계산 실패: {}", pair.from, pair.to, ex.getMessage());
+            }
+        }
+        if (refreshed > 0) {
+            log.debug("[PopularRoutePrecomputer] refreshed {}/{} pairs", refreshed, pairs.size());
+        }
+    }
+
+    /**
+     * 검색 빈도로 인기 쌍 재학습 (학습 구간마다 카운터 초기화)
+     */
+    @Scheduled(fixedDelayString = "${routing.precompute.learn-window-ms:300000}",
+            initialDelayString = "${routing.precompute.learn-window-ms:300000}")
+    public void relearn() {
+        List<HotPair> learned = new ArrayList<>();
+        popularRouteStore.drainRequestCounts().stream()
+                .filter(c -> c.getCount() >= learnThreshold)
+                .filter(c -> !isFixed(c.getDepartureStationId()) || !isFixed(c.getArrivalStationId()))
+                .sorted(Comparator.comparingLong(PopularRouteStore.PairCount::getCount).reversed())
+                .limit(maxLearned)
+                .forEach(c -> learned.add(new HotPair(c.getDepartureStationId(), c.getArrivalStationId(), "learned")));
+
+        learnedPairs = List.copyOf(learned);
+        log.info("[PopularRoutePrecomputer] 학습 쌍 {}개", learned.size());
+    }
+
+    private void add(Map<String, HotPair> pairs, HotPair pair) {
+        pairs.putIfAbsent(PopularRouteStore.pairKey(pair.from, pair.to), pair);
+    }
+
+    private boolean isFixed(String stationId) {
+        for (String fixed : FIXED_STATIONS) {
+            if (fixed.equals(stationId)) return true;
+        }
+        return false;
+    }
+
+    // 충주역 양방향 정류장끼리는 길 건너편이라 제외
+    private boolean isSameStop(String from, String to) {
+        return (from.equals(StationIds.STATION_TO_KNUT) && to.equals(StationIds.STATION_TO_TERMINAL))
+                || (from.equals(StationIds.STATION_TO_TERMINAL) && to.equals(StationIds.STATION_TO_KNUT));
+    }
+
+    private static final class HotPair {
+        private final String from;
+        private final String to;
+        private final String source;
+
+        private HotPair(String from, String to, String source) {
+            this.from = from;
+            this.to = to;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package run_lion.reroute.routing.service;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.routing.dto.StopCandidate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 인기 (출발 정류장, 도착 정류장) 쌍의 미리 계산한 실시간 최적 경로 (PopularRoutePrecomputer가 채움)
+ *
+ * - RoutingAlgorithm은 실시간 검색마다 (가장 가까운 출발 정류장, 가장 가까운 도착 정류장)을 기록하고,
+ *   미리 계산된 결과가 아직 유효하면 계산 없이 바로 사용 (처음/마지막 도보만 요청 좌표로 다시 계산)
+ * - 결과는 정류장 좌표 기준으로 계산되므로, 승/하차 정류장이 이번 요청의 후보 정류장에 없으면 쓰지 않음
+ * - 유효 기간은 RouteResultCache와 같은 ETA 신선도 기준 (첫 탑승 대기에 따라 15~60초)
+ */
+@Component
+public class PopularRouteStore {
+
+    /** 쌍 → 미리 계산한 결과 */
+    private final Map<String, Precomputed> routes = new ConcurrentHashMap<>();
+
+    /** 현재 학습 구간의 쌍별 요청 수 */
+    private final Map<String, PairCount> requestCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public static String pairKey(String departureStationId, String arrivalStationId) {
+        return departureStationId + '|' + arrivalStationId;
+    }
+
+    /**
+     * 실시간 검색 1회 기록 (학습용)
+     */
+    public void recordRequest(String departureStationId, String arrivalStationId) {
+        requestCounts.computeIfAbsent(pairKey(departureStationId, arrivalStationId),
+                key -> new PairCount(departureStationId, arrivalStationId)).count.increment();
+    }
+
+    /**
+     * 이번 요청에 쓸 수 있는 미리 계산 결과
+     * - 없거나 만료됐거나, 승/하차 정류장이 출발/도착 후보 정류장에 없으면 null (misses로 셈)
+     */
+    public RouteResultCache.CachedRoute get(String departureStationId, String arrivalStationId,
+                                           List<StopCandidate> origins, List<StopCandidate> destinations) {
+        Precomputed precomputed = routes.get(pairKey(departureStationId, arrivalStationId));
+        if (precomputed == null || !precomputed.isFresh(Instant.now())
+                || !precomputed.route.servesCandidates(origins, destinations)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return precomputed.route;
+    }
+
+    /**
+     * 다시 계산할 필요가 없는지 (결과가 있고 아직 유효)
+     */
+    public boolean isFresh(String departureStationId, String arrivalStationId, Instant now) {
+        Precomputed precomputed = routes.get(pairKey(departureStationId, arrivalStationId));
+        return precomputed != null && precomputed.isFresh(now);
+    }
+
+    public void put(String departureStationId, String arrivalStationId, String source,
+                    RouteResultCache.CachedRoute route) {
+        Instant now = Instant.now();
+        routes.put(pairKey(departureStationId, arrivalStationId), new Precomputed(
+                departureStationId, arrivalStationId, source, route,
+                now, now.plus(RouteResultCache.ttlFor(route.getFirstWaitMinutes()))));
+    }
+
+    /**
+     * 더 이상 인기 쌍이 아닌 결과 제거
+     */
+    public void retainOnly(Set<String> pairKeys) {
+        routes.keySet().retainAll(pairKeys);
+    }
+
+    /**
+     * 학습 구간의 요청 수를 꺼내고 초기화
+     */
+    public List<PairCount> drainRequestCounts() {
+        List<PairCount> counts = new ArrayList<>(requestCounts.values());
+        requestCounts.clear();
+        return counts;
+    }
+
+    /**
+     * 보관 중인 결과 전체 (통계용)
+     */
+    public List<Precomputed> snapshot() {
+        return new ArrayList<>(routes.values());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Getter
+    public static final class Precomputed {
+        private final String departureStationId;
+        private final String arrivalStationId;
+        /** fixed(StationIds) / configured(설정) / learned(요청 빈도) */
+        private final String source;
+        private final RouteResultCache.CachedRoute route;
+        private final Instant computedAt;
+        private final Instant expiresAt;
+
+        private Precomputed(String departureStationId, String arrivalStationId, String source,
+                            RouteResultCache.CachedRoute route, Instant computedAt, Instant expiresAt) {
+            this.departureStationId = departureStationId;
+            this.arrivalStationId = arrivalStationId;
+            this.source = source;
+            this.route = route;
+            this.computedAt = computedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isFresh(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+    }
+
+    public static final class PairCount {
+        @Getter
+        private final String departureStationId;
+        @Getter
+        private final String arrivalStationId;
+        private final LongAdder count = new LongAdder();
+
+        private PairCount(String departureStationId, String arrivalStationId) {
+            this.departureStationId = departureStationId;
+            this.arrivalStationId = arrivalStationId;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+    }
+}
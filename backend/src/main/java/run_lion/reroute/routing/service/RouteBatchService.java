@@ -0,0 +1,121 @@
+package run_lion.reroute.routing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import run_lion.reroute.routing.dto.RouteBatchItem;
+import run_lion.reroute.routing.dto.RouteSearchRequest;
+import run_lion.reroute.routing.dto.StopCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * 경로 일괄 검색 서비스
+ *
+ * - 요청마다 RoutingAlgorithm.computeBestRoute를 병렬 실행
+ *   실시간 검색(도착정보 조회 대기)은 batchExecutor, 시간 지정 검색(시간표, CPU만)은 routingExecutor
+ * - 배치 전체가 ArrivalContext 하나와 정류장 후보 맵 하나를 공유
+ *   → 같은 정류장 도착정보(TAGO)와 같은 좌표의 정류장 찾기는 배치 안에서 한 번만
+ * - 결과는 끝나는 대로 호출한 스레드에서 하나씩 넘김 (스트리밍 응답용)
+ * - 검색 하나가 실패해도 배치는 계속, 해당 결과에 error만 채움
+ */
+@Slf4j
+@Service
+public class RouteBatchService {
+
+    /** 배치 한 번의 최대 요청 수 */
+    public static final int MAX_REQUESTS = 500;
+
+    private final RoutingAlgorithm routingAlgorithm;
+    private final ETARawDataProvider etaRawDataProvider;
+    private final ExecutorService routingExecutor;
+    private final ExecutorService batchExecutor;
+
+    public RouteBatchService(RoutingAlgorithm routingAlgorithm,
+                             ETARawDataProvider etaRawDataProvider,
+                             @Qualifier("routingExecutor") ExecutorService routingExecutor,
+                             @Qualifier("batchExecutor") ExecutorService batchExecutor) {
+        this.routingAlgorithm = routingAlgorithm;
+        this.etaRawDataProvider = etaRawDataProvider;
+        this.routingExecutor = routingExecutor;
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * @param requests 검색 요청 목록
+     * @param onResult 결과 1건마다 호출 (끝난 순서, 호출한 스레드에서 한 번에 하나씩)
+     *                 예외를 던지면(클라이언트 연결 끊김 등) 남은 검색을 취소하고 그대로 던짐
+     */
+    public void search(List<RouteSearchRequest> requests, Consumer<RouteBatchItem> onResult) {
+        long start = System.nanoTime();
+        ArrivalContext arrivalContext = etaRawDataProvider.newContext();
+        Map<String, List<StopCandidate>> nearestStops = new ConcurrentHashMap<>();
+
+        // 두 풀의 결과를 같은 대기열에서 끝난 순서대로 받음
+        BlockingQueue<Future<RouteBatchItem>> done = new LinkedBlockingQueue<>();
+        CompletionService<RouteBatchItem> realtime = new ExecutorCompletionService<>(batchExecutor, done);
+        CompletionService<RouteBatchItem> scheduled = new ExecutorCompletionService<>(routingExecutor, done);
+        List<Future<RouteBatchItem>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            RouteSearchRequest request = requests.get(index);
+            CompletionService<RouteBatchItem> completion = isRealtime(request) ? realtime : scheduled;
+            futures.add(completion.submit(() -> searchOne(index, request, arrivalContext, nearestStops)));
+        }
+
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                onResult.accept(done.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("batch search interrupted", e);
+        } catch (ExecutionException e) {
+            // searchOne이 예외를 잡으므로 여기까지 오는 건 Error뿐
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("batch search failed", e.getCause());
+        } catch (RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e;
+        }
+
+        log.info("[RouteBatchService] requests={} stations={} upstreamCalls={} took={}ms",
+                requests.size(), arrivalContext.getFetchCount(), arrivalContext.getUpstreamCalls(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 출발/도착 시각 지정이 없으면 실시간 검색 (정류장 도착정보 조회)
+     */
+    private static boolean isRealtime(RouteSearchRequest request) {
+        return request.getArriveBy() == null && request.getDepartureTime() == null;
+    }
+
+    private RouteBatchItem searchOne(int index, RouteSearchRequest request, ArrivalContext arrivalContext,
+                                     Map<String, List<StopCandidate>> nearestStops) {
+        try {
+            return RouteBatchItem.builder()
+                    .index(index)
+                    .route(routingAlgorithm.computeBestRoute(request, arrivalContext, nearestStops))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("[RouteBatchService] request {} failed: {}", index, e.getMessage());
+            return RouteBatchItem.builder()
+                    .index(index)
+                    .error(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())
+                    .build();
+        }
+    }
+}
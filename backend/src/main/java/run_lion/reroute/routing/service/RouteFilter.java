@@ -2,17 +2,11 @@ package run_lion.reroute.routing.service;
 
 import org.springframework.stereotype.Service;
 import run_lion.reroute.routing.dto.RouteCandidate;
-import run_lion.reroute.routing.entity.Route;
-import run_lion.reroute.routing.entity.RouteStation;
-import run_lion.reroute.routing.entity.Station;
-import run_lion.reroute.routing.repository.RouteRepository;
-import run_lion.reroute.routing.repository.RouteStationRepository;
-import run_lion.reroute.routing.repository.StationRepository;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 노선 필터링 서비스
@@ -23,20 +17,17 @@ import java.util.stream.Collectors;
  * 1. 출발 정류장과 도착 정류장을 모두 경유하는 노선 찾기
  * 2. 출발 → 도착 방향이 맞는지 확인 (역방향 제외)
  * 3. RouteCandidate 형태로 반환
+ *
+ * 모든 조회는 메모리의 노선망 스냅샷(TransitGraph)에서 처리 (DB 왕복 없음)
+ * 직행 여부는 DirectConnectionIndex(정류장별 노선 비트셋 AND + 위치 배열 조회)로 판단
  */
 @Service
 public class RouteFilter {
 
-    private final RouteRepository routeRepository;
-    private final RouteStationRepository routeStationRepository;
-    private final StationRepository stationRepository;
+    private final TransitGraphProvider graphProvider;
 
-    public RouteFilter(RouteRepository routeRepository,
-                       RouteStationRepository routeStationRepository,
-                       StationRepository stationRepository) {
-        this.routeRepository = routeRepository;
-        this.routeStationRepository = routeStationRepository;
-        this.stationRepository = stationRepository;
+    public RouteFilter(TransitGraphProvider graphProvider) {
+        this.graphProvider = graphProvider;
     }
 
     /**
@@ -47,66 +38,37 @@ public class RouteFilter {
      * @return 가능한 노선 후보 목록
      */
     public List<RouteCandidate> filterRoutes(String departureStationId, String arrivalStationId) {
-        // 1. 두 정류장을 연결하는 노선 ID 목록 조회
-        List<String> routeIds = routeStationRepository.findRoutesConnecting(
-                departureStationId, arrivalStationId
-        );
-
-        if (routeIds.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // 2. 노선 정보 조회
-        List<Route> routes = routeRepository.findByRouteIdIn(routeIds);
-        Map<String, Route> routeMap = routes.stream()
-                .collect(Collectors.toMap(Route::getRouteId, r -> r));
-
-        // 3. 정류장 정보 조회
-        Station departureStation = stationRepository.findById(departureStationId).orElse(null);
-        Station arrivalStation = stationRepository.findById(arrivalStationId).orElse(null);
-
-        // 4. 각 노선별로 RouteCandidate 생성
+        TransitGraph graph = graphProvider.current();
         List<RouteCandidate> candidates = new ArrayList<>();
 
-        for (String routeId : routeIds) {
-            Route route = routeMap.get(routeId);
-            if (route == null) continue;
+        // 1. 정류장 인덱스 조회
+        int departure = graph.stationIndexOf(departureStationId);
+        int arrival = graph.stationIndexOf(arrivalStationId);
 
-            // 해당 노선의 정류장 순서 조회
-            List<RouteStation> routeStations = routeStationRepository
-                    .findByRouteIdOrderByStationOrderAsc(routeId);
-
-            // 출발/도착 정류장의 순서 찾기
-            int departureOrder = -1;
-            int arrivalOrder = -1;
+        if (departure < 0 || arrival < 0) {
+            return candidates;
+        }
 
-            for (RouteStation rs : routeStations) {
-                if (rs.getStationId().equals(departureStationId)) {
-                    departureOrder = rs.getStationOrder();
-                }
-                if (rs.getStationId().equals(arrivalStationId)) {
-                    arrivalOrder = rs.getStationOrder();
-                }
-            }
+        // 2. 두 정류장 공통 노선 중 출발 → 도착 순서인 구간 (같은 정류장을 두 번 지나면 가장 짧은 구간)
+        graph.directConnections().forEachConnection(departure, arrival, (route, departurePos, arrivalPos) -> {
+            int[] orders = graph.routeStopOrders(route);
+            int departureOrder = orders[departurePos];
+            int arrivalOrder = orders[arrivalPos];
 
-            // RouteCandidate 생성
+            // 3. RouteCandidate 생성
             RouteCandidate candidate = new RouteCandidate();
-            candidate.setRouteId(routeId);
-            candidate.setRouteName(route.getRouteName());
+            candidate.setRouteId(graph.routeId(route));
+            candidate.setRouteName(graph.routeName(route));
             candidate.setDepartureStationId(departureStationId);
-            candidate.setDepartureStationName(
-                    departureStation != null ? departureStation.getStationName() : ""
-            );
+            candidate.setDepartureStationName(graph.stationName(departure));
             candidate.setDepartureStationOrder(departureOrder);
             candidate.setArrivalStationId(arrivalStationId);
-            candidate.setArrivalStationName(
-                    arrivalStation != null ? arrivalStation.getStationName() : ""
-            );
+            candidate.setArrivalStationName(graph.stationName(arrival));
             candidate.setArrivalStationOrder(arrivalOrder);
             candidate.setStationCount(arrivalOrder - departureOrder);
 
             candidates.add(candidate);
-        }
+        });
 
         return candidates;
     }
@@ -118,11 +80,17 @@ public class RouteFilter {
      * @return 해당 정류장을 경유하는 노선 ID 목록
      */
     public List<String> findRoutesAtStation(String stationId) {
-        List<RouteStation> routeStations = routeStationRepository.findByStationId(stationId);
+        TransitGraph graph = graphProvider.current();
+        int station = graph.stationIndexOf(stationId);
+        if (station < 0) {
+            return new ArrayList<>();
+        }
 
-        return routeStations.stream()
-                .map(RouteStation::getRouteId)
-                .distinct()
-                .collect(Collectors.toList());
+        int[] routes = graph.routesAt(station);
+        List<String> routeIds = new ArrayList<>(routes.length);
+        for (int route : routes) {
+            routeIds.add(graph.routeId(route));
+        }
+        return routeIds;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package run_lion.reroute.routing.service;
+
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.engine.Journey;
+import run_lion.reroute.routing.engine.JourneyLeg;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 실시간 검색으로 고른 경로의 구간 구조 (RouteSessionService가 구간별로 다시 평가할 때 사용)
+ *
+ * - 정류장/노선은 ID로 보관 (노선망이 다시 로드돼도 그대로 찾을 수 있게)
+ * - 처음/마지막 도보는 access/egress, 그 사이 버스 탑승과 환승 도보는 legs
+ * - response는 검색 당시 응답 (세션이 경로를 바꾸기 전까지 화면에 그리는 경로)
+ */
+public final class RoutePlan {
+
+    private final RouteResponse response;
+    private final String accessStationId;
+    private final int accessMinutes;
+    private final String egressStationId;
+    private final int egressMinutes;
+    private final List<Leg> legs;
+    private final int totalMinutes;
+
+    private RoutePlan(RouteResponse response, String accessStationId, int accessMinutes,
+                      String egressStationId, int egressMinutes, List<Leg> legs, int totalMinutes) {
+        this.response = response;
+        this.accessStationId = accessStationId;
+        this.accessMinutes = accessMinutes;
+        this.egressStationId = egressStationId;
+        this.egressMinutes = egressMinutes;
+        this.legs = List.copyOf(legs);
+        this.totalMinutes = totalMinutes;
+    }
+
+    /**
+     * 직행 1회 탑승
+     */
+    static RoutePlan direct(RouteResponse response, String routeId, String line,
+                            String departureStationId, String arrivalStationId,
+                            int walk1, int waitMinutes, int rideMinutes, int walk2) {
+        Leg bus = new Leg(true, routeId, line, departureStationId, arrivalStationId, waitMinutes, rideMinutes);
+        return new RoutePlan(response, departureStationId, walk1, arrivalStationId, walk2,
+                List.of(bus), walk1 + waitMinutes + rideMinutes + walk2);
+    }
+
+    /**
+     * 환승 여정 (RAPTOR 결과)
+     */
+    static RoutePlan of(RouteResponse response, TransitGraph graph, Journey journey) {
+        List<Leg> legs = new ArrayList<>(journey.getLegs().size());
+        for (JourneyLeg leg : journey.getLegs()) {
+            legs.add(new Leg(leg.isBus(),
+                    leg.isBus() ? graph.routeId(leg.getRoute()) : null,
+                    leg.isBus() ? graph.routeName(leg.getRoute()) : null,
+                    graph.stationId(leg.getFromStation()), graph.stationId(leg.getToStation()),
+                    leg.isBus() ? leg.getWaitMinutes() : 0, leg.getRideMinutes()));
+        }
+        return new RoutePlan(response,
+                graph.stationId(journey.getAccessStation()), journey.getAccessMinutes(),
+                graph.stationId(journey.getEgressStation()), journey.getEgressMinutes(),
+                legs, journey.getArrivalMinutes());
+    }
+
+    public RouteResponse getResponse() {
+        return response;
+    }
+
+    public String getAccessStationId() {
+        return accessStationId;
+    }
+
+    public int getAccessMinutes() {
+        return accessMinutes;
+    }
+
+    public String getEgressStationId() {
+        return egressStationId;
+    }
+
+    public int getEgressMinutes() {
+        return egressMinutes;
+    }
+
+    public List<Leg> getLegs() {
+        return legs;
+    }
+
+    /** 검색 당시 예상 총 소요 시간(분) */
+    public int getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * 구간 1개: 버스 탑승(routeId 있음) 또는 정류장 간 환승 도보
+     */
+    public static final class Leg {
+        private final boolean bus;
+        private final String routeId;
+        private final String line;
+        private final String fromStationId;
+        private final String toStationId;
+        private final int waitMinutes;
+        private final int rideMinutes;
+
+        private Leg(boolean bus, String routeId, String line, String fromStationId, String toStationId,
+                    int waitMinutes, int rideMinutes) {
+            this.bus = bus;
+            this.routeId = routeId;
+            this.line = line;
+            this.fromStationId = fromStationId;
+            this.toStationId = toStationId;
+            this.waitMinutes = waitMinutes;
+            this.rideMinutes = rideMinutes;
+        }
+
+        public boolean isBus() {
+            return bus;
+        }
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        public String getFromStationId() {
+            return fromStationId;
+        }
+
+        public String getToStationId() {
+            return toStationId;
+        }
+
+        /** 검색 당시 승차 대기(분) - 첫 탑승은 실시간 ETA, 환승은 근사치 */
+        public int getWaitMinutes() {
+            return waitMinutes;
+        }
+
+        /** 버스: 탑승 시간, 도보: 도보 시간(분) */
+        public int getRideMinutes() {
+            return rideMinutes;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package run_lion.reroute.routing.service;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.StopCandidate;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 실시간 최적 경로 결과 캐시 (/api/routing/search, 출발/도착 시각 지정이 없는 검색)
+ *
+ * 키 = (가장 가까운 출발 정류장, 가장 가까운 도착 정류장, 최대 환승 횟수, 1분 버킷)
+ * - 같은 동네에서 같은 목적지로 가는 검색(기숙사 → 충주터미널 등)은 노선 필터/ETA 평가를 다시 하지 않음
+ * - 처음/마지막 도보는 RoutingAlgorithm이 요청마다 정확한 좌표로 다시 계산
+ * - 키에는 가장 가까운 정류장만 들어가므로, 캐시된 승/하차 정류장이 이번 요청의 후보 정류장에 없으면
+ *   쓰지 않음 (CachedRoute.servesCandidates → 같은 키라도 좌표가 다르면 걸어갈 수 없는 정류장일 수 있음)
+ * - 수명은 결과에 쓴 ETA 신선도 기준: 첫 탑승 대기가 3분 이내면 15초, 10분 이내면 30초, 그 외 60초
+ *   (ArrivalSnapshot 갱신 주기와 같음 → 스냅샷보다 오래 살지 않음)
+ * - 최근 사용 순으로 MAX_ENTRIES개까지 보관, 만료된 항목은 조회 시 제거, 노선망이 바뀌면 전부 비움
+ * - 같은 키를 동시에 찾는 요청(수업 끝난 직후 등)은 먼저 온 요청 하나만 계산하고 나머지는 그 결과를 기다림
+ *   (최대 COALESCE_WAIT → TAGO가 느려도 모든 요청이 같이 묶여 있지 않음)
+ * - 기다리다 시간이 지나면 각자 계산하지 않음 (느린 TAGO에 같은 호출을 더 보내는 셈이므로)
+ *   1) 같은 정류장 쌍의 마지막 결과가 STALE_LIMIT 안이면 그 결과 (수명이 지났어도)
+ *   2) 없으면 호출한 쪽이 준 대체 응답 (RoutingAlgorithm: 시간표 기준 경로)
+ */
+@Component
+public class RouteResultCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final Duration IMMINENT_TTL = Duration.ofSeconds(15);
+    private static final Duration NEAR_TTL = Duration.ofSeconds(30);
+    private static final Duration IDLE_TTL = Duration.ofSeconds(60);
+
+    /** 같은 키를 계산 중인 요청의 결과를 기다리는 최대 시간 */
+    public static final Duration COALESCE_WAIT = Duration.ofSeconds(2);
+
+    /** 기다리다 시간이 지났을 때 대신 쓸 수 있는 마지막 결과의 최대 나이 */
+    static final Duration STALE_LIMIT = Duration.ofMinutes(3);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= MAX_ENTRIES) return false;
+            evictions.incrementAndGet();
+            return true;
+        }
+    };
+
+    // 정류장 쌍(1분 버킷 제외) → 마지막으로 넣은 결과 (수명이 지나도 STALE_LIMIT까지 보관, entries 락 사용)
+    private final Map<String, Entry> lastGood = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 캐시 내용이 계산된 기준 노선망
+    private TransitGraph cachedFor;
+
+    // 계산 중인 키 → 결과 (캐시할 수 없는 결과거나 실패하면 null로 완료)
+    private final Map<String, CompletableFuture<CachedRoute>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong coalesceTimeouts = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * 캐시 키 (버킷 = 현재 epoch 분)
+     */
+    public static String key(String departureStationId, String arrivalStationId, int maxTransfers) {
+        long minute = System.currentTimeMillis() / 60_000;
+        return departureStationId + '|' + arrivalStationId + '|' + maxTransfers + '|' + minute;
+    }
+
+    /**
+     * 대체 응답 없이 캐시된 결과 또는 새로 계산한 결과 (기다리다 시간이 지나고 지난 결과도 없으면 직접 계산)
+     */
+    public RouteResponse getOrCompute(TransitGraph graph, String key,
+                                      Function<CachedRoute, RouteResponse> fromCached,
+                                      Supplier<Result> compute) {
+        return getOrCompute(graph, key, fromCached, compute, () -> null);
+    }
+
+    /**
+     * 캐시된 결과 또는 새로 계산한 결과
+     *
+     * 1) 유효한 캐시가 있으면 fromCached로 변환해서 반환
+     * 2) 같은 키를 계산 중인 요청이 있으면 COALESCE_WAIT까지 기다렸다가 그 결과를 fromCached로 변환
+     *    - 시간이 지나면 같은 정류장 쌍의 지난 결과(STALE_LIMIT 이내) → fallback 순으로 사용
+     * 3) 아니면 compute 실행 (계산 중으로 등록, 끝나면 캐시에 넣고 기다리던 요청들에 전달)
+     * - fromCached가 null이면(승/하차 정류장이 사라짐/후보 밖 등) 직접 계산
+     * - 먼저 온 요청의 결과를 캐시할 수 없거나, 지난 결과도 fallback도 없으면 직접 계산 (등록 없이)
+     */
+    public RouteResponse getOrCompute(TransitGraph graph, String key,
+                                      Function<CachedRoute, RouteResponse> fromCached,
+                                      Supplier<Result> compute, Supplier<RouteResponse> fallback) {
+        CachedRoute cached = get(graph, key);
+        RouteResponse response = cached != null ? fromCached.apply(cached) : null;
+        if (response != null) return response;
+
+        CompletableFuture<CachedRoute> mine = new CompletableFuture<>();
+        CompletableFuture<CachedRoute> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            CachedRoute shared;
+            try {
+                shared = leader.get(COALESCE_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                coalesceTimeouts.incrementAndGet();
+                response = afterTimeout(graph, key, fromCached, fallback);
+                return response != null ? response : computeAndPut(graph, key, compute).response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                shared = null;
+            } catch (ExecutionException e) {
+                shared = null;
+            }
+            response = shared != null ? fromCached.apply(shared) : null;
+            if (response != null) {
+                coalesced.incrementAndGet();
+                return response;
+            }
+            return computeAndPut(graph, key, compute).response;
+        }
+
+        try {
+            // get과 등록 사이에 앞선 계산이 끝나 캐시에 들어갔을 수 있음
+            CachedRoute late = find(graph, key);
+            response = late != null ? fromCached.apply(late) : null;
+            if (response != null) {
+                mine.complete(late);
+                return response;
+            }
+
+            Result result = computeAndPut(graph, key, compute);
+            mine.complete(result.cacheable);
+            return result.response;
+        } catch (RuntimeException e) {
+            mine.complete(null);
+            throw e;
+        } finally {
+            // 캐시에 넣은 뒤에 빼야 그 사이에 온 요청이 다시 계산하지 않음
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Result computeAndPut(TransitGraph graph, String key, Supplier<Result> compute) {
+        Result result = compute.get();
+        if (result.cacheable != null) {
+            put(graph, key, result.cacheable);
+        }
+        return result;
+    }
+
+    /**
+     * 계산 중인 요청을 기다리다 시간이 지났을 때의 응답 (지난 결과 → fallback, 둘 다 없으면 null)
+     */
+    private RouteResponse afterTimeout(TransitGraph graph, String key,
+                                       Function<CachedRoute, RouteResponse> fromCached,
+                                       Supplier<RouteResponse> fallback) {
+        CachedRoute stale = findStale(graph, key);
+        RouteResponse response = stale != null ? fromCached.apply(stale) : null;
+        if (response != null) {
+            staleServed.incrementAndGet();
+            return response;
+        }
+        response = fallback.get();
+        if (response != null) {
+            fallbacks.incrementAndGet();
+        }
+        return response;
+    }
+
+    private CachedRoute findStale(TransitGraph graph, String key) {
+        Instant oldest = Instant.now().minus(STALE_LIMIT);
+        synchronized (entries) {
+            if (cachedFor != graph) return null;
+            Entry entry = lastGood.get(pairOf(key));
+            return entry != null && entry.storedAt.isAfter(oldest) ? entry.route : null;
+        }
+    }
+
+    /**
+     * 키에서 1분 버킷을 뺀 부분 (같은 정류장 쌍/환승 횟수의 지난 결과 찾기용)
+     */
+    private static String pairOf(String key) {
+        return key.substring(0, key.lastIndexOf('|'));
+    }
+
+    /**
+     * 유효한 결과 (없거나 만료됐으면 null)
+     */
+    public CachedRoute get(TransitGraph graph, String key) {
+        CachedRoute route = find(graph, key);
+        (route != null ? hits : misses).incrementAndGet();
+        return route;
+    }
+
+    private CachedRoute find(TransitGraph graph, String key) {
+        synchronized (entries) {
+            if (cachedFor != graph) {
+                entries.clear();
+                lastGood.clear();
+                cachedFor = graph;
+            }
+            Entry entry = entries.get(key);
+            if (entry != null && Instant.now().isBefore(entry.expiresAt)) {
+                return entry.route;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+            return null;
+        }
+    }
+
+    public void put(TransitGraph graph, String key, CachedRoute route) {
+        Instant now = Instant.now();
+        Entry entry = new Entry(route, now, now.plus(ttlFor(route.getFirstWaitMinutes())));
+        synchronized (entries) {
+            if (cachedFor == graph) {
+                entries.put(key, entry);
+                lastGood.put(pairOf(key), entry);
+            }
+        }
+    }
+
+    /**
+     * 첫 탑승 대기 기준 결과 수명 (PopularRouteStore도 같은 기준 사용)
+     */
+    static Duration ttlFor(int firstWaitMinutes) {
+        if (firstWaitMinutes <= 3) return IMMINENT_TTL;
+        if (firstWaitMinutes <= 10) return NEAR_TTL;
+        return IDLE_TTL;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** 다른 요청의 계산 결과를 받아 간 요청 수 (misses에도 포함) */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /** 다른 요청의 계산을 기다리다 시간이 지난 요청 수 (지난 결과/대체 응답/직접 계산 모두 포함) */
+    public long getCoalesceTimeouts() {
+        return coalesceTimeouts.get();
+    }
+
+    /** 시간이 지나 수명이 지난 마지막 결과로 응답한 요청 수 */
+    public long getStaleServed() {
+        return staleServed.get();
+    }
+
+    /** 시간이 지나 지난 결과도 없어서 대체 응답(시간표 기준)으로 응답한 요청 수 */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    /**
+     * 계산 결과: 응답 + 캐시할 부분 (캐시할 수 없으면 null) + 구간 구조 (버스 경로가 아니면 null)
+     */
+    public static final class Result {
+        private final RouteResponse response;
+        private final CachedRoute cacheable;
+        private final RoutePlan plan;
+
+        public Result(RouteResponse response, CachedRoute cacheable) {
+            this(response, cacheable, null);
+        }
+
+        public Result(RouteResponse response, CachedRoute cacheable, RoutePlan plan) {
+            this.response = response;
+            this.cacheable = cacheable;
+            this.plan = plan;
+        }
+
+        public RouteResponse getResponse() {
+            return response;
+        }
+
+        public CachedRoute getCacheable() {
+            return cacheable;
+        }
+
+        /** RouteSessionService용 구간 구조 (캐시에는 넣지 않음) */
+        public RoutePlan getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * 캐시하는 검색 결과
+     * - response의 처음/마지막 도보(accessMinutes/egressMinutes)는 요청마다 바뀌는 부분
+     */
+    @Getter
+    public static final class CachedRoute {
+        private final RouteResponse response;
+        private final String boardingStationId;
+        private final String alightingStationId;
+        private final int accessMinutes;
+        private final int egressMinutes;
+        private final int firstWaitMinutes;
+
+        public CachedRoute(RouteResponse response, String boardingStationId, String alightingStationId,
+                           int accessMinutes, int egressMinutes, int firstWaitMinutes) {
+            this.response = response;
+            this.boardingStationId = boardingStationId;
+            this.alightingStationId = alightingStationId;
+            this.accessMinutes = accessMinutes;
+            this.egressMinutes = egressMinutes;
+            this.firstWaitMinutes = firstWaitMinutes;
+        }
+
+        /**
+         * 승차 정류장이 출발 후보에, 하차 정류장이 도착 후보에 있는지
+         * - 후보 밖 정류장은 이번 요청에서는 걸어갈 수 없는 거리이므로 결과를 그대로 쓸 수 없음
+         */
+        public boolean servesCandidates(List<StopCandidate> origins, List<StopCandidate> destinations) {
+            return contains(origins, boardingStationId) && contains(destinations, alightingStationId);
+        }
+
+        private static boolean contains(List<StopCandidate> stops, String stationId) {
+            for (StopCandidate stop : stops) {
+                if (stop.getStationId().equals(stationId)) return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Entry {
+        private final CachedRoute route;
+        private final Instant storedAt;
+        private final Instant expiresAt;
+
+        private Entry(CachedRoute route, Instant storedAt, Instant expiresAt) {
+            this.route = route;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
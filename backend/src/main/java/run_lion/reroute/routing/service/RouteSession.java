@@ -0,0 +1,327 @@
+package run_lion.reroute.routing.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import run_lion.reroute.routing.dto.ArrivalInfo;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 라이브 경로 세션 1개의 상태 (RouteSessionService가 관리, 변경은 세션 단위로 synchronized, 전송/재검색은 락 밖)
+ *
+ * - 선택한 경로(RoutePlan) + 사용자 위치 + 진행 상황(몇 번째 구간, 승차 여부)
+ * - 진행 상황은 위치로 추정: 승차 정류장 근처(NEAR_METERS)에 왔다가 하차 정류장 쪽으로 멀어지면 승차,
+ *   하차 정류장 근처에 오면 그 구간 완료
+ * - estimate()는 아직 타지 않은 다음 버스 구간 1개만 그 정류장의 현재 ETA로 다시 평가
+ *   (나머지 구간은 계획 값 그대로 → 정류장 1곳 조회 + 거리 계산 몇 번)
+ */
+final class RouteSession {
+
+    /** 정류장/목적지에 "도착"으로 보는 거리(m) - GPS 오차 감안 */
+    static final double NEAR_METERS = 80;
+
+    private final String id;
+    private final double destLat;
+    private final double destLng;
+    private final Integer maxTransfers;
+
+    /** 이 세션에 연결된 SSE 구독자 */
+    final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    /** 주기 재평가가 realtimeExecutor에서 진행 중인지 (세션당 1개만) */
+    final AtomicBoolean reevaluating = new AtomicBoolean();
+
+    private RoutePlan plan;
+    private Instant plannedArrival;
+    private double lat;
+    private double lng;
+
+    private int legIndex;
+    private boolean atStop;
+    private boolean boarded;
+    private Instant boardedAt;
+    private boolean arrived;
+
+    private Instant lastTouched;
+    private Instant lastResearchAt;
+    private Estimate lastEstimate;
+
+    RouteSession(String id, double lat, double lng, double destLat, double destLng, Integer maxTransfers,
+                 RoutePlan plan, Instant now) {
+        this.id = id;
+        this.destLat = destLat;
+        this.destLng = destLng;
+        this.maxTransfers = maxTransfers;
+        this.lat = lat;
+        this.lng = lng;
+        this.lastTouched = now;
+        adopt(plan, now);
+    }
+
+    /**
+     * 새 경로로 교체 (진행 상황 초기화, 기준 도착 시각 = 지금 + 새 경로 소요 시간)
+     */
+    void adopt(RoutePlan plan, Instant now) {
+        this.plan = plan;
+        this.plannedArrival = now.plus(Duration.ofMinutes(plan.getTotalMinutes()));
+        this.legIndex = 0;
+        this.atStop = false;
+        this.boarded = false;
+        this.boardedAt = null;
+        this.lastEstimate = Estimate.feasible(plan.getTotalMinutes());
+    }
+
+    /**
+     * 위치 갱신 → 진행 상황 추정
+     */
+    void moveTo(TransitGraph graph, double lat, double lng, Instant now) {
+        this.lat = lat;
+        this.lng = lng;
+        this.lastTouched = now;
+
+        List<RoutePlan.Leg> legs = plan.getLegs();
+        while (legIndex < legs.size()) {
+            RoutePlan.Leg leg = legs.get(legIndex);
+
+            if (leg.isBus() && !boarded) {
+                if (distanceTo(graph, leg.getFromStationId()) <= NEAR_METERS) {
+                    atStop = true;
+                    break;
+                }
+                // 정류장에 있다가 하차 정류장 쪽으로 멀어짐 → 승차
+                if (atStop && distanceTo(graph, leg.getToStationId())
+                        < stationDistance(graph, leg.getFromStationId(), leg.getToStationId())) {
+                    boarded = true;
+                    boardedAt = now;
+                    atStop = false;
+                    continue;
+                }
+                atStop = false;
+                break;
+            }
+
+            // 버스 탑승 중이거나 환승 도보 → 구간 끝 정류장에 오면 완료
+            if (distanceTo(graph, leg.getToStationId()) > NEAR_METERS) break;
+            legIndex++;
+            boarded = false;
+            boardedAt = null;
+        }
+
+        if (legIndex >= legs.size()
+                && DistanceCalculator.calculateDistance(lat, lng, destLat, destLng) <= NEAR_METERS) {
+            arrived = true;
+        }
+    }
+
+    /**
+     * 남은 소요 시간 추정 (지금 위치 기준)
+     * - 다음에 탈 버스 구간 1개만 ETA 재평가: 그 정류장에 도착하는 시각 이후 가장 먼저 오는 해당 노선 버스
+     *   (실시간 ETA → 없으면 시간표 다음 회차 → 둘 다 없으면 계획 대기 시간)
+     * - 실시간에 그 노선이 있는데 도착 전에 모두 지나가고 시간표 회차도 없으면 불가능(infeasible)
+     */
+    Estimate estimate(TransitGraph graph, ConnectionTable table, Function<String, List<ArrivalInfo>> arrivals,
+                      int nowMinute, Instant now) {
+        List<RoutePlan.Leg> legs = plan.getLegs();
+        int i = legIndex;
+
+        if (i >= legs.size()) {
+            return Estimate.feasible(DistanceCalculator.calculateWalkTimeBetween(lat, lng, destLat, destLng));
+        }
+
+        int minutes;
+        RoutePlan.Leg current = legs.get(i);
+        if (current.isBus() && boarded) {
+            // 탑승 중: 계획 탑승 시간에서 지난 시간만큼 차감 (최소 1분)
+            long ridden = Duration.between(boardedAt, now).toMinutes();
+            minutes = (int) Math.max(1, current.getRideMinutes() - ridden);
+            i++;
+        } else {
+            // 다음 정류장까지 도보 (환승 도보 중이면 그 구간 끝 정류장까지)
+            String target = current.isBus() ? current.getFromStationId() : current.getToStationId();
+            int station = graph.stationIndexOf(target);
+            if (station < 0) return Estimate.infeasible("정류장이 노선망에서 사라짐: " + target);
+            minutes = DistanceCalculator.calculateWalkTimeBetween(lat, lng,
+                    graph.stationLat(station), graph.stationLon(station));
+            if (!current.isBus()) i++;
+        }
+
+        boolean rechecked = false;
+        for (; i < legs.size(); i++) {
+            RoutePlan.Leg leg = legs.get(i);
+            if (!leg.isBus()) {
+                minutes += leg.getRideMinutes();
+                continue;
+            }
+
+            int wait = leg.getWaitMinutes();
+            if (!rechecked) {
+                rechecked = true;
+                wait = catchableWait(graph, table, arrivals.apply(leg.getFromStationId()), leg, minutes, nowMinute);
+                if (wait < 0) {
+                    return Estimate.infeasible(leg.getLine() + "번 버스를 "
+                            + stationName(graph, leg.getFromStationId()) + "에서 탈 수 없음");
+                }
+            }
+            minutes += wait + leg.getRideMinutes();
+        }
+        return Estimate.feasible(minutes + plan.getEgressMinutes());
+    }
+
+    /**
+     * reachMinutes 뒤 정류장에 도착했을 때 이 노선 버스를 타기까지 대기(분), 탈 수 없으면 -1
+     */
+    private int catchableWait(TransitGraph graph, ConnectionTable table, List<ArrivalInfo> arrivals,
+                              RoutePlan.Leg leg, int reachMinutes, int nowMinute) {
+        boolean seen = false;
+        int best = -1;
+        for (ArrivalInfo info : arrivals) {
+            if (!leg.getRouteId().equals(info.getRouteId()) || info.getArrivalMinutes() < 0) continue;
+            seen = true;
+            if (info.getArrivalMinutes() >= reachMinutes
+                    && (best < 0 || info.getArrivalMinutes() - reachMinutes < best)) {
+                best = info.getArrivalMinutes() - reachMinutes;
+            }
+        }
+        if (best >= 0) return best;
+
+        int route = graph.routeIndexOf(leg.getRouteId());
+        int station = graph.stationIndexOf(leg.getFromStationId());
+        if (route >= 0 && station >= 0) {
+            int scheduled = table.scheduledWait(route, station, nowMinute + reachMinutes);
+            if (scheduled >= 0) return scheduled;
+        }
+
+        // 실시간/시간표 모두 없으면 계획 값 유지, 실시간으로 놓친 게 확인되면 불가능
+        return seen ? -1 : leg.getWaitMinutes();
+    }
+
+    private double distanceTo(TransitGraph graph, String stationId) {
+        int station = graph.stationIndexOf(stationId);
+        if (station < 0) return Double.MAX_VALUE;
+        return DistanceCalculator.calculateDistance(lat, lng, graph.stationLat(station), graph.stationLon(station));
+    }
+
+    private double stationDistance(TransitGraph graph, String fromId, String toId) {
+        int from = graph.stationIndexOf(fromId);
+        int to = graph.stationIndexOf(toId);
+        if (from < 0 || to < 0) return 0;
+        return DistanceCalculator.calculateDistance(graph.stationLat(from), graph.stationLon(from),
+                graph.stationLat(to), graph.stationLon(to));
+    }
+
+    private String stationName(TransitGraph graph, String stationId) {
+        int station = graph.stationIndexOf(stationId);
+        return station >= 0 ? graph.stationName(station) : stationId;
+    }
+
+    /**
+     * 마지막 경로 재검색 후 interval이 지났는지 (지났으면 지금으로 기록)
+     */
+    boolean tryResearch(Instant now, Duration interval) {
+        if (lastResearchAt != null && now.isBefore(lastResearchAt.plus(interval))) return false;
+        lastResearchAt = now;
+        return true;
+    }
+
+    void touch(Instant now) {
+        this.lastTouched = now;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    double getLat() {
+        return lat;
+    }
+
+    double getLng() {
+        return lng;
+    }
+
+    double getDestLat() {
+        return destLat;
+    }
+
+    double getDestLng() {
+        return destLng;
+    }
+
+    Integer getMaxTransfers() {
+        return maxTransfers;
+    }
+
+    RoutePlan getPlan() {
+        return plan;
+    }
+
+    Instant getPlannedArrival() {
+        return plannedArrival;
+    }
+
+    int getLegIndex() {
+        return legIndex;
+    }
+
+    boolean isBoarded() {
+        return boarded;
+    }
+
+    boolean isArrived() {
+        return arrived;
+    }
+
+    Instant getLastTouched() {
+        return lastTouched;
+    }
+
+    Estimate getLastEstimate() {
+        return lastEstimate;
+    }
+
+    void setLastEstimate(Estimate estimate) {
+        this.lastEstimate = estimate;
+    }
+
+    /**
+     * 남은 소요 시간 추정 결과
+     */
+    static final class Estimate {
+        private final boolean feasible;
+        private final int remainingMinutes;
+        private final String reason;
+
+        private Estimate(boolean feasible, int remainingMinutes, String reason) {
+            this.feasible = feasible;
+            this.remainingMinutes = remainingMinutes;
+            this.reason = reason;
+        }
+
+        static Estimate feasible(int remainingMinutes) {
+            return new Estimate(true, remainingMinutes, null);
+        }
+
+        static Estimate infeasible(String reason) {
+            return new Estimate(false, -1, reason);
+        }
+
+        boolean isFeasible() {
+            return feasible;
+        }
+
+        int getRemainingMinutes() {
+            return remainingMinutes;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+}
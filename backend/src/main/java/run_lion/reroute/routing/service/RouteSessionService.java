@@ -0,0 +1,378 @@
+package run_lion.reroute.routing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.RouteSearchRequest;
+import run_lion.reroute.routing.dto.RouteSessionResponse;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 라이브 경로 세션 (/api/routing/sessions)
+ *
+ * - 세션 시작 때만 실시간 검색을 한 번 하고, 고른 경로의 구간 구조(RoutePlan)를 서버에 보관
+ * - 위치 갱신이나 주기 확인(tick) 때는 다음에 탈 버스 구간만 다시 평가 (RouteSession.estimate)
+ *   → 정류장 1곳 ETA(스냅샷) + 거리 계산 몇 번, 전체 재검색(후보 노선 필터 + 정류장 여러 곳 ETA + RAPTOR) 없음
+ * - 전체 재검색은 경로가 불가능해졌거나(버스를 놓침 등) 계획보다 DELAY_THRESHOLD 이상 늦어졌을 때만,
+ *   세션마다 RESEARCH_INTERVAL에 한 번까지 (버스 탑승 중에는 하지 않음)
+ * - 새 경로는 불가능해졌을 때, 또는 지금 경로보다 MIN_GAIN 이상 빠를 때만 채택하고 reroute 이벤트로 전송
+ * - 남은 시간/상태가 바뀌었을 때만 update 이벤트 전송 (SSE, 연결마다 스레드 없음)
+ * - 세션 락은 상태를 읽고 바꿀 때만: 전체 재검색(TAGO 조회)과 SSE 전송은 락을 놓은 뒤에
+ *   (재검색하는 동안 경로가 바뀌었거나 탑승했으면 결과를 버림)
+ * - 주기 확인은 세션마다 realtimeExecutor에서 (스케줄러 스레드는 넘기기만, 세션당 진행 중인 작업 최대 1개)
+ */
+@Slf4j
+@Service
+public class RouteSessionService {
+
+    /** 이만큼 늦어지면 더 나은 경로가 있는지 재검색 */
+    private static final int DELAY_THRESHOLD_MINUTES = 3;
+
+    /** 새 경로가 이만큼 이상 빨라야 교체 (ETA 흔들림으로 경로가 왔다 갔다 하지 않게) */
+    private static final int MIN_GAIN_MINUTES = 2;
+
+    /** 세션당 전체 재검색 최소 간격 */
+    private static final Duration RESEARCH_INTERVAL = Duration.ofSeconds(60);
+
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final RoutingAlgorithm routingAlgorithm;
+    private final ETARawDataProvider etaRawDataProvider;
+    private final TransitGraphProvider graphProvider;
+    private final ConnectionTableProvider connectionTableProvider;
+    private final ExecutorService realtimeExecutor;
+
+    /** 노드당 최대 세션 수 */
+    private final int maxSessions;
+
+    /** 위치 갱신도 구독자도 없이 이 시간이 지나면 세션 정리 */
+    private final Duration idleTimeout;
+
+    /** SSE 연결 유지 최대 시간 */
+    private final long streamTimeoutMs;
+
+    private final Map<String, RouteSession> sessions = new ConcurrentHashMap<>();
+
+    public RouteSessionService(RoutingAlgorithm routingAlgorithm,
+                               ETARawDataProvider etaRawDataProvider,
+                               TransitGraphProvider graphProvider,
+                               ConnectionTableProvider connectionTableProvider,
+                               @Qualifier("realtimeExecutor") ExecutorService realtimeExecutor,
+                               @Value("${routing.session.max-sessions:2000}") int maxSessions,
+                               @Value("${routing.session.idle-timeout-ms:1800000}") long idleTimeoutMs,
+                               @Value("${routing.session.stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.routingAlgorithm = routingAlgorithm;
+        this.etaRawDataProvider = etaRawDataProvider;
+        this.graphProvider = graphProvider;
+        this.connectionTableProvider = connectionTableProvider;
+        this.realtimeExecutor = realtimeExecutor;
+        this.maxSessions = maxSessions;
+        this.idleTimeout = Duration.ofMillis(idleTimeoutMs);
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * 세션 시작: 지금 출발 실시간 검색 1회
+     * - 버스 경로가 없으면(도보만 등) 세션 없이 NO_TRANSIT + 검색 결과
+     * @return 세션 수 한도를 넘으면 null
+     */
+    public RouteSessionResponse start(RouteSearchRequest request) {
+        if (sessions.size() >= maxSessions) return null;
+
+        RouteResultCache.Result result = routingAlgorithm.planRealtimeRoute(
+                request.getOriginLat(), request.getOriginLng(),
+                request.getDestLat(), request.getDestLng(), request.getMaxTransfers());
+        RoutePlan plan = result.getPlan();
+        if (plan == null) {
+            RouteResponse route = result.getResponse();
+            return RouteSessionResponse.builder()
+                    .status("NO_TRANSIT")
+                    .route(route)
+                    .remainingMinutes(route.getTotalTime())
+                    .eta(route.getEta())
+                    .build();
+        }
+
+        Instant now = Instant.now();
+        RouteSession session = new RouteSession(UUID.randomUUID().toString(),
+                request.getOriginLat(), request.getOriginLng(), request.getDestLat(), request.getDestLng(),
+                request.getMaxTransfers(), plan, now);
+        sessions.put(session.getId(), session);
+        log.debug("[RouteSession] start {} total={}min legs={}", session.getId(),
+                plan.getTotalMinutes(), plan.getLegs().size());
+
+        synchronized (session) {
+            return toResponse(session, "ON_TRACK", now);
+        }
+    }
+
+    /**
+     * 현재 상태 (없으면 null)
+     */
+    public RouteSessionResponse get(String sessionId) {
+        RouteSession session = sessions.get(sessionId);
+        if (session == null) return null;
+        synchronized (session) {
+            return toResponse(session, statusOf(session), Instant.now());
+        }
+    }
+
+    /**
+     * 위치 갱신 → 진행 상황 추정 + 영향받는 구간 재평가 (필요하면 경로 교체)
+     * @return 세션이 없으면 null
+     */
+    public RouteSessionResponse updatePosition(String sessionId, double lat, double lng) {
+        RouteSession session = sessions.get(sessionId);
+        if (session == null) return null;
+
+        Instant now = Instant.now();
+        synchronized (session) {
+            session.moveTo(graphProvider.current(), lat, lng, now);
+        }
+        return reevaluate(session, now);
+    }
+
+    /**
+     * 세션 구독 (Server-Sent Events: update / reroute)
+     * @return 세션이 없으면 null
+     */
+    public SseEmitter subscribe(String sessionId) {
+        RouteSession session = sessions.get(sessionId);
+        if (session == null) return null;
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        session.emitters.add(emitter);
+        Runnable remove = () -> session.emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+
+        RouteSessionResponse current;
+        synchronized (session) {
+            session.touch(Instant.now());
+            current = toResponse(session, statusOf(session), Instant.now());
+        }
+        send(emitter, "update", current);
+        return emitter;
+    }
+
+    /**
+     * 세션 종료
+     * @return 세션이 있었으면 true
+     */
+    public boolean close(String sessionId) {
+        RouteSession session = sessions.remove(sessionId);
+        if (session == null) return false;
+        session.emitters.forEach(SseEmitter::complete);
+        return true;
+    }
+
+    /**
+     * 주기 확인: 위치 갱신이 없어도 ETA가 바뀌면 다시 평가 (정류장 스냅샷 갱신 주기에 맞춤)
+     * - 도착했거나 오래 방치된 세션 정리
+     * - 재평가(재검색/전송 포함)는 세션마다 realtimeExecutor에서, 이전 재평가가 진행 중인 세션은 이번 주기 생략
+     */
+    @Scheduled(fixedDelayString = "${routing.session.tick-ms:15000}")
+    public void tick() {
+        Instant now = Instant.now();
+        for (RouteSession session : sessions.values()) {
+            boolean finished;
+            synchronized (session) {
+                finished = session.isArrived()
+                        || (session.emitters.isEmpty() && session.getLastTouched().plus(idleTimeout).isBefore(now));
+            }
+            if (finished) {
+                close(session.getId());
+                continue;
+            }
+            submit(session);
+        }
+    }
+
+    private void submit(RouteSession session) {
+        if (!session.reevaluating.compareAndSet(false, true)) return;
+        try {
+            realtimeExecutor.execute(() -> {
+                try {
+                    reevaluate(session, Instant.now());
+                } catch (RuntimeException ex) {
+                    log.warn("[RouteSession] {} 재평가 실패: {}", session.getId(), ex.getMessage());
+                } finally {
+                    session.reevaluating.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            session.reevaluating.set(false);
+            log.warn("[RouteSession] {} 재평가 대기열 가득 참, 다음 주기에 재시도", session.getId());
+        }
+    }
+
+    /**
+     * 다음 버스 구간 재평가 → 필요하면 재검색/경로 교체 → 바뀌었으면 push
+     * - 호출 측은 session 락을 잡지 않음: 상태 변경만 락 안에서, 재검색과 전송은 락 밖에서
+     */
+    private RouteSessionResponse reevaluate(RouteSession session, Instant now) {
+        RouteSessionResponse response;
+        boolean changed;
+        RoutePlan researchFrom = null;
+        double lat;
+        double lng;
+
+        synchronized (session) {
+            RouteSession.Estimate previous = session.getLastEstimate();
+            RouteSession.Estimate estimate = session.estimate(graphProvider.current(),
+                    connectionTableProvider.current(), etaRawDataProvider::getArrivalInfo, nowMinuteOfDay(), now);
+            session.setLastEstimate(estimate);
+
+            if (session.isArrived()) {
+                response = toResponse(session, "ARRIVED", now);
+                changed = true;
+            } else {
+                if (needsResearch(session, estimate, lateMinutes(session, estimate, now), now)) {
+                    researchFrom = session.getPlan();
+                }
+                response = toResponse(session, statusOf(session), now);
+                // 남은 시간/가능 여부가 바뀌었을 때만 구독자에게 전송 (위치 갱신 요청자는 응답으로 받음)
+                changed = previous == null
+                        || previous.isFeasible() != estimate.isFeasible()
+                        || previous.getRemainingMinutes() != estimate.getRemainingMinutes();
+            }
+            lat = session.getLat();
+            lng = session.getLng();
+        }
+
+        if (researchFrom != null) {
+            RouteSessionResponse rerouted = research(session, researchFrom, lat, lng);
+            if (rerouted != null) {
+                broadcast(session, "reroute", rerouted);
+                return rerouted;
+            }
+        }
+
+        if (changed) {
+            broadcast(session, "update", response);
+        }
+        return response;
+    }
+
+    /**
+     * 전체 재검색 (락 밖) → 채택할 만하면 락을 다시 잡고 교체
+     * @return 교체했으면 reroute 응답, 아니면 null (재검색 중 경로가 바뀌었거나 탑승/도착했어도 null)
+     */
+    private RouteSessionResponse research(RouteSession session, RoutePlan researchFrom, double lat, double lng) {
+        RoutePlan alternative = routingAlgorithm.planRealtimeRoute(lat, lng,
+                session.getDestLat(), session.getDestLng(), session.getMaxTransfers()).getPlan();
+
+        synchronized (session) {
+            RouteSession.Estimate estimate = session.getLastEstimate();
+            if (session.getPlan() != researchFrom || session.isBoarded() || session.isArrived()
+                    || !isWorthAdopting(estimate, alternative)) {
+                return null;
+            }
+
+            String reason = !estimate.isFeasible()
+                    ? estimate.getReason()
+                    : (estimate.getRemainingMinutes() - alternative.getTotalMinutes()) + "분 더 빠른 경로";
+            Instant now = Instant.now();
+            session.adopt(alternative, now);
+            log.debug("[RouteSession] reroute {}: {}", session.getId(), reason);
+
+            return toResponse(session, "REROUTED", now).toBuilder()
+                    .reason(reason)
+                    .build();
+        }
+    }
+
+    /**
+     * 전체 재검색 여부 (호출 측에서 session 락을 잡고 있음)
+     * - 경로가 불가능해졌거나 계획보다 DELAY_THRESHOLD 이상 늦어졌을 때
+     * - 버스 탑승 중이면 하지 않음 (내려야 갈아탈 수 있으므로)
+     * - 세션마다 RESEARCH_INTERVAL에 한 번까지 (하기로 하면 지금을 마지막 재검색 시각으로 기록)
+     */
+    static boolean needsResearch(RouteSession session, RouteSession.Estimate estimate, int lateMinutes, Instant now) {
+        boolean degraded = !estimate.isFeasible() || lateMinutes >= DELAY_THRESHOLD_MINUTES;
+        return degraded && !session.isBoarded() && session.tryResearch(now, RESEARCH_INTERVAL);
+    }
+
+    /**
+     * 새 경로 채택 여부: 지금 경로가 불가능하거나, 새 경로가 지금 추정보다 MIN_GAIN 이상 빠를 때
+     */
+    static boolean isWorthAdopting(RouteSession.Estimate estimate, RoutePlan alternative) {
+        if (alternative == null) return false;
+        return !estimate.isFeasible()
+                || alternative.getTotalMinutes() + MIN_GAIN_MINUTES <= estimate.getRemainingMinutes();
+    }
+
+    private String statusOf(RouteSession session) {
+        if (session.isArrived()) return "ARRIVED";
+        RouteSession.Estimate estimate = session.getLastEstimate();
+        if (!estimate.isFeasible()) return "INFEASIBLE";
+        return lateMinutes(session, estimate, Instant.now()) >= DELAY_THRESHOLD_MINUTES ? "DELAYED" : "ON_TRACK";
+    }
+
+    private int lateMinutes(RouteSession session, RouteSession.Estimate estimate, Instant now) {
+        if (!estimate.isFeasible()) return 0;
+        Instant estimated = now.plus(Duration.ofMinutes(estimate.getRemainingMinutes()));
+        return (int) Duration.between(session.getPlannedArrival(), estimated).toMinutes();
+    }
+
+    private RouteSessionResponse toResponse(RouteSession session, String status, Instant now) {
+        RouteSession.Estimate estimate = session.getLastEstimate();
+        String eta = estimate.isFeasible()
+                ? LocalDateTime.now().plusMinutes(estimate.getRemainingMinutes()).format(CLOCK) + " 도착 예정"
+                : null;
+
+        return RouteSessionResponse.builder()
+                .sessionId(session.getId())
+                .status(status)
+                .route(session.getPlan().getResponse())
+                .remainingMinutes(estimate.getRemainingMinutes())
+                .eta(eta)
+                .lateMinutes(lateMinutes(session, estimate, now))
+                .currentLeg(session.getLegIndex())
+                .boarded(session.isBoarded())
+                .reason(estimate.getReason())
+                .build();
+    }
+
+    private void broadcast(RouteSession session, String name, RouteSessionResponse response) {
+        for (SseEmitter emitter : session.emitters) {
+            send(emitter, name, response);
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, RouteSessionResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(response));
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private int nowMinuteOfDay() {
+        LocalTime now = LocalTime.now();
+        return now.getHour() * 60 + now.getMinute();
+    }
+
+    /** 현재 세션 수 */
+    public int size() {
+        return sessions.size();
+    }
+}
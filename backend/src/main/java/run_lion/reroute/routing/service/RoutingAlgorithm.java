@@ -1,40 +1,267 @@
 package run_lion.reroute.routing.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import run_lion.reroute.routing.dto.*;
-
+import run_lion.reroute.routing.engine.ConnectionScanEngine;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.engine.DepartureOption;
+import run_lion.reroute.routing.engine.Journey;
+import run_lion.reroute.routing.engine.JourneyLeg;
+import run_lion.reroute.routing.engine.LatestDepartureTree;
+import run_lion.reroute.routing.engine.ProfileScanEngine;
+import run_lion.reroute.routing.engine.RaptorEngine;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RoutingAlgorithm {
 
     private final RoutingService routingService;
     private final ETARawDataProvider etaRawDataProvider;
+    private final TransitGraphProvider graphProvider;
+    private final ConnectionTableProvider connectionTableProvider;
+    private final LatestDepartureCache latestDepartureCache;
+    private final RouteResultCache routeResultCache;
+    private final PopularRouteStore popularRouteStore;
 
     /**
      * 버스 이동시간 근사치 정책(분/정거장)
      * - StopTime 등 구간별 시간 데이터가 아직 없으면 이 값으로 근사
+     * - 시간표 연결 배열(ConnectionTableProvider)과 같은 값을 써야 두 탐색 결과가 어긋나지 않음
      */
-    private static final int AVG_MIN_PER_STOP = 2;
+    private static final int AVG_MIN_PER_STOP = ConnectionTableProvider.MINUTES_PER_STOP;
 
     /**
      * arrivals가 없을 때 대기시간 패널티(분)
-     * - 실시간이 없으면 "불리"하게 만들어 최적 선택에서 밀리도록
+     * - 실시간도 시간표 회차도 없으면 "불리"하게 만들어 최적 선택에서 밀리도록
      */
     private static final int NO_ETA_PENALTY_MIN = 30;
 
+    /**
+     * 환승 정류장 대기시간 근사치(분)
+     * - 환승 지점은 실시간 ETA를 미리 알 수 없으므로 평균 배차 간격의 절반 정도로 가정
+     */
+    private static final int TRANSFER_WAIT_MIN = 10;
+
+    /**
+     * 환승 횟수 정책
+     * - 요청에 maxTransfers가 없으면 기본값 사용, 너무 큰 값은 상한으로 자름
+     */
+    private static final int DEFAULT_MAX_TRANSFERS = 2;
+    private static final int MAX_TRANSFERS_LIMIT = 3;
+
+    /**
+     * 출발 시간대 선택지 정책(분)
+     * - 요청에 windowMinutes가 없으면 기본값, 한 번에 너무 긴 시간대는 상한으로 자름
+     */
+    private static final int DEFAULT_WINDOW_MINUTES = 60;
+    private static final int MAX_WINDOW_MINUTES = 180;
+
     public RouteResponse computeBestRoute(RouteSearchRequest request) {
+        // 검색 1회 동안 정류장별 도착정보를 한 번만 조회하도록 컨텍스트 공유
+        ArrivalContext arrivalContext = etaRawDataProvider.newContext();
+        Map<String, List<StopCandidate>> nearestStops = new HashMap<>();
+        RouteResponse response = request.getArriveBy() == null && request.getDepartureTime() == null
+                ? computeRealtimeRouteCached(request, arrivalContext, nearestStops)
+                : computeBestRoute(request, arrivalContext, nearestStops);
+
+        log.debug("[RoutingAlgorithm] search done stations={} upstreamCalls={}",
+                arrivalContext.getFetchCount(), arrivalContext.getUpstreamCalls());
+        return response.toBuilder()
+                .upstreamCalls(arrivalContext.getUpstreamCalls())
+                .build();
+    }
+
+    /**
+     * 도착정보 컨텍스트를 지정해서 최적 경로 계산
+     * - 여러 검색이 같은 컨텍스트를 공유하면 정류장 도착정보 조회도 공유됨
+     */
+    public RouteResponse computeBestRoute(RouteSearchRequest request, ArrivalContext arrivalContext) {
+        return computeBestRoute(request, arrivalContext, new HashMap<>());
+    }
+
+    /**
+     * 도착정보 컨텍스트와 정류장 후보 맵을 지정해서 최적 경로 계산 (배치 검색용)
+     * - nearestStops를 공유하면 같은 좌표의 정류장 찾기도 한 번만 (RoutingService.findRoute 참고)
+     */
+    public RouteResponse computeBestRoute(RouteSearchRequest request, ArrivalContext arrivalContext,
+                                          Map<String, List<StopCandidate>> nearestStops) {
+        return search(request, arrivalContext, nearestStops).getResponse();
+    }
+
+    /**
+     * 실시간 검색 (RouteResultCache 사용)
+     * - 키는 출발지/목적지에서 가장 가까운 정류장 → 같은 동네끼리의 검색은 노선 필터/ETA 평가 생략
+     * - 캐시된 결과는 처음/마지막 도보만 이번 요청 좌표로 다시 계산 (fromCache)
+     * - 캐시/미리 계산된 승/하차 정류장이 이번 요청의 후보 정류장 목록에 없으면 쓰지 않음
+     * - 같은 키로 동시에 들어온 요청은 먼저 온 요청의 계산 결과를 기다렸다 사용
+     *   (TAGO가 느려 기다리다 시간이 지나면 다시 계산하지 않고 지난 결과 또는 시간표 기준 경로)
+     * - 인기 정류장 쌍(PopularRouteStore)은 캐시보다 먼저 확인
+     */
+    private RouteResponse computeRealtimeRouteCached(RouteSearchRequest request, ArrivalContext arrivalContext,
+                                                     Map<String, List<StopCandidate>> nearestStops) {
+        List<StopCandidate> origins = routingService.findNearestStops(
+                request.getOriginLat(), request.getOriginLng(), nearestStops);
+        List<StopCandidate> destinations = routingService.findNearestStops(
+                request.getDestLat(), request.getDestLng(), nearestStops);
+        if (origins.isEmpty() || destinations.isEmpty()) {
+            return computeBestRoute(request, arrivalContext, nearestStops);
+        }
+
+        TransitGraph graph = graphProvider.current();
+        String departureId = origins.get(0).getStationId();
+        String arrivalId = destinations.get(0).getStationId();
+        int maxTransfers = resolveMaxTransfers(request);
+
+        // 인기 정류장 쌍은 PopularRoutePrecomputer가 미리 계산해 둔 결과 사용 (기본 환승 횟수만)
+        popularRouteStore.recordRequest(departureId, arrivalId);
+        if (maxTransfers == DEFAULT_MAX_TRANSFERS) {
+            RouteResultCache.CachedRoute precomputed =
+                    popularRouteStore.get(departureId, arrivalId, origins, destinations);
+            RouteResponse response = precomputed != null ? fromCache(request, graph, precomputed) : null;
+            if (response != null) return response;
+        }
+
+        String key = RouteResultCache.key(departureId, arrivalId, maxTransfers);
+
+        // 같은 키를 동시에 찾는 요청은 하나만 계산 (RouteResultCache.getOrCompute)
+        // 승/하차 정류장이 이번 후보 밖이면(같은 키, 다른 좌표) 캐시를 쓰지 않고 계산
+        // 계산 중인 요청을 기다리다 시간이 지나면 지난 결과, 그것도 없으면 시간표 기준 경로 (TAGO 호출 없음)
+        return routeResultCache.getOrCompute(graph, key,
+                cached -> cached.servesCandidates(origins, destinations) ? fromCache(request, graph, cached) : null,
+                () -> search(request, arrivalContext, nearestStops),
+                () -> computeScheduledFallback(request, origins, destinations));
+    }
+
+    /**
+     * 정류장 쌍 실시간 최적 경로 미리 계산 (PopularRoutePrecomputer용)
+     * - 출발지/목적지 = 정류장 좌표, 최대 환승 횟수는 기본값
+     *
+     * @return 캐시용 결과 (정류장이 노선망에 없거나 도보만 가능하면 null)
+     */
+    public RouteResultCache.CachedRoute precompute(String departureStationId, String arrivalStationId) {
+        TransitGraph graph = graphProvider.current();
+        int from = graph.stationIndexOf(departureStationId);
+        int to = graph.stationIndexOf(arrivalStationId);
+        if (from < 0 || to < 0) return null;
+
+        RouteSearchRequest request = RouteSearchRequest.builder()
+                .originLat(graph.stationLat(from))
+                .originLng(graph.stationLon(from))
+                .destLat(graph.stationLat(to))
+                .destLng(graph.stationLon(to))
+                .build();
+        return search(request, etaRawDataProvider.newContext(), new HashMap<>()).getCacheable();
+    }
+
+    /**
+     * 실시간 최적 경로 + 구간 구조 (RouteSessionService용)
+     * - 세션 시작/경로 교체 때만 호출되므로 캐시/미리 계산 결과를 쓰지 않고 현재 ETA로 새로 계산
+     * - 출발/도착 시각 지정은 무시 (세션은 지금 출발 기준)
+     *
+     * @return 버스 경로가 없으면(도보만/주변 정류장 없음) plan이 null인 결과
+     */
+    public RouteResultCache.Result planRealtimeRoute(double originLat, double originLng,
+                                                     double destLat, double destLng, Integer maxTransfers) {
+        RouteSearchRequest request = RouteSearchRequest.builder()
+                .originLat(originLat)
+                .originLng(originLng)
+                .destLat(destLat)
+                .destLng(destLng)
+                .maxTransfers(maxTransfers)
+                .build();
+        ArrivalContext arrivalContext = etaRawDataProvider.newContext();
+        RouteResultCache.Result result = search(request, arrivalContext, new HashMap<>());
+        return new RouteResultCache.Result(
+                result.getResponse().toBuilder().upstreamCalls(arrivalContext.getUpstreamCalls()).build(),
+                result.getCacheable(), result.getPlan());
+    }
+
+    /**
+     * 캐시된 결과 + 이번 요청 좌표 기준 처음/마지막 도보
+     * - 버스/환승 구간과 대기는 그대로, 도보가 바뀐 만큼 총 소요 시간과 도착 예정 시각만 이동
+     * - 승/하차 정류장이 노선망에서 사라졌으면 null (새로 계산)
+     */
+    private RouteResponse fromCache(RouteSearchRequest request, TransitGraph graph, RouteResultCache.CachedRoute cached) {
+        int boarding = graph.stationIndexOf(cached.getBoardingStationId());
+        int alighting = graph.stationIndexOf(cached.getAlightingStationId());
+        if (boarding < 0 || alighting < 0) return null;
+
+        int walk1 = DistanceCalculator.calculateWalkTimeBetween(request.getOriginLat(), request.getOriginLng(),
+                graph.stationLat(boarding), graph.stationLon(boarding));
+        int walk2 = DistanceCalculator.calculateWalkTimeBetween(graph.stationLat(alighting), graph.stationLon(alighting),
+                request.getDestLat(), request.getDestLng());
+
+        RouteResponse base = cached.getResponse();
+        int totalTime = base.getTotalTime() - cached.getAccessMinutes() - cached.getEgressMinutes() + walk1 + walk2;
+
+        List<StepResponse> steps = new ArrayList<>(base.getSteps());
+        steps.set(0, withDuration(steps.get(0), walk1));
+        steps.set(steps.size() - 1, withDuration(steps.get(steps.size() - 1), walk2));
+
+        String etaText = LocalDateTime.now()
+                .plusMinutes(totalTime)
+                .format(DateTimeFormatter.ofPattern("HH:mm")) + " 도착 예정";
+
+        RouteResponse.OriginMarkerResponse originMarker =
+                RouteResponse.OriginMarkerResponse.builder()
+                        .lat(request.getOriginLat())
+                        .lng(request.getOriginLng())
+                        .label("출발지")
+                        .build();
+
+        return base.toBuilder()
+                .totalTime(totalTime)
+                .steps(steps)
+                .eta(etaText)
+                .originMarker(originMarker)
+                .build();
+    }
+
+    private StepResponse withDuration(StepResponse step, int duration) {
+        return StepResponse.builder()
+                .type(step.getType())
+                .duration(duration)
+                .from(step.getFrom())
+                .to(step.getTo())
+                .line(step.getLine())
+                .waitTime(step.getWaitTime())
+                .departureTime(step.getDepartureTime())
+                .build();
+    }
+
+    /**
+     * 최적 경로 계산 본체
+     * - 실시간 직행/환승 결과는 캐시용 정보(승/하차 정류장, 처음/마지막 도보, 첫 대기)도 함께 반환
+     */
+    private RouteResultCache.Result search(RouteSearchRequest request, ArrivalContext arrivalContext,
+                                Map<String, List<StopCandidate>> nearestStops) {
         // 1) A 파트에 좌표 기반 후보 요청
         RoutingResponse candidateResponse = routingService.findRoute(
                 new RoutingRequest(
                         request.getOriginLat(), request.getOriginLng(),
                         request.getDestLat(), request.getDestLng()
-                )
+                ),
+                nearestStops
         );
 
         StopCandidate departureStop = candidateResponse.getDepartureStop();
@@ -43,26 +270,248 @@ public class RoutingAlgorithm {
 
         // 2) 주변 정류장 자체가 없는 경우
         if (departureStop == null || arrivalStop == null) {
-            return buildNoRouteResponse(request);
+            return new RouteResultCache.Result(buildNoRouteResponse(request), null);
         }
 
-        // 3) 후보 노선이 없는 경우(직행 노선 없음)
-        if (routes == null || routes.isEmpty()) {
-            // 도보만 표시하거나 안내 메시지용으로 steps 구성
-            return buildWalkOnlyResponse(request, departureStop, arrivalStop);
+        List<StopCandidate> departureStops = orSingle(candidateResponse.getDepartureStops(), departureStop);
+        List<StopCandidate> arrivalStops = orSingle(candidateResponse.getArrivalStops(), arrivalStop);
+
+        // 도착 시각 지정 → 시간표 역방향 탐색
+        if (request.getArriveBy() != null) {
+            return new RouteResultCache.Result(computeArriveByRoute(request, departureStops, arrivalStops), null);
         }
 
-        // 4) 후보 평가: totalTime 최소 1개 선택
-        BestCandidate best = routes.stream()
-                .map(rc -> evaluate(rc, departureStop, arrivalStop))
-                .min(bestComparator())
-                .orElse(null);
+        // 출발 시각 지정 → 실시간 대신 시간표 회차로 탐색
+        if (request.getDepartureTime() != null) {
+            return new RouteResultCache.Result(computeScheduledRoute(request, departureStops, arrivalStops), null);
+        }
+
+        // 3) 직행 후보 평가: totalTime 최소 1개 선택
+        BestCandidate best = findBestDirect(routes, departureStops, arrivalStops, arrivalContext);
+
+        // 4) 환승 경로 탐색: 직행이 없거나 환승이 더 빠르면 환승 경로 사용
+        int maxTransfers = resolveMaxTransfers(request);
+        if (maxTransfers > 0) {
+            TransitGraph graph = graphProvider.current();
+            int bound = best == null ? Integer.MAX_VALUE : best.totalTime;
+            Journey journey = findTransferJourney(graph, departureStops, arrivalStops, bound, maxTransfers, arrivalContext);
+
+            if (journey != null && (best == null || journey.getArrivalMinutes() < best.totalTime)) {
+                RouteResponse response = buildJourneyResponse(request, graph, journey, LocalDateTime.now(), false);
+                int firstWait = journey.getLegs().stream()
+                        .filter(JourneyLeg::isBus)
+                        .findFirst()
+                        .map(JourneyLeg::getWaitMinutes)
+                        .orElse(0);
+                return new RouteResultCache.Result(response, new RouteResultCache.CachedRoute(response,
+                        graph.stationId(journey.getAccessStation()), graph.stationId(journey.getEgressStation()),
+                        journey.getAccessMinutes(), journey.getEgressMinutes(), firstWait),
+                        RoutePlan.of(response, graph, journey));
+            }
+        }
 
         if (best == null) {
-            return buildWalkOnlyResponse(request, departureStop, arrivalStop);
+            // 도보만 표시하거나 안내 메시지용으로 steps 구성
+            return new RouteResultCache.Result(buildWalkOnlyResponse(request, departureStop, arrivalStop), null);
         }
 
         // 5) steps 조립
+        RouteResponse response = buildDirectResponse(request, best);
+        return new RouteResultCache.Result(response, new RouteResultCache.CachedRoute(response,
+                best.departureStop.getStationId(), best.arrivalStop.getStationId(),
+                best.walk1, best.walk2, best.waitTime),
+                RoutePlan.direct(response, best.routeCandidate.getRouteId(), best.routeCandidate.getRouteName(),
+                        best.departureStop.getStationId(), best.arrivalStop.getStationId(),
+                        best.walk1, best.waitTime, best.busTravel, best.walk2));
+    }
+
+    /**
+     * 출발 시간대 선택지 (시간표 profile 탐색)
+     * - departureTime(없으면 지금)부터 windowMinutes 동안 출발하는 여정 중 서로 지배되지 않는 것 전부
+     *   (더 늦게 떠나면서 더 빨리 도착하는 여정이 있으면 제외)
+     * - 시각마다 다시 검색하지 않고 ProfileScanEngine 스캔 한 번으로 계산
+     * - 출발 시각 → 총 소요 시간 오름차순
+     */
+    public RouteOptionsResponse computeRouteOptions(RouteSearchRequest request) {
+        LocalTime start = request.getDepartureTime() != null
+                ? request.getDepartureTime()
+                : LocalTime.now().withSecond(0).withNano(0);
+        int fromMinute = start.getHour() * 60 + start.getMinute();
+        int toMinute = fromMinute + resolveWindowMinutes(request);
+
+        DateTimeFormatter clock = DateTimeFormatter.ofPattern("HH:mm");
+        RouteOptionsResponse.RouteOptionsResponseBuilder response = RouteOptionsResponse.builder()
+                .windowStart(start.format(clock))
+                .windowEnd(LocalTime.MIN.plusMinutes(toMinute).format(clock))
+                .options(List.of());
+
+        RoutingResponse candidateResponse = routingService.findRoute(
+                new RoutingRequest(
+                        request.getOriginLat(), request.getOriginLng(),
+                        request.getDestLat(), request.getDestLng()
+                )
+        );
+        if (candidateResponse.getDepartureStop() == null || candidateResponse.getArrivalStop() == null) {
+            return response.build();
+        }
+
+        TransitGraph graph = graphProvider.current();
+        int[][] sources = toStationArrays(graph,
+                orSingle(candidateResponse.getDepartureStops(), candidateResponse.getDepartureStop()), Integer.MAX_VALUE);
+        int[][] targets = toStationArrays(graph,
+                orSingle(candidateResponse.getArrivalStops(), candidateResponse.getArrivalStop()), Integer.MAX_VALUE);
+
+        List<DepartureOption> options = new ProfileScanEngine(graph, connectionTableProvider.current())
+                .departureWindow(sources[0], sources[1], targets[0], targets[1], fromMinute, toMinute);
+
+        LocalDateTime midnight = LocalDate.now().atStartOfDay();
+        List<RouteResponse> responses = options.stream()
+                .sorted(Comparator.comparingInt(DepartureOption::getDepartMinute)
+                        .thenComparingInt(o -> o.getJourney().getArrivalMinutes()))
+                .map(o -> buildJourneyResponse(request, graph, o.getJourney(),
+                        midnight.plusMinutes(o.getDepartMinute()), true))
+                .toList();
+
+        return response.options(responses).build();
+    }
+
+    /**
+     * 직행 후보 평가 (후보마다 자기 출발/도착 정류장의 도보 시간 사용)
+     *
+     * 하한(도보 + 버스 이동, 대기 0분) 오름차순으로 보면서 하한이 현재 최적 totalTime을 넘으면 중단
+     * - 대기 시간만 실시간 조회가 필요하므로, 어차피 질 후보의 정류장은 조회하지 않음
+     */
+    private BestCandidate findBestDirect(List<RouteCandidate> routes, List<StopCandidate> departureStops,
+                                         List<StopCandidate> arrivalStops, ArrivalContext arrivalContext) {
+        if (routes == null || routes.isEmpty()) return null;
+
+        Map<String, StopCandidate> departureById = indexById(departureStops);
+        Map<String, StopCandidate> arrivalById = indexById(arrivalStops);
+
+        List<BestCandidate> bounds = new ArrayList<>(routes.size());
+        for (RouteCandidate rc : routes) {
+            StopCandidate departureStop = departureById.get(rc.getDepartureStationId());
+            StopCandidate arrivalStop = arrivalById.get(rc.getArrivalStationId());
+            if (departureStop == null || arrivalStop == null) continue;
+
+            int walk1 = safeNonNegative(departureStop.getWalkTimeFromOrigin());
+            int walk2 = safeNonNegative(arrivalStop.getWalkTimeFromOrigin());
+            int busTravel = estimateBusTravelTime(rc);
+            bounds.add(new BestCandidate(rc, departureStop, arrivalStop, walk1, walk2, 0, busTravel,
+                    walk1 + busTravel + walk2));
+        }
+        bounds.sort(Comparator.comparingInt(b -> b.totalTime));
+
+        BestCandidate best = null;
+        for (BestCandidate bound : bounds) {
+            if (best != null && bound.totalTime > best.totalTime) break;
+
+            BestCandidate candidate = evaluate(bound.routeCandidate, bound.departureStop, bound.arrivalStop, arrivalContext);
+            if (best == null || bestComparator().compare(candidate, best) < 0) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 시간표 기반 탐색 (Connection Scan)
+     * - 출발 후보 정류장 전체에서 departureTime에 출발해 도착 후보 정류장 중 가장 빨리 도착하는 여정
+     * - 직행/환승 구분 없이 한 번에 탐색 (환승 횟수 제한 없음, 회차 시각이 곧 대기 시간)
+     * - 그날 남은 회차로 도착할 수 없으면 도보 안내
+     */
+    private RouteResponse computeScheduledRoute(RouteSearchRequest request, List<StopCandidate> departureStops,
+                                                List<StopCandidate> arrivalStops) {
+        TransitGraph graph = graphProvider.current();
+        ConnectionTable table = connectionTableProvider.current();
+
+        int[][] sources = toStationArrays(graph, departureStops, Integer.MAX_VALUE);
+        int[][] targets = toStationArrays(graph, arrivalStops, Integer.MAX_VALUE);
+        int departMinute = request.getDepartureTime().getHour() * 60 + request.getDepartureTime().getMinute();
+
+        Journey journey = new ConnectionScanEngine(graph, table)
+                .earliestArrival(sources[0], sources[1], targets[0], targets[1], departMinute);
+
+        if (journey == null || journey.getBusLegCount() == 0) {
+            return buildWalkOnlyResponse(request, departureStops.get(0), arrivalStops.get(0));
+        }
+
+        LocalDateTime departAt = LocalDateTime.of(LocalDate.now(), request.getDepartureTime());
+        return buildJourneyResponse(request, graph, journey, departAt, true);
+    }
+
+    /**
+     * 실시간 계산을 기다리다 시간이 지난 요청의 대체 응답: 지금 출발 시간표 기준 경로
+     * - 실시간 ETA를 조회하지 않으므로 느린 TAGO에 같은 검색을 다시 보내지 않음
+     * - 시간표로 버스 경로를 못 찾으면 null (RouteResultCache가 직접 계산)
+     */
+    private RouteResponse computeScheduledFallback(RouteSearchRequest request, List<StopCandidate> departureStops,
+                                                   List<StopCandidate> arrivalStops) {
+        TransitGraph graph = graphProvider.current();
+        ConnectionTable table = connectionTableProvider.current();
+
+        int[][] sources = toStationArrays(graph, departureStops, Integer.MAX_VALUE);
+        int[][] targets = toStationArrays(graph, arrivalStops, Integer.MAX_VALUE);
+        LocalDateTime departAt = LocalDateTime.now().withSecond(0).withNano(0);
+
+        Journey journey = new ConnectionScanEngine(graph, table)
+                .earliestArrival(sources[0], sources[1], targets[0], targets[1], nowMinuteOfDay());
+        if (journey == null || journey.getBusLegCount() == 0) return null;
+
+        return buildJourneyResponse(request, graph, journey, departAt, true);
+    }
+
+    /**
+     * 도착 시각 지정 탐색 (시간표 역방향)
+     * - 도착 후보 정류장마다 (arriveBy - 도착 도보)까지 도착하는 역방향 트리를 캐시에서 가져옴
+     *   (트리는 출발지와 무관해서 KNUT 같은 인기 목적지는 마감 시각 버킷당 한 번만 계산)
+     * - 모든 (출발 후보, 도착 후보) 중 출발지를 가장 늦게 떠나도 되는 조합 선택
+     *   (같으면 총 소요 시간이 짧은 쪽 = 도착 후 덜 기다리는 쪽)
+     */
+    private RouteResponse computeArriveByRoute(RouteSearchRequest request, List<StopCandidate> departureStops,
+                                               List<StopCandidate> arrivalStops) {
+        TransitGraph graph = graphProvider.current();
+        ConnectionTable table = connectionTableProvider.current();
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+
+        int[][] sources = toStationArrays(graph, departureStops, Integer.MAX_VALUE);
+        int[][] targets = toStationArrays(graph, arrivalStops, Integer.MAX_VALUE);
+        int deadline = request.getArriveBy().getHour() * 60 + request.getArriveBy().getMinute();
+
+        Journey best = null;
+        int bestDeparture = Integer.MIN_VALUE;
+        for (int t = 0; t < targets[0].length; t++) {
+            LatestDepartureTree tree = latestDepartureCache.get(graph, table, targets[0][t], deadline - targets[1][t]);
+
+            for (int s = 0; s < sources[0].length; s++) {
+                if (!tree.isReached(sources[0][s])) continue;
+
+                int departure = tree.latestAt(sources[0][s]) - sources[1][s];
+                if (departure < bestDeparture) continue;
+
+                Journey journey = engine.journeyFrom(tree, sources[0][s], sources[1][s]);
+                int egress = targets[1][t];
+                journey = new Journey(journey.getAccessStation(), journey.getAccessMinutes(),
+                        journey.getEgressStation(), egress, journey.getLegs(), journey.getArrivalMinutes() + egress);
+
+                if (departure > bestDeparture || journey.getArrivalMinutes() < best.getArrivalMinutes()) {
+                    best = journey;
+                    bestDeparture = departure;
+                }
+            }
+        }
+
+        if (best == null || best.getBusLegCount() == 0) {
+            return buildWalkOnlyResponse(request, departureStops.get(0), arrivalStops.get(0));
+        }
+
+        LocalDateTime departAt = LocalDate.now().atStartOfDay().plusMinutes(bestDeparture);
+        return buildJourneyResponse(request, graph, best, departAt, true);
+    }
+
+    private RouteResponse buildDirectResponse(RouteSearchRequest request, BestCandidate best) {
+        StopCandidate departureStop = best.departureStop;
+        StopCandidate arrivalStop = best.arrivalStop;
         int totalTime = best.totalTime;
         String etaText = LocalDateTime.now()
                 .plusMinutes(totalTime)
@@ -106,49 +555,221 @@ public class RoutingAlgorithm {
                 .build();
     }
 
+    /**
+     * RAPTOR 엔진으로 환승 포함 여정 탐색
+     * - 출발 후보 정류장 전체를 출발점(도보 시간 = 접근 시간), 도착 후보 전체를 도착점으로 한 번에 탐색
+     * - 접근 도보만으로 이미 bound(직행 최적)를 넘는 출발 정류장은 제외
+     * - 첫 탑승: 해당 출발 정류장 실시간 ETA (없으면 NO_ETA_PENALTY_MIN), 실제 탑승 시도 시에만 조회
+     * - 환승 탑승: TRANSFER_WAIT_MIN 근사
+     * - 환승이 1회 이상인 여정 중 가장 빨리 도착하는 것만 반환 (직행은 위의 후보 평가가 담당)
+     */
+    private Journey findTransferJourney(TransitGraph graph, List<StopCandidate> departureStops,
+                                        List<StopCandidate> arrivalStops, int bound, int maxTransfers,
+                                        ArrivalContext arrivalContext) {
+        int[][] sources = toStationArrays(graph, departureStops, bound);
+        int[][] targets = toStationArrays(graph, arrivalStops, Integer.MAX_VALUE);
+        if (sources[0].length == 0 || targets[0].length == 0) return null;
+
+        // 출발 정류장 인덱스 → 노선별 첫 대기 (탑승 시도 시 최초 1회 계산)
+        ConnectionTable table = connectionTableProvider.current();
+        int nowMinute = nowMinuteOfDay();
+        Map<Integer, int[]> firstWaitByStation = new HashMap<>();
+        Set<Integer> sourceStations = new HashSet<>();
+        for (int source : sources[0]) sourceStations.add(source);
+
+        RaptorEngine engine = new RaptorEngine(graph, AVG_MIN_PER_STOP);
+        List<Journey> journeys = engine.search(
+                sources[0], sources[1],
+                targets[0], targets[1],
+                maxTransfers,
+                (round, station, route, arrivalMinutes) -> {
+                    if (round != 1 || !sourceStations.contains(station)) return TRANSFER_WAIT_MIN;
+                    return firstWaitByStation.computeIfAbsent(station,
+                            s -> loadFirstWaitByRoute(graph, table, s, nowMinute, arrivalContext))[route];
+                }
+        );
+
+        return journeys.stream()
+                .filter(j -> j.getTransfers() > 0)
+                .min(Comparator.comparingInt(Journey::getArrivalMinutes))
+                .orElse(null);
+    }
+
+    /**
+     * 정류장 후보 → {정류장 인덱스[], 도보 시간[]} (그래프에 없거나 도보가 maxWalk 이상이면 제외)
+     */
+    private int[][] toStationArrays(TransitGraph graph, List<StopCandidate> stops, int maxWalk) {
+        int[] stations = new int[stops.size()];
+        int[] walks = new int[stops.size()];
+        int count = 0;
+        for (StopCandidate stop : stops) {
+            int station = graph.stationIndexOf(stop.getStationId());
+            int walk = safeNonNegative(stop.getWalkTimeFromOrigin());
+            if (station < 0 || walk >= maxWalk) continue;
+            stations[count] = station;
+            walks[count] = walk;
+            count++;
+        }
+        return new int[][]{Arrays.copyOf(stations, count), Arrays.copyOf(walks, count)};
+    }
+
+    /**
+     * 정류장의 노선별 첫 탑승 대기: 실시간 ETA > 시간표 다음 회차 > NO_ETA_PENALTY_MIN 순으로 사용
+     */
+    private int[] loadFirstWaitByRoute(TransitGraph graph, ConnectionTable table, int station, int nowMinute,
+                                       ArrivalContext arrivalContext) {
+        int[] realtime = new int[graph.routeCount()];
+        Arrays.fill(realtime, -1);
+        for (ArrivalInfo info : arrivalContext.arrivals(graph.stationId(station))) {
+            int route = graph.routeIndexOf(info.getRouteId());
+            if (route < 0 || info.getArrivalMinutes() < 0) continue;
+            if (realtime[route] < 0 || info.getArrivalMinutes() < realtime[route]) {
+                realtime[route] = info.getArrivalMinutes();
+            }
+        }
+
+        int[] waits = new int[graph.routeCount()];
+        Arrays.fill(waits, NO_ETA_PENALTY_MIN);
+        for (int route : graph.routesAt(station)) {
+            waits[route] = realtime[route] >= 0 ? realtime[route] : scheduledWaitOrPenalty(table, route, station, nowMinute);
+        }
+        return waits;
+    }
+
+    private int scheduledWaitOrPenalty(ConnectionTable table, int route, int station, int nowMinute) {
+        int scheduled = table.scheduledWait(route, station, nowMinute);
+        return scheduled >= 0 ? scheduled : NO_ETA_PENALTY_MIN;
+    }
+
+    private int nowMinuteOfDay() {
+        LocalTime now = LocalTime.now();
+        return now.getHour() * 60 + now.getMinute();
+    }
+
+    /**
+     * 여정 → 응답
+     * - withClock이면 (시간표 기반 검색) 출발 시각과 단계별 시작 시각도 채움
+     */
+    private RouteResponse buildJourneyResponse(RouteSearchRequest request, TransitGraph graph, Journey journey,
+                                               LocalDateTime departAt, boolean withClock) {
+        int totalTime = journey.getArrivalMinutes();
+        DateTimeFormatter clock = DateTimeFormatter.ofPattern("HH:mm");
+        String etaText = departAt
+                .plusMinutes(totalTime)
+                .format(clock) + " 도착 예정";
+
+        LocalDateTime time = departAt;
+        List<StepResponse> steps = new ArrayList<>();
+        steps.add(StepResponse.builder()
+                .type("walk")
+                .duration(journey.getAccessMinutes())
+                .from("출발지")
+                .to(graph.stationName(journey.getAccessStation()))
+                .departureTime(withClock ? time.format(clock) : null)
+                .build());
+        time = time.plusMinutes(journey.getAccessMinutes());
+
+        for (JourneyLeg leg : journey.getLegs()) {
+            if (leg.isBus()) {
+                time = time.plusMinutes(leg.getWaitMinutes());
+                steps.add(StepResponse.builder()
+                        .type("bus")
+                        .line(graph.routeName(leg.getRoute()))
+                        .duration(leg.getRideMinutes())
+                        .waitTime(leg.getWaitMinutes())
+                        .from(graph.stationName(leg.getFromStation()))
+                        .to(graph.stationName(leg.getToStation()))
+                        .departureTime(withClock ? time.format(clock) : null)
+                        .build());
+            } else {
+                steps.add(StepResponse.builder()
+                        .type("walk")
+                        .duration(leg.getRideMinutes())
+                        .from(graph.stationName(leg.getFromStation()))
+                        .to(graph.stationName(leg.getToStation()))
+                        .departureTime(withClock ? time.format(clock) : null)
+                        .build());
+            }
+            time = time.plusMinutes(leg.getRideMinutes());
+        }
+
+        steps.add(StepResponse.builder()
+                .type("walk")
+                .duration(journey.getEgressMinutes())
+                .from(graph.stationName(journey.getEgressStation()))
+                .to("목적지")
+                .departureTime(withClock ? time.format(clock) : null)
+                .build());
+
+        RouteResponse.OriginMarkerResponse originMarker =
+                RouteResponse.OriginMarkerResponse.builder()
+                        .lat(request.getOriginLat())
+                        .lng(request.getOriginLng())
+                        .label("출발지")
+                        .build();
+
+        return RouteResponse.builder()
+                .totalTime(totalTime)
+                .steps(steps)
+                .eta(etaText)
+                .departureTime(withClock ? departAt.format(clock) : null)
+                .originMarker(originMarker)
+                .build();
+    }
+
+    private int resolveWindowMinutes(RouteSearchRequest request) {
+        Integer requested = request.getWindowMinutes();
+        if (requested == null) return DEFAULT_WINDOW_MINUTES;
+        return Math.max(0, Math.min(requested, MAX_WINDOW_MINUTES));
+    }
+
+    private int resolveMaxTransfers(RouteSearchRequest request) {
+        Integer requested = request.getMaxTransfers();
+        if (requested == null) return DEFAULT_MAX_TRANSFERS;
+        return Math.max(0, Math.min(requested, MAX_TRANSFERS_LIMIT));
+    }
+
     /**
      * 후보 1개 평가: 도보/대기/버스이동/총합 계산
      */
-    private BestCandidate evaluate(RouteCandidate rc, StopCandidate departureStop, StopCandidate arrivalStop) {
+    private BestCandidate evaluate(RouteCandidate rc, StopCandidate departureStop, StopCandidate arrivalStop,
+                                   ArrivalContext arrivalContext) {
         int walk1 = safeNonNegative(departureStop.getWalkTimeFromOrigin());
         int walk2 = safeNonNegative(arrivalStop.getWalkTimeFromOrigin());
 
         // waitTime: rc.arrivals 최소 arrivalMinutes 우선 사용, 없으면 ETA Provider로 보완
-        int waitTime = resolveWaitTime(rc, departureStop.getStationId());
+        int waitTime = resolveWaitTime(rc, departureStop.getStationId(), arrivalContext);
 
         // busTravelTime: stationCount 기반 근사(데이터 확장 시 여기만 교체)
         int busTravel = estimateBusTravelTime(rc);
 
         int totalTime = walk1 + waitTime + busTravel + walk2;
 
-        return new BestCandidate(rc, walk1, walk2, waitTime, busTravel, totalTime);
+        return new BestCandidate(rc, departureStop, arrivalStop, walk1, walk2, waitTime, busTravel, totalTime);
     }
 
-    private int resolveWaitTime(RouteCandidate rc, String departureStationId) {
+    private int resolveWaitTime(RouteCandidate rc, String departureStationId, ArrivalContext arrivalContext) {
         // 1) RouteCandidate에 arrivals가 포함되어 있으면 그걸 우선 사용
-        try {
-            // arrivals 필드가 실제로 A에서 포함되어 있다고 문서에 있으므로 반영
-            // (만약 현재 코드에 arrivals가 아직 없으면, 아래 try-catch를 제거하고 provider만 쓰면 됨)
-            var arrivals = (List<ArrivalInfo>) rc.getClass()
-                    .getMethod("getArrivals")
-                    .invoke(rc);
-
-            if (arrivals != null && !arrivals.isEmpty()) {
-                return arrivals.stream()
-                        .map(ArrivalInfo::getArrivalMinutes)
-                        .filter(v -> v >= 0)
-                        .min(Integer::compareTo)
-                        .orElse(NO_ETA_PENALTY_MIN);
-            }
-        } catch (Exception ignore) {
-            // arrivals 필드/게터가 아직 없을 수도 있으니 provider로 fallback
+        List<ArrivalInfo> arrivals = rc.getArrivals();
+        if (arrivals != null && !arrivals.isEmpty()) {
+            return arrivals.stream()
+                    .map(ArrivalInfo::getArrivalMinutes)
+                    .filter(v -> v >= 0)
+                    .min(Integer::compareTo)
+                    .orElse(NO_ETA_PENALTY_MIN);
         }
 
-        // 2) provider로 보완 (실시간 연동)
-        ArrivalInfo info = etaRawDataProvider.getArrivalInfoForRoute(departureStationId, rc.getRouteId());
-        if (info == null) return NO_ETA_PENALTY_MIN;
+        // 2) 검색 컨텍스트로 보완 (같은 정류장은 검색 중 한 번만 실시간 조회)
+        ArrivalInfo info = arrivalContext.arrivalForRoute(departureStationId, rc.getRouteId());
+        if (info != null) return safeNonNegative(info.getArrivalMinutes());
+
+        // 3) 실시간이 없으면 시간표 다음 회차
+        TransitGraph graph = graphProvider.current();
+        int route = graph.routeIndexOf(rc.getRouteId());
+        int station = graph.stationIndexOf(departureStationId);
+        if (route < 0 || station < 0) return NO_ETA_PENALTY_MIN;
 
-        return safeNonNegative(info.getArrivalMinutes());
+        return scheduledWaitOrPenalty(connectionTableProvider.current(), route, station, nowMinuteOfDay());
     }
 
     private int estimateBusTravelTime(RouteCandidate rc) {
@@ -230,20 +851,37 @@ public class RoutingAlgorithm {
                 .build();
     }
 
+    private List<StopCandidate> orSingle(List<StopCandidate> stops, StopCandidate nearest) {
+        return stops == null || stops.isEmpty() ? List.of(nearest) : stops;
+    }
+
+    private Map<String, StopCandidate> indexById(List<StopCandidate> stops) {
+        Map<String, StopCandidate> byId = new HashMap<>();
+        for (StopCandidate stop : stops) {
+            byId.putIfAbsent(stop.getStationId(), stop);
+        }
+        return byId;
+    }
+
     private int safeNonNegative(int v) {
         return Math.max(0, v);
     }
 
     private static class BestCandidate {
         private final RouteCandidate routeCandidate;
+        private final StopCandidate departureStop;
+        private final StopCandidate arrivalStop;
         private final int walk1;
         private final int walk2;
         private final int waitTime;
         private final int busTravel;
         private final int totalTime;
 
-        private BestCandidate(RouteCandidate routeCandidate, int walk1, int walk2, int waitTime, int busTravel, int totalTime) {
+        private BestCandidate(RouteCandidate routeCandidate, StopCandidate departureStop, StopCandidate arrivalStop,
+                              int walk1, int walk2, int waitTime, int busTravel, int totalTime) {
             this.routeCandidate = routeCandidate;
+            this.departureStop = departureStop;
+            this.arrivalStop = arrivalStop;
             this.walk1 = walk1;
             this.walk2 = walk2;
             this.waitTime = waitTime;
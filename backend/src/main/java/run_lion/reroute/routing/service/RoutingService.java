@@ -5,18 +5,21 @@ import run_lion.reroute.routing.dto.RouteCandidate;
 import run_lion.reroute.routing.dto.RoutingRequest;
 import run_lion.reroute.routing.dto.RoutingResponse;
 import run_lion.reroute.routing.dto.StopCandidate;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * 경로 추천 통합 서비스
  *
  * 전체 흐름:
- * 1. 출발지 좌표에서 가까운 출발 정류장 찾기 (RoutingStationResolver)
- * 2. 도착지 좌표에서 가까운 도착 정류장 찾기 (RoutingStationResolver)
- * 3. 두 정류장을 연결하는 버스 노선 찾기 (RouteFilter)
+ * 1. 출발지 좌표에서 가까운 출발 정류장 후보 찾기 (RoutingStationResolver)
+ * 2. 도착지 좌표에서 가까운 도착 정류장 후보 찾기 (RoutingStationResolver)
+ * 3. 후보 정류장 쌍을 연결하는 버스 노선 찾기 (RouteFilter)
  * 4. 결과를 RoutingResponse로 조합하여 반환
  */
 @Service
@@ -25,6 +28,12 @@ public class RoutingService {
     private final RoutingStationResolver stationResolver;
     private final RouteFilter routeFilter;
 
+    // 출발/도착 각각 고려할 정류장 후보 수
+    private static final int STOP_CANDIDATES = 8;
+
+    // 정류장 후보 도보 범위 (미터)
+    private static final int WALK_RADIUS_METERS = 1000;
+
     public RoutingService(RoutingStationResolver stationResolver, RouteFilter routeFilter) {
         this.stationResolver = stationResolver;
         this.routeFilter = routeFilter;
@@ -33,46 +42,62 @@ public class RoutingService {
     /**
      * 좌표 기반 경로 탐색
      *
+     * 출발/도착 모두 가장 가까운 정류장 1개가 아니라 도보 범위 내 최대 STOP_CANDIDATES개를 후보로 잡고,
+     * 모든 (출발 후보, 도착 후보) 쌍의 직행 노선을 한 번에 모은 뒤 노선별로 지배되는 후보를 제거
+     * (조금 더 걸어가면 직행이 있는 경우를 놓치지 않도록)
+     *
      * @param request 출발지/도착지 좌표
      * @return 경로 추천 결과
      */
     public RoutingResponse findRoute(RoutingRequest request) {
+        return findRoute(request, new HashMap<>());
+    }
+
+    /**
+     * 좌표 기반 경로 탐색 (정류장 후보 공유)
+     *
+     * 여러 검색(배치)이 같은 nearestStops 맵을 넘기면 같은 좌표의 정류장 후보는 한 번만 찾음
+     *
+     * @param request 출발지/도착지 좌표
+     * @param nearestStops 좌표("위도,경도") → 정류장 후보 (여러 스레드가 공유하면 ConcurrentHashMap)
+     * @return 경로 추천 결과
+     */
+    public RoutingResponse findRoute(RoutingRequest request, Map<String, List<StopCandidate>> nearestStops) {
         RoutingResponse response = new RoutingResponse();
 
-        // 1. 출발지 근처 정류장 찾기
-        Optional<StopCandidate> departureStopOpt = stationResolver.findNearestStation(
-                request.getDepartureLat(), request.getDepartureLon()
+        // 1. 출발지 근처 정류장 후보
+        List<StopCandidate> departureStops = findNearestStops(
+                request.getDepartureLat(), request.getDepartureLon(), nearestStops
         );
 
-        if (departureStopOpt.isEmpty()) {
+        if (departureStops.isEmpty()) {
             response.setMessage("출발지 근처에 정류장이 없습니다.");
             response.setRoutes(new ArrayList<>());
             return response;
         }
 
-        // 2. 도착지 근처 정류장 찾기
-        Optional<StopCandidate> arrivalStopOpt = stationResolver.findNearestStation(
-                request.getArrivalLat(), request.getArrivalLon()
+        // 2. 도착지 근처 정류장 후보
+        List<StopCandidate> arrivalStops = findNearestStops(
+                request.getArrivalLat(), request.getArrivalLon(), nearestStops
         );
 
-        if (arrivalStopOpt.isEmpty()) {
+        if (arrivalStops.isEmpty()) {
             response.setMessage("도착지 근처에 정류장이 없습니다.");
             response.setRoutes(new ArrayList<>());
             return response;
         }
 
-        StopCandidate departureStop = departureStopOpt.get();
-        StopCandidate arrivalStop = arrivalStopOpt.get();
+        StopCandidate departureStop = departureStops.get(0);
+        StopCandidate arrivalStop = arrivalStops.get(0);
 
-        // 3. 두 정류장을 연결하는 노선 찾기
-        List<RouteCandidate> routes = routeFilter.filterRoutes(
-                departureStop.getStationId(),
-                arrivalStop.getStationId()
-        );
+        // 3. 후보 정류장 쌍을 연결하는 노선 찾기 (지배 후보 제거)
+        List<RouteCandidate> routes = findDirectRoutes(departureStops, arrivalStops);
 
-        // 4. 응답 구성
+        // 4. 응답 구성 (departureStop/arrivalStop은 가장 가까운 정류장)
         response.setDepartureStop(departureStop);
         response.setArrivalStop(arrivalStop);
+        response.setDepartureStops(departureStops);
+        response.setArrivalStops(arrivalStops);
         response.setRoutes(routes);
         response.setTotalWalkTime(
                 departureStop.getWalkTimeFromOrigin() + arrivalStop.getWalkTimeFromOrigin()
@@ -87,6 +112,64 @@ public class RoutingService {
         return response;
     }
 
+    /**
+     * 좌표의 정류장 후보 (도보 범위 내 최대 STOP_CANDIDATES개, 가까운 순)
+     * - nearestStops에 이미 있는 좌표면 다시 찾지 않음
+     */
+    public List<StopCandidate> findNearestStops(double lat, double lon, Map<String, List<StopCandidate>> nearestStops) {
+        return nearestStops.computeIfAbsent(lat + "," + lon,
+                key -> stationResolver.findNearestStations(lat, lon, STOP_CANDIDATES, WALK_RADIUS_METERS));
+    }
+
+    /**
+     * 출발 후보 × 도착 후보 직행 노선 (many-to-many)
+     *
+     * 같은 노선에서 (도보 합, 정거장 수)가 둘 다 같거나 나쁜 후보는 제거
+     * - 같은 노선이면 대기 + 탑승 시간은 승차 위치와 거의 무관하므로 도보/정거장 수만으로 비교 가능
+     * - 다른 노선끼리는 대기 시간이 달라 여기서 비교하지 않음 (RoutingAlgorithm이 실시간 대기로 판단)
+     *
+     * @return 남은 후보 (도보 합 + 정거장 수 × MINUTES_PER_STOP 오름차순 = 대기 제외 예상 소요 시간)
+     */
+    private List<RouteCandidate> findDirectRoutes(List<StopCandidate> departureStops, List<StopCandidate> arrivalStops) {
+        Map<String, List<DirectOption>> optionsByRoute = new HashMap<>();
+
+        for (StopCandidate departure : departureStops) {
+            for (StopCandidate arrival : arrivalStops) {
+                if (departure.getStationId().equals(arrival.getStationId())) continue;
+
+                int walk = departure.getWalkTimeFromOrigin() + arrival.getWalkTimeFromOrigin();
+                for (RouteCandidate rc : routeFilter.filterRoutes(departure.getStationId(), arrival.getStationId())) {
+                    optionsByRoute.computeIfAbsent(rc.getRouteId(), k -> new ArrayList<>())
+                            .add(new DirectOption(rc, walk));
+                }
+            }
+        }
+
+        List<DirectOption> kept = new ArrayList<>();
+        for (List<DirectOption> options : optionsByRoute.values()) {
+            // 도보 오름차순으로 보면서 정거장 수가 지금까지보다 줄어드는 것만 남김 (파레토)
+            options.sort(Comparator.comparingInt((DirectOption o) -> o.walk)
+                    .thenComparingInt(o -> o.candidate.getStationCount()));
+
+            int fewestStops = Integer.MAX_VALUE;
+            for (DirectOption option : options) {
+                if (option.candidate.getStationCount() < fewestStops) {
+                    fewestStops = option.candidate.getStationCount();
+                    kept.add(option);
+                }
+            }
+        }
+
+        kept.sort(Comparator.comparingInt(
+                o -> o.walk + o.candidate.getStationCount() * ConnectionTableProvider.MINUTES_PER_STOP));
+
+        List<RouteCandidate> routes = new ArrayList<>(kept.size());
+        for (DirectOption option : kept) {
+            routes.add(option.candidate);
+        }
+        return routes;
+    }
+
     /**
      * 정류장 ID 기반 경로 탐색
      *
@@ -120,4 +203,14 @@ public class RoutingService {
     public List<StopCandidate> findNearbyStations(double lat, double lon, int radiusMeters) {
         return stationResolver.findNearbyStations(lat, lon, radiusMeters);
     }
-}
\ No newline at end of file
+
+    private static final class DirectOption {
+        private final RouteCandidate candidate;
+        private final int walk;
+
+        private DirectOption(RouteCandidate candidate, int walk) {
+            this.candidate = candidate;
+            this.walk = walk;
+        }
+    }
+}
@@ -3,11 +3,13 @@ package run_lion.reroute.routing.service;
 import org.springframework.stereotype.Service;
 import run_lion.reroute.routing.dto.StopCandidate;
 import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.graph.StationGridIndex;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
 import run_lion.reroute.routing.repository.StationRepository;
 import run_lion.reroute.routing.util.DistanceCalculator;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,8 @@ import java.util.Optional;
  * 주요 기능:
  * 1. placeId → Station 변환
  * 2. 좌표 기반 가까운 정류장 찾기
+ *
+ * 좌표 검색은 DB(acos 네이티브 쿼리) 대신 메모리의 격자 인덱스(StationGridIndex)를 사용
  */
 @Service
 public class RoutingStationResolver {
@@ -29,9 +33,15 @@ public class RoutingStationResolver {
     // Repository 의존성 - DB 접근을 위해 필요
     private final StationRepository stationRepository;
 
+    // 노선망 스냅샷 - 좌표 인덱스를 포함
+    private final TransitGraphProvider graphProvider;
+
     // 기본 검색 반경 (미터)
     private static final int DEFAULT_RADIUS_METERS = 500;
 
+    // 가장 가까운 정류장 검색 반경 (미터)
+    private static final int NEAREST_RADIUS_METERS = 1000;
+
     /**
      * 생성자 주입 (Constructor Injection)
      *
@@ -41,9 +51,11 @@ public class RoutingStationResolver {
      * - final로 선언해서 변경 불가능하게 만듦 (안전성)
      *
      * @param stationRepository 스프링이 자동으로 주입해주는 Repository
+     * @param graphProvider 노선망 스냅샷 제공자
      */
-    public RoutingStationResolver(StationRepository stationRepository) {
+    public RoutingStationResolver(StationRepository stationRepository, TransitGraphProvider graphProvider) {
         this.stationRepository = stationRepository;
+        this.graphProvider = graphProvider;
     }
 
     /**
@@ -76,40 +88,27 @@ public class RoutingStationResolver {
      * @return 가까운 정류장 목록 (거리순 정렬)
      */
     public List<StopCandidate> findNearbyStations(double lat, double lon, int radiusMeters) {
-        // 1. DB에서 반경 내 정류장 조회 (km 단위로 변환)
-        double radiusKm = radiusMeters / 1000.0;
-        List<Station> stations = stationRepository.findStationsWithinRadius(lat, lon, radiusKm);
-
-        // 2. Station → StopCandidate로 변환 (도보 시간 계산 포함)
-        List<StopCandidate> candidates = new ArrayList<>();
+        // 1. 격자 인덱스에서 반경 내 정류장 조회 (이미 거리순 정렬됨)
+        TransitGraph graph = graphProvider.current();
+        List<StationGridIndex.Hit> hits = graph.spatialIndex().withinRadius(lat, lon, radiusMeters);
 
-        for (Station station : stations) {
-            // 거리 계산
-            double distance = DistanceCalculator.calculateDistance(
-                    lat, lon,
-                    station.getLat(), station.getLon()
-            );
-
-            // 도보 시간 계산
-            int walkTime = DistanceCalculator.calculateWalkTime(distance);
-
-            // StopCandidate 생성
-            StopCandidate candidate = new StopCandidate(
-                    station.getStationId(),
-                    station.getStationName(),
-                    station.getLat(),
-                    station.getLon(),
-                    distance,
-                    walkTime
-            );
-
-            candidates.add(candidate);
-        }
-
-        // 3. 거리순 정렬 (가까운 순)
-        candidates.sort(Comparator.comparingDouble(StopCandidate::getDistanceFromOrigin));
+        // 2. StopCandidate로 변환 (도보 시간 계산 포함)
+        return toCandidates(graph, hits);
+    }
 
-        return candidates;
+    /**
+     * 가장 가까운 정류장 k개 조회
+     *
+     * @param lat 사용자 위도
+     * @param lon 사용자 경도
+     * @param k 최대 개수
+     * @param maxRadiusMeters 검색 반경 (미터)
+     * @return 가까운 정류장 목록 (거리순 정렬, 최대 k개)
+     */
+    public List<StopCandidate> findNearestStations(double lat, double lon, int k, int maxRadiusMeters) {
+        TransitGraph graph = graphProvider.current();
+        List<StationGridIndex.Hit> hits = graph.spatialIndex().nearest(lat, lon, k, maxRadiusMeters);
+        return toCandidates(graph, hits);
     }
 
     /**
@@ -120,12 +119,35 @@ public class RoutingStationResolver {
      * @return 가장 가까운 정류장 (없으면 빈 Optional)
      */
     public Optional<StopCandidate> findNearestStation(double lat, double lon) {
-        List<StopCandidate> nearby = findNearbyStations(lat, lon, 1000); // 1km 반경
+        List<StopCandidate> nearest = findNearestStations(lat, lon, 1, NEAREST_RADIUS_METERS); // 1km 반경
 
-        if (nearby.isEmpty()) {
+        if (nearest.isEmpty()) {
             return Optional.empty();
         }
 
-        return Optional.of(nearby.get(0)); // 가장 가까운 것
+        return Optional.of(nearest.get(0)); // 가장 가까운 것
+    }
+
+    private List<StopCandidate> toCandidates(TransitGraph graph, List<StationGridIndex.Hit> hits) {
+        List<StopCandidate> candidates = new ArrayList<>(hits.size());
+
+        for (StationGridIndex.Hit hit : hits) {
+            int station = hit.getStation();
+
+            // 도보 시간 계산
+            int walkTime = DistanceCalculator.calculateWalkTime(hit.getDistanceMeters());
+
+            // StopCandidate 생성
+            candidates.add(new StopCandidate(
+                    graph.stationId(station),
+                    graph.stationName(station),
+                    graph.stationLat(station),
+                    graph.stationLon(station),
+                    hit.getDistanceMeters(),
+                    walkTime
+            ));
+        }
+
+        return candidates;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package run_lion.reroute.routing.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import run_lion.reroute.routing.dto.MatrixRequest;
+import run_lion.reroute.routing.dto.MatrixResponse;
+import run_lion.reroute.routing.dto.StopCandidate;
+import run_lion.reroute.routing.engine.ConnectionScanEngine;
+import run_lion.reroute.routing.engine.RaptorEngine;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 다대다 소요 시간 행렬 서비스 (시간표 기준)
+ *
+ * - 모든 출발/도착 지점을 RoutingStationResolver로 한 번씩만 정류장에 맞춤 (지점마다 1km 이내 최대 8개)
+ * - 출발 지점(행)마다 ConnectionScanEngine.earliestArrivals 스캔 한 번 → 모든 정류장 도착 시각
+ *   → 도착 지점(열)은 자기 정류장들의 (도착 시각 + 도보) 최솟값으로 채움 (쌍마다 검색하지 않음)
+ * - 행은 routingExecutor에서 코어 수만큼 병렬로 계산
+ * - 처음부터 걷는 게 빠르면 도보 시간 사용, MAX_MINUTES 안에 못 가면 -1
+ */
+@Slf4j
+@Service
+public class TravelTimeMatrixService {
+
+    /** 출발/도착 지점 각각의 최대 개수 */
+    public static final int MAX_POINTS = 200;
+
+    /** 계산하는 최대 소요 시간(분) */
+    public static final int MAX_MINUTES = 180;
+
+    // 지점마다 고려할 정류장 후보 수 / 도보 범위 (RoutingService와 같은 값)
+    private static final int STOP_CANDIDATES = 8;
+    private static final int WALK_RADIUS_METERS = 1000;
+
+    private final RoutingStationResolver stationResolver;
+    private final TransitGraphProvider graphProvider;
+    private final ConnectionTableProvider connectionTableProvider;
+    private final ExecutorService routingExecutor;
+
+    public TravelTimeMatrixService(RoutingStationResolver stationResolver,
+                                   TransitGraphProvider graphProvider,
+                                   ConnectionTableProvider connectionTableProvider,
+                                   @Qualifier("routingExecutor") ExecutorService routingExecutor) {
+        this.stationResolver = stationResolver;
+        this.graphProvider = graphProvider;
+        this.connectionTableProvider = connectionTableProvider;
+        this.routingExecutor = routingExecutor;
+    }
+
+    public MatrixResponse compute(MatrixRequest request) {
+        long start = System.nanoTime();
+        LocalTime departure = request.getDepartureTime() != null ? request.getDepartureTime() : LocalTime.now();
+        int departMinute = departure.getHour() * 60 + departure.getMinute();
+
+        TransitGraph graph = graphProvider.current();
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, connectionTableProvider.current());
+
+        // 1) 지점 → 정류장 (지점마다 한 번)
+        List<MatrixRequest.Point> origins = request.getOrigins();
+        List<MatrixRequest.Point> destinations = request.getDestinations();
+        int[][][] originStops = snap(graph, origins);
+        int[][][] destinationStops = snap(graph, destinations);
+
+        // 2) 행 단위 병렬 계산
+        int[][] minutes = new int[origins.size()][];
+        List<Future<?>> rows = new ArrayList<>(origins.size());
+        for (int i = 0; i < origins.size(); i++) {
+            int row = i;
+            rows.add(routingExecutor.submit(() -> {
+                minutes[row] = computeRow(engine, origins.get(row), originStops[row],
+                        destinations, destinationStops, departMinute);
+            }));
+        }
+        awaitAll(rows);
+
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("[TravelTimeMatrixService] {}x{} took={}ms", origins.size(), destinations.size(), tookMs);
+
+        return MatrixResponse.builder()
+                .departureTime(departure.format(DateTimeFormatter.ofPattern("HH:mm")))
+                .minutes(minutes)
+                .tookMs(tookMs)
+                .build();
+    }
+
+    /**
+     * 출발 지점 1개 → 모든 도착 지점
+     */
+    private int[] computeRow(ConnectionScanEngine engine, MatrixRequest.Point origin, int[][] stops,
+                             List<MatrixRequest.Point> destinations, int[][][] destinationStops, int departMinute) {
+        int[] arrivals = stops[0].length == 0 ? null
+                : engine.earliestArrivals(stops[0], stops[1], departMinute, MAX_MINUTES);
+
+        int[] row = new int[destinations.size()];
+        for (int j = 0; j < destinations.size(); j++) {
+            MatrixRequest.Point destination = destinations.get(j);
+            int best = DistanceCalculator.calculateWalkTimeBetween(
+                    origin.getLat(), origin.getLng(), destination.getLat(), destination.getLng());
+
+            if (arrivals != null) {
+                int[] targets = destinationStops[j][0];
+                int[] egress = destinationStops[j][1];
+                for (int k = 0; k < targets.length; k++) {
+                    if (arrivals[targets[k]] == RaptorEngine.UNREACHED) continue;
+                    best = Math.min(best, arrivals[targets[k]] - departMinute + egress[k]);
+                }
+            }
+            row[j] = best <= MAX_MINUTES ? best : -1;
+        }
+        return row;
+    }
+
+    /**
+     * 지점마다 {정류장 인덱스[], 도보 시간[]}
+     */
+    private int[][][] snap(TransitGraph graph, List<MatrixRequest.Point> points) {
+        int[][][] snapped = new int[points.size()][][];
+        for (int i = 0; i < points.size(); i++) {
+            MatrixRequest.Point point = points.get(i);
+            List<StopCandidate> stops = stationResolver.findNearestStations(
+                    point.getLat(), point.getLng(), STOP_CANDIDATES, WALK_RADIUS_METERS);
+
+            int[] stations = new int[stops.size()];
+            int[] walks = new int[stops.size()];
+            int count = 0;
+            for (StopCandidate stop : stops) {
+                int station = graph.stationIndexOf(stop.getStationId());
+                if (station < 0) continue;
+                stations[count] = station;
+                walks[count] = Math.max(0, stop.getWalkTimeFromOrigin());
+                count++;
+            }
+            snapped[i] = new int[][]{Arrays.copyOf(stations, count), Arrays.copyOf(walks, count)};
+        }
+        return snapped;
+    }
+
+    private void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("matrix computation interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("matrix computation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package run_lion.reroute.realtimebus.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * ArrivalBoard: 정류소 수 상한을 넘으면 가장 오래 조회된 스냅샷부터 제거
+ */
+class ArrivalBoardTest {
+
+    private final ArrivalBoard board = new ArrivalBoard();
+    private final Instant base = Instant.parse("2025-03-01T08:00:00Z");
+
+    @Test
+    void newStationEvictsOldestWhenFull() {
+        ReflectionTestUtils.setField(board, "maxStations", 2);
+        board.publish(snapshot("S1", 10));
+        board.publish(snapshot("S2", 0));
+
+        // 이미 있는 정류소 갱신은 제거 없음
+        board.publish(snapshot("S2", 20));
+        assertEquals(2, board.size());
+
+        // 새 정류소 → 가장 오래 조회된 S1 제거
+        board.publish(snapshot("S3", 5));
+        assertEquals(2, board.size());
+        assertNull(board.get("S1"));
+        assertNotNull(board.get("S2"));
+        assertNotNull(board.get("S3"));
+    }
+
+    private ArrivalSnapshot snapshot(String stationId, int secondsAfterBase) {
+        return ArrivalSnapshot.of(stationId, List.of(), base.plusSeconds(secondsAfterBase));
+    }
+}
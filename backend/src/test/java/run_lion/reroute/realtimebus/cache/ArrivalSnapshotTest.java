@@ -0,0 +1,53 @@
+package run_lion.reroute.realtimebus.cache;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ArrivalSnapshot: 스냅샷 나이를 뺀 남은 시간, 갱신 주기
+ */
+class ArrivalSnapshotTest {
+
+    private final Instant fetchedAt = Instant.parse("2025-03-01T08:00:00Z");
+
+    private final ArrivalSnapshot snapshot = ArrivalSnapshot.of("S1", List.of(
+            new RealtimeArrivalDto("R1", "400", 1, 1),
+            new RealtimeArrivalDto("R2", "101", 5, 4),
+            new RealtimeArrivalDto("R3", "999", 12, 9)), fetchedAt);
+
+    @Test
+    void freshSnapshotIsUnchanged() {
+        assertEquals(snapshot.getArrivals(), snapshot.arrivalsAt(fetchedAt));
+    }
+
+    @Test
+    void ageIsSubtractedFromArrivalMinutes() {
+        // 45초 지남: 5분 → 4분 15초 → 5분(올림), 1분 → 15초 → 1분
+        assertEquals(List.of(
+                new RealtimeArrivalDto("R1", "400", 1, 1),
+                new RealtimeArrivalDto("R2", "101", 5, 4),
+                new RealtimeArrivalDto("R3", "999", 12, 9)), snapshot.arrivalsAt(fetchedAt.plusSeconds(45)));
+
+        // 2분 30초 지남: 1분 버스는 이미 지나감, 5분 → 3분, 12분 → 10분
+        assertEquals(List.of(
+                new RealtimeArrivalDto("R2", "101", 3, 4),
+                new RealtimeArrivalDto("R3", "999", 10, 9)), snapshot.arrivalsAt(fetchedAt.plusSeconds(150)));
+    }
+
+    @Test
+    void refreshIntervalFollowsSoonestBus() {
+        assertFalse(snapshot.isExpired(fetchedAt.plusSeconds(14)));
+        assertTrue(snapshot.isExpired(fetchedAt.plusSeconds(15)));
+
+        ArrivalSnapshot idle = ArrivalSnapshot.of("S2", List.of(), fetchedAt);
+        assertFalse(idle.isExpired(fetchedAt.plusSeconds(59)));
+        assertTrue(idle.isExpired(fetchedAt.plusSeconds(60)));
+    }
+}
@@ -4,9 +4,10 @@
  *  - TAGO 도착정보조회 API(JSON) 응답 구조 DTO
  *  - response → header/body → items/item 형태의 계층 구조를 그대로 매핑
  *  - routeno는 숫자/문자 혼합 가능성이 있어 String으로 처리
+ *  - TagoResponseDecoderBenchmark 전용: TagoResponseDecoder 도입 전 방식(트리로 받은 뒤 복사)의 재현
  */
 
-package run_lion.reroute.realtimebus.dto;
+package run_lion.reroute.realtimebus.client;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
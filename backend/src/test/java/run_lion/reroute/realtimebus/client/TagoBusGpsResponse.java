@@ -3,10 +3,11 @@
  * Description:
  *  - TAGO 특정 정류소 접근 버스 GPS 정보 응답 DTO
  *  - TAGO가 "items": "" 또는 null 을 내려보내는 불안정한 구조를 감안하여
- *    items를 Object로 받아 서비스에서 안전 변환 처리함
+ *    items를 Object로 받음
+ *  - 벤치마크의 기존 방식 측정용 (GPS는 items를 Object로 받은 뒤 convertValue 한 번 더)
  */
 
-package run_lion.reroute.realtimebus.dto;
+package run_lion.reroute.realtimebus.client;
 
 import lombok.Data;
 
@@ -0,0 +1,93 @@
+package run_lion.reroute.realtimebus.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TagoGateway single-flight: 같은 요청 합치기, 실패(Error 포함) 전달 후 다음 호출은 새로 실행
+ */
+class TagoGatewayTest {
+
+    private final TagoGateway gateway = new TagoGateway(null, null, null);
+
+    @Test
+    void concurrentCallsShareOneUpstreamCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> gateway.singleFlight("arrival:S1", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = pool.submit(() -> gateway.singleFlight("arrival:S1", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+
+            // 합류할 때까지 기다렸다가 풀어줌 (합류 전에 끝나면 follower가 새로 호출)
+            while (gateway.getCoalescedCalls() == 0) Thread.sleep(1);
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, gateway.getUpstreamCalls());
+    }
+
+    @Test
+    void errorIsDeliveredToWaitersAndNotKept() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> gateway.<String>singleFlight("gps:R1:S1", () -> {
+                started.countDown();
+                await(release);
+                throw new OutOfMemoryError("decode");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = pool.submit(() -> gateway.singleFlight("gps:R1:S1", () -> "other"));
+
+            while (gateway.getCoalescedCalls() == 0) Thread.sleep(1);
+            release.countDown();
+
+            // 기다리던 요청도 같은 Error로 끝남 (RuntimeException이 아니어도 묶여 있지 않음)
+            assertTrue(assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause()
+                    instanceof OutOfMemoryError);
+            assertTrue(assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause()
+                    instanceof OutOfMemoryError);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals("fresh", gateway.singleFlight("gps:R1:S1", () -> "fresh"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package run_lion.reroute.realtimebus.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.dto.BusGpsDto;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TAGO 응답 변환: 기존 방식(ArrivalResponse/TagoBusGpsResponse 트리 → DTO 복사, GPS는 convertValue 한 번 더) vs
+ * TagoResponseDecoder(스트리밍으로 DTO 직접 생성) 비교
+ *
+ * - 도착정보는 실제 응답 규모(정류소당 ARRIVALS건, 필드 전부 포함), GPS는 GPS_BUSES건
+ * - ObjectMapper는 Spring Boot 기본값처럼 모르는 필드 무시 (numOfRows 등)
+ * - 측정 전에 두 방식의 변환 결과가 같은지 확인 (items 변형은 TagoResponseDecoderTest)
+ *
+ * 실행: ./gradlew benchmark --tests '*TagoResponseDecoderBenchmark'
+ */
+@Tag("benchmark")
+class TagoResponseDecoderBenchmark {
+
+    private static final int ARRIVALS = 12;
+    private static final int GPS_BUSES = 4;
+    private static final int DECODES = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final TagoResponseDecoder decoder = new TagoResponseDecoder(objectMapper);
+
+    @Test
+    void streamingVsTree() throws IOException {
+        byte[] arrivals = arrivalPayload(ARRIVALS);
+        byte[] gps = gpsPayload(GPS_BUSES);
+
+        // 측정 전에 두 방식 결과가 같은지 확인 (items 변형별 검증은 TagoResponseDecoderTest)
+        assertEquals(legacyArrivals(arrivals), decoder.decodeArrivals(arrivals));
+        assertEquals(legacyBusGps(gps), decoder.decodeBusGps(gps));
+
+        System.out.printf("[TagoResponseDecoderBenchmark] arrival payload=%d B (%d items), gps payload=%d B (%d items), decodes=%d%n",
+                arrivals.length, ARRIVALS, gps.length, GPS_BUSES, DECODES);
+
+        for (int i = 0; i < 3; i++) {
+            runLegacyArrivals(arrivals);
+            runStreamingArrivals(arrivals);
+            runLegacyBusGps(gps);
+            runStreamingBusGps(gps);
+        }
+
+        report("arrival legacy   ", () -> runLegacyArrivals(arrivals));
+        report("arrival streaming", () -> runStreamingArrivals(arrivals));
+        report("gps     legacy   ", () -> runLegacyBusGps(gps));
+        report("gps     streaming", () -> runStreamingBusGps(gps));
+    }
+
+    private void report(String label, IoRun run) throws IOException {
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        int sink = run.run();
+        long ns = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        System.out.printf("  %s : %7.2f us/decode %7d B/decode (sink=%d)%n",
+                label, ns / 1000.0 / DECODES, bytes / DECODES, sink);
+    }
+
+    private int runLegacyArrivals(byte[] body) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < DECODES; i++) sink += legacyArrivals(body).size();
+        return sink;
+    }
+
+    private int runStreamingArrivals(byte[] body) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < DECODES; i++) sink += decoder.decodeArrivals(body).size();
+        return sink;
+    }
+
+    private int runLegacyBusGps(byte[] body) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < DECODES; i++) sink += legacyBusGps(body).size();
+        return sink;
+    }
+
+    private int runStreamingBusGps(byte[] body) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < DECODES; i++) sink += decoder.decodeBusGps(body).size();
+        return sink;
+    }
+
+    /**
+     * 기존 TagoGateway(readValue) + TagoArrivalClient(DTO 복사) 경로
+     */
+    private List<RealtimeArrivalDto> legacyArrivals(byte[] body) throws IOException {
+        ArrivalResponse response = objectMapper.readValue(body, ArrivalResponse.class);
+        List<RealtimeArrivalDto> result = new ArrayList<>();
+        if (response == null || response.getResponse() == null || response.getResponse().getBody() == null
+                || response.getResponse().getBody().getItems() == null) {
+            return result;
+        }
+        var items = response.getResponse().getBody().getItems().getItem();
+        if (items == null) return result;
+
+        for (var item : items) {
+            result.add(new RealtimeArrivalDto(item.getRouteid(), item.getRouteno(),
+                    (item.getArrtime() + 59) / 60, item.getArrprevstationcnt()));
+        }
+        return result;
+    }
+
+    /**
+     * 기존 TagoGateway(readValue) + BusGpsService(convertValue + DTO 복사) 경로
+     */
+    private List<BusGpsDto> legacyBusGps(byte[] body) throws IOException {
+        TagoBusGpsResponse response = objectMapper.readValue(body, TagoBusGpsResponse.class);
+        List<BusGpsDto> result = new ArrayList<>();
+        if (response == null || response.getResponse() == null || response.getResponse().getBody() == null) {
+            return result;
+        }
+        Object rawItems = response.getResponse().getBody().getItems();
+        if (rawItems == null || (rawItems instanceof String s && s.isBlank())) {
+            return result;
+        }
+        TagoBusGpsResponse.Items items = objectMapper.convertValue(rawItems, TagoBusGpsResponse.Items.class);
+        if (items.getItem() == null) return result;
+
+        for (TagoBusGpsResponse.Item item : items.getItem()) {
+            result.add(new BusGpsDto(item.getRoutenm(), item.getGpslati(), item.getGpslong(),
+                    item.getNodenm(), item.getRoutetp()));
+        }
+        return result;
+    }
+
+    private static byte[] arrivalPayload(int count) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) items.append(',');
+            items.append("{\"arrprevstationcnt\":").append(1 + i % 9)
+                    .append(",\"arrtime\":").append(60 + i * 137)
+                    .append(",\"nodeid\":\"CJB283000141\",\"nodenm\":\"한국교통대학교\"")
+                    .append(",\"routeid\":\"CJB2700").append(10000 + i).append('"')
+                    .append(",\"routeno\":").append(400 + i * 10)
+                    .append(",\"routetp\":\"일반버스\",\"vehicletp\":\"일반차량\"}");
+        }
+        return wrap(count == 1 ? items.toString() : "[" + items + "]", count);
+    }
+
+    private static byte[] gpsPayload(int count) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) items.append(',');
+            items.append("{\"gpslati\":").append(36.97 + i * 0.001)
+                    .append(",\"gpslong\":").append(127.93 + i * 0.001)
+                    .append(",\"nodeid\":\"CJB28300").append(1000 + i).append('"')
+                    .append(",\"nodenm\":\"충주역\",\"nodeord\":").append(10 + i)
+                    .append(",\"routenm\":").append(400)
+                    .append(",\"routetp\":\"일반버스\",\"vehicleno\":\"충북70자").append(1000 + i).append("\"}");
+        }
+        return wrap(count == 1 ? items.toString() : "[" + items + "]", count);
+    }
+
+    private static byte[] wrap(String item, int count) {
+        return ("{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"},"
+                + "\"body\":{\"items\":{\"item\":" + item + "},\"numOfRows\":50,\"pageNo\":1,\"totalCount\":" + count + "}}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    private interface IoRun {
+        int run() throws IOException;
+    }
+}
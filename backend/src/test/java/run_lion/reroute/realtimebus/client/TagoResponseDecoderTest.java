@@ -0,0 +1,69 @@
+package run_lion.reroute.realtimebus.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.dto.BusGpsDto;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TagoResponseDecoder: items 변형("" / 객체 1개 / 배열)과 필드 타입이 섞인 응답
+ */
+class TagoResponseDecoderTest {
+
+    private final TagoResponseDecoder decoder = new TagoResponseDecoder(new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+
+    @Test
+    void arrivalItemsArray() throws IOException {
+        byte[] body = wrap("[{\"arrprevstationcnt\":3,\"arrtime\":121,\"nodeid\":\"CJB283000141\",\"routeid\":\"CJB270001000\","
+                + "\"routeno\":400,\"routetp\":\"일반버스\",\"vehicletp\":\"일반차량\"},"
+                + "{\"arrprevstationcnt\":7,\"arrtime\":480,\"routeid\":\"CJB270002000\",\"routeno\":\"101-1\"}]");
+
+        // 도착 예정 초 → 분 올림
+        assertEquals(List.of(
+                new RealtimeArrivalDto("CJB270001000", "400", 3, 3),
+                new RealtimeArrivalDto("CJB270002000", "101-1", 8, 7)), decoder.decodeArrivals(body));
+    }
+
+    @Test
+    void singleItemObject() throws IOException {
+        byte[] arrival = wrap("{\"routeid\":\"CJB270001000\",\"routeno\":400,\"arrtime\":60,\"arrprevstationcnt\":1}");
+        assertEquals(List.of(new RealtimeArrivalDto("CJB270001000", "400", 1, 1)), decoder.decodeArrivals(arrival));
+
+        byte[] gps = wrap("{\"gpslati\":36.97,\"gpslong\":127.93,\"nodeid\":\"CJB283001000\",\"nodenm\":\"충주역\","
+                + "\"nodeord\":10,\"routenm\":400,\"routetp\":\"일반버스\",\"vehicleno\":\"충북70자1000\"}");
+        assertEquals(List.of(new BusGpsDto("400", 36.97, 127.93, "충주역", "일반버스")), decoder.decodeBusGps(gps));
+    }
+
+    @Test
+    void emptyItemsString() throws IOException {
+        byte[] body = ("{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"},"
+                + "\"body\":{\"items\":\"\",\"numOfRows\":50,\"pageNo\":1,\"totalCount\":0}}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(decoder.decodeArrivals(body).isEmpty());
+        assertTrue(decoder.decodeBusGps(body).isEmpty());
+    }
+
+    @Test
+    void mixedFieldTypes() throws IOException {
+        // 숫자로 온 routeno / 문자열로 온 arrtime
+        byte[] body = wrap("{\"routeid\":\"CJB270001000\",\"routeno\":400,\"arrtime\":\"121\",\"arrprevstationcnt\":3}");
+
+        assertEquals(List.of(new RealtimeArrivalDto("CJB270001000", "400", 3, 3)), decoder.decodeArrivals(body));
+    }
+
+    private static byte[] wrap(String item) {
+        return ("{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"},"
+                + "\"body\":{\"items\":{\"item\":" + item + "},\"numOfRows\":50,\"pageNo\":1}}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package run_lion.reroute.realtimebus.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import run_lion.reroute.realtimebus.dto.TagoStatsDto;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * TagoTransport 지연 시간 기록과 세마포어 반환: 시간 초과는 제한 시간으로, hedging해도 첫 요청 기준,
+ * 자리는 교환이 실제로 끝날 때 반환
+ * (HTTP 호출은 테스트가 직접 완료시키는 future, 시계는 테스트가 직접 움직임)
+ */
+class TagoTransportTest {
+
+    private static final int MAX_CONCURRENT = 4;
+    private static final long TIMEOUT_MS = 100;
+    private static final URI URI_ARRIVAL = URI.create("http://tago.test/arrival");
+
+    private final AtomicLong clockNanos = new AtomicLong();
+    /** 보낼 때마다 순서대로 꺼내 쓸 교환 (비었으면 미완료 future) */
+    private final List<CompletableFuture<HttpResponse<byte[]>>> planned = new CopyOnWriteArrayList<>();
+    /** 실제로 보낸 교환 */
+    private final List<CompletableFuture<HttpResponse<byte[]>>> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void timeoutIsRecordedAtTimeoutValue() {
+        TagoTransport transport = transport(TIMEOUT_MS, false, this::sendPlanned);
+        plan(new CompletableFuture<>());
+
+        assertThrows(ResourceAccessException.class, () -> transport.get(TagoTransport.Operation.ARRIVAL, URI_ARRIVAL));
+        assertEquals(1, arrivalStats(transport).getErrors());
+        // 결과는 버렸어도 교환이 끝나기 전에는 자리를 돌려주지 않음
+        assertEquals(MAX_CONCURRENT - 1, availablePermits(transport));
+
+        // HttpClient가 요청 제한 시간을 넘겨 끝냄 → 걸린 시간이 더 길어도 제한 시간으로 기록
+        advanceMillis(TIMEOUT_MS + 50);
+        sent.get(0).completeExceptionally(new HttpTimeoutException("request timed out"));
+
+        assertEquals(MAX_CONCURRENT, availablePermits(transport));
+        assertEquals(TIMEOUT_MS, arrivalStats(transport).getP99Ms());
+    }
+
+    @Test
+    void hedgedCallRecordsPrimaryLatency() {
+        TagoTransport transport = transport(2000, true, this::sendPlanned);
+        warmUp(transport);
+
+        // 첫 요청은 응답이 없고 hedge는 바로 응답
+        plan(new CompletableFuture<>());
+        plan(CompletableFuture.completedFuture(ok()));
+        byte[] body = transport.get(TagoTransport.Operation.ARRIVAL, URI_ARRIVAL);
+
+        assertArrayEquals("ok".getBytes(StandardCharsets.UTF_8), body);
+        assertEquals(2, sent.size());
+        assertEquals(1, arrivalStats(transport).getHedges());
+        assertEquals(1, arrivalStats(transport).getHedgeWins());
+        // 첫 요청은 아직 진행 중 → 자리 하나 사용 중, 기록 없음
+        assertEquals(MAX_CONCURRENT - 1, availablePermits(transport));
+        assertEquals(0, arrivalStats(transport).getP99Ms());
+
+        // 응답은 hedge로 받았어도 기록은 첫 요청이 끝난 시간
+        advanceMillis(700);
+        sent.get(0).complete(ok());
+
+        assertEquals(MAX_CONCURRENT, availablePermits(transport));
+        assertEquals(700, arrivalStats(transport).getP99Ms());
+    }
+
+    @Test
+    void discardedHedgeHoldsPermitUntilItFinishes() {
+        CompletableFuture<HttpResponse<byte[]>> primary = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<byte[]>> hedge = new CompletableFuture<>();
+        // hedge가 나가는 순간 첫 요청이 응답 → 첫 요청이 이기고 hedge 결과는 버림
+        TagoTransport transport = transport(2000, true, request -> {
+            CompletableFuture<HttpResponse<byte[]>> exchange = sendPlanned(request);
+            if (exchange == hedge) primary.complete(ok());
+            return exchange;
+        });
+        warmUp(transport);
+        plan(primary);
+        plan(hedge);
+
+        transport.get(TagoTransport.Operation.ARRIVAL, URI_ARRIVAL);
+
+        assertEquals(0, arrivalStats(transport).getHedgeWins());
+        assertEquals(MAX_CONCURRENT - 1, availablePermits(transport));
+
+        hedge.completeExceptionally(new HttpTimeoutException("request timed out"));
+        assertEquals(MAX_CONCURRENT, availablePermits(transport));
+    }
+
+    /**
+     * @param timeoutMs 응답 대기는 실제 시간 (응답하지 않는 future를 기다리는 시간), 기록은 테스트 시계 기준
+     */
+    private TagoTransport transport(long timeoutMs, boolean hedging, TagoTransport.Sender sender) {
+        return new TagoTransport(sender, clockNanos::get, MAX_CONCURRENT, 1000, hedging,
+                timeoutMs, timeoutMs, timeoutMs);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendPlanned(HttpRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> exchange = planned.isEmpty()
+                ? new CompletableFuture<>() : planned.remove(0);
+        sent.add(exchange);
+        return exchange;
+    }
+
+    /**
+     * 지연 0인 호출을 쌓아 hedging 대기 시간을 최소값(50ms)으로
+     */
+    private void warmUp(TagoTransport transport) {
+        for (int i = 0; i < 20; i++) {
+            plan(CompletableFuture.completedFuture(ok()));
+            transport.get(TagoTransport.Operation.ARRIVAL, URI_ARRIVAL);
+        }
+        sent.clear();
+    }
+
+    private void plan(CompletableFuture<HttpResponse<byte[]>> exchange) {
+        planned.add(exchange);
+    }
+
+    private void advanceMillis(long millis) {
+        clockNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static int availablePermits(TagoTransport transport) {
+        return ((Semaphore) ReflectionTestUtils.getField(transport, "permits")).availablePermits();
+    }
+
+    private static TagoStatsDto.OperationStats arrivalStats(TagoTransport transport) {
+        return transport.stats().get(TagoTransport.Operation.ARRIVAL.ordinal());
+    }
+
+    private static HttpResponse<byte[]> ok() {
+        return new BodyResponse("ok".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class BodyResponse implements HttpResponse<byte[]> {
+        private final byte[] body;
+
+        private BodyResponse(byte[] body) {
+            this.body = body;
+        }
+
+        @Override public int statusCode() { return 200; }
+        @Override public HttpRequest request() { return HttpRequest.newBuilder(URI_ARRIVAL).build(); }
+        @Override public Optional<HttpResponse<byte[]>> previousResponse() { return Optional.empty(); }
+        @Override public HttpHeaders headers() { return HttpHeaders.of(Map.of(), (name, value) -> true); }
+        @Override public byte[] body() { return body; }
+        @Override public Optional<SSLSession> sslSession() { return Optional.empty(); }
+        @Override public URI uri() { return URI_ARRIVAL; }
+        @Override public HttpClient.Version version() { return HttpClient.Version.HTTP_1_1; }
+    }
+}
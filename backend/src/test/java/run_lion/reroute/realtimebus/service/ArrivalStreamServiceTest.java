@@ -0,0 +1,99 @@
+package run_lion.reroute.realtimebus.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import run_lion.reroute.realtimebus.cache.ArrivalBoard;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
+import run_lion.reroute.realtimebus.dto.RealtimeArrivalDto;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ArrivalStreamService.broadcast: 느린 정류소 조회가 스케줄러 스레드/다른 정류소를 막지 않고,
+ * 같은 정류소 조회는 끝나기 전까지 다시 보내지 않음
+ */
+class ArrivalStreamServiceTest {
+
+    private final ArrivalBoard board = new ArrivalBoard();
+    private final Map<String, AtomicInteger> refreshes = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // 스냅샷은 항상 만료된 상태(1시간 전 조회)로 게시 → tick마다 갱신 대상
+    // SLOW는 구독 시 첫 조회 이후부터 release까지 막힘
+    private final ArrivalPoller poller = new ArrivalPoller(null, board) {
+        @Override
+        public ArrivalSnapshot refresh(String stationId) {
+            int call = refreshes.computeIfAbsent(stationId, id -> new AtomicInteger()).incrementAndGet();
+            if (stationId.equals("SLOW") && call > 1) await(release);
+            ArrivalSnapshot snapshot = ArrivalSnapshot.of(stationId,
+                    List.of(new RealtimeArrivalDto("R1", "400", 60 + call, 3)), Instant.now().minusSeconds(3600));
+            board.publish(snapshot);
+            return snapshot;
+        }
+    };
+
+    private final ArrivalStreamService service = new ArrivalStreamService(
+            board, poller, new RealtimeBusArrivalService(board, poller, new TransitGraphProvider(null, null, null)),
+            executor);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowStationDoesNotBlockBroadcast() throws Exception {
+        ReflectionTestUtils.setField(service, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        assertNotNull(service.subscribe("SLOW"));
+        assertNotNull(service.subscribe("FAST"));
+
+        long start = System.nanoTime();
+        service.broadcast();
+        // 스케줄러 스레드는 조회를 기다리지 않음
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 500);
+        awaitRefreshes("FAST", 2);
+
+        // SLOW는 아직 조회 중 → 다시 보내지 않음, FAST는 계속 갱신
+        service.broadcast();
+        awaitRefreshes("FAST", 3);
+        assertEquals(2, refreshes.get("SLOW").get());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, refreshes.get("SLOW").get());
+    }
+
+    private void awaitRefreshes(String stationId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (refreshes.get(stationId).get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, refreshes.get(stationId).get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package run_lion.reroute.realtimebus.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import run_lion.reroute.realtimebus.cache.ArrivalBoard;
+import run_lion.reroute.realtimebus.cache.ArrivalSnapshot;
+import run_lion.reroute.realtimebus.constant.StationIds;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RealtimeBusArrivalService: 노선망에 있는 정류소만 허용/학습, TAGO 호출 콜백은 직접 갱신한 경우만,
+ * ArrivalPoller 요청 수는 상한 개수의 정류소까지만 셈
+ */
+class RealtimeBusArrivalServiceTest {
+
+    private final ArrivalBoard board = new ArrivalBoard();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    private final ArrivalPoller poller = new ArrivalPoller(null, board) {
+        @Override
+        public ArrivalSnapshot refresh(String stationId) {
+            refreshes.incrementAndGet();
+            ArrivalSnapshot snapshot = ArrivalSnapshot.of(stationId, List.of(), Instant.now());
+            board.publish(snapshot);
+            return snapshot;
+        }
+    };
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final RealtimeBusArrivalService service = new RealtimeBusArrivalService(board, poller,
+            new TransitGraphProvider(null, null, null) {
+                @Override
+                public TransitGraph current() {
+                    return graph;
+                }
+            });
+
+    @Test
+    void onlyGraphAndFixedStationsAreKnown() {
+        assertTrue(service.isKnownStation("S1"));
+        assertTrue(service.isKnownStation(StationIds.TERMINAL));
+        assertFalse(service.isKnownStation("NOT-A-STATION"));
+
+        // 노선망을 아직 못 읽었으면 확인 불가 → 허용
+        RealtimeBusArrivalService unloaded = new RealtimeBusArrivalService(board, poller,
+                new TransitGraphProvider(null, null, null));
+        assertTrue(unloaded.isKnownStation("NOT-A-STATION"));
+    }
+
+    @Test
+    void upstreamCallbackOnlyWhenThisCallRefreshes() {
+        AtomicInteger upstream = new AtomicInteger();
+
+        service.getRealtimeArrival("S1", upstream::incrementAndGet);
+        assertEquals(1, upstream.get());
+
+        // 유효한 스냅샷 (방금 다른 요청/poller가 갱신) → 호출 없음
+        board.publish(ArrivalSnapshot.of("S2", List.of(), Instant.now()));
+        service.getRealtimeArrival("S1", upstream::incrementAndGet);
+        service.getRealtimeArrival("S2", upstream::incrementAndGet);
+
+        assertEquals(1, upstream.get());
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void requestCountsAreCappedAndUnknownStationsNotRecorded() {
+        ReflectionTestUtils.setField(poller, "configuredStations", new String[0]);
+        ReflectionTestUtils.setField(poller, "learnThreshold", 1);
+        ReflectionTestUtils.setField(poller, "maxLearned", 10);
+        ReflectionTestUtils.setField(poller, "maxTracked", 2);
+
+        service.getRealtimeArrival("NOT-A-STATION");
+        service.getRealtimeArrival("S1");
+        service.getRealtimeArrival("S2");
+        service.getRealtimeArrival("S3");   // 이미 2곳을 세는 중 → 무시
+        service.getRealtimeArrival("S1");
+        poller.relearn();
+
+        assertTrue(poller.hotStations().containsAll(List.of("S1", "S2")));
+        assertFalse(poller.hotStations().contains("S3"));
+        assertFalse(poller.hotStations().contains("NOT-A-STATION"));
+    }
+}
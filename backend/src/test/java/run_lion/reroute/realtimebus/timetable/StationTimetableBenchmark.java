@@ -0,0 +1,156 @@
+package run_lion.reroute.realtimebus.timetable;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.dto.LocalArrivalDto;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * /api/local/arrival/{stationId} 조회: 기존 방식(LocalTime 리스트 → LocalDateTime 변환/정렬) vs
+ * StationTimetable(이진 탐색 + k-way 병합) 비교
+ *
+ * 시간표는 실제 엑셀 규모(정류소당 노선 12개, 노선당 05:30~23:00 사이 30회 안팎)로 생성
+ * limit은 앱 기본값(10) 전후인 5/10/20
+ *
+ * 실행: ./gradlew benchmark --tests '*StationTimetableBenchmark'
+ */
+@Tag("benchmark")
+class StationTimetableBenchmark {
+
+    private static final int ROUTES = 12;
+    private static final int QUERIES = 100_000;
+    private static final int[] LIMITS = {5, 10, 20};
+
+    @Test
+    void binarySearchMergeVsLegacyStreams() {
+        Random random = new Random(7);
+        Map<String, List<LocalTime>> legacy = randomTimetable(random);
+        StationTimetable timetable = StationTimetable.of(toMinutes(legacy));
+        int[] nowSeconds = random.ints(QUERIES, 0, StationTimetable.SECONDS_PER_DAY).toArray();
+
+        // 결과 동일성 확인 (같은 분에 여러 노선이 있으면 순서가 다를 수 있어 남은 초만 비교)
+        for (int limit : LIMITS) {
+            for (int i = 0; i < 2_000; i++) {
+                assertEquals(
+                        seconds(legacyArrivals(legacy, nowSeconds[i], limit)),
+                        seconds(timetable.nextArrivals(nowSeconds[i], limit)));
+            }
+        }
+
+        System.out.printf("[StationTimetableBenchmark] routes=%d departures=%d queries=%d%n",
+                ROUTES, timetable.departureCount(), QUERIES);
+
+        for (int limit : LIMITS) {
+            for (int i = 0; i < 3; i++) {
+                runLegacy(legacy, nowSeconds, limit);
+                runTimetable(timetable, nowSeconds, limit);
+            }
+
+            long legacyBytes = allocatedBytes();
+            long legacyNs = runLegacy(legacy, nowSeconds, limit);
+            legacyBytes = allocatedBytes() - legacyBytes;
+
+            long timetableBytes = allocatedBytes();
+            long timetableNs = runTimetable(timetable, nowSeconds, limit);
+            timetableBytes = allocatedBytes() - timetableBytes;
+
+            System.out.printf("  limit=%-3d legacy : %8.2f us/query %8d B/query%n",
+                    limit, legacyNs / 1000.0 / QUERIES, legacyBytes / QUERIES);
+            System.out.printf("  limit=%-3d binary : %8.2f us/query %8d B/query%n",
+                    limit, timetableNs / 1000.0 / QUERIES, timetableBytes / QUERIES);
+        }
+    }
+
+    private long runLegacy(Map<String, List<LocalTime>> legacy, int[] nowSeconds, int limit) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int now : nowSeconds) {
+            sink += legacyArrivals(legacy, now, limit).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    private long runTimetable(StationTimetable timetable, int[] nowSeconds, int limit) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int now : nowSeconds) {
+            sink += timetable.nextArrivals(now, limit).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    /**
+     * 변경 전 LocalBusArrivalService.getArrivals 로직 그대로
+     */
+    private List<LocalArrivalDto> legacyArrivals(Map<String, List<LocalTime>> byRoute, int nowSecondOfDay, int limit) {
+        LocalDateTime now = LocalDateTime.of(LocalDate.of(2025, 3, 4), LocalTime.ofSecondOfDay(nowSecondOfDay));
+        List<LocalArrivalDto> out = new ArrayList<>();
+
+        for (Map.Entry<String, List<LocalTime>> entry : byRoute.entrySet()) {
+            List<LocalDateTime> nextTimes = entry.getValue().stream()
+                    .map(t -> LocalDateTime.of(now.toLocalDate(), t))
+                    .map(dt -> dt.isBefore(now) ? dt.plusDays(1) : dt)
+                    .sorted()
+                    .limit(limit)
+                    .toList();
+
+            for (LocalDateTime dt : nextTimes) {
+                long sec = Duration.between(now, dt).getSeconds();
+                if (sec < 0) continue;
+                out.add(new LocalArrivalDto(null, entry.getKey(), (int) sec, -1));
+            }
+        }
+
+        return out.stream()
+                .sorted(Comparator.comparingInt(LocalArrivalDto::getArr_time))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, List<LocalTime>> randomTimetable(Random random) {
+        Map<String, List<LocalTime>> byRoute = new HashMap<>();
+        for (int r = 0; r < ROUTES; r++) {
+            List<LocalTime> times = new ArrayList<>();
+            int headway = 20 + random.nextInt(25);
+            for (int m = 330 + random.nextInt(headway); m < 23 * 60; m += headway + random.nextInt(7) - 3) {
+                times.add(LocalTime.of(m / 60, m % 60));
+            }
+            byRoute.put(String.valueOf(100 + r * 10), times);
+        }
+        return byRoute;
+    }
+
+    private Map<String, int[]> toMinutes(Map<String, List<LocalTime>> legacy) {
+        Map<String, int[]> minutes = new HashMap<>();
+        legacy.forEach((routeNo, times) -> minutes.put(routeNo,
+                times.stream().mapToInt(t -> t.getHour() * 60 + t.getMinute()).toArray()));
+        return minutes;
+    }
+
+    private List<Integer> seconds(List<LocalArrivalDto> arrivals) {
+        return arrivals.stream().map(LocalArrivalDto::getArr_time).toList();
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,88 @@
+package run_lion.reroute.realtimebus.timetable;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * TimetableBinaryCodec: 작은 시간표 왕복 변환과 오래된/깨진 캐시 처리
+ */
+class TimetableBinaryCodecTest {
+
+    private final byte[] source = "workbook".getBytes(StandardCharsets.UTF_8);
+    private final byte[] hash = TimetableBinaryCodec.sourceHash(source, TimetableXlsxParser.PARSER_VERSION);
+
+    private final Timetable timetable = Timetable.of(Map.of(
+            "CHB272062029", StationTimetable.of(Map.of(
+                    "101", new int[]{330, 390, 1439},
+                    "112-1", new int[]{400})),
+            "CHB272043072", StationTimetable.of(Map.of("999", new int[]{0, 1500}))));
+
+    @Test
+    void roundTrip() throws IOException {
+        Timetable read = TimetableBinaryCodec.read(new ByteArrayInputStream(encode(timetable)), hash);
+
+        assertNotNull(read);
+        assertEquals(timetable.stationIds(), read.stationIds());
+        for (String stationId : timetable.stationIds()) {
+            StationTimetable expected = timetable.station(stationId);
+            StationTimetable actual = read.station(stationId);
+            assertEquals(expected.routeCount(), actual.routeCount());
+            for (int r = 0; r < expected.routeCount(); r++) {
+                assertEquals(expected.routeNo(r), actual.routeNo(r));
+                // 자정 넘은 회차(1440 이상)도 그대로
+                assertArrayEquals(expected.departures(r), actual.departures(r));
+            }
+        }
+        assertEquals(timetable.departureCount(), read.departureCount());
+    }
+
+    @Test
+    void staleCacheReadsAsNull() throws IOException {
+        byte[] binary = encode(timetable);
+
+        // 원본이 바뀜
+        byte[] otherSource = TimetableBinaryCodec.sourceHash("edited".getBytes(StandardCharsets.UTF_8),
+                TimetableXlsxParser.PARSER_VERSION);
+        assertNull(TimetableBinaryCodec.read(new ByteArrayInputStream(binary), otherSource));
+
+        // 파서 버전이 바뀜
+        byte[] otherParser = TimetableBinaryCodec.sourceHash(source, TimetableXlsxParser.PARSER_VERSION + 1);
+        assertNull(TimetableBinaryCodec.read(new ByteArrayInputStream(binary), otherParser));
+
+        // 캐시 파일이 아님
+        assertNull(TimetableBinaryCodec.read(new ByteArrayInputStream(source), hash));
+    }
+
+    @Test
+    void streamHashMatchesByteHash() throws IOException {
+        assertArrayEquals(hash, TimetableBinaryCodec.sourceHash(new ByteArrayInputStream(source),
+                TimetableXlsxParser.PARSER_VERSION));
+    }
+
+    @Test
+    void truncatedCacheThrows() throws IOException {
+        byte[] binary = encode(timetable);
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+
+        assertThrows(EOFException.class, () -> TimetableBinaryCodec.read(new ByteArrayInputStream(truncated), hash));
+    }
+
+    private byte[] encode(Timetable timetable) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TimetableBinaryCodec.write(timetable, hash, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package run_lion.reroute.realtimebus.timetable;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 서버 시작 시 시간표 적재: 엑셀(POI) 파싱 vs 바이너리 캐시 읽기
+ *
+ * 첫 회(콜드)와 반복 평균을 함께 출력 - 실제 부팅은 콜드 1회에 가까움
+ * 캐시를 쓰는 부팅도 원본 해시(SHA-256)는 매번 계산하므로 "해시 + 바이너리 읽기"를 따로 출력
+ * 캐시 포맷 자체의 검증은 TimetableBinaryCodecTest, 여기서는 실제 엑셀과 같은 결과인지만 측정 전에 확인
+ *
+ * 실행: ./gradlew benchmark --tests '*TimetableLoadBenchmark'
+ */
+@Tag("benchmark")
+class TimetableLoadBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    @Test
+    void xlsxVsBinaryCache() throws IOException {
+        byte[] xlsx;
+        try (InputStream is = new ClassPathResource("chungju_bus_timetable.xlsx").getInputStream()) {
+            xlsx = is.readAllBytes();
+        }
+        byte[] hash = TimetableBinaryCodec.sourceHash(xlsx, TimetableXlsxParser.PARSER_VERSION);
+
+        long coldXlsx = System.nanoTime();
+        Timetable parsed = TimetableXlsxParser.parse(new ByteArrayInputStream(xlsx));
+        coldXlsx = System.nanoTime() - coldXlsx;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TimetableBinaryCodec.write(parsed, hash, out);
+        byte[] binary = out.toByteArray();
+
+        long coldBinary = System.nanoTime();
+        Timetable cached = TimetableBinaryCodec.read(new ByteArrayInputStream(binary), hash);
+        coldBinary = System.nanoTime() - coldBinary;
+
+        // 캐시에서 읽은 시간표가 엑셀 파싱 결과와 같은지
+        assertNotNull(cached);
+        assertEquals(parsed.stationIds(), cached.stationIds());
+        for (String stationId : parsed.stationIds()) {
+            StationTimetable a = parsed.station(stationId);
+            StationTimetable b = cached.station(stationId);
+            assertEquals(a.routeCount(), b.routeCount());
+            for (int r = 0; r < a.routeCount(); r++) {
+                assertEquals(a.routeNo(r), b.routeNo(r));
+                assertArrayEquals(a.departures(r), b.departures(r));
+            }
+        }
+
+        long xlsxNs = 0;
+        long binaryNs = 0;
+        long hashNs = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            TimetableXlsxParser.parse(new ByteArrayInputStream(xlsx));
+            xlsxNs += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TimetableBinaryCodec.sourceHash(xlsx, TimetableXlsxParser.PARSER_VERSION);
+            hashNs += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TimetableBinaryCodec.read(new ByteArrayInputStream(binary), hash);
+            binaryNs += System.nanoTime() - start;
+        }
+
+        System.out.printf("[TimetableLoadBenchmark] xlsx=%d bytes, binary=%d bytes, stations=%d, departures=%d%n",
+                xlsx.length, binary.length, parsed.stationIds().size(), parsed.departureCount());
+        System.out.printf("  xlsx parse   : cold %8.2f ms, warm %8.2f ms%n", coldXlsx / 1e6, xlsxNs / 1e6 / ROUNDS);
+        System.out.printf("  binary read  : cold %8.2f ms, warm %8.2f ms%n", coldBinary / 1e6, binaryNs / 1e6 / ROUNDS);
+        System.out.printf("  hash + read  : warm %8.2f ms (%.0fx faster than xlsx)%n",
+                (hashNs + binaryNs) / 1e6 / ROUNDS, (double) xlsxNs / (hashNs + binaryNs));
+    }
+}
@@ -0,0 +1,92 @@
+package run_lion.reroute.realtimebus.timetable;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.constant.StationIds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TimetableRowCollector: TimetableXlsxParser가 넘기는 행(셀 문자열 목록)으로 정류소/노선별 출발 시각 수집
+ * (POI 없이 행을 직접 전달, 파서처럼 같은 리스트를 행마다 재사용)
+ *
+ * - 공유 문자열 시각("8:10", "08:17:00", "8:30/8:35"), 시각 서식 숫자 셀("H:mm"), 서식 없는 숫자 셀(하루의 분수)
+ * - 빈 셀/짧은 행, "직행"·범위 밖 시각은 건너뜀
+ * - 헤더 행은 데이터로 읽지 않고 열 배치만 바꿈, 노선번호가 나오기 전 행은 버림
+ */
+class TimetableRowCollectorTest {
+
+    private final TimetableRowCollector collector = new TimetableRowCollector();
+    private final List<String> row = new ArrayList<>();
+    private int rowIndex;
+
+    @Test
+    void collectsDeparturesPerSection() {
+        // 999 블록 (맨 첫 줄, "노선번호" 없음 → A열이 노선번호)
+        feed("", "터미널", "교통대");
+        feed("999", "6:30", "6:50");
+        feed("", "0.28125", "");                    // 노선번호 빈 셀 → 999 계속, 서식 없는 숫자 = 6:45
+        feed();                                     // 빈 행
+
+        // 일반 섹션 헤더 (충주역 두 번 = 방향 2개)
+        feed("노선번호", "비고", "충주역", "터미널", "충주역");
+        feed("", "", "7:00");                       // 노선번호 전 → 버림
+        feed("112-1", "직행", "08:17:00", "8:30/8:35", "");
+        feed("101", "", "9:05", "", "23:59");
+        feed("101", "", "직행", "25:00", "x");      // 시각 아님
+        feed("101");                                // 짧은 행
+
+        Timetable timetable = collector.build();
+
+        assertEquals(Set.of(StationIds.TERMINAL, StationIds.KNUT,
+                StationIds.STATION_TO_KNUT, StationIds.STATION_TO_TERMINAL), timetable.stationIds());
+        assertDepartures(timetable, StationIds.TERMINAL, Map.of("999", new int[]{390, 405}, "112-1", new int[]{510}));
+        assertDepartures(timetable, StationIds.KNUT, Map.of("999", new int[]{410}));
+        assertDepartures(timetable, StationIds.STATION_TO_KNUT, Map.of("112-1", new int[]{497}, "101", new int[]{545}));
+        assertDepartures(timetable, StationIds.STATION_TO_TERMINAL, Map.of("101", new int[]{1439}));
+    }
+
+    @Test
+    void rowsBeforeFirstHeaderAreIgnored() {
+        rowIndex = 3;
+        feed("101", "6:30", "6:50");
+
+        assertEquals(0, collector.build().departureCount());
+    }
+
+    @Test
+    void parseMinuteOfDay() {
+        assertEquals(490, TimetableRowCollector.parseMinuteOfDay("8:10"));
+        assertEquals(497, TimetableRowCollector.parseMinuteOfDay(" 08:17:00 "));
+        assertEquals(510, TimetableRowCollector.parseMinuteOfDay("8:30/8:35"));
+        assertEquals(405, TimetableRowCollector.parseMinuteOfDay("0.28125"));
+        assertEquals(-1, TimetableRowCollector.parseMinuteOfDay(""));
+        assertEquals(-1, TimetableRowCollector.parseMinuteOfDay(null));
+        assertEquals(-1, TimetableRowCollector.parseMinuteOfDay("직행"));
+        assertEquals(-1, TimetableRowCollector.parseMinuteOfDay("24:00"));
+        assertEquals(-1, TimetableRowCollector.parseMinuteOfDay("112"));
+    }
+
+    private void feed(String... cells) {
+        row.clear();
+        row.addAll(Arrays.asList(cells));
+        collector.row(rowIndex++, row);
+    }
+
+    private static void assertDepartures(Timetable timetable, String stationId, Map<String, int[]> expected) {
+        StationTimetable station = timetable.station(stationId);
+        Map<String, int[]> actual = new HashMap<>();
+        for (int r = 0; r < station.routeCount(); r++) {
+            actual.put(station.routeNo(r), station.departures(r));
+        }
+        assertEquals(expected.keySet(), actual.keySet(), stationId);
+        expected.forEach((routeNo, minutes) -> assertArrayEquals(minutes, actual.get(routeNo), stationId + " " + routeNo));
+    }
+}
@@ -0,0 +1,109 @@
+package run_lion.reroute.routing;
+
+import run_lion.reroute.realtimebus.timetable.StationTimetable;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.routing.engine.Journey;
+import run_lion.reroute.routing.engine.JourneyLeg;
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단위 테스트용 손으로 만든 작은 노선망 (정답 여정을 직접 계산할 수 있는 크기)
+ *
+ * 정류장 (위도 0.01도 ≈ 1.1km 간격 → 환승 도보 없음, D ↔ D2만 약 110m → 도보 2분)
+ *   A - B - C - D · D2 - E - F       Z (어느 노선도 지나지 않음)
+ *
+ * 노선 (이름 = 시간표 노선번호)
+ *   100 : A → B → C
+ *   200 : C → D
+ *   300 : D2 → E
+ *   400 : E → F → E → A   (E를 두 번 지나는 순환 노선)
+ *   500 : A → E           (직행, 시간표상 늦은 회차 1개)
+ *
+ * 시간표 (기준 정류장 출발 시각, 자정 기준 분)
+ *   100 @A : 480, 500      200 @C : 485, 490, 520      300 @D2 : 495, 530
+ *   400 @E : 600           500 @A : 700
+ */
+public final class SmallNetworkFixture {
+
+    public static final int MINUTES_PER_STOP = 2;
+
+    // 정류장 인덱스 (ID 오름차순으로 부여되므로 아래 순서와 같음)
+    public static final int A = 0;
+    public static final int B = 1;
+    public static final int C = 2;
+    public static final int D = 3;
+    public static final int D2 = 4;
+    public static final int E = 5;
+    public static final int F = 6;
+    public static final int Z = 7;
+
+    // 노선 인덱스
+    public static final int R100 = 0;
+    public static final int R200 = 1;
+    public static final int R300 = 2;
+    public static final int R400 = 3;
+    public static final int R500 = 4;
+
+    private static final String[] STATION_NAMES = {"A", "B", "C", "D", "D2", "E", "F", "Z"};
+    private static final String[] ROUTE_NAMES = {"100", "200", "300", "400", "500"};
+
+    private SmallNetworkFixture() {
+    }
+
+    public static TransitGraph graph() {
+        List<Station> stations = List.of(
+                new Station("S1", "A", 36.900, 127.900),
+                new Station("S2", "B", 36.910, 127.900),
+                new Station("S3", "C", 36.920, 127.900),
+                new Station("S4", "D", 36.930, 127.900),
+                new Station("S5", "D2", 36.931, 127.900),
+                new Station("S6", "E", 36.940, 127.900),
+                new Station("S7", "F", 36.950, 127.900),
+                new Station("S8", "Z", 37.000, 127.900));
+        List<Route> routes = List.of(
+                new Route("R1", "100", "일반"),
+                new Route("R2", "200", "일반"),
+                new Route("R3", "300", "일반"),
+                new Route("R4", "400", "일반"),
+                new Route("R5", "500", "일반"));
+        List<RouteStation> routeStations = List.of(
+                new RouteStation("R1", "S1", 1), new RouteStation("R1", "S2", 2), new RouteStation("R1", "S3", 3),
+                new RouteStation("R2", "S3", 1), new RouteStation("R2", "S4", 2),
+                new RouteStation("R3", "S5", 1), new RouteStation("R3", "S6", 2),
+                new RouteStation("R4", "S6", 1), new RouteStation("R4", "S7", 2),
+                new RouteStation("R4", "S6", 3), new RouteStation("R4", "S1", 4),
+                new RouteStation("R5", "S1", 1), new RouteStation("R5", "S6", 2));
+        return TransitGraph.build(stations, routes, routeStations);
+    }
+
+    public static Timetable timetable() {
+        return Timetable.of(Map.of(
+                "S1", StationTimetable.of(Map.of("100", new int[]{480, 500}, "500", new int[]{700})),
+                "S3", StationTimetable.of(Map.of("200", new int[]{485, 490, 520})),
+                "S5", StationTimetable.of(Map.of("300", new int[]{495, 530})),
+                "S6", StationTimetable.of(Map.of("400", new int[]{600}))));
+    }
+
+    /**
+     * 여정 구간을 비교하기 쉬운 문자열로 ("100 A→C 대기 5 탑승 4 (2정거장)", "도보 D→D2 2")
+     */
+    public static List<String> legs(Journey journey) {
+        List<String> legs = new ArrayList<>();
+        for (JourneyLeg leg : journey.getLegs()) {
+            String from = STATION_NAMES[leg.getFromStation()];
+            String to = STATION_NAMES[leg.getToStation()];
+            legs.add(leg.isBus()
+                    ? ROUTE_NAMES[leg.getRoute()] + " " + from + "→" + to + " 대기 " + leg.getWaitMinutes()
+                            + " 탑승 " + leg.getRideMinutes() + " (" + leg.getStopCount() + "정거장)"
+                    : "도보 " + from + "→" + to + " " + leg.getRideMinutes());
+        }
+        return legs;
+    }
+}
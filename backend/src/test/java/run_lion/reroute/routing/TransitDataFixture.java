@@ -0,0 +1,73 @@
+package run_lion.reroute.routing;
+
+import org.springframework.core.io.ClassPathResource;
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트/벤치마크용 노선망 데이터
+ *
+ * DB 없이 resources의 data-*.sql INSERT 문을 직접 읽어 엔티티 목록을 만든다
+ */
+public final class TransitDataFixture {
+
+    private static final Pattern STATION_ROW =
+            Pattern.compile("\\('([^']+)', '([^']*)', ([\\d.]+), ([\\d.]+)\\)");
+    private static final Pattern ROUTE_ROW =
+            Pattern.compile("\\('([^']+)', '([^']*)', '([^']*)'\\)");
+    private static final Pattern ROUTE_STATION_ROW =
+            Pattern.compile("\\('([^']+)', '([^']+)', (\\d+)\\)");
+
+    private TransitDataFixture() {
+    }
+
+    public static List<Station> stations() {
+        List<Station> stations = new ArrayList<>();
+        Matcher m = STATION_ROW.matcher(read("data-station.sql"));
+        while (m.find()) {
+            stations.add(new Station(m.group(1), m.group(2),
+                    Double.parseDouble(m.group(3)), Double.parseDouble(m.group(4))));
+        }
+        return stations;
+    }
+
+    public static List<Route> routes() {
+        List<Route> routes = new ArrayList<>();
+        Matcher m = ROUTE_ROW.matcher(read("data-route.sql"));
+        while (m.find()) {
+            routes.add(new Route(m.group(1), m.group(2), m.group(3)));
+        }
+        return routes;
+    }
+
+    public static List<RouteStation> routeStations() {
+        List<RouteStation> routeStations = new ArrayList<>();
+        Matcher m = ROUTE_STATION_ROW.matcher(read("data-route-station.sql"));
+        while (m.find()) {
+            routeStations.add(new RouteStation(m.group(1), m.group(2), Integer.parseInt(m.group(3))));
+        }
+        return routeStations;
+    }
+
+    public static TransitGraph graph() {
+        return TransitGraph.build(stations(), routes(), routeStations());
+    }
+
+    private static String read(String resource) {
+        try (InputStream is = new ClassPathResource(resource).getInputStream()) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("cannot read " + resource, ex);
+        }
+    }
+}
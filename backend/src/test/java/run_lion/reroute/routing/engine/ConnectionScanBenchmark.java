@@ -0,0 +1,432 @@
+package run_lion.reroute.routing.engine;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.realtimebus.timetable.TimetableXlsxParser;
+import run_lion.reroute.routing.TransitDataFixture;
+import run_lion.reroute.routing.graph.StationGridIndex;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시간표 기반 Connection Scan 탐색: 하루 운행 전체 연결에 대한 "T시 출발" 질의 시간
+ *
+ * - 무작위 정류장 쌍 x 05:00~23:00 무작위 출발 시각
+ * - 여정 검증: 구간 시간 합 = 총 소요 시간, 직행 회차만 본 전수 계산보다 늦게 도착하지 않음
+ * - 최악 조건(00:00 출발 → 목적지에 닿을 때까지 하루 치 연결을 거의 다 스캔)도 따로 측정
+ * - 도착 시각 지정(역방향 트리)도 정방향 탐색과 맞는지 확인 후 측정
+ * - 출발 시간대(60분) 파레토 목록: 한 번의 profile 스캔 vs 1분 간격 정방향 질의 반복
+ * - 등시선(한 출발지 → 전체 정류장) 스캔 1회 vs 정류장마다 정방향 질의
+ * - 100 x 100 소요 시간 행렬 (지점마다 정류장 8개, 행 단위 병렬)
+ *
+ * 실행: ./gradlew benchmark --tests '*ConnectionScanBenchmark'
+ */
+@Tag("benchmark")
+class ConnectionScanBenchmark {
+
+    private static final int QUERIES = 5_000;
+    private static final int MINUTES_PER_STOP = 2;
+    private static final int WINDOW_MINUTES = 60;
+
+    @Test
+    void departAtQueries() throws IOException {
+        TransitGraph graph = TransitDataFixture.graph();
+        Timetable timetable = timetable();
+        long buildStart = System.nanoTime();
+        ConnectionTable table = ConnectionTable.build(graph, timetable, MINUTES_PER_STOP);
+        long buildNs = System.nanoTime() - buildStart;
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+
+        int[][] queries = randomQueries(graph, QUERIES);
+
+        // 결과 검증
+        int reached = 0;
+        for (int[] q : queries) {
+            Journey journey = search(engine, q);
+            int direct = directOnly(graph, table, q[0], q[1], q[2]);
+            if (journey == null) {
+                assertEquals(Integer.MAX_VALUE, direct);
+                continue;
+            }
+            reached++;
+            assertEquals(journey.getArrivalMinutes(), legSum(journey));
+            assertTrue(q[2] + journey.getArrivalMinutes() <= direct);
+        }
+
+        // 워밍업
+        for (int i = 0; i < 5; i++) {
+            run(engine, queries);
+        }
+
+        long[] latencies = run(engine, queries);
+        long[] worst = new long[200];
+        int[] unreachable = {0, graph.stationCount() - 1};
+        for (int i = 0; i < worst.length; i++) {
+            long start = System.nanoTime();
+            engine.earliestArrival(new int[]{unreachable[0]}, new int[]{0}, new int[]{unreachable[1]}, new int[]{0}, 0);
+            worst[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(worst);
+
+        System.out.printf("[ConnectionScanBenchmark] stations=%d trips=%d connections=%d build=%.1fms%n",
+                graph.stationCount(), table.tripCount(), table.connectionCount(), buildNs / 1e6);
+        System.out.printf("  depart-at queries : n=%d reached=%d avg=%.3fms p50=%.3fms p99=%.3fms max=%.3fms%n",
+                QUERIES, reached, average(latencies) / 1e6, latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6, latencies[latencies.length - 1] / 1e6);
+        System.out.printf("  full-day scan     : p50=%.3fms max=%.3fms%n",
+                worst[worst.length / 2] / 1e6, worst[worst.length - 1] / 1e6);
+    }
+
+    /**
+     * 도착 시각 지정: 목적지 정류장 1곳 기준 역방향 트리(전체 정류장) 계산 시간
+     * - 검증: 트리의 출발 시각에 정방향으로 출발하면 마감 전에 도착하고, 1분 늦게 출발하면 마감을 넘김
+     */
+    @Test
+    void arriveByTrees() throws IOException {
+        TransitGraph graph = TransitDataFixture.graph();
+        ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+
+        int[][] queries = randomQueries(graph, 500);
+        int checked = 0;
+        for (int[] q : queries) {
+            int deadline = q[2] + 60;
+            LatestDepartureTree tree = engine.latestDepartures(new int[]{q[1]}, new int[]{0}, deadline);
+            if (!tree.isReached(q[0])) {
+                Journey forward = search(engine, new int[]{q[0], q[1], q[2]});
+                assertTrue(forward == null || q[2] + forward.getArrivalMinutes() > deadline);
+                continue;
+            }
+
+            int departure = tree.latestAt(q[0]);
+            Journey journey = engine.journeyFrom(tree, q[0], 0);
+            assertEquals(journey.getArrivalMinutes(), legSum(journey));
+            assertTrue(departure + journey.getArrivalMinutes() <= deadline);
+
+            Journey onTime = search(engine, new int[]{q[0], q[1], departure});
+            assertTrue(onTime != null && departure + onTime.getArrivalMinutes() <= deadline);
+            Journey late = search(engine, new int[]{q[0], q[1], departure + 1});
+            assertTrue(late == null || departure + 1 + late.getArrivalMinutes() > deadline);
+            checked++;
+        }
+
+        long[] latencies = new long[queries.length];
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < queries.length; i++) {
+                long start = System.nanoTime();
+                engine.latestDepartures(new int[]{queries[i][1]}, new int[]{0}, queries[i][2] + 60);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("[ConnectionScanBenchmark] arrive-by trees: n=%d reached=%d avg=%.3fms p99=%.3fms%n",
+                queries.length, checked, average(latencies) / 1e6, latencies[latencies.length * 99 / 100] / 1e6);
+    }
+
+    /**
+     * 출발 시간대 파레토 목록: 60분 시간대 profile 스캔 1회 vs 1분마다 정방향 질의 61회
+     * - 검증: 시간대 안의 모든 분 t에 대해 "t 이후 출발하는 선택지 중 최단 도착" = 정방향 탐색 도착 시각,
+     *   선택지의 여정을 그 출발 시각에 정방향으로 찾아도 같은 시각에 도착
+     * - 출발/도착 정류장이 걸어서 닿는 거리면 정방향이 도보만 고르므로 제외
+     */
+    @Test
+    void departureWindows() throws IOException {
+        TransitGraph graph = TransitDataFixture.graph();
+        ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+        ProfileScanEngine profile = new ProfileScanEngine(graph, table);
+
+        int[][] queries = randomQueries(graph, 300);
+        int checked = 0;
+        int optionCount = 0;
+        for (int[] q : queries) {
+            if (Arrays.stream(graph.footpathStops(q[0])).anyMatch(s -> s == q[1])) continue;
+
+            List<DepartureOption> options = window(profile, q);
+            for (DepartureOption option : options) {
+                assertEquals(option.getJourney().getArrivalMinutes(), legSum(option.getJourney()));
+                Journey forward = search(engine, new int[]{q[0], q[1], option.getDepartMinute()});
+                assertEquals(option.getArrivalMinute(), option.getDepartMinute() + forward.getArrivalMinutes());
+            }
+            for (int t = q[2]; t <= q[2] + WINDOW_MINUTES; t++) {
+                int expected = Integer.MAX_VALUE;
+                for (DepartureOption option : options) {
+                    if (option.getDepartMinute() >= t) expected = Math.min(expected, option.getArrivalMinute());
+                }
+                Journey forward = search(engine, new int[]{q[0], q[1], t});
+                int arrival = forward == null ? Integer.MAX_VALUE : t + forward.getArrivalMinutes();
+                if (expected < Integer.MAX_VALUE) {
+                    assertEquals(expected, arrival);
+                } else if (!options.isEmpty()) {
+                    // 시간대 안에 남은 선택지가 없으면 시간대 밖 회차를 기다리는 여정 → 마지막 선택지보다 빠를 수 없음
+                    assertTrue(arrival >= options.get(options.size() - 1).getArrivalMinute());
+                }
+            }
+            checked++;
+            optionCount += options.size();
+        }
+
+        long[] profileNs = new long[queries.length];
+        long[] repeatedNs = new long[queries.length];
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < queries.length; i++) {
+                int[] q = queries[i];
+                long start = System.nanoTime();
+                window(profile, q);
+                profileNs[i] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int t = q[2]; t <= q[2] + WINDOW_MINUTES; t++) {
+                    search(engine, new int[]{q[0], q[1], t});
+                }
+                repeatedNs[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(profileNs);
+        Arrays.sort(repeatedNs);
+
+        System.out.printf("[ConnectionScanBenchmark] departure windows: n=%d checked=%d options/query=%.1f%n",
+                queries.length, checked, (double) optionCount / Math.max(1, checked));
+        System.out.printf("  profile scan      : avg=%.3fms p99=%.3fms%n",
+                average(profileNs) / 1e6, profileNs[profileNs.length * 99 / 100] / 1e6);
+        System.out.printf("  61 x depart-at    : avg=%.3fms p99=%.3fms%n",
+                average(repeatedNs) / 1e6, repeatedNs[repeatedNs.length * 99 / 100] / 1e6);
+    }
+
+    /**
+     * 등시선: 출발 정류장 1곳 → 모든 정류장 120분 안 도착 시각
+     * - 검증: 모든 정류장에 대해 정방향 단일 질의 도착 시각과 같음 (120분 넘으면 도달 불가)
+     */
+    @Test
+    void oneToAll() throws IOException {
+        TransitGraph graph = TransitDataFixture.graph();
+        ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+        int maxMinutes = 120;
+
+        int[][] queries = randomQueries(graph, 50);
+
+        // 결과 검증 (시간 측정과 분리)
+        int reachable = 0;
+        for (int[] q : queries) {
+            int[] arrivals = engine.earliestArrivals(new int[]{q[0]}, new int[]{0}, q[2], maxMinutes);
+            for (int s = 0; s < graph.stationCount(); s++) {
+                if (s == q[0]) continue;
+                Journey journey = search(engine, new int[]{q[0], s, q[2]});
+                int arrival = journey == null || journey.getArrivalMinutes() > maxMinutes
+                        ? RaptorEngine.UNREACHED : q[2] + journey.getArrivalMinutes();
+                assertEquals(arrival, arrivals[s]);
+                if (arrival != RaptorEngine.UNREACHED) reachable++;
+            }
+        }
+
+        long[] oneToAllNs = new long[queries.length];
+        long[] perStationNs = new long[queries.length];
+        int sink = 0;
+        for (int i = 0; i < queries.length; i++) {
+            int[] q = queries[i];
+            long start = System.nanoTime();
+            sink += engine.earliestArrivals(new int[]{q[0]}, new int[]{0}, q[2], maxMinutes)[q[1]];
+            oneToAllNs[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int s = 0; s < graph.stationCount(); s++) {
+                if (s == q[0]) continue;
+                Journey journey = search(engine, new int[]{q[0], s, q[2]});
+                if (journey != null) sink += journey.getArrivalMinutes();
+            }
+            perStationNs[i] = System.nanoTime() - start;
+        }
+        if (sink == 42) System.out.println(sink);
+        Arrays.sort(oneToAllNs);
+        Arrays.sort(perStationNs);
+
+        System.out.printf("[ConnectionScanBenchmark] one-to-all (%d min): origins=%d reachable/origin=%.1f%n",
+                maxMinutes, queries.length, (double) reachable / queries.length);
+        System.out.printf("  single scan       : avg=%.3fms p99=%.3fms%n",
+                average(oneToAllNs) / 1e6, oneToAllNs[oneToAllNs.length * 99 / 100] / 1e6);
+        System.out.printf("  per-station (%d)  : avg=%.3fms%n", graph.stationCount() - 1, average(perStationNs) / 1e6);
+    }
+
+    /**
+     * 100 x 100 소요 시간 행렬: 행마다 one-to-all 스캔 1회, 코어 수만큼 병렬 (TravelTimeMatrixService와 같은 방식)
+     * - 지점 = 무작위 정류장 + 주변 정류장 최대 8개 (도보 시간 포함)
+     * - 검증: 무작위 칸을 다중 출발/도착 정방향 질의 결과와 비교
+     */
+    @Test
+    void matrix100x100() throws Exception {
+        TransitGraph graph = TransitDataFixture.graph();
+        ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+        ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+        int size = 100;
+        int departMinute = 8 * 60;
+        int maxMinutes = 180;
+
+        Random random = new Random(7);
+        int[][][] points = new int[size * 2][][];
+        for (int i = 0; i < points.length; i++) {
+            int center = random.nextInt(graph.stationCount());
+            List<StationGridIndex.Hit> hits = graph.spatialIndex()
+                    .nearest(graph.stationLat(center), graph.stationLon(center), 8, 1000);
+            int[] stations = new int[hits.size()];
+            int[] walks = new int[hits.size()];
+            for (int k = 0; k < hits.size(); k++) {
+                stations[k] = hits.get(k).getStation();
+                walks[k] = DistanceCalculator.calculateWalkTime(hits.get(k).getDistanceMeters());
+            }
+            points[i] = new int[][]{stations, walks};
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            int[][] minutes = null;
+            long[] took = new long[5];
+            for (int round = 0; round < took.length; round++) {
+                long start = System.nanoTime();
+                minutes = matrix(engine, executor, points, size, departMinute, maxMinutes);
+                took[round] = System.nanoTime() - start;
+            }
+
+            for (int check = 0; check < 200; check++) {
+                int i = random.nextInt(size);
+                int j = random.nextInt(size);
+                int[][] origin = points[i];
+                int[][] destination = points[size + j];
+                Journey journey = engine.earliestArrival(origin[0], origin[1], destination[0], destination[1], departMinute);
+                int expected = journey == null || journey.getArrivalMinutes() > maxMinutes ? -1 : journey.getArrivalMinutes();
+                assertEquals(expected, minutes[i][j]);
+            }
+
+            Arrays.sort(took);
+            System.out.printf("[ConnectionScanBenchmark] matrix %dx%d threads=%d: best=%.1fms median=%.1fms%n",
+                    size, size, Runtime.getRuntime().availableProcessors(), took[0] / 1e6, took[took.length / 2] / 1e6);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int[][] matrix(ConnectionScanEngine engine, ExecutorService executor, int[][][] points,
+                           int size, int departMinute, int maxMinutes) throws Exception {
+        int[][] minutes = new int[size][];
+        List<Future<?>> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int row = i;
+            rows.add(executor.submit(() -> {
+                int[] arrivals = engine.earliestArrivals(points[row][0], points[row][1], departMinute, maxMinutes);
+                minutes[row] = new int[size];
+                for (int j = 0; j < size; j++) {
+                    int best = Integer.MAX_VALUE;
+                    int[][] destination = points[size + j];
+                    for (int k = 0; k < destination[0].length; k++) {
+                        int arrival = arrivals[destination[0][k]];
+                        if (arrival != RaptorEngine.UNREACHED) {
+                            best = Math.min(best, arrival - departMinute + destination[1][k]);
+                        }
+                    }
+                    minutes[row][j] = best <= maxMinutes ? best : -1;
+                }
+            }));
+        }
+        for (Future<?> future : rows) {
+            future.get();
+        }
+        return minutes;
+    }
+
+    private List<DepartureOption> window(ProfileScanEngine profile, int[] q) {
+        return profile.departureWindow(new int[]{q[0]}, new int[]{0}, new int[]{q[1]}, new int[]{0},
+                q[2], q[2] + WINDOW_MINUTES);
+    }
+
+    private Journey search(ConnectionScanEngine engine, int[] q) {
+        return engine.earliestArrival(new int[]{q[0]}, new int[]{0}, new int[]{q[1]}, new int[]{0}, q[2]);
+    }
+
+    private long[] run(ConnectionScanEngine engine, int[][] queries) {
+        long[] latencies = new long[queries.length];
+        int sink = 0;
+        for (int i = 0; i < queries.length; i++) {
+            long start = System.nanoTime();
+            Journey journey = search(engine, queries[i]);
+            latencies[i] = System.nanoTime() - start;
+            if (journey != null) sink += journey.getArrivalMinutes();
+        }
+        if (sink < 0) System.out.println(sink);
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /**
+     * 도보 + 대기 + 탑승 시간 합
+     */
+    private int legSum(Journey journey) {
+        int total = journey.getAccessMinutes() + journey.getEgressMinutes();
+        for (JourneyLeg leg : journey.getLegs()) {
+            total += leg.getWaitMinutes() + leg.getRideMinutes();
+        }
+        return total;
+    }
+
+    /**
+     * 환승 없이 한 노선으로 갈 때 가장 빠른 도착 시각 (전수 계산, 없으면 MAX_VALUE)
+     */
+    private int directOnly(TransitGraph graph, ConnectionTable table, int from, int to, int departMinute) {
+        int best = Integer.MAX_VALUE;
+        for (int route = 0; route < graph.routeCount(); route++) {
+            if (!table.hasSchedule(route)) continue;
+            int[] stops = graph.routeStops(route);
+            int[] orders = graph.routeStopOrders(route);
+            for (int i = 0; i < stops.length; i++) {
+                if (stops[i] != from) continue;
+                int wait = table.scheduledWaitAt(route, i, departMinute);
+                if (wait < 0) continue;
+                for (int j = i + 1; j < stops.length; j++) {
+                    if (stops[j] != to) continue;
+                    best = Math.min(best, departMinute + wait + (orders[j] - orders[i]) * MINUTES_PER_STOP);
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private Timetable timetable() throws IOException {
+        try (InputStream is = new ClassPathResource("chungju_bus_timetable.xlsx").getInputStream()) {
+            return TimetableXlsxParser.parse(is);
+        }
+    }
+
+    private double average(long[] values) {
+        long sum = 0;
+        for (long v : values) sum += v;
+        return (double) sum / values.length;
+    }
+
+    private int[][] randomQueries(TransitGraph graph, int count) {
+        Random random = new Random(42);
+        int[][] queries = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int from = random.nextInt(graph.stationCount());
+            int to = random.nextInt(graph.stationCount());
+            if (to == from) to = (to + 1) % graph.stationCount();
+            queries[i] = new int[]{from, to, 5 * 60 + random.nextInt(18 * 60)};
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,150 @@
+package run_lion.reroute.routing.engine;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.timetable.StationTimetable;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static run_lion.reroute.routing.SmallNetworkFixture.A;
+import static run_lion.reroute.routing.SmallNetworkFixture.C;
+import static run_lion.reroute.routing.SmallNetworkFixture.D;
+import static run_lion.reroute.routing.SmallNetworkFixture.D2;
+import static run_lion.reroute.routing.SmallNetworkFixture.E;
+import static run_lion.reroute.routing.SmallNetworkFixture.F;
+import static run_lion.reroute.routing.SmallNetworkFixture.MINUTES_PER_STOP;
+import static run_lion.reroute.routing.SmallNetworkFixture.Z;
+import static run_lion.reroute.routing.SmallNetworkFixture.graph;
+import static run_lion.reroute.routing.SmallNetworkFixture.legs;
+import static run_lion.reroute.routing.SmallNetworkFixture.timetable;
+
+/**
+ * ConnectionScanEngine: SmallNetworkFixture 시간표로 정방향/역방향 정답 여정 확인
+ */
+class ConnectionScanEngineTest {
+
+    private final TransitGraph graph = graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+    private final ConnectionScanEngine engine = new ConnectionScanEngine(graph, table);
+
+    @Test
+    void earliestArrivalWithTransfersAndFootpath() {
+        // 07:55 출발: 100번 08:00 → C 08:04, 200번 08:05 → D 08:07, D2까지 도보 2분, 300번 08:15 → E 08:17
+        Journey journey = search(A, E, 475);
+
+        assertEquals(List.of(
+                "100 A→C 대기 5 탑승 4 (2정거장)",
+                "200 C→D 대기 1 탑승 2 (1정거장)",
+                "도보 D→D2 2",
+                "300 D2→E 대기 6 탑승 2 (1정거장)"), legs(journey));
+        assertEquals(22, journey.getArrivalMinutes());
+    }
+
+    @Test
+    void missedDepartureWaitsForNextTrip() {
+        // 08:01 출발: 08:00 100번을 놓쳐 08:20 회차부터 전부 다음 회차
+        Journey journey = search(A, E, 481);
+
+        assertEquals(List.of(
+                "100 A→C 대기 19 탑승 4 (2정거장)",
+                "200 C→D 대기 16 탑승 2 (1정거장)",
+                "도보 D→D2 2",
+                "300 D2→E 대기 6 탑승 2 (1정거장)"), legs(journey));
+        assertEquals(532 - 481, journey.getArrivalMinutes());
+    }
+
+    @Test
+    void routeVisitingStopTwiceRidesThroughTheLoop() {
+        // 400번 10:00 E → F → E → A (E를 두 번 지나도 한 회차)
+        Journey journey = search(E, A, 590);
+
+        assertEquals(List.of("400 E→A 대기 10 탑승 6 (3정거장)"), legs(journey));
+        assertEquals(16, journey.getArrivalMinutes());
+    }
+
+    @Test
+    void unreachableOrNoMoreTrips() {
+        assertNull(search(A, Z, 0));
+        // 마지막 회차(500번 11:40) 이후
+        assertNull(search(A, E, 701));
+    }
+
+    @Test
+    void oneToAllMatchesSingleQueries() {
+        int[] arrivals = engine.earliestArrivals(new int[]{A}, new int[]{0}, 475, 60);
+
+        assertEquals(484, arrivals[C]);
+        assertEquals(487, arrivals[D]);
+        assertEquals(489, arrivals[D2]);
+        assertEquals(497, arrivals[E]);
+        // 400번(10:00)은 60분 밖, Z는 노선 없음
+        assertEquals(RaptorEngine.UNREACHED, arrivals[F]);
+        assertEquals(RaptorEngine.UNREACHED, arrivals[Z]);
+    }
+
+    @Test
+    void latestDepartureTreeTakesLatestConnections() {
+        // 08:20까지 E 도착: 200번은 08:10 회차를 타도 300번 08:15에 맞음
+        LatestDepartureTree tree = engine.latestDepartures(new int[]{E}, new int[]{0}, 500);
+
+        assertEquals(480, tree.latestAt(A));
+        assertEquals(490, tree.latestAt(C));
+        assertEquals(493, tree.latestAt(D));
+        assertEquals(495, tree.latestAt(D2));
+
+        Journey journey = engine.journeyFrom(tree, A, 0);
+        assertEquals(List.of(
+                "100 A→C 대기 0 탑승 4 (2정거장)",
+                "200 C→D 대기 6 탑승 2 (1정거장)",
+                "도보 D→D2 2",
+                "300 D2→E 대기 1 탑승 2 (1정거장)"), legs(journey));
+        assertEquals(17, journey.getArrivalMinutes());
+
+        // 08:16 마감이면 300번 08:15 회차(08:17 도착)도 늦음
+        LatestDepartureTree tight = engine.latestDepartures(new int[]{E}, new int[]{0}, 496);
+        assertFalse(tight.isReached(A));
+        assertNull(engine.journeyFrom(tight, A, 0));
+    }
+
+    @Test
+    void earlierWalkLabelDoesNotBlockFootpathAfterBus() {
+        // X ─(도보 5분)─ P ─(도보 5분)─ Q, X ↔ Q는 300m 밖 / 700번 X → Y → P
+        // P에는 걸어서 먼저 닿지만(10:00) Q는 버스로 P에 내린 뒤(10:04) 걸어야만 갈 수 있음
+        TransitGraph walkGraph = TransitGraph.build(
+                List.of(new Station("P", "P", 37.1025, 127.90),
+                        new Station("Q", "Q", 37.1050, 127.90),
+                        new Station("X", "X", 37.1000, 127.90),
+                        new Station("Y", "Y", 37.1200, 127.90)),
+                List.of(new Route("R7", "700", "일반")),
+                List.of(new RouteStation("R7", "X", 1), new RouteStation("R7", "Y", 2), new RouteStation("R7", "P", 3)));
+        ConnectionTable walkTable = ConnectionTable.build(walkGraph,
+                Timetable.of(Map.of("X", StationTimetable.of(Map.of("700", new int[]{600})))), MINUTES_PER_STOP);
+        ConnectionScanEngine walkEngine = new ConnectionScanEngine(walkGraph, walkTable);
+
+        int x = walkGraph.stationIndexOf("X");
+        int p = walkGraph.stationIndexOf("P");
+        int q = walkGraph.stationIndexOf("Q");
+        Journey journey = walkEngine.earliestArrival(new int[]{x}, new int[]{0}, new int[]{q}, new int[]{0}, 595);
+
+        assertEquals(2, journey.getLegs().size());
+        assertTrue(journey.getLegs().get(0).isBus());
+        assertEquals(p, journey.getLegs().get(0).getToStation());
+        assertFalse(journey.getLegs().get(1).isBus());
+        assertEquals(q, journey.getLegs().get(1).getToStation());
+        assertEquals(5, journey.getLegs().get(1).getRideMinutes());
+        assertEquals(609 - 595, journey.getArrivalMinutes());
+    }
+
+    private Journey search(int from, int to, int departMinute) {
+        return engine.earliestArrival(new int[]{from}, new int[]{0}, new int[]{to}, new int[]{0}, departMinute);
+    }
+}
@@ -0,0 +1,88 @@
+package run_lion.reroute.routing.engine;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.realtimebus.timetable.StationTimetable;
+import run_lion.reroute.realtimebus.timetable.Timetable;
+import run_lion.reroute.routing.entity.Route;
+import run_lion.reroute.routing.entity.RouteStation;
+import run_lion.reroute.routing.entity.Station;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static run_lion.reroute.routing.SmallNetworkFixture.MINUTES_PER_STOP;
+
+/**
+ * ConnectionTable: 방향 구분 없는 기준 정류장 시간표를 출발 방향 노선에만 붙이는지
+ *
+ * 노선번호 800, 터미널(T) 시간표 07:00 / 08:00
+ *   R1 (나가는 방향) : H → T → U → V
+ *   R2 (나가는 방향) : T → U → W
+ *   R3 (들어오는 방향, T가 종점) : V → U → T
+ *   R4 (들어오는 방향, T를 지나 차고지 G로) : V → U → T → G
+ */
+class ConnectionTableTest {
+
+    private final TransitGraph graph = TransitGraph.build(
+            List.of(new Station("G", "차고지", 36.80, 127.90),
+                    new Station("H", "H", 36.85, 127.90),
+                    new Station("T", "터미널", 36.90, 127.90),
+                    new Station("U", "U", 36.95, 127.90),
+                    new Station("V", "V", 37.00, 127.90),
+                    new Station("W", "W", 37.05, 127.90)),
+            List.of(new Route("R1", "800", "일반"), new Route("R2", "800", "일반"),
+                    new Route("R3", "800", "일반"), new Route("R4", "800", "일반")),
+            List.of(new RouteStation("R1", "H", 1), new RouteStation("R1", "T", 2),
+                    new RouteStation("R1", "U", 3), new RouteStation("R1", "V", 4),
+                    new RouteStation("R2", "T", 1), new RouteStation("R2", "U", 2), new RouteStation("R2", "W", 3),
+                    new RouteStation("R3", "V", 1), new RouteStation("R3", "U", 2), new RouteStation("R3", "T", 3),
+                    new RouteStation("R4", "V", 1), new RouteStation("R4", "U", 2),
+                    new RouteStation("R4", "T", 3), new RouteStation("R4", "G", 4)));
+
+    private final Timetable timetable = Timetable.of(Map.of(
+            "T", StationTimetable.of(Map.of("800", new int[]{420, 480}))));
+
+    private final ConnectionTable table = ConnectionTable.build(graph, timetable, MINUTES_PER_STOP);
+
+    @Test
+    void onlyDepartingDirectionGetsTrips() {
+        assertTrue(table.hasSchedule(graph.routeIndexOf("R1")));
+        assertTrue(table.hasSchedule(graph.routeIndexOf("R2")));
+        assertFalse(table.hasSchedule(graph.routeIndexOf("R3")));
+        assertFalse(table.hasSchedule(graph.routeIndexOf("R4")));
+
+        // 회차 2개씩 x 나가는 방향 노선 2개, 연결 = 회차마다 (정류장 수 - 1)
+        assertEquals(4, table.tripCount());
+        assertEquals(2 * 3 + 2 * 2, table.connectionCount());
+    }
+
+    @Test
+    void stopsBeforeAnchorAreShiftedBack() {
+        int r1 = graph.routeIndexOf("R1");
+
+        // H는 T보다 한 정거장 앞 → 06:58, V는 두 정거장 뒤 → 07:04
+        assertEquals(0, table.scheduledWait(r1, graph.stationIndexOf("H"), 418));
+        assertEquals(1, table.scheduledWait(r1, graph.stationIndexOf("V"), 423));
+        // 들어오는 방향은 터미널 시각으로 회차를 만들지 않음
+        assertEquals(-1, table.scheduledWait(graph.routeIndexOf("R4"), graph.stationIndexOf("U"), 400));
+    }
+
+    @Test
+    void tiedDirectionsAreBothKept() {
+        // T에서 U로 가는 노선 1개, G로 가는 노선 1개 → 어느 쪽이 시간표 방향인지 모르므로 둘 다 인정
+        TransitGraph tied = TransitGraph.build(
+                List.of(new Station("G", "차고지", 36.80, 127.90), new Station("T", "터미널", 36.90, 127.90),
+                        new Station("U", "U", 36.95, 127.90)),
+                List.of(new Route("R1", "800", "일반"), new Route("R2", "800", "일반")),
+                List.of(new RouteStation("R1", "T", 1), new RouteStation("R1", "U", 2),
+                        new RouteStation("R2", "T", 1), new RouteStation("R2", "G", 2)));
+        ConnectionTable both = ConnectionTable.build(tied, timetable, MINUTES_PER_STOP);
+
+        assertTrue(both.hasSchedule(tied.routeIndexOf("R1")));
+        assertTrue(both.hasSchedule(tied.routeIndexOf("R2")));
+    }
+}
@@ -0,0 +1,74 @@
+package run_lion.reroute.routing.engine;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static run_lion.reroute.routing.SmallNetworkFixture.A;
+import static run_lion.reroute.routing.SmallNetworkFixture.E;
+import static run_lion.reroute.routing.SmallNetworkFixture.MINUTES_PER_STOP;
+import static run_lion.reroute.routing.SmallNetworkFixture.Z;
+import static run_lion.reroute.routing.SmallNetworkFixture.graph;
+import static run_lion.reroute.routing.SmallNetworkFixture.legs;
+import static run_lion.reroute.routing.SmallNetworkFixture.timetable;
+
+/**
+ * ProfileScanEngine: SmallNetworkFixture 시간표로 출발 시간대 파레토 목록 확인
+ */
+class ProfileScanEngineTest {
+
+    private final TransitGraph graph = graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, timetable(), MINUTES_PER_STOP);
+    private final ProfileScanEngine profile = new ProfileScanEngine(graph, table);
+    private final ConnectionScanEngine forward = new ConnectionScanEngine(graph, table);
+
+    @Test
+    void windowListsNonDominatedDepartures() {
+        List<DepartureOption> options = window(A, E, 470, 510);
+
+        assertEquals(2, options.size());
+        assertEquals(480, options.get(0).getDepartMinute());
+        assertEquals(497, options.get(0).getArrivalMinute());
+        assertEquals(500, options.get(1).getDepartMinute());
+        assertEquals(532, options.get(1).getArrivalMinute());
+
+        // C에서는 같은 시각에 도착하는 더 늦은 200번(08:10)을 탐
+        assertEquals(List.of(
+                "100 A→C 대기 0 탑승 4 (2정거장)",
+                "200 C→D 대기 6 탑승 2 (1정거장)",
+                "도보 D→D2 2",
+                "300 D2→E 대기 1 탑승 2 (1정거장)"), legs(options.get(0).getJourney()));
+    }
+
+    @Test
+    void everyMinuteMatchesForwardScan() {
+        List<DepartureOption> options = window(A, E, 470, 510);
+        for (int t = 470; t <= 510; t++) {
+            int expected = Integer.MAX_VALUE;
+            for (DepartureOption option : options) {
+                if (option.getDepartMinute() >= t) expected = Math.min(expected, option.getArrivalMinute());
+            }
+            Journey journey = forward.earliestArrival(new int[]{A}, new int[]{0}, new int[]{E}, new int[]{0}, t);
+            if (expected == Integer.MAX_VALUE) {
+                // 시간대 안에 남은 회차가 없으면 500번 11:40 직행
+                assertEquals(702, t + journey.getArrivalMinutes());
+            } else {
+                assertEquals(expected, t + journey.getArrivalMinutes(), "t=" + t);
+            }
+        }
+    }
+
+    @Test
+    void emptyWindowWhenUnreachable() {
+        assertTrue(window(A, Z, 470, 510).isEmpty());
+        // 시간대 안에 출발하는 회차 없음
+        assertTrue(window(A, E, 501, 600).isEmpty());
+    }
+
+    private List<DepartureOption> window(int from, int to, int fromMinute, int toMinute) {
+        return profile.departureWindow(new int[]{from}, new int[]{0}, new int[]{to}, new int[]{0}, fromMinute, toMinute);
+    }
+}
@@ -0,0 +1,92 @@
+package run_lion.reroute.routing.engine;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static run_lion.reroute.routing.SmallNetworkFixture.A;
+import static run_lion.reroute.routing.SmallNetworkFixture.E;
+import static run_lion.reroute.routing.SmallNetworkFixture.F;
+import static run_lion.reroute.routing.SmallNetworkFixture.MINUTES_PER_STOP;
+import static run_lion.reroute.routing.SmallNetworkFixture.R500;
+import static run_lion.reroute.routing.SmallNetworkFixture.Z;
+import static run_lion.reroute.routing.SmallNetworkFixture.graph;
+import static run_lion.reroute.routing.SmallNetworkFixture.legs;
+
+/**
+ * RaptorEngine: SmallNetworkFixture 노선망에서 정답 여정 확인
+ *
+ * 대기 시간은 직행 500번만 30분, 나머지 노선은 1분
+ */
+class RaptorEngineTest {
+
+    private final TransitGraph graph = graph();
+    private final RaptorEngine engine = new RaptorEngine(graph, MINUTES_PER_STOP);
+
+    private final RaptorEngine.BoardingWait waits = (round, station, route, arrival) -> route == R500 ? 30 : 1;
+
+    @Test
+    void moreTransfersOnlyWhenFaster() {
+        List<Journey> journeys = search(A, E, 2, waits);
+
+        assertEquals(2, journeys.size());
+        assertEquals(List.of("500 A→E 대기 30 탑승 2 (1정거장)"), legs(journeys.get(0)));
+        assertEquals(32, journeys.get(0).getArrivalMinutes());
+
+        // 환승 2번 + D → D2 환승 도보
+        assertEquals(List.of(
+                "100 A→C 대기 1 탑승 4 (2정거장)",
+                "200 C→D 대기 1 탑승 2 (1정거장)",
+                "도보 D→D2 2",
+                "300 D2→E 대기 1 탑승 2 (1정거장)"), legs(journeys.get(1)));
+        assertEquals(13, journeys.get(1).getArrivalMinutes());
+        assertEquals(2, journeys.get(1).getTransfers());
+    }
+
+    @Test
+    void transferLimitDropsSlowerChains() {
+        List<Journey> journeys = search(A, E, 1, waits);
+
+        assertEquals(1, journeys.size());
+        assertEquals(0, journeys.get(0).getTransfers());
+        assertEquals(32, journeys.get(0).getArrivalMinutes());
+    }
+
+    @Test
+    void routeVisitingStopTwiceBoardsAtLaterVisit() {
+        // 400번은 E → F → E → A: 두 번째 E에서 타야 1정거장
+        List<Journey> journeys = search(E, A, 0, waits);
+
+        assertEquals(1, journeys.size());
+        assertEquals(List.of("400 E→A 대기 1 탑승 2 (1정거장)"), legs(journeys.get(0)));
+        assertEquals(3, journeys.get(0).getArrivalMinutes());
+
+        // 중간 정류장 F에서 타면 E를 거쳐 A까지
+        assertEquals(List.of("400 F→A 대기 1 탑승 4 (2정거장)"), legs(search(F, A, 0, waits).get(0)));
+    }
+
+    @Test
+    void unreachableTargetGivesNoJourney() {
+        assertTrue(search(A, Z, 3, waits).isEmpty());
+
+        // 모든 탑승이 불가능하면 (실시간 도착 정보 없음 등) 빈 목록
+        assertTrue(search(A, E, 3, (round, station, route, arrival) -> -1).isEmpty());
+    }
+
+    @Test
+    void accessAndEgressWalksAreAdded() {
+        List<Journey> journeys = engine.search(new int[]{A}, new int[]{4}, new int[]{E}, new int[]{3}, 0, waits);
+
+        assertEquals(1, journeys.size());
+        assertEquals(4, journeys.get(0).getAccessMinutes());
+        assertEquals(3, journeys.get(0).getEgressMinutes());
+        assertEquals(4 + 30 + 2 + 3, journeys.get(0).getArrivalMinutes());
+    }
+
+    private List<Journey> search(int from, int to, int maxTransfers, RaptorEngine.BoardingWait wait) {
+        return engine.search(new int[]{from}, new int[]{0}, new int[]{to}, new int[]{0}, maxTransfers, wait);
+    }
+}
@@ -0,0 +1,132 @@
+package run_lion.reroute.routing.graph;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.TransitDataFixture;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 직행 연결 조회: 정류장별 노선 비트셋 인덱스 vs 기존 방식(출발 정류장 노선마다 정류장 배열 스캔) 비교
+ *
+ * 전체 정류장 쌍(570 x 570)을 모두 질의
+ * - 결과 검증은 노선별 모든 (승차 < 하차) 위치 조합을 확인하는 전수 계산과 비교
+ * - 같은 정류장을 두 번 지나는 노선은 가장 짧은 구간이 나와야 함
+ *
+ * 실행: ./gradlew benchmark --tests '*DirectConnectionIndexBenchmark'
+ */
+@Tag("benchmark")
+class DirectConnectionIndexBenchmark {
+
+    @Test
+    void bitsetIndexVsRouteScan() {
+        TransitGraph graph = TransitDataFixture.graph();
+        DirectConnectionIndex index = graph.directConnections();
+        int n = graph.stationCount();
+
+        // 결과 동일성 확인 (전수 계산 기준)
+        int pairs = 0;
+        int connections = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a == b) continue;
+                int[] expected = bruteForce(graph, a, b);
+                int[] actual = new int[graph.routeCount()];
+                Arrays.fill(actual, -1);
+                int found = index.forEachConnection(a, b, (route, dep, arr) -> actual[route] = arr - dep);
+                assertArrayEquals(expected, actual);
+                assertEquals(found > 0, index.connects(a, b));
+                if (found > 0) pairs++;
+                connections += found;
+            }
+        }
+
+        // 워밍업
+        for (int i = 0; i < 3; i++) {
+            runRouteScan(graph);
+            runIndex(graph, index);
+        }
+
+        long scanNs = runRouteScan(graph);
+        long indexNs = runIndex(graph, index);
+        long queries = (long) n * (n - 1);
+
+        System.out.printf("[DirectConnectionIndexBenchmark] stations=%d routes=%d pairs=%d connected=%d connections=%d%n",
+                n, graph.routeCount(), queries, pairs, connections);
+        System.out.printf("  route scan (routesAt + stops) : %8.1f ns/query (%6.1f ms all pairs)%n",
+                (double) scanNs / queries, scanNs / 1e6);
+        System.out.printf("  bitset AND + position lookup  : %8.1f ns/query (%6.1f ms all pairs)%n",
+                (double) indexNs / queries, indexNs / 1e6);
+    }
+
+    private long runRouteScan(TransitGraph graph) {
+        int n = graph.stationCount();
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a != b) sink += routeScan(graph, a, b);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    private long runIndex(TransitGraph graph, DirectConnectionIndex index) {
+        int n = graph.stationCount();
+        long[] sink = new long[1];
+        long start = System.nanoTime();
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a != b) index.forEachConnection(a, b, (route, dep, arr) -> sink[0] += arr - dep);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink[0] < 0) System.out.println(sink[0]);
+        return elapsed;
+    }
+
+    /**
+     * 기존 RouteFilter 방식: 출발 정류장 경유 노선마다 정류장 배열을 처음부터 스캔
+     */
+    private int routeScan(TransitGraph graph, int departure, int arrival) {
+        int sum = 0;
+        for (int route : graph.routesAt(departure)) {
+            int[] stops = graph.routeStops(route);
+            int departurePos = -1;
+            for (int i = 0; i < stops.length; i++) {
+                if (stops[i] == departure && departurePos < 0) {
+                    departurePos = i;
+                } else if (stops[i] == arrival && departurePos >= 0) {
+                    sum += i - departurePos;
+                    break;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 노선별 가장 짧은 (승차 < 하차) 구간 길이, 연결 없으면 -1
+     */
+    private int[] bruteForce(TransitGraph graph, int departure, int arrival) {
+        int[] shortest = new int[graph.routeCount()];
+        for (int route = 0; route < graph.routeCount(); route++) {
+            shortest[route] = -1;
+            int[] stops = graph.routeStops(route);
+            for (int i = 0; i < stops.length; i++) {
+                if (stops[i] != departure) continue;
+                for (int j = i + 1; j < stops.length; j++) {
+                    if (stops[j] != arrival) continue;
+                    if (shortest[route] < 0 || j - i < shortest[route]) shortest[route] = j - i;
+                    break;
+                }
+            }
+        }
+        return shortest;
+    }
+}
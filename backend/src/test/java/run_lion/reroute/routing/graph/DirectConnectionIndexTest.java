@@ -0,0 +1,136 @@
+package run_lion.reroute.routing.graph;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static run_lion.reroute.routing.SmallNetworkFixture.A;
+import static run_lion.reroute.routing.SmallNetworkFixture.C;
+import static run_lion.reroute.routing.SmallNetworkFixture.E;
+import static run_lion.reroute.routing.SmallNetworkFixture.F;
+import static run_lion.reroute.routing.SmallNetworkFixture.R100;
+import static run_lion.reroute.routing.SmallNetworkFixture.R400;
+import static run_lion.reroute.routing.SmallNetworkFixture.R500;
+import static run_lion.reroute.routing.SmallNetworkFixture.Z;
+
+/**
+ * DirectConnectionIndex: 기존 RouteFilter(출발 정류장 노선마다 정류장 배열 스캔)와 같은 구간,
+ * 같은 정류장을 두 번 지나는 노선은 가장 짧은 구간, 역방향/무관 정류장은 연결 없음
+ */
+class DirectConnectionIndexTest {
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final DirectConnectionIndex index = graph.directConnections();
+
+    @Test
+    void sameSegmentsAsRouteScanWithoutRepeatedStations() {
+        int n = graph.stationCount();
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a == b || a == E || b == E) continue;
+                assertEquals(routeScan(a, b), connections(a, b), "pair " + a + " → " + b);
+            }
+        }
+    }
+
+    @Test
+    void repeatedStationUsesShortestSegment() {
+        // 400: E → F → E → A, 기존 스캔은 첫 E에서 타서 3정거장
+        assertEquals(List.of(segment(R400, 1, 4)), routeScan(E, A));
+        assertEquals(List.of(segment(R400, 3, 4)), connections(E, A));
+        assertEquals(1, stationCount(connections(E, A).get(0)));
+
+        // F → E는 두 번째 E에서 내림, E → F는 첫 E에서 탐
+        assertEquals(List.of(segment(R400, 2, 3)), connections(F, E));
+        assertEquals(List.of(segment(R400, 1, 2)), connections(E, F));
+    }
+
+    @Test
+    void directionAndUnconnectedStations() {
+        assertEquals(List.of(segment(R100, 1, 3)), connections(A, C));
+        assertEquals(2, stationCount(connections(A, C).get(0)));
+        assertTrue(connections(C, A).isEmpty());
+        assertFalse(index.connects(C, A));
+
+        assertTrue(connections(A, Z).isEmpty());
+        assertTrue(connections(Z, A).isEmpty());
+        assertEquals(0, index.routeCountAt(Z));
+        assertFalse(index.connects(A, A));
+
+        // A → E는 500 직행만 (400은 A가 종점)
+        assertEquals(List.of(segment(R500, 1, 2)), connections(A, E));
+    }
+
+    @Test
+    void bothStationsRepeatedInOneRoute() {
+        // 0 → 1 → 0 → 2 → 1 → 2
+        DirectConnectionIndex loop = new DirectConnectionIndex(3, new int[][]{{0, 1, 0, 2, 1, 2}});
+        List<int[]> found = new ArrayList<>();
+        loop.forEachConnection(0, 2, (route, dep, arr) -> found.add(new int[]{dep, arr}));
+        loop.forEachConnection(1, 0, (route, dep, arr) -> found.add(new int[]{dep, arr}));
+
+        assertEquals(2, found.size());
+        assertEquals(List.of(2, 3), List.of(found.get(0)[0], found.get(0)[1]));
+        assertEquals(List.of(1, 2), List.of(found.get(1)[0], found.get(1)[1]));
+        assertTrue(loop.connects(2, 1));
+        assertEquals(List.of(3, 4), List.of(firstSegment(loop, 2, 1)[0], firstSegment(loop, 2, 1)[1]));
+    }
+
+    /**
+     * 인덱스 결과 → "노선 승차순번→하차순번" 목록 (노선 인덱스 순)
+     */
+    private List<String> connections(int departure, int arrival) {
+        List<String> result = new ArrayList<>();
+        index.forEachConnection(departure, arrival, (route, dep, arr) -> {
+            int[] orders = graph.routeStopOrders(route);
+            result.add(segment(route, orders[dep], orders[arr]));
+        });
+        assertEquals(!result.isEmpty(), index.connects(departure, arrival));
+        return result;
+    }
+
+    /**
+     * 기존 RouteFilter.filterRoutes: 출발 정류장 경유 노선마다 첫 출발 위치 이후 첫 도착 위치
+     */
+    private List<String> routeScan(int departure, int arrival) {
+        List<String> result = new ArrayList<>();
+        for (int route : graph.routesAt(departure)) {
+            int[] stops = graph.routeStops(route);
+            int[] orders = graph.routeStopOrders(route);
+            int departurePos = -1;
+            for (int i = 0; i < stops.length; i++) {
+                if (stops[i] == departure && departurePos < 0) {
+                    departurePos = i;
+                } else if (stops[i] == arrival && departurePos >= 0) {
+                    result.add(segment(route, orders[departurePos], orders[i]));
+                    break;
+                }
+            }
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private static String segment(int route, int departureOrder, int arrivalOrder) {
+        return route + " " + departureOrder + "→" + arrivalOrder;
+    }
+
+    private static int stationCount(String segment) {
+        String[] orders = segment.substring(segment.indexOf(' ') + 1).split("→");
+        return Integer.parseInt(orders[1]) - Integer.parseInt(orders[0]);
+    }
+
+    private static int[] firstSegment(DirectConnectionIndex index, int departure, int arrival) {
+        int[] segment = new int[2];
+        index.forEachConnection(departure, arrival, (route, dep, arr) -> {
+            segment[0] = dep;
+            segment[1] = arr;
+        });
+        return segment;
+    }
+}
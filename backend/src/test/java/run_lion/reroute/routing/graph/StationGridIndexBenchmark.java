@@ -0,0 +1,133 @@
+package run_lion.reroute.routing.graph;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.TransitDataFixture;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 근처 정류장 검색: 격자 인덱스 vs 기존 SQL 방식(전체 행 acos 계산) 비교
+ *
+ * SQL 경로는 DB가 필요하므로, 같은 계산(행마다 acos 2회 + 정렬)을 메모리에서 재현해 비교
+ * (실제 SQL은 여기에 DB 왕복 비용이 추가됨)
+ *
+ * 실행: ./gradlew benchmark --tests '*StationGridIndexBenchmark'
+ */
+@Tag("benchmark")
+class StationGridIndexBenchmark {
+
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void gridIndexVsFullScan() {
+        TransitGraph graph = TransitDataFixture.graph();
+        StationGridIndex index = graph.spatialIndex();
+        double[][] queries = randomQueries(graph, QUERIES);
+
+        // 결과 동일성 확인 (반경 500m, 최근접 1개)
+        for (double[] q : queries) {
+            List<Integer> expected = fullScan(graph, q[0], q[1], 0.5);
+            List<Integer> actual = index.withinRadius(q[0], q[1], 500).stream()
+                    .map(StationGridIndex.Hit::getStation).toList();
+            assertEquals(expected.size(), actual.size());
+
+            List<StationGridIndex.Hit> nearest = index.nearest(q[0], q[1], 1, 1000);
+            List<Integer> expectedNearest = fullScan(graph, q[0], q[1], 1.0);
+            assertEquals(expectedNearest.isEmpty(), nearest.isEmpty());
+            if (!nearest.isEmpty()) {
+                assertEquals((int) expectedNearest.get(0), nearest.get(0).getStation());
+            }
+        }
+
+        // 워밍업
+        for (int i = 0; i < 3; i++) {
+            runFullScan(graph, queries);
+            runGrid(index, queries);
+        }
+
+        long scanNs = runFullScan(graph, queries);
+        long gridRadiusNs = runGrid(index, queries);
+        long gridNearestNs = runGridNearest(index, queries);
+
+        System.out.printf("[StationGridIndexBenchmark] stations=%d queries=%d%n", graph.stationCount(), QUERIES);
+        System.out.printf("  full scan (acos x2 + sort) : %8.2f us/query%n", scanNs / 1000.0 / QUERIES);
+        System.out.printf("  grid withinRadius(500m)    : %8.2f us/query%n", gridRadiusNs / 1000.0 / QUERIES);
+        System.out.printf("  grid nearest(k=1, 1km)     : %8.2f us/query%n", gridNearestNs / 1000.0 / QUERIES);
+    }
+
+    private long runFullScan(TransitGraph graph, double[][] queries) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (double[] q : queries) {
+            sink += fullScan(graph, q[0], q[1], 0.5).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    private long runGrid(StationGridIndex index, double[][] queries) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (double[] q : queries) {
+            sink += index.withinRadius(q[0], q[1], 500).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    private long runGridNearest(StationGridIndex index, double[][] queries) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (double[] q : queries) {
+            sink += index.nearest(q[0], q[1], 1, 1000).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) System.out.println(sink);
+        return elapsed;
+    }
+
+    /**
+     * StationRepository.findStationsWithinRadius와 같은 계산 (WHERE + ORDER BY에서 acos 2회)
+     */
+    private List<Integer> fullScan(TransitGraph graph, double lat, double lon, double radiusKm) {
+        List<double[]> rows = new ArrayList<>();
+        for (int s = 0; s < graph.stationCount(); s++) {
+            if (sphericalKm(lat, lon, graph.stationLat(s), graph.stationLon(s)) <= radiusKm) {
+                rows.add(new double[]{s, sphericalKm(lat, lon, graph.stationLat(s), graph.stationLon(s))});
+            }
+        }
+        rows.sort(Comparator.comparingDouble(r -> r[1]));
+        return rows.stream().map(r -> (int) r[0]).toList();
+    }
+
+    private double sphericalKm(double lat1, double lon1, double lat2, double lon2) {
+        double v = Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.cos(Math.toRadians(lon2) - Math.toRadians(lon1))
+                + Math.sin(Math.toRadians(lat1)) * Math.sin(Math.toRadians(lat2));
+        return 6371 * Math.acos(Math.min(1.0, v));
+    }
+
+    /**
+     * 실제 정류장 주변(최대 ~700m)에 흩뿌린 좌표
+     */
+    private double[][] randomQueries(TransitGraph graph, int count) {
+        Random random = new Random(42);
+        double[][] queries = new double[count][];
+        for (int i = 0; i < count; i++) {
+            int s = random.nextInt(graph.stationCount());
+            queries[i] = new double[]{
+                    graph.stationLat(s) + (random.nextDouble() - 0.5) * 0.012,
+                    graph.stationLon(s) + (random.nextDouble() - 0.5) * 0.015
+            };
+        }
+        return queries;
+    }
+}
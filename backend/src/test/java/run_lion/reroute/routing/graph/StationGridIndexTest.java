@@ -0,0 +1,142 @@
+package run_lion.reroute.routing.graph;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StationGridIndex: 전체 정류장 전수 계산과 같은 결과 (반경 경계, 이웃 칸, k-최근접 순서, 빈 결과)
+ *
+ * 정류장은 (36.900, 127.900)을 남서쪽 끝으로 하는 약 4km 범위에 고정 시드로 배치 (격자 원점 = 이 좌표)
+ */
+class StationGridIndexTest {
+
+    private static final double ORIGIN_LAT = 36.900;
+    private static final double ORIGIN_LON = 127.900;
+    private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+    private final double[] lat;
+    private final double[] lon;
+    private final StationGridIndex index;
+
+    StationGridIndexTest() {
+        Random random = new Random(42);
+        int n = 300;
+        lat = new double[n];
+        lon = new double[n];
+        lat[0] = ORIGIN_LAT;
+        lon[0] = ORIGIN_LON;
+        // 1: 격자 첫 행 끝 (249m), 2: 다음 행 시작 (255m) - 칸 경계 양쪽
+        lat[1] = ORIGIN_LAT + 249 / METERS_PER_DEG_LAT;
+        lon[1] = ORIGIN_LON + 0.002;
+        lat[2] = ORIGIN_LAT + 255 / METERS_PER_DEG_LAT;
+        lon[2] = ORIGIN_LON + 0.002;
+        // 3: 좌표 없음
+        lat[3] = Double.NaN;
+        lon[3] = Double.NaN;
+        for (int s = 4; s < n; s++) {
+            lat[s] = ORIGIN_LAT + random.nextDouble() * 0.036;
+            lon[s] = ORIGIN_LON + random.nextDouble() * 0.045;
+        }
+        index = new StationGridIndex(lat, lon);
+    }
+
+    @Test
+    void withinRadiusMatchesFullScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            double qLat = ORIGIN_LAT - 0.005 + random.nextDouble() * 0.046;
+            double qLon = ORIGIN_LON - 0.005 + random.nextDouble() * 0.055;
+            double radius = 100 + random.nextDouble() * 900;
+
+            assertEquals(stations(fullScan(qLat, qLon, radius)), stations(index.withinRadius(qLat, qLon, radius)));
+        }
+    }
+
+    @Test
+    void radiusBoundaryIsInclusive() {
+        double qLat = ORIGIN_LAT + 0.01;
+        double qLon = ORIGIN_LON + 0.01;
+        StationGridIndex.Hit target = fullScan(qLat, qLon, 2000).get(5);
+        double exact = target.getDistanceMeters();
+
+        assertTrue(stations(index.withinRadius(qLat, qLon, exact)).contains(target.getStation()));
+        assertFalse(stations(index.withinRadius(qLat, qLon, exact - 0.01)).contains(target.getStation()));
+    }
+
+    @Test
+    void stationInNeighbouringCellIsFound() {
+        // 첫 행 끝 (245m)에서 질의 → 10m 떨어진 2번은 다음 행 칸, 6m 떨어진 1번은 같은 칸
+        double qLat = ORIGIN_LAT + 245 / METERS_PER_DEG_LAT;
+        double qLon = ORIGIN_LON + 0.002;
+
+        assertEquals(List.of(1, 2), stations(index.withinRadius(qLat, qLon, 15)));
+        assertEquals(List.of(1, 2), stations(index.nearest(qLat, qLon, 2, 1000)));
+
+        // 다음 행 쪽에서 질의하면 순서가 바뀜
+        double above = ORIGIN_LAT + 253 / METERS_PER_DEG_LAT;
+        assertEquals(List.of(2, 1), stations(index.nearest(above, qLon, 2, 1000)));
+    }
+
+    @Test
+    void nearestMatchesFullScanOrder() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            double qLat = ORIGIN_LAT - 0.005 + random.nextDouble() * 0.046;
+            double qLon = ORIGIN_LON - 0.005 + random.nextDouble() * 0.055;
+            int k = 1 + random.nextInt(10);
+            double maxRadius = 200 + random.nextDouble() * 1300;
+
+            List<StationGridIndex.Hit> expected = fullScan(qLat, qLon, maxRadius);
+            if (expected.size() > k) expected = expected.subList(0, k);
+            List<StationGridIndex.Hit> actual = index.nearest(qLat, qLon, k, maxRadius);
+
+            assertEquals(stations(expected), stations(actual));
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(actual.get(j - 1).getDistanceMeters() <= actual.get(j).getDistanceMeters());
+            }
+        }
+    }
+
+    @Test
+    void emptyResults() {
+        // 정류장 범위에서 멀리 떨어진 좌표
+        assertTrue(index.withinRadius(37.5, 127.0, 1000).isEmpty());
+        assertTrue(index.nearest(37.5, 127.0, 3, 1000).isEmpty());
+        // 반경 밖 / 잘못된 인자
+        assertTrue(index.withinRadius(ORIGIN_LAT - 0.01, ORIGIN_LON - 0.01, 100).isEmpty());
+        assertTrue(index.withinRadius(ORIGIN_LAT, ORIGIN_LON, -1).isEmpty());
+        assertTrue(index.nearest(ORIGIN_LAT, ORIGIN_LON, 0, 1000).isEmpty());
+
+        // 좌표 있는 정류장이 없는 인덱스
+        StationGridIndex none = new StationGridIndex(new double[]{Double.NaN}, new double[]{Double.NaN});
+        assertTrue(none.withinRadius(ORIGIN_LAT, ORIGIN_LON, 1000).isEmpty());
+        assertTrue(none.nearest(ORIGIN_LAT, ORIGIN_LON, 1, 1000).isEmpty());
+    }
+
+    /**
+     * 전체 정류장 거리 계산 + 정렬 (같은 거리면 정류장 인덱스 순)
+     */
+    private List<StationGridIndex.Hit> fullScan(double qLat, double qLon, double radius) {
+        List<StationGridIndex.Hit> hits = new ArrayList<>();
+        for (int s = 0; s < lat.length; s++) {
+            if (Double.isNaN(lat[s])) continue;
+            double d = DistanceCalculator.calculateDistance(qLat, qLon, lat[s], lon[s]);
+            if (d <= radius) hits.add(new StationGridIndex.Hit(s, d));
+        }
+        hits.sort(Comparator.comparingDouble(StationGridIndex.Hit::getDistanceMeters));
+        return hits;
+    }
+
+    private static List<Integer> stations(List<StationGridIndex.Hit> hits) {
+        return hits.stream().map(StationGridIndex.Hit::getStation).toList();
+    }
+}
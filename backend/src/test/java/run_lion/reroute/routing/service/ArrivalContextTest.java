@@ -0,0 +1,102 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.dto.ArrivalInfo;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ArrivalContext: 정류장당 조회 1회, 느린 조회가 다른 정류장을 막지 않음, 실패는 공유하지 않음,
+ * 보관한 ETA는 지난 시간만큼 줄어듦
+ */
+class ArrivalContextTest {
+
+    @Test
+    void slowStationDoesNotBlockOthers() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ArrivalContext context = new ArrivalContext(stationId -> {
+            calls.incrementAndGet();
+            if (stationId.equals("SLOW")) {
+                slowStarted.countDown();
+                await(release);
+            }
+            return List.of(new ArrivalInfo("R1", "400", 4, 2));
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<List<ArrivalInfo>> slow = pool.submit(() -> context.arrivals("SLOW"));
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+            Future<List<ArrivalInfo>> sameStation = pool.submit(() -> context.arrivals("SLOW"));
+
+            // 조회 중인 정류장이 있어도 다른 정류장은 바로 끝남
+            assertEquals(1, pool.submit(() -> context.arrivals("FAST")).get(5, TimeUnit.SECONDS).size());
+
+            release.countDown();
+            assertSame(slow.get(5, TimeUnit.SECONDS), sameStation.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(2, context.getFetchCount());
+    }
+
+    @Test
+    void failedFetchIsRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        ArrivalContext context = new ArrivalContext(stationId -> {
+            if (calls.incrementAndGet() == 1) throw new IllegalStateException("upstream");
+            return List.of();
+        });
+
+        assertThrows(IllegalStateException.class, () -> context.arrivals("S1"));
+        assertTrue(context.arrivals("S1").isEmpty());
+        assertTrue(context.arrivals("S1").isEmpty());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void memoizedArrivalsAgeWithElapsedTime() {
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        ArrivalContext context = new ArrivalContext(stationId -> {
+            calls.incrementAndGet();
+            return List.of(new ArrivalInfo("R1", "400", 5, 3), new ArrivalInfo("R2", "500", 1, 1));
+        }, null, nanos::get);
+
+        assertEquals(2, context.arrivals("S1").size());
+
+        // 90초 뒤: 5분 → 3분 30초 (올림 4분), 1분짜리는 이미 지나감
+        nanos.set(TimeUnit.SECONDS.toNanos(90));
+        List<ArrivalInfo> aged = context.arrivals("S1");
+        assertEquals(1, aged.size());
+        assertEquals(4, aged.get(0).getArrivalMinutes());
+        assertEquals(4, context.arrivalForRoute("S1", "R1").getArrivalMinutes());
+
+        // 다시 조회하지는 않음
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.engine.ConnectionScanEngine;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.engine.RaptorEngine;
+import run_lion.reroute.routing.graph.StationGridIndex;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IsochroneService 칸 단위 캐시 결과: 칸 안 어느 좌표에서 출발해도 표시된 시각에는 도착 가능
+ * (실제 좌표에서 걸어서 모든 정류장을 출발점으로 둔 스캔과 비교)
+ */
+class IsochroneServiceTest {
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, SmallNetworkFixture.timetable(),
+            SmallNetworkFixture.MINUTES_PER_STOP);
+
+    @Test
+    void cellResultIsAchievableFromEveryPointInCell() {
+        // A가 있는 칸의 중심과 네 모서리 근처 (모서리 쪽은 칸 중심보다 A까지 더 걸음)
+        StationGridIndex index = graph.spatialIndex();
+        long cellOfA = index.cellKeyOf(36.900, 127.900);
+        double centerLat = index.cellCenterLat(cellOfA);
+        double centerLon = index.cellCenterLon(cellOfA);
+        double half = StationGridIndex.CELL_HALF_DIAGONAL_METERS / Math.sqrt(2) * 0.98;
+        double dLat = half / 111_320.0;
+        double dLon = half / (111_320.0 * Math.cos(Math.toRadians(centerLat)));
+        double[][] points = {
+                {centerLat, centerLon},
+                {centerLat + dLat, centerLon + dLon},
+                {centerLat + dLat, centerLon - dLon},
+                {centerLat - dLat, centerLon + dLon},
+                {centerLat - dLat, centerLon - dLon},
+        };
+
+        // 100번 A 480 출발을 겨우 타거나 놓치는 출발 시각들
+        for (int departMinute = 465; departMinute <= 480; departMinute++) {
+            int bucket = Math.floorDiv(departMinute + IsochroneService.BUCKET_MINUTES - 1,
+                    IsochroneService.BUCKET_MINUTES);
+            int[] shown = IsochroneService.cellArrivals(graph, table, cellOfA, bucket);
+
+            for (double[] point : points) {
+                int[] exact = exactArrivals(point[0], point[1], departMinute);
+                for (int s = 0; s < shown.length; s++) {
+                    if (shown[s] == RaptorEngine.UNREACHED) continue;
+                    assertTrue(exact[s] <= shown[s], "depart " + departMinute + " station " + s
+                            + " shown " + shown[s] + " but earliest " + exact[s]);
+                }
+            }
+            assertTrue(shown[SmallNetworkFixture.C] != RaptorEngine.UNREACHED);
+        }
+    }
+
+    /**
+     * 실제 좌표에서 모든 정류장까지 걸어서 출발하는 경우의 최단 도착 시각
+     */
+    private int[] exactArrivals(double lat, double lon, int departMinute) {
+        int n = graph.stationCount();
+        int[] sources = new int[n];
+        int[] access = new int[n];
+        for (int s = 0; s < n; s++) {
+            sources[s] = s;
+            access[s] = DistanceCalculator.calculateWalkTimeBetween(lat, lon, graph.stationLat(s), graph.stationLon(s));
+        }
+        return new ConnectionScanEngine(graph, table)
+                .earliestArrivals(sources, access, departMinute, IsochroneService.MAX_MINUTES);
+    }
+}
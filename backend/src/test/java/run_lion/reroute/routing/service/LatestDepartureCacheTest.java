@@ -0,0 +1,89 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.engine.LatestDepartureTree;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * LatestDepartureCache: 같은 5분 버킷(내림)이면 재사용, 다음 버킷은 새로 계산,
+ * 256개를 넘으면 가장 오래 안 쓴 것부터 제거, 연결 배열이 바뀌면 비움
+ */
+class LatestDepartureCacheTest {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, SmallNetworkFixture.timetable(),
+            SmallNetworkFixture.MINUTES_PER_STOP);
+
+    @Test
+    void sameFloorBucketIsHit() {
+        LatestDepartureCache cache = new LatestDepartureCache();
+
+        LatestDepartureTree first = cache.get(graph, table, SmallNetworkFixture.E, 604);
+        LatestDepartureTree second = cache.get(graph, table, SmallNetworkFixture.E, 600);
+
+        assertSame(first, second);
+        // 마감 시각은 버킷 시작으로 내림 (늦게 도착하는 쪽으로는 어긋나지 않음)
+        assertEquals(600, first.getDeadline());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void nextBucketIsMiss() {
+        LatestDepartureCache cache = new LatestDepartureCache();
+
+        LatestDepartureTree bucket600 = cache.get(graph, table, SmallNetworkFixture.E, 604);
+        LatestDepartureTree bucket605 = cache.get(graph, table, SmallNetworkFixture.E, 605);
+
+        assertNotSame(bucket600, bucket605);
+        assertEquals(605, bucket605.getDeadline());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+
+        // 같은 버킷이라도 도착 정류장이 다르면 다른 키
+        cache.get(graph, table, SmallNetworkFixture.F, 604);
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LatestDepartureCache cache = new LatestDepartureCache();
+        LatestDepartureTree oldest = cache.get(graph, table, SmallNetworkFixture.E, 0);
+        LatestDepartureTree second = cache.get(graph, table, SmallNetworkFixture.E, 5);
+        for (int i = 2; i < MAX_ENTRIES; i++) {
+            cache.get(graph, table, SmallNetworkFixture.E, i * LatestDepartureCache.BUCKET_MINUTES);
+        }
+        assertEquals(MAX_ENTRIES, cache.getMisses());
+
+        // 가장 오래된 항목을 다시 쓰면 최근 사용으로 올라가고, 257번째가 들어오면 두 번째 항목이 밀려남
+        assertSame(oldest, cache.get(graph, table, SmallNetworkFixture.E, 0));
+        cache.get(graph, table, SmallNetworkFixture.E, MAX_ENTRIES * LatestDepartureCache.BUCKET_MINUTES);
+        assertEquals(MAX_ENTRIES + 1, cache.getMisses());
+
+        assertSame(oldest, cache.get(graph, table, SmallNetworkFixture.E, 0));
+        assertEquals(2, cache.getHits());
+        assertNotSame(second, cache.get(graph, table, SmallNetworkFixture.E, 5));
+        assertEquals(MAX_ENTRIES + 2, cache.getMisses());
+    }
+
+    @Test
+    void newConnectionTableClearsCache() {
+        LatestDepartureCache cache = new LatestDepartureCache();
+        LatestDepartureTree before = cache.get(graph, table, SmallNetworkFixture.E, 600);
+
+        ConnectionTable rebuilt = ConnectionTable.build(graph, SmallNetworkFixture.timetable(),
+                SmallNetworkFixture.MINUTES_PER_STOP);
+        LatestDepartureTree after = cache.get(graph, rebuilt, SmallNetworkFixture.E, 600);
+
+        assertNotSame(before, after);
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -0,0 +1,107 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import run_lion.reroute.realtimebus.constant.StationIds;
+import run_lion.reroute.routing.dto.RouteResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PopularRoutePrecomputer: 학습 구간 요청 수가 기준 이상인 쌍 중 상위 N개만 학습
+ * (고정 정류장끼리의 쌍은 이미 고정 대상이라 학습 자리를 차지하지 않음),
+ * 더 이상 인기 쌍이 아닌 결과는 다음 갱신 때 제거
+ */
+class PopularRoutePrecomputerTest {
+
+    private static final String X = "CHB_X";
+    private static final String Y = "CHB_Y";
+    private static final String Z = "CHB_Z";
+
+    /** 고정 4곳 사이의 쌍 (같은 곳, 충주역 양방향끼리 제외) */
+    private static final int FIXED_PAIRS = 4 * 3 - 2;
+
+    private final PopularRouteStore store = new PopularRouteStore();
+    private final List<String> computed = new CopyOnWriteArrayList<>();
+    private PopularRoutePrecomputer precomputer;
+
+    @BeforeEach
+    void setUp() {
+        RoutingAlgorithm algorithm = new RoutingAlgorithm(null, null, null, null, null, null, null) {
+            @Override
+            public RouteResultCache.CachedRoute precompute(String departureStationId, String arrivalStationId) {
+                computed.add(PopularRouteStore.pairKey(departureStationId, arrivalStationId));
+                return new RouteResultCache.CachedRoute(RouteResponse.builder().totalTime(20).build(),
+                        departureStationId, arrivalStationId, 0, 0, 2);
+            }
+        };
+        precomputer = new PopularRoutePrecomputer(algorithm, store);
+        ReflectionTestUtils.setField(precomputer, "configuredPairs", new String[0]);
+        ReflectionTestUtils.setField(precomputer, "learnThreshold", 3);
+        ReflectionTestUtils.setField(precomputer, "maxLearned", 3);
+    }
+
+    @Test
+    void relearnKeepsTopPairsOverThresholdExceptFixedToFixed() {
+        record(StationIds.KNUT, StationIds.TERMINAL, 10);   // 고정끼리 → 학습 대상 아님
+        record(X, Y, 6);
+        record(StationIds.KNUT, X, 5);                     // 한쪽만 고정이면 학습 대상
+        record(X, Z, 4);
+        record(Y, Z, 3);                                   // 기준은 넘지만 상위 3개 밖
+        record(Z, X, 2);                                   // 기준 미만
+
+        precomputer.relearn();
+        precomputer.refresh();
+
+        Map<String, String> sources = sources();
+        assertEquals(FIXED_PAIRS + 3, sources.size());
+        assertEquals(FIXED_PAIRS + 3, computed.size());
+        assertEquals("learned", sources.get(PopularRouteStore.pairKey(X, Y)));
+        assertEquals("learned", sources.get(PopularRouteStore.pairKey(StationIds.KNUT, X)));
+        assertEquals("learned", sources.get(PopularRouteStore.pairKey(X, Z)));
+        assertFalse(sources.containsKey(PopularRouteStore.pairKey(Y, Z)));
+        assertFalse(sources.containsKey(PopularRouteStore.pairKey(Z, X)));
+        assertEquals("fixed", sources.get(PopularRouteStore.pairKey(StationIds.KNUT, StationIds.TERMINAL)));
+    }
+
+    @Test
+    void pairsNoLongerPopularArePruned() {
+        record(X, Y, 6);
+        precomputer.relearn();
+        precomputer.refresh();
+        assertTrue(sources().containsKey(PopularRouteStore.pairKey(X, Y)));
+
+        // 다음 학습 구간에는 요청 없음 → 학습 쌍 없음 → 다음 갱신 때 결과 제거 (고정 쌍은 유지, 아직 유효해 재계산 없음)
+        computed.clear();
+        precomputer.relearn();
+        precomputer.refresh();
+
+        Map<String, String> sources = sources();
+        assertFalse(sources.containsKey(PopularRouteStore.pairKey(X, Y)));
+        assertEquals(FIXED_PAIRS, sources.size());
+        assertTrue(computed.isEmpty());
+    }
+
+    private void record(String from, String to, int times) {
+        for (int i = 0; i < times; i++) {
+            store.recordRequest(from, to);
+        }
+    }
+
+    private Map<String, String> sources() {
+        Map<String, String> sources = new HashMap<>();
+        for (PopularRouteStore.Precomputed precomputed : store.snapshot()) {
+            sources.put(PopularRouteStore.pairKey(precomputed.getDepartureStationId(),
+                    precomputed.getArrivalStationId()), precomputed.getSource());
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,65 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.StopCandidate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PopularRouteStore: 미리 계산 결과는 승/하차 정류장이 이번 요청 후보에 있을 때만 사용,
+ * retainOnly는 주어진 쌍 밖의 결과 제거
+ */
+class PopularRouteStoreTest {
+
+    private final PopularRouteStore store = new PopularRouteStore();
+
+    private final RouteResultCache.CachedRoute route = new RouteResultCache.CachedRoute(
+            RouteResponse.builder().totalTime(25).build(), "S1", "S6", 0, 0, 2);
+
+    @Test
+    void servedWhenStopsAreCandidates() {
+        store.put("S1", "S6", "fixed", route);
+
+        assertSame(route, store.get("S1", "S6", List.of(stop("S1"), stop("S2")), List.of(stop("S6"))));
+        assertEquals(1, store.getHits());
+    }
+
+    @Test
+    void notServedWhenBoardingStopIsOutOfReach() {
+        store.put("S1", "S6", "fixed", route);
+
+        // 가장 가까운 정류장은 S1로 같지만 도보 범위 밖이라 후보에 없음 → 미리 계산 결과 대신 새로 계산
+        assertNull(store.get("S1", "S6", List.of(stop("S2")), List.of(stop("S6"))));
+        assertNull(store.get("S1", "S6", List.of(stop("S1")), List.of(stop("S5"))));
+        assertEquals(0, store.getHits());
+        assertEquals(2, store.getMisses());
+    }
+
+    @Test
+    void retainOnlyDropsOtherPairs() {
+        store.put("S1", "S6", "fixed", route);
+        store.put("S6", "S1", "learned", route);
+        store.put("S2", "S6", "learned", route);
+
+        store.retainOnly(Set.of(PopularRouteStore.pairKey("S1", "S6"), PopularRouteStore.pairKey("S2", "S6")));
+
+        Instant now = Instant.now();
+        assertEquals(2, store.snapshot().size());
+        assertTrue(store.isFresh("S1", "S6", now));
+        assertTrue(store.isFresh("S2", "S6", now));
+        assertFalse(store.isFresh("S6", "S1", now));
+    }
+
+    private static StopCandidate stop(String stationId) {
+        return new StopCandidate(stationId, stationId, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,151 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.TransitDataFixture;
+import run_lion.reroute.routing.dto.ArrivalInfo;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.StepResponse;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 검색이 동시에 몰릴 때(수업 끝난 직후) TAGO 호출 수: 합치기 없음 vs RouteResultCache.getOrCompute
+ *
+ * - 검색 1회 = 정류장 STATIONS곳 도착정보 조회 (ArrivalContext, 호출마다 upstreamMs 지연)
+ * - 요청 CONCURRENT건을 동시에 출발시키고 실제 upstream 호출 수와 최대 응답 시간 비교
+ * - TAGO가 COALESCE_WAIT보다 느리면 기다리던 요청은 제한 시간 뒤 다시 계산하지 않고 대체 응답을 받는지 확인
+ *
+ * 실행: ./gradlew benchmark --tests '*RouteResultCacheLoadTest'
+ */
+@Tag("benchmark")
+class RouteResultCacheLoadTest {
+
+    private static final int CONCURRENT = 200;
+    private static final int STATIONS = 6;
+
+    @Test
+    void stampedeIsCoalesced() throws Exception {
+        TransitGraph graph = TransitDataFixture.graph();
+        String key = RouteResultCache.key("DORM", "TERMINAL", 2);
+
+        AtomicInteger baselineCalls = new AtomicInteger();
+        long baselineMs = runConcurrently(CONCURRENT, () -> search(baselineCalls, 100).getResponse());
+
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger coalescedCalls = new AtomicInteger();
+        long coalescedMs = runConcurrently(CONCURRENT, () -> cache.getOrCompute(graph, key,
+                RouteResultCache.CachedRoute::getResponse, () -> search(coalescedCalls, 100)));
+
+        System.out.printf("[RouteResultCacheLoadTest] %d concurrent identical searches, %d stations each%n",
+                CONCURRENT, STATIONS);
+        System.out.printf("  no coalescing : upstream calls=%5d  slowest=%5d ms%n", baselineCalls.get(), baselineMs);
+        System.out.printf("  coalesced     : upstream calls=%5d  slowest=%5d ms  (coalesced=%d, hits=%d)%n",
+                coalescedCalls.get(), coalescedMs, cache.getCoalesced(), cache.getHits());
+
+        assertEquals(CONCURRENT * STATIONS, baselineCalls.get());
+        assertEquals(STATIONS, coalescedCalls.get());
+        assertEquals(CONCURRENT - 1, cache.getCoalesced() + cache.getHits());
+    }
+
+    @Test
+    void slowUpstreamDoesNotPinWaiters() throws Exception {
+        TransitGraph graph = TransitDataFixture.graph();
+        String key = RouteResultCache.key("DORM", "TERMINAL", 2);
+        int concurrent = 20;
+        // 검색 1회 = 6 x 500ms = 3초 > COALESCE_WAIT(2초)
+        int upstreamMs = 500;
+
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger calls = new AtomicInteger();
+        // 시간표 기준 경로 대신 (TAGO 호출 없음)
+        RouteResponse scheduled = RouteResponse.builder().totalTime(30).build();
+        long slowestMs = runConcurrently(concurrent, () -> cache.getOrCompute(graph, key,
+                RouteResultCache.CachedRoute::getResponse, () -> search(calls, upstreamMs), () -> scheduled));
+
+        System.out.printf("[RouteResultCacheLoadTest] slow upstream (%d ms/call): timeouts=%d fallbacks=%d calls=%d slowest=%d ms%n",
+                upstreamMs, cache.getCoalesceTimeouts(), cache.getFallbacks(), calls.get(), slowestMs);
+
+        // 기다리다 시간이 지난 요청은 대체 응답을 받고 TAGO를 다시 부르지 않음 (먼저 온 요청의 검색 1회분만)
+        assertEquals(concurrent - 1, cache.getCoalesceTimeouts());
+        assertEquals(concurrent - 1, cache.getFallbacks());
+        assertEquals(STATIONS, calls.get());
+        // 가장 늦은 요청도 먼저 온 요청의 계산 시간 안에 끝남
+        long bound = (long) STATIONS * upstreamMs;
+        assertTrue(slowestMs < bound + 1000, "slowest=" + slowestMs + "ms");
+    }
+
+    /**
+     * 검색 1회 흉내: 정류장 STATIONS곳 도착정보를 새 ArrivalContext로 조회
+     */
+    private RouteResultCache.Result search(AtomicInteger upstreamCalls, int upstreamMs) {
+        ArrivalContext context = new ArrivalContext(stationId -> {
+            upstreamCalls.incrementAndGet();
+            sleep(upstreamMs);
+            return List.of(new ArrivalInfo("R1", "400", 4, 2));
+        });
+        for (int s = 0; s < STATIONS; s++) {
+            context.arrivals("S" + s);
+        }
+
+        RouteResponse response = RouteResponse.builder()
+                .totalTime(25)
+                .steps(List.of(
+                        StepResponse.builder().type("walk").duration(3).from("출발지").to("S0").build(),
+                        StepResponse.builder().type("bus").line("400").duration(18).waitTime(4).from("S0").to("S5").build(),
+                        StepResponse.builder().type("walk").duration(0).from("S5").to("목적지").build()))
+                .build();
+        return new RouteResultCache.Result(response,
+                new RouteResultCache.CachedRoute(response, "S0", "S5", 3, 0, 4));
+    }
+
+    /**
+     * 요청 count건을 동시에 시작 → 가장 늦게 끝난 요청의 소요 시간(ms)
+     */
+    private long runConcurrently(int count, Supplier<RouteResponse> request) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(count);
+        CountDownLatch ready = new CountDownLatch(count);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    long begin = System.nanoTime();
+                    request.get();
+                    return (System.nanoTime() - begin) / 1_000_000;
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            long slowest = 0;
+            for (Future<Long> future : futures) {
+                slowest = Math.max(slowest, future.get());
+            }
+            return slowest;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void sleep(int ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.StopCandidate;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RouteResultCache: 캐시 적중, 동시 요청 합치기, 기다리다 시간이 지난 요청, 노선망 교체/캐시 불가 결과 처리,
+ * 후보 정류장 확인
+ */
+class RouteResultCacheTest {
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final String key = RouteResultCache.key("S1", "S6", 2);
+
+    @Test
+    void repeatedSearchIsServedFromCache() {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+
+        RouteResponse first = cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse,
+                () -> result(computed, 25));
+        RouteResponse second = cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse,
+                () -> result(computed, 99));
+
+        assertEquals(1, computed.get());
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void concurrentSearchesShareOneComputation() throws Exception {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int followers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<RouteResponse> leader = pool.submit(() -> cache.getOrCompute(graph, key,
+                    RouteResultCache.CachedRoute::getResponse, () -> {
+                        leaderStarted.countDown();
+                        await(release);
+                        return result(computed, 25);
+                    }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<RouteResponse>> waiting = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                waiting.add(pool.submit(() -> cache.getOrCompute(graph, key,
+                        RouteResultCache.CachedRoute::getResponse, () -> result(computed, 99))));
+            }
+            release.countDown();
+
+            RouteResponse expected = leader.get(5, TimeUnit.SECONDS);
+            for (Future<RouteResponse> future : waiting) {
+                assertSame(expected, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, computed.get());
+        assertEquals(followers, cache.getCoalesced() + cache.getHits());
+        assertEquals(0, cache.getCoalesceTimeouts());
+    }
+
+    @Test
+    void timedOutWaitersGetStaleResultOrFallback() throws Exception {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 같은 정류장 쌍의 이전 1분 버킷 결과 (이번 키로는 못 찾음)
+        cache.get(graph, key);
+        cache.put(graph, "S1|S6|2|0", result(computed, 20).getCacheable());
+        RouteResponse scheduled = RouteResponse.builder().totalTime(40).build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<RouteResponse> leader = pool.submit(() -> cache.getOrCompute(graph, key,
+                    RouteResultCache.CachedRoute::getResponse, () -> {
+                        leaderStarted.countDown();
+                        await(release);
+                        return result(computed, 25);
+                    }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<RouteResponse> stale = pool.submit(() -> cache.getOrCompute(graph, key,
+                    RouteResultCache.CachedRoute::getResponse, () -> result(computed, 99), () -> scheduled));
+            // 지난 결과를 쓸 수 없는 요청(후보 밖 등)은 대체 응답
+            Future<RouteResponse> fallback = pool.submit(() -> cache.getOrCompute(graph, key,
+                    cached -> null, () -> result(computed, 99), () -> scheduled));
+
+            assertEquals(20, stale.get(5, TimeUnit.SECONDS).getTotalTime());
+            assertSame(scheduled, fallback.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertEquals(25, leader.get(5, TimeUnit.SECONDS).getTotalTime());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 미리 넣은 1회 + 먼저 온 요청 1회, 기다린 요청은 다시 계산하지 않음
+        assertEquals(2, computed.get());
+        assertEquals(2, cache.getCoalesceTimeouts());
+        assertEquals(1, cache.getStaleServed());
+        assertEquals(1, cache.getFallbacks());
+    }
+
+    @Test
+    void uncacheableResultIsComputedAgain() {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+        Supplier<RouteResultCache.Result> walkOnly = () -> {
+            computed.incrementAndGet();
+            return new RouteResultCache.Result(RouteResponse.builder().totalTime(12).build(), null);
+        };
+
+        cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse, walkOnly);
+        cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse, walkOnly);
+
+        assertEquals(2, computed.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void newGraphClearsEntries() {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse, () -> result(computed, 25));
+        TransitGraph reloaded = SmallNetworkFixture.graph();
+        RouteResponse response = cache.getOrCompute(reloaded, key, RouteResultCache.CachedRoute::getResponse,
+                () -> result(computed, 30));
+
+        assertEquals(2, computed.get());
+        assertEquals(30, response.getTotalTime());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void cachedStopsMustBeAmongCandidates() {
+        RouteResultCache.CachedRoute cached = result(new AtomicInteger(), 25).getCacheable();
+
+        assertTrue(cached.servesCandidates(stops("S1", "S2"), stops("S6")));
+        // 같은 키(가장 가까운 정류장 S1)라도 S1까지 걸어갈 수 없는 좌표면 후보에 없음
+        assertFalse(cached.servesCandidates(stops("S2"), stops("S6")));
+        assertFalse(cached.servesCandidates(stops("S1"), stops("S5")));
+    }
+
+    @Test
+    void rejectedEntryIsComputedAgain() {
+        RouteResultCache cache = new RouteResultCache();
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.getOrCompute(graph, key, RouteResultCache.CachedRoute::getResponse, () -> result(computed, 25));
+        RouteResponse response = cache.getOrCompute(graph, key,
+                cached -> cached.servesCandidates(stops("S2"), stops("S6")) ? cached.getResponse() : null,
+                () -> result(computed, 30));
+
+        assertEquals(2, computed.get());
+        assertEquals(30, response.getTotalTime());
+    }
+
+    @Test
+    void ttlFollowsFirstWait() {
+        assertEquals(15, RouteResultCache.ttlFor(2).toSeconds());
+        assertEquals(30, RouteResultCache.ttlFor(10).toSeconds());
+        assertEquals(60, RouteResultCache.ttlFor(11).toSeconds());
+    }
+
+    private RouteResultCache.Result result(AtomicInteger computed, int totalTime) {
+        computed.incrementAndGet();
+        RouteResponse response = RouteResponse.builder().totalTime(totalTime).build();
+        return new RouteResultCache.Result(response,
+                new RouteResultCache.CachedRoute(response, "S1", "S6", 0, 0, 2));
+    }
+
+    private static List<StopCandidate> stops(String... stationIds) {
+        List<StopCandidate> stops = new ArrayList<>();
+        for (String stationId : stationIds) {
+            stops.add(new StopCandidate(stationId, stationId, 0, 0, 0, 0));
+        }
+        return stops;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.graph.TransitGraph;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RouteSessionService 경로 교체 규칙: 재검색 조건(늦어짐/불가능, 60초 간격, 탑승 중 제외), 최소 2분 단축
+ */
+class RouteSessionServiceTest {
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final Instant start = Instant.parse("2025-03-01T08:00:00Z");
+
+    private final RouteSession session = new RouteSession("s1", 36.899, 127.900, 36.920, 127.900, null,
+            plan(11), start);
+
+    @Test
+    void researchOnlyWhenDelayedOrInfeasible() {
+        assertFalse(RouteSessionService.needsResearch(session, RouteSession.Estimate.feasible(12), 2, start));
+        assertTrue(RouteSessionService.needsResearch(session, RouteSession.Estimate.feasible(14), 3, start));
+    }
+
+    @Test
+    void researchAtMostOncePerMinute() {
+        RouteSession.Estimate infeasible = RouteSession.Estimate.infeasible("missed");
+
+        assertTrue(RouteSessionService.needsResearch(session, infeasible, 0, start));
+        assertFalse(RouteSessionService.needsResearch(session, infeasible, 0, start.plusSeconds(59)));
+        assertTrue(RouteSessionService.needsResearch(session, infeasible, 0, start.plusSeconds(60)));
+    }
+
+    @Test
+    void noResearchWhileBoarded() {
+        session.moveTo(graph, 36.900, 127.900, start);
+        session.moveTo(graph, 36.910, 127.900, start);
+        assertTrue(session.isBoarded());
+
+        assertFalse(RouteSessionService.needsResearch(session, RouteSession.Estimate.infeasible("missed"), 0, start));
+        assertFalse(RouteSessionService.needsResearch(session, RouteSession.Estimate.feasible(20), 9, start));
+    }
+
+    @Test
+    void alternativeMustSaveAtLeastTwoMinutes() {
+        RouteSession.Estimate current = RouteSession.Estimate.feasible(20);
+
+        assertTrue(RouteSessionService.isWorthAdopting(current, plan(18)));
+        assertFalse(RouteSessionService.isWorthAdopting(current, plan(19)));
+        assertFalse(RouteSessionService.isWorthAdopting(current, null));
+    }
+
+    @Test
+    void anyAlternativeReplacesInfeasibleRoute() {
+        assertTrue(RouteSessionService.isWorthAdopting(RouteSession.Estimate.infeasible("missed"), plan(40)));
+    }
+
+    /** 100번 A → C 직행, 총 minutes분 (도보 2 + 대기 + 탑승 4) */
+    private static RoutePlan plan(int minutes) {
+        return RoutePlan.direct(RouteResponse.builder().totalTime(minutes).build(), "R1", "100", "S1", "S3",
+                2, minutes - 6, 4, 0);
+    }
+}
@@ -0,0 +1,104 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.dto.ArrivalInfo;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RouteSession: 위치로 진행 상황(승차/구간 완료/도착) 추정, 다음 버스 구간만 ETA로 다시 평가
+ *
+ * SmallNetworkFixture에서 A 남쪽 약 110m 출발 → 100번 A → C 직행 → C가 목적지
+ * 계획: 도보 2 + 대기 5 + 탑승 4 = 11분
+ */
+class RouteSessionTest {
+
+    private static final double ORIGIN_LAT = 36.899;
+    private static final double LNG = 127.900;
+    private static final double A_LAT = 36.900;
+    private static final double B_LAT = 36.910;
+    private static final double C_LAT = 36.920;
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, SmallNetworkFixture.timetable(),
+            SmallNetworkFixture.MINUTES_PER_STOP);
+    private final Instant start = Instant.parse("2025-03-01T08:00:00Z");
+    private final int walkToA = DistanceCalculator.calculateWalkTimeBetween(ORIGIN_LAT, LNG, A_LAT, LNG);
+
+    private final RouteSession session = new RouteSession("s1", ORIGIN_LAT, LNG, C_LAT, LNG, null,
+            RoutePlan.direct(RouteResponse.builder().totalTime(11).build(), "R1", "100", "S1", "S3",
+                    walkToA, 5, 4, 0),
+            start);
+
+    @Test
+    void moveToTracksBoardingAndArrival() {
+        // 승차 정류장 근처 → 대기 중, 아직 탑승 아님
+        session.moveTo(graph, A_LAT, LNG, start.plusSeconds(120));
+        assertFalse(session.isBoarded());
+        assertEquals(0, session.getLegIndex());
+
+        // 정류장에서 하차 정류장 쪽으로 멀어짐 → 탑승
+        session.moveTo(graph, B_LAT, LNG, start.plusSeconds(480));
+        assertTrue(session.isBoarded());
+        assertEquals(0, session.getLegIndex());
+
+        // 하차 정류장 = 목적지 → 구간 완료 + 도착
+        session.moveTo(graph, C_LAT, LNG, start.plusSeconds(720));
+        assertFalse(session.isBoarded());
+        assertEquals(1, session.getLegIndex());
+        assertTrue(session.isArrived());
+    }
+
+    @Test
+    void walkingAwayWithoutVisitingStopIsNotBoarding() {
+        // 정류장을 거치지 않고 B 쪽에 나타남 → 탑승으로 보지 않음
+        session.moveTo(graph, B_LAT, LNG, start.plusSeconds(60));
+        assertFalse(session.isBoarded());
+    }
+
+    @Test
+    void estimateUsesRealtimeEtaOfNextBus() {
+        // 정류장까지 도보 후 6분 뒤 도착하는 100번 → 도보 + (6 - 도보) 대기 + 탑승 4
+        RouteSession.Estimate estimate = session.estimate(graph, table,
+                stationId -> List.of(new ArrivalInfo("R1", "100", 6, 2)), 470, start);
+
+        assertTrue(estimate.isFeasible());
+        assertEquals(6 + 4, estimate.getRemainingMinutes());
+    }
+
+    @Test
+    void missedBusFallsBackToTimetableOrBecomesInfeasible() {
+        // 실시간 100번은 정류장 도착 전에 지나감 → 07:50 기준 시간표 다음 회차 08:00
+        RouteSession.Estimate scheduled = session.estimate(graph, table,
+                stationId -> List.of(new ArrivalInfo("R1", "100", 1, 1)), 470, start);
+        assertTrue(scheduled.isFeasible());
+        assertEquals(480 - 470 + 4, scheduled.getRemainingMinutes());
+
+        // 10:00에는 남은 회차도 없음 → 불가능
+        RouteSession.Estimate missed = session.estimate(graph, table,
+                stationId -> List.of(new ArrivalInfo("R1", "100", 1, 1)), 600, start);
+        assertFalse(missed.isFeasible());
+    }
+
+    @Test
+    void boardedEstimateCountsDownRide() {
+        session.moveTo(graph, A_LAT, LNG, start);
+        session.moveTo(graph, B_LAT, LNG, start);
+
+        // 탑승 2분 지남 → 남은 탑승 2분 (정류장 ETA는 보지 않음)
+        RouteSession.Estimate estimate = session.estimate(graph, table,
+                stationId -> { throw new AssertionError("no ETA lookup while boarded"); }, 480, start.plusSeconds(120));
+
+        assertEquals(2, estimate.getRemainingMinutes());
+    }
+}
@@ -0,0 +1,76 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.dto.RouteCandidate;
+import run_lion.reroute.routing.dto.RoutingRequest;
+import run_lion.reroute.routing.dto.StopCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RoutingService 직행 후보: 같은 노선에서 도보와 정거장 수가 둘 다 나쁘지 않으면 유지(더 걸어도 정거장이 적으면 유지),
+ * 둘 다 같거나 나쁘면 제거, 남은 후보는 도보 + 정거장 수 × 정거장당 분 순
+ */
+class RoutingServiceTest {
+
+    private static final double ORIGIN_LAT = 1.0;
+    private static final double DEST_LAT = 2.0;
+
+    // 출발 후보 (도보 분) / 도착 후보 T는 도보 1분
+    private final List<StopCandidate> origins = List.of(
+            stop("O1", 2), stop("O3", 4), stop("O4", 7), stop("O2", 9));
+    private final List<StopCandidate> destinations = List.of(stop("T", 1));
+
+    // (출발 정류장 → T) 직행 노선과 정거장 수
+    private final Map<String, List<RouteCandidate>> routesByDeparture = Map.of(
+            "O1", List.of(route("R1", "O1", 4)),
+            "O2", List.of(route("R1", "O2", 1)),    // O1보다 7분 더 걷지만 3정거장 적음 → 유지
+            "O3", List.of(route("R1", "O3", 5)),    // O1보다 더 걷고 정거장도 많음 → 제거
+            "O4", List.of(route("R2", "O4", 1)));
+
+    @Test
+    void keepsNonDominatedOptionsOrderedByEstimatedMinutes() {
+        RoutingStationResolver resolver = new RoutingStationResolver(null, null) {
+            @Override
+            public List<StopCandidate> findNearestStations(double lat, double lon, int k, int maxRadiusMeters) {
+                return lat == ORIGIN_LAT ? origins : destinations;
+            }
+        };
+        RouteFilter routeFilter = new RouteFilter(null) {
+            @Override
+            public List<RouteCandidate> filterRoutes(String departureStationId, String arrivalStationId) {
+                return routesByDeparture.getOrDefault(departureStationId, List.of());
+            }
+        };
+
+        List<RouteCandidate> routes = new RoutingService(resolver, routeFilter)
+                .findRoute(new RoutingRequest(ORIGIN_LAT, 0, DEST_LAT, 0))
+                .getRoutes();
+
+        // 예상 시간 = 도보 + 정거장 수 × 2분: R2@O4 8+2=10, R1@O1 3+8=11, R1@O2 10+2=12
+        // (정거장 수를 분으로 바꾸지 않고 더하면 R1@O1(7)이 R2@O4(9)보다 앞섬)
+        List<String> labels = new ArrayList<>();
+        for (RouteCandidate route : routes) {
+            labels.add(route.getRouteId() + "@" + route.getDepartureStationId());
+        }
+        assertEquals(List.of("R2@O4", "R1@O1", "R1@O2"), labels);
+    }
+
+    private static StopCandidate stop(String stationId, int walkMinutes) {
+        return new StopCandidate(stationId, stationId, 0, 0, walkMinutes * 80.0, walkMinutes);
+    }
+
+    private static RouteCandidate route(String routeId, String departureStationId, int stationCount) {
+        RouteCandidate candidate = new RouteCandidate();
+        candidate.setRouteId(routeId);
+        candidate.setRouteName(routeId);
+        candidate.setDepartureStationId(departureStationId);
+        candidate.setArrivalStationId("T");
+        candidate.setStationCount(stationCount);
+        return candidate;
+    }
+}
@@ -0,0 +1,117 @@
+package run_lion.reroute.routing.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import run_lion.reroute.routing.SmallNetworkFixture;
+import run_lion.reroute.routing.dto.MatrixRequest;
+import run_lion.reroute.routing.dto.MatrixResponse;
+import run_lion.reroute.routing.dto.RouteResponse;
+import run_lion.reroute.routing.dto.RouteSearchRequest;
+import run_lion.reroute.routing.engine.ConnectionTable;
+import run_lion.reroute.routing.graph.ConnectionTableProvider;
+import run_lion.reroute.routing.graph.TransitGraph;
+import run_lion.reroute.routing.graph.TransitGraphProvider;
+import run_lion.reroute.routing.util.DistanceCalculator;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TravelTimeMatrixService: N×M 행렬의 각 칸이 같은 쌍을 RoutingAlgorithm(출발 시각 지정)으로
+ * 하나씩 검색한 결과와 같음 (직접 걷는 게 빠르면 도보, MAX_MINUTES 안에 못 가면 -1)
+ */
+class TravelTimeMatrixServiceTest {
+
+    private static final LocalTime DEPARTURE = LocalTime.of(7, 58);
+
+    /** 어느 정류장에서도 1km 넘게 떨어지고 걸어서 MAX_MINUTES 안에 못 가는 지점 */
+    private static final MatrixRequest.Point FAR = new MatrixRequest.Point(37.300, 127.900);
+
+    private final TransitGraph graph = SmallNetworkFixture.graph();
+    private final ConnectionTable table = ConnectionTable.build(graph, SmallNetworkFixture.timetable(),
+            SmallNetworkFixture.MINUTES_PER_STOP);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final TransitGraphProvider graphProvider = new TransitGraphProvider(null, null, null) {
+        @Override
+        public TransitGraph current() {
+            return graph;
+        }
+    };
+    private final ConnectionTableProvider tableProvider = new ConnectionTableProvider(graphProvider, null) {
+        @Override
+        public ConnectionTable current() {
+            return table;
+        }
+    };
+    private final RoutingStationResolver resolver = new RoutingStationResolver(null, graphProvider);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void matrixMatchesSinglePairSearches() {
+        List<MatrixRequest.Point> origins = List.of(
+                station(SmallNetworkFixture.A), station(SmallNetworkFixture.C),
+                station(SmallNetworkFixture.D2), FAR);
+        List<MatrixRequest.Point> destinations = List.of(
+                station(SmallNetworkFixture.C), station(SmallNetworkFixture.D), station(SmallNetworkFixture.E),
+                station(SmallNetworkFixture.F), station(SmallNetworkFixture.Z), FAR);
+
+        MatrixResponse matrix = new TravelTimeMatrixService(resolver, graphProvider, tableProvider, executor)
+                .compute(new MatrixRequest(origins, destinations, DEPARTURE));
+
+        RoutingAlgorithm algorithm = new RoutingAlgorithm(
+                new RoutingService(resolver, new RouteFilter(graphProvider)), new ETARawDataProvider(null),
+                graphProvider, tableProvider, new LatestDepartureCache(), new RouteResultCache(),
+                new PopularRouteStore());
+
+        int[][] minutes = matrix.getMinutes();
+        assertEquals(origins.size(), minutes.length);
+        for (int i = 0; i < origins.size(); i++) {
+            assertEquals(destinations.size(), minutes[i].length);
+            for (int j = 0; j < destinations.size(); j++) {
+                assertEquals(singlePair(algorithm, origins.get(i), destinations.get(j)), minutes[i][j],
+                        "origin " + i + " → destination " + j);
+            }
+        }
+
+        // 비교가 버스 칸과 못 가는 칸을 실제로 포함하는지
+        assertEquals(6, minutes[0][0]);     // A 480 출발 100번 → C 484 도착
+        assertEquals(-1, minutes[0][5]);
+        assertEquals(-1, minutes[3][0]);
+    }
+
+    /**
+     * 같은 쌍을 RoutingAlgorithm으로 검색한 소요 시간 (버스가 있으면 버스 여정, 직접 걷는 게 빠르면 도보)
+     */
+    private int singlePair(RoutingAlgorithm algorithm, MatrixRequest.Point origin, MatrixRequest.Point destination) {
+        RouteSearchRequest request = RouteSearchRequest.builder()
+                .originLat(origin.getLat())
+                .originLng(origin.getLng())
+                .destLat(destination.getLat())
+                .destLng(destination.getLng())
+                .departureTime(DEPARTURE)
+                .build();
+        RouteResponse response = algorithm.computeBestRoute(request, new ArrivalContext(stationId -> List.of()));
+
+        int best = DistanceCalculator.calculateWalkTimeBetween(
+                origin.getLat(), origin.getLng(), destination.getLat(), destination.getLng());
+        boolean byBus = response.getSteps() != null
+                && response.getSteps().stream().anyMatch(step -> "bus".equals(step.getType()));
+        if (byBus) {
+            best = Math.min(best, response.getTotalTime());
+        }
+        return best <= TravelTimeMatrixService.MAX_MINUTES ? best : -1;
+    }
+
+    private MatrixRequest.Point station(int station) {
+        return new MatrixRequest.Point(graph.stationLat(station), graph.stationLon(station));
+    }
+}